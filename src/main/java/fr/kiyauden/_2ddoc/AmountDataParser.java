@@ -2,26 +2,43 @@ package fr.kiyauden._2ddoc;
 
 import lombok.extern.slf4j.Slf4j;
 
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
-import java.text.ParseException;
-import java.util.Locale;
+import java.math.BigDecimal;
 
 import static fr.kiyauden._2ddoc.DataFormat.AMOUNT;
+import static java.lang.String.format;
 
 /**
  * Parser implementation for {@link DataFormat#AMOUNT}
  * <p>
  * The {@link String} input data will be parsed as a {@link Double}
+ * <p>
+ * The amounts use the French format, an optional minus sign, the units and up to two decimals after a comma
+ * (e.g. "-3,12"). They are decoded as a fixed-point number of cents, see
+ * {@link AmountDataParser#decodeCents(CharSequence, int, int)}, the parser holds no state and is thread safe
  */
 @Slf4j
 class AmountDataParser implements DataParser<Double> {
 
     /**
-     * The {@link DecimalFormat} format parser used to parse the amounts
+     * Returned by {@link AmountDataParser#decodeCents(CharSequence, int, int)} when the input is not a supported
+     * amount
+     */
+    static final long INVALID = Long.MIN_VALUE;
+
+    /**
+     * The decimal separator of the French format
+     */
+    private static final char DECIMAL_SEPARATOR = ',';
+
+    /**
+     * Max number of digits for the units, so the number of cents always fits in a long
+     */
+    private static final int MAX_UNIT_DIGITS = 16;
+
+    /**
+     * Max number of decimals
      */
-    public static final DecimalFormat PARSER =
-            new DecimalFormat("0.00", new DecimalFormatSymbols(Locale.FRANCE));
+    private static final int MAX_DECIMALS = 2;
 
     /**
      * {@inheritDoc}
@@ -29,16 +46,13 @@ class AmountDataParser implements DataParser<Double> {
     @Override
     public Double parse(final String data) throws ParsingException {
         log.debug("Parsing data value \"{}\"", data);
-        final Number parsed;
-
-        try {
-            parsed = PARSER.parse(data);
-        } catch (final ParseException e) {
+        final long cents = decodeCents(data, 0, data.length());
+        if (cents == INVALID) {
             log.warn("Could not parse data \"{}\", unsupported format", data);
-            throw new ParsingException(e);
+            throw new ParsingException(format("Could not parse data \"%s\", unsupported format", data));
         }
 
-        final double parsedDouble = parsed.doubleValue();
+        final double parsedDouble = toDouble(cents);
         log.debug("Data value parsed as \"{}\"", parsedDouble);
         return parsedDouble;
     }
@@ -51,4 +65,86 @@ class AmountDataParser implements DataParser<Double> {
         return AMOUNT;
     }
 
+    /**
+     * Decodes an amount from a range of characters
+     *
+     * @param input the input containing the amount
+     * @param start the start of the amount in the input (inclusive)
+     * @param end   the end of the amount in the input (exclusive)
+     * @return the amount in cents or {@link AmountDataParser#INVALID} if the format is not supported
+     */
+    static long decodeCents(final CharSequence input, final int start, final int end) {
+        int i = start;
+        final boolean negative = i < end && input.charAt(i) == '-';
+        if (negative) {
+            i++;
+        }
+
+        // Units
+        final int unitsStart = i;
+        long units = 0;
+        while (i < end) {
+            final int digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            units = units * 10 + digit;
+            i++;
+        }
+        final int unitDigits = i - unitsStart;
+        if (unitDigits == 0 || unitDigits > MAX_UNIT_DIGITS) {
+            return INVALID;
+        }
+
+        // Decimals
+        long decimals = 0;
+        int decimalDigits = 0;
+        if (i < end) {
+            if (input.charAt(i) != DECIMAL_SEPARATOR) {
+                return INVALID;
+            }
+            i++;
+            while (i < end) {
+                final int digit = input.charAt(i) - '0';
+                if (digit < 0 || digit > 9 || decimalDigits == MAX_DECIMALS) {
+                    return INVALID;
+                }
+                decimals = decimals * 10 + digit;
+                decimalDigits++;
+                i++;
+            }
+            if (decimalDigits == 0) {
+                return INVALID;
+            }
+        }
+        if (decimalDigits == 1) {
+            decimals *= 10;
+        }
+
+        final long cents = units * 100 + decimals;
+        return negative ? -cents : cents;
+    }
+
+    /**
+     * Converts an amount in cents to a {@link Double}
+     * <p>
+     * The division of the two exact numbers gives the nearest double of the decimal amount
+     *
+     * @param cents the amount in cents
+     * @return the amount
+     */
+    static double toDouble(final long cents) {
+        return cents / 100d;
+    }
+
+    /**
+     * Converts an amount in cents to an exact {@link BigDecimal} with a scale of 2
+     *
+     * @param cents the amount in cents
+     * @return the amount
+     */
+    static BigDecimal toBigDecimal(final long cents) {
+        return BigDecimal.valueOf(cents, MAX_DECIMALS);
+    }
+
 }
@@ -0,0 +1,153 @@
+package fr.kiyauden._2ddoc;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+/**
+ * {@link CharSequence} over the bytes of a {@link ByteBuffer}, each byte being a character
+ * <p>
+ * The 2D-DOC are made of ASCII characters, read through this view the bytes of a file or a socket are parsed without
+ * being decoded to a {@link String}, and the signed bytes are given as is to the {@link Verifier}. A byte above 0x7F
+ * is read as the ISO-8859-1 character of the same value
+ * <p>
+ * The view covers the bytes from the position to the limit of the buffer when it is moved to it, the buffer itself is
+ * not modified. Heap buffers are read from their array, direct buffers with absolute gets. The separators are searched
+ * 8 bytes at a time by {@link SeparatorScanner}
+ * <p>
+ * An instance is not thread safe, the buffer must not be modified while the view is used
+ */
+final class AsciiCharSequence implements CharSequence {
+
+    /**
+     * The viewed buffer
+     */
+    private ByteBuffer buffer;
+    /**
+     * The array of the buffer, null when the buffer has no accessible array
+     */
+    private byte[] array;
+    /**
+     * The index of the first character in {@link AsciiCharSequence#array}
+     */
+    private int offset;
+    /**
+     * The index of the first character in {@link AsciiCharSequence#buffer}
+     */
+    private int start;
+    /**
+     * The number of characters
+     */
+    private int length;
+
+    AsciiCharSequence() {
+    }
+
+    AsciiCharSequence(final ByteBuffer buffer) {
+        view(buffer);
+    }
+
+    /**
+     * Moves the view to the remaining bytes of a buffer
+     *
+     * @param buffer the buffer
+     * @return this view
+     */
+    AsciiCharSequence view(final ByteBuffer buffer) {
+        this.buffer = buffer;
+        start = buffer.position();
+        if (buffer.hasArray()) {
+            array = buffer.array();
+            offset = buffer.arrayOffset() + buffer.position();
+        } else {
+            array = null;
+            offset = 0;
+        }
+        length = buffer.remaining();
+        return this;
+    }
+
+    /**
+     * @return the viewed buffer, for the reads of more than one byte
+     */
+    ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * @return the index of the first character in {@link AsciiCharSequence#buffer()}
+     */
+    int start() {
+        return start;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int length() {
+        return length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+        }
+        final byte b = array != null ? array[offset + index] : buffer.get(start + index);
+        return (char) (b & 0xFF);
+    }
+
+    /**
+     * Creates the {@link String} of a range of characters, a copy of the bytes
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    public CharSequence subSequence(final int subStart, final int subEnd) {
+        if (subStart < 0 || subEnd > length || subStart > subEnd) {
+            throw new IndexOutOfBoundsException("Range: [" + subStart + ", " + subEnd + "), Length: " + length);
+        }
+        if (array != null) {
+            return new String(array, offset + subStart, subEnd - subStart, ISO_8859_1);
+        }
+        final byte[] bytes = new byte[subEnd - subStart];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(start + subStart + i);
+        }
+        return new String(bytes, ISO_8859_1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return subSequence(0, length).toString();
+    }
+
+    /**
+     * Gives a range of bytes to a verifier, without copying them for a heap buffer
+     *
+     * @param verifier   the verifier
+     * @param rangeStart the start of the range (inclusive)
+     * @param rangeEnd   the end of the range (exclusive)
+     */
+    void update(final Verifier verifier, final int rangeStart, final int rangeEnd) {
+        if (array != null) {
+            verifier.update(array, offset + rangeStart, rangeEnd - rangeStart);
+        } else {
+            // A duplicate, the position and the limit of the buffer are left untouched. Moved as a Buffer, the
+            // ByteBuffer overrides returning a ByteBuffer do not exist before Java 9
+            final ByteBuffer region = buffer.duplicate();
+            ((Buffer) region).limit(start + rangeEnd);
+            ((Buffer) region).position(start + rangeStart);
+            verifier.update(region);
+        }
+    }
+
+}
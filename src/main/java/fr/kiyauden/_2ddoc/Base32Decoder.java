@@ -0,0 +1,122 @@
+package fr.kiyauden._2ddoc;
+
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Decoder of the <a href="https://www.rfc-editor.org/rfc/rfc4648#section-6">RFC 4648</a> Base32 encoding
+ * <p>
+ * Used for the signature and the {@link DataFormat#URL} data, it decodes a range of characters with a static lookup
+ * table, straight into a caller supplied array
+ */
+@NoArgsConstructor(access = PRIVATE)
+class Base32Decoder {
+
+    /**
+     * Returned by {@link Base32Decoder#decode(CharSequence, int, int, byte[], int)} when a character is not part of
+     * the Base32 alphabet
+     */
+    static final int INVALID = -1;
+
+    /**
+     * The padding character, ends the encoded data
+     */
+    private static final char PADDING = '=';
+
+    /**
+     * Initial size of the thread local buffer, enough for a 2D-DOC signature
+     */
+    private static final int INITIAL_BUFFER_SIZE = 128;
+
+    /**
+     * Value of each ASCII character in the alphabet, -1 when the character is not part of it
+     * <p>
+     * Lower case letters are accepted as well
+     */
+    private static final byte[] DECODE_TABLE = new byte[128];
+
+    static {
+        Arrays.fill(DECODE_TABLE, (byte) -1);
+        for (int i = 0; i < 26; i++) {
+            DECODE_TABLE['A' + i] = (byte) i;
+            DECODE_TABLE['a' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            DECODE_TABLE['2' + i] = (byte) (26 + i);
+        }
+    }
+
+    /**
+     * Buffer reused by the decodings of a thread
+     */
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[INITIAL_BUFFER_SIZE]);
+
+    /**
+     * Returns the max number of bytes decoded from a number of characters
+     *
+     * @param length the number of encoded characters
+     * @return the max number of decoded bytes
+     */
+    static int maxDecodedLength(final int length) {
+        return (int) (length * 5L / 8);
+    }
+
+    /**
+     * Returns a buffer owned by the current thread, big enough to decode a number of characters
+     * <p>
+     * The buffer is shared by every call of the thread, its content must be used before the next call
+     *
+     * @param length the number of encoded characters
+     * @return the buffer
+     */
+    static byte[] threadLocalBuffer(final int length) {
+        final int size = maxDecodedLength(length);
+        byte[] buffer = BUFFER.get();
+        if (buffer.length < size) {
+            buffer = new byte[size];
+            BUFFER.set(buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * Decodes a range of characters
+     * <p>
+     * The decoding stops at the first padding character, the trailing bits not forming a whole byte are discarded
+     *
+     * @param input     the input containing the encoded data
+     * @param start     the start of the encoded data in the input (inclusive)
+     * @param end       the end of the encoded data in the input (exclusive)
+     * @param out       the array receiving the decoded bytes, must hold
+     *                  {@link Base32Decoder#maxDecodedLength(int)} bytes from outOffset
+     * @param outOffset the position of the first decoded byte in out
+     * @return the number of decoded bytes or {@link Base32Decoder#INVALID} if a character is not part of the alphabet
+     */
+    static int decode(final CharSequence input, final int start, final int end, final byte[] out,
+                      final int outOffset) {
+        long bits = 0;
+        int bitCount = 0;
+        int position = outOffset;
+        for (int i = start; i < end; i++) {
+            final char c = input.charAt(i);
+            if (c == PADDING) {
+                break;
+            }
+            final int value = c < DECODE_TABLE.length ? DECODE_TABLE[c] : -1;
+            if (value < 0) {
+                return INVALID;
+            }
+            bits = bits << 5 | value;
+            bitCount += 5;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                out[position++] = (byte) (bits >>> bitCount);
+            }
+        }
+        return position - outOffset;
+    }
+
+}
@@ -13,6 +13,19 @@ import static java.lang.String.format;
 @Slf4j
 class BooleanDataParser implements DataParser<Boolean> {
 
+    /**
+     * Returned by {@link BooleanDataParser#decode(CharSequence, int, int)} for "1"
+     */
+    static final int TRUE = 1;
+    /**
+     * Returned by {@link BooleanDataParser#decode(CharSequence, int, int)} for "0"
+     */
+    static final int FALSE = 0;
+    /**
+     * Returned by {@link BooleanDataParser#decode(CharSequence, int, int)} when the input is not a supported boolean
+     */
+    static final int INVALID = -1;
+
     /**
      * {@inheritDoc}
      */
@@ -20,14 +33,12 @@ class BooleanDataParser implements DataParser<Boolean> {
     public Boolean parse(final String data) throws ParsingException {
         log.debug("Parsing data \"{}\"", data);
 
-        if ("1".equals(data)) {
-            return true;
-        } else if ("0".equals(data)) {
-            return false;
+        final int parsed = decode(data, 0, data.length());
+        if (parsed == INVALID) {
+            log.warn("Could not parse data \"{}\", unsupported format", data);
+            throw new ParsingException(format("Could not parse data \"%s\", unsupported format", data));
         }
-
-        log.warn("Could not parse data \"{}\", unsupported format", data);
-        throw new ParsingException(format("Could not parse data \"%s\", unsupported format", data));
+        return parsed == TRUE;
     }
 
     /**
@@ -38,4 +49,27 @@ class BooleanDataParser implements DataParser<Boolean> {
         return BOOLEAN;
     }
 
+    /**
+     * Decodes a boolean from a range of characters
+     *
+     * @param input the input containing the boolean
+     * @param start the start of the boolean in the input (inclusive)
+     * @param end   the end of the boolean in the input (exclusive)
+     * @return {@link BooleanDataParser#TRUE}, {@link BooleanDataParser#FALSE} or {@link BooleanDataParser#INVALID}
+     * if the format is not supported
+     */
+    static int decode(final CharSequence input, final int start, final int end) {
+        if (end - start != 1) {
+            return INVALID;
+        }
+        switch (input.charAt(start)) {
+            case '1':
+                return TRUE;
+            case '0':
+                return FALSE;
+            default:
+                return INVALID;
+        }
+    }
+
 }
@@ -0,0 +1,79 @@
+package fr.kiyauden._2ddoc;
+
+/**
+ * Mutable view over a range of a {@link CharSequence}
+ * <p>
+ * Moved from a range to another, it gives a {@link CharSequence} of a value without copying it. The view is only
+ * valid until it is moved, {@link CharSequenceView#toString()} creates a copy
+ * <p>
+ * An instance is not thread safe
+ */
+class CharSequenceView implements CharSequence {
+
+    /**
+     * The viewed input
+     */
+    private CharSequence input;
+    /**
+     * The start of the view in the input (inclusive)
+     */
+    private int start;
+    /**
+     * The end of the view in the input (exclusive)
+     */
+    private int end;
+
+    /**
+     * Moves the view to a range
+     *
+     * @param input the input
+     * @param start the start of the range (inclusive)
+     * @param end   the end of the range (exclusive)
+     * @return this view
+     */
+    CharSequenceView view(final CharSequence input, final int start, final int end) {
+        this.input = input;
+        this.start = start;
+        this.end = end;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= end - start) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + (end - start));
+        }
+        return input.charAt(start + index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CharSequence subSequence(final int subStart, final int subEnd) {
+        if (subStart < 0 || subEnd > end - start || subStart > subEnd) {
+            throw new IndexOutOfBoundsException("Range: [" + subStart + ", " + subEnd + "), Length: " + (end - start));
+        }
+        return input.subSequence(start + subStart, start + subEnd);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return input.subSequence(start, end).toString();
+    }
+
+}
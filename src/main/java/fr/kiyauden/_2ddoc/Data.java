@@ -2,20 +2,43 @@ package fr.kiyauden._2ddoc;
 
 import lombok.AccessLevel;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
+import lombok.experimental.NonFinal;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 
-import static java.util.Optional.ofNullable;
+import static fr.kiyauden._2ddoc.DataFormat.AMOUNT;
+import static fr.kiyauden._2ddoc.DataFormat.BOOLEAN;
+import static fr.kiyauden._2ddoc.DataFormat.INTEGER;
+import static java.lang.String.format;
 import static lombok.AccessLevel.PACKAGE;
 
 /**
  * Class representing a data extracted from a 2D-DOC
+ * <p>
+ * The value is held by a single reference slot, {@link Data#getLong()}, {@link Data#getDouble()} and
+ * {@link Data#getBoolean()} unbox it without allocation. The {@link Boolean} and small {@link Integer} values share
+ * the boxes cached by the JDK
+ * <p>
+ * The text of a {@link DataFormat#INTEGER}, {@link DataFormat#AMOUNT} or {@link DataFormat#BOOLEAN} data is not kept
+ * when it is the canonical rendering of its value, e.g. "0012" for a 4 characters integer or "123,45" for an amount.
+ * {@link Data#getStringValue()} renders it on the first call and keeps it for the next ones
  */
 @Value
-@Builder(access = PACKAGE)
 public class Data {
+    /**
+     * The decimal separator of the amounts
+     */
+    private static final char DECIMAL_SEPARATOR = ',';
+    /**
+     * The value of the data without value, shared by all of them
+     */
+    private static final Optional<Object> NO_VALUE = Optional.empty();
+
     /**
      * The {@link DataType} of this data
      * <p>
@@ -31,11 +54,19 @@ public class Data {
      * Should probably not happen, but it is allowed
      */
     @Getter(AccessLevel.NONE)
+    @ToString.Exclude
     Object value;
     /**
-     * The string representation of the data as present inside the 2D-DOC
+     * The string representation of the data as present inside the 2D-DOC, null when it is the canonical rendering of
+     * {@link Data#value} until {@link Data#getStringValue()} renders it
+     * <p>
+     * Not final to keep the rendering, equal data render equal strings so it is compared through its getter
      */
     // TODO: 30/05/2023 ajouter ça
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @NonFinal
     String stringValue;
     /**
      * The source of the data
@@ -56,10 +87,259 @@ public class Data {
     boolean truncated;
 
     /**
+     * Builds a data, the string representation is dropped when it can be rendered again from the value
+     */
+    @Builder(access = PACKAGE)
+    private Data(final DataType dataType, final Object value, final String stringValue, final DataSource source,
+                 final boolean mandatory, final boolean truncated) {
+        this.dataType = dataType;
+        this.value = value;
+        this.stringValue = stringValue != null && isCanonical(dataType, value, stringValue) ? null : stringValue;
+        this.source = source;
+        this.mandatory = mandatory;
+        this.truncated = truncated;
+    }
+
+    /**
+     * Returns the value object of the data, wrapped in an {@link Optional}
+     * <p>
+     * A data without value shares a single empty {@link Optional}, {@link Data#getRawValue()} gives the value without
+     * wrapping it
+     *
      * @return the value object of the data, wrapped in an {@link Optional}
      */
     public Optional<Object> getValue() {
-        return ofNullable(value);
+        return value == null ? NO_VALUE : Optional.of(value);
+    }
+
+    /**
+     * Returns the string representation of the data as present inside the 2D-DOC
+     * <p>
+     * Rendered from the value on the first call for a {@link DataFormat#INTEGER}, {@link DataFormat#AMOUNT} or
+     * {@link DataFormat#BOOLEAN} data, the next calls return the same string
+     *
+     * @return the string representation
+     */
+    @ToString.Include(name = "stringValue")
+    @EqualsAndHashCode.Include
+    public String getStringValue() {
+        String text = stringValue;
+        if (text == null && value != null) {
+            // A String is immutable, a thread reading null only renders it again
+            text = render(dataType, value);
+            stringValue = text;
+        }
+        return text;
+    }
+
+    /**
+     * @return TRUE if the data has a value, FALSE when only the identifier is present
+     */
+    public boolean hasValue() {
+        return value != null;
+    }
+
+    /**
+     * Returns the value of a {@link DataFormat#INTEGER} data, without boxing
+     *
+     * @return the value
+     * @throws IllegalStateException if the data has no integer value
+     */
+    public long getLong() {
+        if (!(value instanceof Integer)) {
+            throw noValue(INTEGER);
+        }
+        return (Integer) value;
+    }
+
+    /**
+     * Returns the value of a {@link DataFormat#AMOUNT} data, without boxing
+     *
+     * @return the value
+     * @throws IllegalStateException if the data has no amount value
+     */
+    public double getDouble() {
+        if (!(value instanceof Double)) {
+            throw noValue(AMOUNT);
+        }
+        return (Double) value;
+    }
+
+    /**
+     * Returns the value of a {@link DataFormat#BOOLEAN} data, without boxing
+     *
+     * @return the value
+     * @throws IllegalStateException if the data has no boolean value
+     */
+    public boolean getBoolean() {
+        if (!(value instanceof Boolean)) {
+            throw noValue(BOOLEAN);
+        }
+        return (Boolean) value;
+    }
+
+    /**
+     * Returns the exact value of a {@link DataFormat#AMOUNT} data
+     * <p>
+     * The {@link Double} of {@link Data#getValue()} can not represent most of the amounts exactly, this one can
+     *
+     * @return the amount with a scale of 2, wrapped in an {@link Optional}, empty when the data has no value or is not
+     * an amount
+     */
+    public Optional<BigDecimal> getExactAmount() {
+        if (dataType.getType() != AMOUNT || !(value instanceof Double)) {
+            return Optional.empty();
+        }
+        // The rendering of the value, once kept, gives back the same cents
+        final String text = stringValue;
+        final long cents = text == null
+                ? cents((Double) value)
+                : AmountDataParser.decodeCents(text, 0, text.length());
+        return cents == AmountDataParser.INVALID ? Optional.empty() : Optional.of(AmountDataParser.toBigDecimal(cents));
+    }
+
+    /**
+     * @return the value object of the data, null when the data has no value
+     */
+    @ToString.Include(name = "value")
+    public Object getRawValue() {
+        return value;
+    }
+
+    /**
+     * @param format the format of the expected value
+     * @return the exception thrown when the value is not of the format
+     */
+    private IllegalStateException noValue(final DataFormat format) {
+        return new IllegalStateException(format("Data %s has no %s value", dataType, format));
+    }
+
+    /**
+     * Checks if a string representation is the canonical rendering of a value, without allocation
+     *
+     * @param dataType    the data type
+     * @param value       the value
+     * @param stringValue the string representation
+     * @return TRUE if {@link Data#render(DataType, Object)} gives the same characters, FALSE otherwise
+     */
+    private static boolean isCanonical(final DataType dataType, final Object value, final String stringValue) {
+        if (value instanceof Boolean) {
+            return stringValue.length() == 1 && stringValue.charAt(0) == ((Boolean) value ? '1' : '0');
+        }
+        if (value instanceof Integer) {
+            final long integer = (Integer) value;
+            final int start = integer < 0 ? 1 : 0;
+            return (start == 0 || stringValue.startsWith("-"))
+                    && hasDigits(stringValue, start, stringValue.length(), Math.abs(integer), integerWidth(dataType));
+        }
+        if (value instanceof Double) {
+            final long cents = cents((Double) value);
+            final int start = cents < 0 ? 1 : 0;
+            final long absolute = Math.abs(cents);
+            final int length = stringValue.length();
+            if (start == 1 && !stringValue.startsWith("-")) {
+                return false;
+            }
+            if (absolute % 100 == 0) {
+                return hasDigits(stringValue, start, length, absolute / 100, 1);
+            }
+            return length - start > 3 && stringValue.charAt(length - 3) == DECIMAL_SEPARATOR
+                    && hasDigits(stringValue, length - 2, length, absolute % 100, 2)
+                    && hasDigits(stringValue, start, length - 3, absolute / 100, 1);
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a range of characters is the decimal rendering of a number, left padded with zeros
+     *
+     * @param input  the characters
+     * @param start  the start of the range (inclusive)
+     * @param end    the end of the range (exclusive)
+     * @param number the number, positive
+     * @param width  the min number of digits
+     * @return TRUE if the range holds exactly the digits of the number, FALSE otherwise
+     */
+    private static boolean hasDigits(final String input, final int start, final int end, final long number,
+                                     final int width) {
+        long rest = number;
+        int i = end;
+        while (i > start) {
+            i--;
+            if (input.charAt(i) != '0' + rest % 10) {
+                return false;
+            }
+            rest /= 10;
+            // No leading zero past the width
+            if (rest == 0 && end - i >= width) {
+                return i == start;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Renders the canonical string representation of a value
+     *
+     * @param dataType the data type
+     * @param value    the value, an {@link Integer}, a {@link Double} or a {@link Boolean}
+     * @return the string representation, null when there is no value
+     */
+    private static String render(final DataType dataType, final Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value ? "1" : "0";
+        }
+        final StringBuilder builder = new StringBuilder();
+        if (value instanceof Integer) {
+            final long integer = (Integer) value;
+            if (integer < 0) {
+                builder.append('-');
+            }
+            appendDigits(builder, Math.abs(integer), integerWidth(dataType));
+            return builder.toString();
+        }
+        if (value instanceof Double) {
+            final long cents = cents((Double) value);
+            if (cents < 0) {
+                builder.append('-');
+            }
+            final long absolute = Math.abs(cents);
+            appendDigits(builder, absolute / 100, 1);
+            if (absolute % 100 != 0) {
+                appendDigits(builder.append(DECIMAL_SEPARATOR), absolute % 100, 2);
+            }
+            return builder.toString();
+        }
+        return null;
+    }
+
+    /**
+     * @param builder the builder receiving the digits
+     * @param number  the number, positive
+     * @param width   the min number of digits, the number is left padded with zeros
+     */
+    private static void appendDigits(final StringBuilder builder, final long number, final int width) {
+        final String digits = Long.toString(number);
+        for (int i = digits.length(); i < width; i++) {
+            builder.append('0');
+        }
+        builder.append(digits);
+    }
+
+    /**
+     * @param dataType the data type
+     * @return the number of digits of an integer of the data type, its length when it has a fixed length
+     */
+    private static int integerWidth(final DataType dataType) {
+        return dataType != null && dataType.isFixedLength() ? dataType.getMinLength() : 1;
+    }
+
+    /**
+     * @param amount an amount decoded by {@link AmountDataParser}
+     * @return the amount in cents
+     */
+    private static long cents(final double amount) {
+        return Math.round(amount * 100);
     }
 
 }
@@ -6,14 +6,14 @@ import com.google.inject.Singleton;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Optional;
 
-import static fr.kiyauden._2ddoc.Constants.GS;
-import static fr.kiyauden._2ddoc.Constants.RS;
 import static java.lang.String.format;
-import static java.util.stream.Collectors.toList;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * Implementation of {@link IDataService}
@@ -23,6 +23,12 @@ import static java.util.stream.Collectors.toList;
 @Singleton
 class DataService implements IDataService {
 
+    /**
+     * Marker of a value that does not match its format, returned by
+     * {@link DataService#decodeValue(CharSequence, int, int, DataFormat)}
+     */
+    private static final Object INVALID = new Object();
+
     private final IParserService parserService;
     private final IDocumentService documentService;
 
@@ -30,172 +36,167 @@ class DataService implements IDataService {
      * {@inheritDoc}
      */
     @Override
-    public ExtractedData extractData(final String data, final Document document, final DataSource source)
-            throws DataExtractionException {
-        log.debug("Parsing data {} from {} for document {}", data, source, document);
+    public ExtractedData extractSelectedData(final CharSequence input, final int start, final int end,
+                                             final Document document, final DataSource source,
+                                             final EnumSet<DataType> selection) throws DataExtractionException {
+        if (log.isDebugEnabled()) {
+            log.debug("Parsing data {} from {} for document {}", input.subSequence(start, end), source, document);
+        }
         final ArrayList<Data> dataList = new ArrayList<>();
+        final EnumSet<DataType> dataTypes = EnumSet.noneOf(DataType.class);
 
-        int i = 0;
-        int j;
-        while (i < data.length()) {
-            // Look for an identifier
-            log.trace("New iteration, i is {}", i);
-            final String dataIdentifier = data.substring(i, i + 2);
-            log.trace("Found identifier {}", dataIdentifier);
+        final DataTokenizer tokenizer = new DataTokenizer()
+                .reset(input, start, end, documentService.getDecodingPlan(document));
+        while (tokenizer.next()) {
+            final DataType dataType = tokenizer.getDataType();
+            if (selection == null || selection.contains(dataType)) {
+                dataList.add(decodeData(input, tokenizer.getValueStart(), tokenizer.getValueEnd(), dataType,
+                                        tokenizer.isTruncated(), tokenizer.isMandatory(), source));
+            }
+            dataTypes.add(dataType);
+        }
 
-            final Optional<DataType> dataTypeOptional = DataType.findById(dataIdentifier);
-            log.trace("Identifier parsed as {}", dataTypeOptional);
+        // Calculate missing data
+        if (!source.equals(DataSource.ANNEX)) {
+            return new ExtractedData(dataList, documentService.computeMissingData(document, dataTypes));
+        }
 
-            if (!dataTypeOptional.isPresent()) {
-                // TODO: 12/06/2023 Peut être ignorer cette donnée au lieu de lancer une exception
-                throw new DataExtractionException(format("Malformed data, identifier %s found", dataIdentifier));
-            }
-            final DataType dataType = dataTypeOptional.get();
-
-            if (dataType.isFixedLength()) {
-                // Extracts fixed length data
-                final int maxLength = dataType.getMaxLength();
-                final int beginIndex = i + 2;
-                final int endIndex = beginIndex + maxLength;
-                final String value = data.substring(i + 2, endIndex);
-                log.trace("Datatype is fixed length, taking {} characters, with value {}", maxLength, value);
-                addData(dataList, value, document, source, dataType);
-                i = i + 2 + maxLength;
-                log.trace("i advancing forward of {} positions, new position is {}", 2 + maxLength, i);
-            } else if (dataType.hasMaxLength()) {
-                // Case where data is variable length with a max length
-                log.trace("Datatype is variable length, min {}, max {}", dataType.getMinLength(),
-                          dataType.getMaxLength());
-
-                j = i + 2;
-                log.trace("Setting j to {}", j);
-                final int maxPos = i + 2 + dataType.getMaxLength();
-                boolean found = false;
-                while (!found && j <= maxPos) {
-                    log.trace("j is now {}", j);
-                    // Truncated data
-                    if (data.charAt(j) == RS) {
-                        final int beginIndex = i + 2;
-                        final int endIndex = j;
-                        final String value = data.substring(beginIndex, endIndex);
-                        log.trace("Found RS char (data is truncated), data is from {} to {} with value \"{}\"",
-                                  beginIndex, endIndex, value);
-
-                        addTruncatedData(dataList, value, document, source, dataType);
-                        i = j + 1;
-                        log.trace("Advancing i to {}", i);
-                        found = true;
-                    }
-                    // Not truncated data
-                    else if (data.charAt(j) == GS) {
-                        final int beginIndex = i + 2;
-                        final int endIndex = j;
-                        final String value = data.substring(beginIndex, endIndex);
-                        log.trace("Found GS char (data is not truncated), data is from {} to {} with value \"{}\"",
-                                  beginIndex, endIndex, value);
-
-                        addData(dataList, value, document, source, dataType);
-                        i = j + 1;
-                        log.trace("Advancing i to {}", i);
-                        found = true;
-                    }
-                    // Not truncated data at the end of the data
-                    else if (j >= data.length() - 1) {
-                        final int beginIndex = i + 2;
-                        final int endIndex = data.length();
-                        final String value = data.substring(beginIndex, endIndex);
-                        log.trace(
-                                "End of data segment, GS was not found but is optional, taking data from {} to {}, with value \"{}\"",
-                                beginIndex, endIndex, value);
-                        addData(dataList, value, document, source, dataType);
-                        i = j + 1;
-                        log.trace("Advancing i to {}", i);
-                        found = true;
-                    }
-                    j++;
-                    log.trace("Nothing found yet, incrementing j");
-                }
-                // If the data exceed its max length
-                if (!found) {
-                    throw new DataExtractionException(
-                            format("Data %s is overflowing, max length %d", dataType, dataType.getMaxLength()));
-                }
-            } else {
-                // Case where data is variable length with no max length
-                log.trace("Datatype is variable length with no max length, min {}", dataType.getMinLength());
-                j = i + 2;
-                log.trace("Setting j to {}", j);
-                boolean found = false;
-                while (!found && j <= data.length()) {
-                    // Truncated data
-                    if (data.charAt(j) == RS) {
-                        final int beginIndex = i + 2;
-                        final int endIndex = j;
-                        final String value = data.substring(beginIndex, endIndex);
-                        log.trace("Found RS char (data is truncated), data is from {} to {} with value \"{}\"",
-                                  beginIndex, endIndex, value);
-
-                        addTruncatedData(dataList, value, document, source, dataType);
-                        i = j + 1;
-                        log.trace("Advancing i to {}", i);
-                        found = true;
-                    }
-                    // Not truncated data
-                    else if (data.charAt(j) == GS) {
-                        final int beginIndex = i + 2;
-                        final int endIndex = j;
-                        final String value = data.substring(beginIndex, endIndex);
-                        log.trace("Found GS char (data is not truncated), data is from {} to {} with value \"{}\"",
-                                  beginIndex, endIndex, value);
-
-                        addData(dataList, value, document, source, dataType);
-                        i = j + 1;
-                        log.trace("Advancing i to {}", i);
-                        found = true;
-                    }
-                    // Not truncated data at the end of the data
-                    else if (j >= data.length() - 1) {
-                        final int beginIndex = i + 2;
-                        final int endIndex = data.length();
-                        final String value = data.substring(beginIndex, endIndex);
-                        log.trace(
-                                "End of data segment, GS was not found but is optional, taking data from {} to {}, with value \"{}\"",
-                                beginIndex, endIndex, value);
-                        addData(dataList, value, document, source, dataType);
-                        i = j + 1;
-                        log.trace("Advancing i to {}", i);
-                        found = true;
-                    }
-                    j++;
-                    log.trace("Nothing found yet, incrementing j");
+        return new ExtractedData(dataList, ImmutableList.of());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ExtractedData tryExtractData(final CharSequence input, final int start, final int end,
+                                        final Document document, final DataSource source, final ParseOptions options)
+            throws ParseSignal {
+        final ArrayList<Data> dataList = new ArrayList<>();
+        final EnumSet<DataType> dataTypes = EnumSet.noneOf(DataType.class);
+
+        final DataTokenizer tokenizer = new DataTokenizer()
+                .reset(input, start, end, documentService.getDecodingPlan(document))
+                .lenient(options.isLenient());
+        while (tokenizer.advance()) {
+            final DataType dataType = tokenizer.getDataType();
+            if (options.isSelected(dataType)) {
+                final int valueStart = tokenizer.getValueStart();
+                final int valueEnd = tokenizer.getValueEnd();
+                final Object value = decodeValue(input, valueStart, valueEnd, tokenizer.getFormat());
+                if (value == INVALID) {
+                    throw ParseSignal.of(ErrorCode.INVALID_VALUE, valueStart);
                 }
+                dataList.add(Data.builder()
+                                     .dataType(dataType)
+                                     .source(source)
+                                     .value(value)
+                                     .stringValue(TextDataParser.decode(input, valueStart, valueEnd))
+                                     .truncated(tokenizer.isTruncated())
+                                     .mandatory(tokenizer.isMandatory())
+                                     .build());
             }
+            dataTypes.add(dataType);
+        }
+        if (tokenizer.getSkipped() > 0) {
+            log.debug("{} data skipped from {} for document {}", tokenizer.getSkipped(), source, document);
         }
 
-        // Calculate missing data
         if (!source.equals(DataSource.ANNEX)) {
-            final List<DataType> collect = dataList.stream()
-                    .map(Data::getDataType)
-                    .collect(toList());
+            return new ExtractedData(dataList, documentService.computeMissingData(document, dataTypes));
+        }
+        return new ExtractedData(dataList, ImmutableList.of());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<DataType> extractData(final CharSequence input, final int start, final int end,
+                                      final Document document, final DataSource source, final ParseHandler handler)
+            throws DataExtractionException {
+        final EnumSet<DataType> dataTypes = EnumSet.noneOf(DataType.class);
+        final CharSequenceView value = new CharSequenceView();
 
-            return new ExtractedData(dataList, documentService.computeMissingData(document, collect));
+        final DataTokenizer tokenizer = new DataTokenizer()
+                .reset(input, start, end, documentService.getDecodingPlan(document));
+        while (tokenizer.next()) {
+            final DataType dataType = tokenizer.getDataType();
+            handler.onField(dataType, value.view(input, tokenizer.getValueStart(), tokenizer.getValueEnd()),
+                            tokenizer.isTruncated(), source);
+            dataTypes.add(dataType);
         }
 
-        return new ExtractedData(dataList, ImmutableList.of());
+        if (!source.equals(DataSource.ANNEX)) {
+            return documentService.computeMissingData(document, dataTypes);
+        }
+        return ImmutableList.of();
     }
 
-    private void addData(final ArrayList<Data> data, final String value, final Document document,
-                         final DataSource source,
-                         final DataType dataType, final boolean truncated) throws DataExtractionException {
-        final Data build = Data.builder()
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<DataType> indexData(final LazyDataList target, final CharSequence input, final int start,
+                                    final int end, final Document document, final DataSource source)
+            throws DataExtractionException {
+        final EnumSet<DataType> dataTypes = EnumSet.noneOf(DataType.class);
+
+        final DataTokenizer tokenizer = new DataTokenizer()
+                .reset(input, start, end, documentService.getDecodingPlan(document));
+        while (tokenizer.next()) {
+            final DataType dataType = tokenizer.getDataType();
+            target.record(dataType, tokenizer.getValueStart(), tokenizer.getValueEnd(), tokenizer.isTruncated(),
+                          tokenizer.isMandatory(), source);
+            dataTypes.add(dataType);
+        }
+
+        if (!source.equals(DataSource.ANNEX)) {
+            return documentService.computeMissingData(document, dataTypes);
+        }
+        return ImmutableList.of();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<DataType> extractDataInto(final ResultSink sink, final CharSequence input, final int start,
+                                          final int end, final Document document, final DataSource source)
+            throws DataExtractionException {
+        final DataTokenizer tokenizer = sink.tokenizer()
+                .reset(input, start, end, documentService.getDecodingPlan(document));
+        while (tokenizer.next()) {
+            final DataType dataType = tokenizer.getDataType();
+            final int index = sink.add(dataType, tokenizer.getValueStart(), tokenizer.getValueEnd(),
+                                       tokenizer.isTruncated(), tokenizer.isMandatory(), source);
+            if (!tokenizer.isEmpty()) {
+                decodeInto(sink, index, input, tokenizer.getValueStart(), tokenizer.getValueEnd(), dataType,
+                           tokenizer.getFormat());
+            }
+        }
+
+        if (!source.equals(DataSource.ANNEX)) {
+            return documentService.computeMissingData(document, sink.messageDataTypes());
+        }
+        return ImmutableList.of();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Data decodeData(final CharSequence input, final int valueStart, final int valueEnd,
+                           final DataType dataType, final boolean truncated, final boolean mandatory,
+                           final DataSource source) throws DataExtractionException {
+        final String value = input.subSequence(valueStart, valueEnd).toString();
+        return Data.builder()
                 .dataType(dataType)
                 .source(source)
                 .value(parseValue(value, dataType))
                 .stringValue(value)
                 .truncated(truncated)
-                .mandatory(documentService.isDataMandatory(document, dataType))
+                .mandatory(mandatory)
                 .build();
-        data.add(build);
     }
 
     private Object parseValue(final String value, final DataType dataType) throws DataExtractionException {
@@ -209,16 +210,91 @@ class DataService implements IDataService {
         }
     }
 
-    private void addData(final ArrayList<Data> data, final String value, final Document document,
-                         final DataSource source,
-                         final DataType dataType) throws DataExtractionException {
-        addData(data, value, document, source, dataType, false);
+    /**
+     * Decodes a value with the built-in decoders, without building an exception when it is invalid
+     *
+     * @param input      the input containing the value
+     * @param valueStart the start of the value in the input (inclusive)
+     * @param valueEnd   the end of the value in the input (exclusive)
+     * @param dataFormat the format of the value
+     * @return the value, null if it is empty, or {@link DataService#INVALID} if it does not match its format
+     */
+    private static Object decodeValue(final CharSequence input, final int valueStart, final int valueEnd,
+                                      final DataFormat dataFormat) {
+        if (valueStart == valueEnd) {
+            return null;
+        }
+        switch (dataFormat) {
+            case INTEGER:
+                final long integer = IntegerDataParser.decode(input, valueStart, valueEnd);
+                return integer == IntegerDataParser.INVALID ? INVALID : (Object) (int) integer;
+            case AMOUNT:
+                final long cents = AmountDataParser.decodeCents(input, valueStart, valueEnd);
+                return cents == AmountDataParser.INVALID ? INVALID : (Object) AmountDataParser.toDouble(cents);
+            case BOOLEAN:
+                final int bool = BooleanDataParser.decode(input, valueStart, valueEnd);
+                return bool == BooleanDataParser.INVALID ? INVALID : (Object) (bool == BooleanDataParser.TRUE);
+            case TIME:
+                final int secondOfDay = TimeDataParser.decodeSecondOfDay(input, valueStart, valueEnd);
+                return secondOfDay == TimeDataParser.INVALID ? INVALID : LocalTime.ofSecondOfDay(secondOfDay);
+            case DATE:
+                final LocalDate date = DateDataParser.decode(input, valueStart, valueEnd);
+                return date == DateDataParser.INVALID ? INVALID : date;
+            case URL:
+                final byte[] buffer = Base32Decoder.threadLocalBuffer(valueEnd - valueStart);
+                final int length = Base32Decoder.decode(input, valueStart, valueEnd, buffer, 0);
+                return length == Base32Decoder.INVALID ? INVALID : new String(buffer, 0, length, UTF_8);
+            default:
+                return TextDataParser.decode(input, valueStart, valueEnd);
+        }
     }
 
-    private void addTruncatedData(final ArrayList<Data> data, final String value, final Document document,
-                                  final DataSource source,
-                                  final DataType dataType) throws DataExtractionException {
-        addData(data, value, document, source, dataType, true);
+    /**
+     * Decodes a value with the built-in decoders and stores it in the sink
+     * <p>
+     * The text values are not copied, the sink keeps their position in the input
+     */
+    private static void decodeInto(final ResultSink sink, final int index, final CharSequence input,
+                                   final int valueStart, final int valueEnd, final DataType dataType,
+                                   final DataFormat dataFormat) throws DataExtractionException {
+        final boolean valid;
+        switch (dataFormat) {
+            case INTEGER:
+                final long integer = IntegerDataParser.decode(input, valueStart, valueEnd);
+                valid = integer != IntegerDataParser.INVALID;
+                sink.primitive(index, integer);
+                break;
+            case AMOUNT:
+                final long cents = AmountDataParser.decodeCents(input, valueStart, valueEnd);
+                valid = cents != AmountDataParser.INVALID;
+                sink.primitive(index, cents);
+                break;
+            case BOOLEAN:
+                final int bool = BooleanDataParser.decode(input, valueStart, valueEnd);
+                valid = bool != BooleanDataParser.INVALID;
+                sink.primitive(index, bool);
+                break;
+            case TIME:
+                final int secondOfDay = TimeDataParser.decodeSecondOfDay(input, valueStart, valueEnd);
+                valid = secondOfDay != TimeDataParser.INVALID;
+                sink.primitive(index, secondOfDay);
+                break;
+            case DATE:
+                final LocalDate date = DateDataParser.decode(input, valueStart, valueEnd);
+                valid = date != DateDataParser.INVALID;
+                sink.date(index, date);
+                break;
+            case URL:
+                final byte[] buffer = Base32Decoder.threadLocalBuffer(valueEnd - valueStart);
+                valid = Base32Decoder.decode(input, valueStart, valueEnd, buffer, 0) != Base32Decoder.INVALID;
+                break;
+            default:
+                valid = true;
+        }
+        if (!valid) {
+            throw new DataExtractionException(format("Parsing of data %s with value %s failed", dataType,
+                                                     input.subSequence(valueStart, valueEnd)));
+        }
     }
 
 }
@@ -0,0 +1,287 @@
+package fr.kiyauden._2ddoc;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import static fr.kiyauden._2ddoc.Constants.GS;
+import static fr.kiyauden._2ddoc.Constants.RS;
+import static java.lang.String.format;
+
+/**
+ * Tokenizer walking the data of a 2D-DOC segment without copying it
+ * <p>
+ * Each call to {@link DataTokenizer#next()} moves the tokenizer to the next data of the segment, the
+ * {@link DataType}, the bounds of the value inside the original {@link CharSequence} and the truncated flag are then
+ * available through the getters
+ * <p>
+ * The segment is never sliced, the {@link String} of a value is only created by {@link DataTokenizer#value()}
+ * <p>
+ * The data are read following the {@link DecodingPlan} of the document, a data not linked to the document is
+ * rejected, the mandatory flag and the format of each data come from the plan
+ * <p>
+ * An instance is not thread safe but can be reused with
+ * {@link DataTokenizer#reset(CharSequence, int, int, DecodingPlan)}
+ */
+@Slf4j
+class DataTokenizer {
+
+    /**
+     * The input containing the segment
+     */
+    private CharSequence input;
+    /**
+     * The plan of the document of the segment
+     */
+    private DecodingPlan plan = DecodingPlan.ANY;
+    /**
+     * The position of the next identifier to read
+     */
+    private int position;
+    /**
+     * The end of the segment (exclusive)
+     */
+    private int end;
+
+    /**
+     * The {@link DataType} of the current data
+     */
+    @Getter
+    private DataType dataType;
+    /**
+     * The start of the current data value in the input (inclusive)
+     */
+    @Getter
+    private int valueStart;
+    /**
+     * The end of the current data value in the input (exclusive)
+     */
+    @Getter
+    private int valueEnd;
+    /**
+     * Boolean indicating if the current data ended with a RS, meaning that it is truncated
+     */
+    @Getter
+    private boolean truncated;
+    /**
+     * Boolean indicating if the current data is mandatory for the document of the plan
+     */
+    @Getter
+    private boolean mandatory;
+    /**
+     * The {@link DataFormat} of the current data
+     */
+    @Getter
+    private DataFormat format;
+    /**
+     * Boolean indicating if the data with an unknown identifier or not linked to the document are skipped
+     * <p>
+     * TRUE when they are skipped, FALSE when they stop the tokenizer
+     */
+    private boolean lenient;
+    /**
+     * The number of data skipped since the last reset, always 0 when not lenient
+     */
+    @Getter
+    private int skipped;
+
+    DataTokenizer() {
+    }
+
+    DataTokenizer(final CharSequence input, final int start, final int end) {
+        reset(input, start, end);
+    }
+
+    /**
+     * Resets the tokenizer so it walks a new segment, accepting any data type
+     *
+     * @param input the input containing the segment
+     * @param start the start of the segment (inclusive)
+     * @param end   the end of the segment (exclusive)
+     * @return this tokenizer
+     */
+    DataTokenizer reset(final CharSequence input, final int start, final int end) {
+        return reset(input, start, end, DecodingPlan.ANY);
+    }
+
+    /**
+     * Resets the tokenizer so it walks a new segment of a document
+     *
+     * @param input the input containing the segment
+     * @param start the start of the segment (inclusive)
+     * @param end   the end of the segment (exclusive)
+     * @param plan  the plan of the document
+     * @return this tokenizer
+     */
+    DataTokenizer reset(final CharSequence input, final int start, final int end, final DecodingPlan plan) {
+        this.input = input;
+        this.plan = plan;
+        position = start;
+        this.end = end;
+        dataType = null;
+        valueStart = start;
+        valueEnd = start;
+        truncated = false;
+        mandatory = false;
+        format = null;
+        skipped = 0;
+        return this;
+    }
+
+    /**
+     * Sets if the data with an unknown identifier or not linked to the document are skipped instead of stopping the
+     * tokenizer, for the segments read after this call
+     *
+     * @param lenient TRUE to skip them, FALSE to stop
+     * @return this tokenizer
+     */
+    DataTokenizer lenient(final boolean lenient) {
+        this.lenient = lenient;
+        return this;
+    }
+
+    /**
+     * Moves to the next data of the segment
+     *
+     * @return TRUE if a data was read, FALSE if the end of the segment is reached
+     * @throws DataExtractionException when the segment is malformed or a data is not linked to the document
+     */
+    boolean next() throws DataExtractionException {
+        try {
+            return advance();
+        } catch (final ParseSignal signal) {
+            throw failure(signal);
+        }
+    }
+
+    /**
+     * Moves to the next data of the segment, reporting an error with a {@link ParseSignal}
+     * <p>
+     * When lenient, a data with an unknown identifier or not linked to the document is skipped up to the next GS or
+     * RS, see {@link DataTokenizer#lenient(boolean)}
+     *
+     * @return TRUE if a data was read, FALSE if the end of the segment is reached
+     * @throws ParseSignal when the segment is malformed or a data is not linked to the document, the tokenizer then
+     *                     stays on the identifier of the failing data
+     */
+    boolean advance() throws ParseSignal {
+        int descriptor;
+        int index;
+        while (true) {
+            if (position >= end) {
+                return false;
+            }
+            if (position + 2 > end) {
+                throw ParseSignal.of(ErrorCode.MALFORMED_DATA, position);
+            }
+            index = IdentifierIndex.of(input.charAt(position), input.charAt(position + 1));
+            descriptor = index < 0 ? 0 : plan.descriptor(index);
+            if ((descriptor & DecodingPlan.LINKED) != 0) {
+                break;
+            }
+            if (!lenient) {
+                dataType = descriptor == 0 ? null : DecodingPlan.dataType(descriptor);
+                throw ParseSignal.of(descriptor == 0 ? ErrorCode.MALFORMED_DATA : ErrorCode.DATA_NOT_LINKED, position);
+            }
+            skip();
+        }
+
+        final DataType found = DecodingPlan.dataType(descriptor);
+        dataType = found;
+        mandatory = (descriptor & DecodingPlan.MANDATORY) != 0;
+        format = DecodingPlan.format(descriptor);
+        valueStart = position + 2;
+        truncated = false;
+
+        final int maxLength = plan.maxLength(index);
+        if ((descriptor & DecodingPlan.FIXED_LENGTH) != 0) {
+            valueEnd = valueStart + maxLength;
+            if (valueEnd > end) {
+                throw ParseSignal.of(ErrorCode.INCOMPLETE_DATA, position);
+            }
+            position = valueEnd;
+        } else {
+            // Variable length, the data ends with a GS, a RS when truncated, or with the end of the segment
+            final int limit = end - valueStart > maxLength ? valueStart + maxLength : end;
+            final int j = SeparatorScanner.indexOfDataEnd(input, valueStart, limit);
+
+            if (j >= 0) {
+                truncated = input.charAt(j) == RS;
+                valueEnd = j;
+                position = j + 1;
+            } else if (limit == end) {
+                // Not truncated data at the end of the segment, the GS is optional
+                valueEnd = end;
+                position = end;
+            } else {
+                // The separator may directly follow the max length
+                final char c = input.charAt(limit);
+                if (c != GS && c != RS) {
+                    throw ParseSignal.of(ErrorCode.OVERFLOWING_DATA, position);
+                }
+                truncated = c == RS;
+                valueEnd = limit;
+                position = limit + 1;
+            }
+        }
+
+        if (log.isTraceEnabled()) {
+            log.trace("Found data {} from {} to {}, truncated {}", dataType, valueStart, valueEnd, truncated);
+        }
+        return true;
+    }
+
+    /**
+     * Skips the data at the current position, up to the next GS or RS or to the end of the segment
+     */
+    private void skip() {
+        if (log.isDebugEnabled()) {
+            log.debug("Skipping data with identifier {}", input.subSequence(position, position + 2));
+        }
+        skipped++;
+        final int j = SeparatorScanner.indexOfDataEnd(input, position + 2, end);
+        position = j >= 0 ? j + 1 : end;
+    }
+
+    /**
+     * Creates the exception of a signal thrown by {@link DataTokenizer#advance()}, with a message describing the
+     * failing data
+     *
+     * @param signal the signal
+     * @return the exception
+     */
+    private DataExtractionException failure(final ParseSignal signal) {
+        switch (signal.getErrorCode()) {
+            case DATA_NOT_LINKED:
+                return new DataExtractionException(
+                        format("Data %s %s is not linked to document %s", dataType.name(), dataType.getId(),
+                               plan.getDocumentName()));
+            case INCOMPLETE_DATA:
+                return new DataExtractionException(
+                        format("Data %s is incomplete, expected length %d", dataType, dataType.getMaxLength()));
+            case OVERFLOWING_DATA:
+                return new DataExtractionException(
+                        format("Data %s is overflowing, max length %d", dataType, dataType.getMaxLength()));
+            default:
+                return new DataExtractionException(
+                        format("Malformed data, identifier %s found",
+                               input.subSequence(position, Math.min(position + 2, end))));
+        }
+    }
+
+    /**
+     * Creates the {@link String} value of the current data
+     *
+     * @return the value of the current data
+     */
+    String value() {
+        return input.subSequence(valueStart, valueEnd).toString();
+    }
+
+    /**
+     * @return TRUE if the current data has no value, only the identifier
+     */
+    boolean isEmpty() {
+        return valueStart == valueEnd;
+    }
+
+}
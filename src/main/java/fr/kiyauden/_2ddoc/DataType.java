@@ -4,25 +4,18 @@ import lombok.Getter;
 import lombok.experimental.Accessors;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
-import static fr.kiyauden._2ddoc.DataFormat.AMOUNT;
-import static fr.kiyauden._2ddoc.DataFormat.BOOLEAN;
-import static fr.kiyauden._2ddoc.DataFormat.DATE;
-import static fr.kiyauden._2ddoc.DataFormat.INTEGER;
-import static fr.kiyauden._2ddoc.DataFormat.TEXT;
-import static fr.kiyauden._2ddoc.DataFormat.TIME;
-import static fr.kiyauden._2ddoc.DataFormat.URL;
 import static java.lang.String.format;
 import static java.util.Arrays.stream;
 import static java.util.Optional.ofNullable;
-import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toMap;
 
 /**
  * The data types that can be found inside a 2D-DOC
+ * <p>
+ * A view over {@link SchemaRegistry}, the label, the format and the lengths of each data type are defined by the
+ * bundled schema
  */
 public enum DataType {
 
@@ -33,515 +26,1425 @@ public enum DataType {
     /**
      * ID : 01
      */
-    DOCUMENT_UNIQUE_ID(
-            "01",
-            "Identifiant unique du document",
-            TEXT,
-            0
-    ),
+    DOCUMENT_UNIQUE_ID("01"),
     /**
      * ID : 02
      */
-    DOCUMENT_CATEGORY(
-            "02",
-            "Catégorie de document",
-            TEXT,
-            0
-    ),
+    DOCUMENT_CATEGORY("02"),
     /**
      * ID : 03
      */
-    DOCUMENT_SUB_CATEGORY(
-            "03",
-            "Sous-catégorie de document",
-            TEXT,
-            0
-    ),
+    DOCUMENT_SUB_CATEGORY("03"),
     /**
      * ID : 04
      */
-    ISSUING_APPLICATION(
-            "04",
-            "Application de composition",
-            TEXT,
-            0
-    ),
+    ISSUING_APPLICATION("04"),
     /**
      * ID : 05
      */
-    ISSUING_APPLICATION_VERSION(
-            "05",
-            "Version de l’application de composition",
-            TEXT,
-            0
-    ),
+    ISSUING_APPLICATION_VERSION("05"),
     /**
      * ID : 06
      */
-    DOCUMENT_ASSOCIATION_DATE_WITH_2DDOC(
-            "06",
-            "Date de l’association entre le document et le code 2D-DOC",
-            DATE,
-            4,
-            4
-    ),
+    DOCUMENT_ASSOCIATION_DATE_WITH_2DDOC("06"),
     /**
      * ID : 07
      */
-    DOCUMENT_ASSOCIATION_TIME_WITH_2DDOC(
-            "07",
-            "Heure de l’association entre le document et le code 2D-DOC",
-            TIME,
-            6,
-            6
-    ),
+    DOCUMENT_ASSOCIATION_TIME_WITH_2DDOC("07"),
     /**
      * ID : 08
      */
-    DOCUMENT_EXPIRY_DATE(
-            "08",
-            "Date d’expiration du document",
-            DATE,
-            4,
-            4
-    ),
+    DOCUMENT_EXPIRY_DATE("08"),
     /**
      * ID : 09
      */
-    DOCUMENT_NUMBER_OF_PAGES(
-            "09",
-            "Nombre de pages du document",
-            INTEGER,
-            4,
-            4
-    ),
+    DOCUMENT_NUMBER_OF_PAGES("09"),
     /**
      * ID : 0A
      */
-    EDITOR_OF_2DDOC(
-            "0A",
-            "Éditeur du 2D-DOC",
-            TEXT,
-            9,
-            9
-    ),
+    EDITOR_OF_2DDOC("0A"),
     /**
-     * ID : 08C
+     * ID : 0B
      */
-    DOCUMENT_URL(
-            "0C",
-            "URL du document",
-            URL,
-            0
-    ),
+    INTEGRATOR_OF_2DDOC("0B"),
+    /**
+     * ID : 0C
+     */
+    DOCUMENT_URL("0C"),
+    //------------------------------------------------------------------------------------------------------------------
+    // Data for "Justificatif de domicile" documents
+    // Documents 00 - 01 - 02
+    //------------------------------------------------------------------------------------------------------------------
+    /**
+     * ID : 10
+     */
+    BENEFICIARY_ADDRESS_LINE_1("10"),
+    /**
+     * ID : 11
+     */
+    BENEFICIARY_QUALITY_AND_OR_TITLE("11"),
+    /**
+     * ID : 12
+     */
+    BENEFICIARY_FIRSTNAME("12"),
+    /**
+     * ID : 13
+     */
+    BENEFICIARY_LASTNAME("13"),
+    /**
+     * ID : 14
+     */
+    INVOICE_RECIPIENT_ADDRESS_LINE_1("14"),
+    /**
+     * ID : 15
+     */
+    INVOICE_RECIPIENT_QUALITY_AND_OR_TITLE("15"),
+    /**
+     * ID : 16
+     */
+    INVOICE_RECIPIENT_FIRSTNAME("16"),
+    /**
+     * ID : 17
+     */
+    INVOICE_RECIPIENT_LASTNAME("17"),
+    /**
+     * ID : 18
+     */
+    INVOICE_NUMBER("18"),
+    /**
+     * ID : 19
+     */
+    CLIENT_NUMBER("19"),
+    /**
+     * ID : 1A
+     */
+    CONTRACT_NUMBER("1A"),
+    /**
+     * ID : 1B
+     */
+    SUBSCRIBER_IDENTIFIER("1B"),
+    /**
+     * ID : 1C
+     */
+    CONTRACT_EFFECTIVE_DATE("1C"),
+    /**
+     * ID : 1D
+     */
+    INVOICE_AMOUNT_INCLUDING_TAX("1D"),
+    /**
+     * ID : 1E
+     */
+    BENEFICIARY_PHONE_NUMBER("1E"),
+    /**
+     * ID : 1F
+     */
+    INVOICE_RECIPIENT_PHONE_NUMBER("1F"),
+    /**
+     * ID : 1G
+     */
+    UNMENTIONED_CO_BENEFICIARY_PRESENCE("1G"),
+    /**
+     * ID : 1H
+     */
+    UNMENTIONED_CO_INVOICE_RECIPIENT_PRESENCE("1H"),
+    /**
+     * ID : 1I
+     */
+    CO_BENEFICIARY_RECIPIENT_ADDRESS_LINE_1("1I"),
+    /**
+     * ID : 1J
+     */
+    CO_BENEFICIARY_QUALITY_AND_OR_TITLE("1J"),
+    /**
+     * ID : 1K
+     */
+    CO_BENEFICIARY_FIRSTNAME("1K"),
+    /**
+     * ID : 1K
+     */
+    CO_BENEFICIARY_LASTNAME("1L"),
+    /**
+     * ID : 1M
+     */
+    CO_INVOICE_RECIPIENT_ADDRESS_LINE_1("1M"),
+    /**
+     * ID : 1N
+     */
+    CO_INVOICE_RECIPIENT_QUALITY_AND_OR_TITLE("1N"),
+    /**
+     * ID : 1O
+     */
+    CO_INVOICE_RECIPIENT_FIRSTNAME("1O"),
+    /**
+     * ID : 1P
+     */
+    CO_INVOICE_RECIPIENT_LASTNAME("1P"),
+    /**
+     * ID : 20
+     */
+    BENEFIT_SERVICE_POINT_ADDRESS_LINE_2("20"),
+    /**
+     * ID : 21
+     */
+    BENEFIT_SERVICE_POINT_ADDRESS_LINE_3("21"),
+    /**
+     * ID : 22
+     */
+    BENEFIT_SERVICE_POINT_ADDRESS_LINE_4("22"),
+    /**
+     * ID : 23
+     */
+    BENEFIT_SERVICE_POINT_ADDRESS_LINE_5("23"),
+    /**
+     * ID : 24
+     */
+    BENEFIT_SERVICE_POINT_POSTAL_OR_CEDEX_CODE("24"),
+    /**
+     * ID : 25
+     */
+    BENEFIT_SERVICE_POINT_LOCALITY_OR_CEDEX_LABEL("25"),
+    /**
+     * ID : 26
+     */
+    BENEFIT_SERVICE_POINT_COUNTRY("26"),
+    /**
+     * ID : 27
+     */
+    INVOICE_RECIPIENT_ADDRESS_LINE_2("27"),
+    /**
+     * ID : 28
+     */
+    INVOICE_RECIPIENT_ADDRESS_LINE_3("28"),
+    /**
+     * ID : 29
+     */
+    INVOICE_RECIPIENT_ADDRESS_LINE_4("29"),
+    /**
+     * ID : 2A
+     */
+    INVOICE_RECIPIENT_ADDRESS_LINE_5("2A"),
+    /**
+     * ID : 2B
+     */
+    INVOICE_RECIPIENT_POSTAL_OR_CEDEX_CODE("2B"),
+    /**
+     * ID : 2C
+     */
+    INVOICE_RECIPIENT_LOCALITY_OR_CEDEX_LABEL("2C"),
+    /**
+     * ID : 2D
+     */
+    INVOICE_RECIPIENT_COUNTRY("2D"),
+    //------------------------------------------------------------------------------------------------------------------
+    // Data for bank documents
+    // Documents 03 - 05 - 11
+    //------------------------------------------------------------------------------------------------------------------
+    /**
+     * ID : 30
+     */
+    ACCOUNT_HOLDER_QUALITY_AND_NAME("30"),
+    /**
+     * ID : 31
+     */
+    IBAN("31"),
+    /**
+     * ID : 32
+     */
+    BIC("32"),
+    /**
+     * ID : 33
+     */
+    BBAN("33"),
+    /**
+     * ID : 34
+     */
+    ACCOUNT_COUNTRY("34"),
+    /**
+     * ID : 35
+     */
+    SEPAMAIL_IDENTIFIER("35"),
+    /**
+     * ID : 36
+     */
+    PERIOD_START_DATE("36"),
+    /**
+     * ID : 37
+     */
+    PERIOD_END_DATE("37"),
+    /**
+     * ID : 38
+     */
+    PERIOD_START_BALANCE("38"),
+    /**
+     * ID : 39
+     */
+    PERIOD_END_BALANCE("39"),
+    //------------------------------------------------------------------------------------------------------------------
+    // Data for tax documents
+    // Documents 04 - 09 - 18
+    //------------------------------------------------------------------------------------------------------------------
+    /**
+     * ID : 40
+     */
+    TAX_NUMBER("40"),
+    /**
+     * ID : 41
+     */
+    REFERENCE_TAX_INCOME("41"),
+    /**
+     * ID : 42
+     */
+    HOUSEHOLD_SITUATION("42"),
+    /**
+     * ID : 43
+     */
+    NUMBER_OF_SHARES("43"),
+    /**
+     * ID : 44
+     */
+    TAX_NOTICE_REFERENCE("44"),
+    /**
+     * ID : 45
+     */
+    INCOME_YEAR("45"),
+    /**
+     * ID : 46
+     */
+    DECLARANT_1("46"),
+    /**
+     * ID : 47
+     */
+    DECLARANT_1_TAX_NUMBER("47"),
+    /**
+     * ID : 48
+     */
+    DECLARANT_2("48"),
+    /**
+     * ID : 49
+     */
+    DECLARANT_2_TAX_NUMBER("49"),
+    /**
+     * ID : 4A
+     */
+    COLLECTION_DATE("4A"),
+    /**
+     * ID : 4B
+     */
+    DECLARATION_DATE("4B"),
+    //------------------------------------------------------------------------------------------------------------------
+    // Data for employment documents
+    // Documents 06 - 10 - 15
+    //------------------------------------------------------------------------------------------------------------------
+    /**
+     * ID : 50
+     */
+    EMPLOYER_SIRET("50"),
+    /**
+     * ID : 51
+     */
+    HOURS_WORKED("51"),
+    /**
+     * ID : 52
+     */
+    CUMULATIVE_HOURS_WORKED("52"),
+    /**
+     * ID : 53
+     */
+    EMPLOYMENT_PERIOD_START_DATE("53"),
+    /**
+     * ID : 54
+     */
+    EMPLOYMENT_PERIOD_END_DATE("54"),
+    /**
+     * ID : 55
+     */
+    CONTRACT_START_DATE("55"),
+    /**
+     * ID : 56
+     */
+    CONTRACT_END_DATE("56"),
+    /**
+     * ID : 57
+     */
+    CONTRACT_SIGNATURE_DATE("57"),
+    /**
+     * ID : 58
+     */
+    NET_TAXABLE_SALARY("58"),
+    /**
+     * ID : 59
+     */
+    CUMULATIVE_NET_TAXABLE_SALARY("59"),
+    /**
+     * ID : 5A
+     */
+    MONTHLY_GROSS_SALARY("5A"),
+    /**
+     * ID : 5B
+     */
+    CUMULATIVE_GROSS_SALARY("5B"),
+    /**
+     * ID : 5C
+     */
+    NET_SALARY("5C"),
+    /**
+     * ID : 5D
+     */
+    EMPLOYER_ADDRESS_LINE_2("5D"),
+    /**
+     * ID : 5E
+     */
+    EMPLOYER_ADDRESS_LINE_3("5E"),
+    /**
+     * ID : 5F
+     */
+    EMPLOYER_ADDRESS_LINE_4("5F"),
+    /**
+     * ID : 5G
+     */
+    EMPLOYER_ADDRESS_LINE_5("5G"),
+    /**
+     * ID : 5H
+     */
+    EMPLOYER_POSTAL_OR_CEDEX_CODE("5H"),
+    /**
+     * ID : 5I
+     */
+    EMPLOYER_LOCALITY_OR_CEDEX_LABEL("5I"),
+    /**
+     * ID : 5J
+     */
+    EMPLOYER_COUNTRY("5J"),
+    /**
+     * ID : 5K
+     */
+    SOCIAL_CONTRIBUTOR_IDENTIFIER("5K"),
+    /**
+     * ID : 5L
+     */
+    SIRET_OR_RNA_NUMBER("5L"),
+    /**
+     * ID : 5M
+     */
+    COMPANY_NAME("5M"),
+    /**
+     * ID : 5N
+     */
+    WORK_PERMIT_FILE_NUMBER("5N"),
+    /**
+     * ID : 5O
+     */
+    EMPLOYER_LASTNAME("5O"),
+    /**
+     * ID : 5P
+     */
+    EMPLOYER_FIRSTNAME("5P"),
+    /**
+     * ID : 5Q
+     */
+    DECLARANT_LASTNAME("5Q"),
+    /**
+     * ID : 5R
+     */
+    DECLARANT_FIRSTNAME("5R"),
+    /**
+     * ID : 5S
+     */
+    DECLARANT_FUNCTION("5S"),
+    /**
+     * ID : 5T
+     */
+    EMPLOYMENT_CONTRACT_TYPE("5T"),
+    /**
+     * ID : 5U
+     */
+    CONTRACT_DURATION("5U"),
+    //------------------------------------------------------------------------------------------------------------------
+    // Data for identity documents
+    // Documents 07 - 08 - 13
+    //------------------------------------------------------------------------------------------------------------------
+    /**
+     * ID : 60
+     */
+    FIRSTNAMES("60"),
+    /**
+     * ID : 61
+     */
+    FIRSTNAME("61"),
+    /**
+     * ID : 62
+     */
+    BIRTH_NAME("62"),
+    /**
+     * ID : 63
+     */
+    USUAL_NAME("63"),
+    /**
+     * ID : 64
+     */
+    SPOUSE_NAME("64"),
+    /**
+     * ID : 65
+     */
+    IDENTITY_DOCUMENT_TYPE("65"),
+    /**
+     * ID : 66
+     */
+    IDENTITY_DOCUMENT_NUMBER("66"),
+    /**
+     * ID : 67
+     */
+    NATIONALITY("67"),
+    /**
+     * ID : 68
+     */
+    GENDER("68"),
+    /**
+     * ID : 69
+     */
+    BIRTH_DATE("69"),
+    /**
+     * ID : 6A
+     */
+    BIRTH_PLACE("6A"),
+    /**
+     * ID : 6B
+     */
+    ISSUING_OFFICE_DEPARTMENT("6B"),
+    /**
+     * ID : 6C
+     */
+    BIRTH_COUNTRY("6C"),
+    /**
+     * ID : 6D
+     */
+    FATHER_NAME("6D"),
+    /**
+     * ID : 6E
+     */
+    MOTHER_NAME("6E"),
+    /**
+     * ID : 6F
+     */
+    MACHINE_READABLE_ZONE("6F"),
+    /**
+     * ID : 6G
+     */
+    NAME("6G"),
+    /**
+     * ID : 6H
+     */
+    CIVILITY("6H"),
+    /**
+     * ID : 6I
+     */
+    ISSUING_COUNTRY("6I"),
+    /**
+     * ID : 6J
+     */
+    FOREIGN_DOCUMENT_TYPE("6J"),
+    /**
+     * ID : 6K
+     */
+    FOREIGN_DOCUMENT_APPLICATION_NUMBER("6K"),
+    /**
+     * ID : 6L
+     */
+    APPLICATION_FILING_DATE("6L"),
+    /**
+     * ID : 6M
+     */
+    PERMIT_CATEGORY("6M"),
+    /**
+     * ID : 6N
+     */
+    VALIDITY_START_DATE("6N"),
+    /**
+     * ID : 6O
+     */
+    VALIDITY_END_DATE("6O"),
+    /**
+     * ID : 6P
+     */
+    AUTHORIZATION("6P"),
+    /**
+     * ID : 6Q
+     */
+    FOREIGNER_NUMBER("6Q"),
+    /**
+     * ID : 6R
+     */
+    VISA_NUMBER("6R"),
+    /**
+     * ID : 6S
+     */
+    HOME_ADDRESS_LINE_2("6S"),
+    /**
+     * ID : 6T
+     */
+    HOME_ADDRESS_LINE_3("6T"),
+    /**
+     * ID : 6U
+     */
+    HOME_ADDRESS_LINE_4("6U"),
+    /**
+     * ID : 6V
+     */
+    HOME_ADDRESS_LINE_5("6V"),
+    /**
+     * ID : 6W
+     */
+    HOME_POSTAL_OR_CEDEX_CODE("6W"),
+    /**
+     * ID : 6X
+     */
+    HOME_MUNICIPALITY("6X"),
+    /**
+     * ID : 6Y
+     */
+    HOME_COUNTRY("6Y"),
+    /**
+     * ID : 6Z
+     */
+    WORK_PERMIT_FOREIGNER_NUMBER("6Z"),
+    //------------------------------------------------------------------------------------------------------------------
+    // Data for medical documents
+    // Document A4
+    //------------------------------------------------------------------------------------------------------------------
+    /**
+     * ID : 70
+     */
+    DEATH_DATE_TIME("70"),
+    /**
+     * ID : 71
+     */
+    DEATH_RECORD_DATE_TIME("71"),
+    /**
+     * ID : 72
+     */
+    DECEASED_LASTNAME("72"),
+    /**
+     * ID : 73
+     */
+    DECEASED_FIRSTNAMES("73"),
+    /**
+     * ID : 74
+     */
+    DECEASED_MAIDEN_NAME("74"),
+    /**
+     * ID : 75
+     */
+    DECEASED_BIRTH_DATE("75"),
+    /**
+     * ID : 76
+     */
+    DECEASED_GENDER("76"),
+    /**
+     * ID : 77
+     */
+    DEATH_MUNICIPALITY("77"),
+    /**
+     * ID : 78
+     */
+    DEATH_POSTAL_CODE("78"),
+    /**
+     * ID : 79
+     */
+    DECEASED_HOME_ADDRESS("79"),
+    /**
+     * ID : 7A
+     */
+    DECEASED_HOME_POSTAL_CODE("7A"),
+    /**
+     * ID : 7B
+     */
+    DECEASED_HOME_MUNICIPALITY("7B"),
+    /**
+     * ID : 7C
+     */
+    FORENSIC_OBSTACLE("7C"),
+    /**
+     * ID : 7D
+     */
+    COFFINING("7D"),
+    /**
+     * ID : 7E
+     */
+    CONSERVATION_CARE_OBSTACLE("7E"),
+    /**
+     * ID : 7F
+     */
+    BODY_DONATION_OBSTACLE("7F"),
+    /**
+     * ID : 7G
+     */
+    DEATH_CAUSE_INVESTIGATION("7G"),
+    /**
+     * ID : 7H
+     */
+    BODY_TRANSPORT_DELAY("7H"),
+    /**
+     * ID : 7I
+     */
+    BATTERY_POWERED_PROSTHESIS("7I"),
+    /**
+     * ID : 7J
+     */
+    BATTERY_POWERED_PROSTHESIS_REMOVAL("7J"),
+    /**
+     * ID : 7K
+     */
+    NNC_CODE("7K"),
+    /**
+     * ID : 7L
+     */
+    APPROVED_ORGANIZATION_FINESS_CODE("7L"),
+    /**
+     * ID : 7M
+     */
+    DOCTOR_IDENTIFICATION("7M"),
+    /**
+     * ID : 7N
+     */
+    DEATH_CERTIFICATE_VALIDATION_PLACE("7N"),
+    /**
+     * ID : 7O
+     */
+    ADDITIONAL_DEATH_CERTIFICATE("7O"),
+    //------------------------------------------------------------------------------------------------------------------
+    // Data for activity documents
+    // Documents A6 - A9 - AC
+    //------------------------------------------------------------------------------------------------------------------
+    /**
+     * ID : 80
+     */
+    HOLDER_LASTNAME("80"),
+    /**
+     * ID : 81
+     */
+    HOLDER_FIRSTNAMES("81"),
+    /**
+     * ID : 82
+     */
+    CARD_NUMBER("82"),
+    /**
+     * ID : 83
+     */
+    SUPERVISORY_BODY("83"),
+    /**
+     * ID : 84
+     */
+    PROFESSION("84"),
+    /**
+     * ID : 85
+     */
+    HUNTING_PERMIT_NUMBER("85"),
+    /**
+     * ID : 86
+     */
+    LICENSE_NUMBER("86"),
+    //------------------------------------------------------------------------------------------------------------------
+    // Data for legal documents
+    // Document 12
+    //------------------------------------------------------------------------------------------------------------------
+    /**
+     * ID : 90
+     */
+    BAILIFF_IDENTITY("90"),
+    /**
+     * ID : 91
+     */
+    APPLICANT_IDENTITY("91"),
+    /**
+     * ID : 92
+     */
+    RECIPIENT_IDENTITY("92"),
+    /**
+     * ID : 93
+     */
+    THIRD_PARTY_IDENTITY("93"),
+    /**
+     * ID : 94
+     */
+    DEED_TITLE("94"),
+    /**
+     * ID : 95
+     */
+    DEED_NUMBER("95"),
+    /**
+     * ID : 96
+     */
+    DEED_SIGNATURE_DATE("96"),
+    //------------------------------------------------------------------------------------------------------------------
+    // Data for vehicle documents
+    // Documents A0 - A1 - A2 - A3 - A5 - A7 - A8 - 14
+    //------------------------------------------------------------------------------------------------------------------
+    /**
+     * ID : A0
+     */
+    VEHICLE_REGISTRATION_COUNTRY("A0"),
+    /**
+     * ID : A1
+     */
+    VEHICLE_REGISTRATION_NUMBER("A1"),
+    /**
+     * ID : A2
+     */
+    VEHICLE_BRAND("A2"),
+    /**
+     * ID : A3
+     */
+    VEHICLE_COMMERCIAL_NAME("A3"),
+    /**
+     * ID : A4
+     */
+    VEHICLE_IDENTIFICATION_NUMBER("A4"),
+    /**
+     * ID : A5
+     */
+    VEHICLE_CATEGORY("A5"),
+    /**
+     * ID : A6
+     */
+    VEHICLE_FUEL("A6"),
+    /**
+     * ID : A7
+     */
+    VEHICLE_CO2_EMISSION_RATE("A7"),
+    /**
+     * ID : A8
+     */
+    VEHICLE_ENVIRONMENTAL_CLASS("A8"),
+    /**
+     * ID : A9
+     */
+    VEHICLE_POLLUTANT_EMISSION_CLASS("A9"),
+    /**
+     * ID : AA
+     */
+    VEHICLE_FIRST_REGISTRATION_DATE("AA"),
+    /**
+     * ID : AB
+     */
+    LETTER_TYPE("AB"),
+    /**
+     * ID : AC
+     */
+    FILE_NUMBER("AC"),
+    /**
+     * ID : AD
+     */
+    OFFENSE_DATE("AD"),
+    /**
+     * ID : AE
+     */
+    OFFENSE_TIME("AE"),
+    /**
+     * ID : AF
+     */
+    WITHDRAWN_POINTS("AF"),
+    /**
+     * ID : AG
+     */
+    POINTS_BALANCE("AG"),
+    /**
+     * ID : AH
+     */
+    INCLUSION_CARD_NUMBER("AH"),
+    /**
+     * ID : AI
+     */
+    INITIAL_EXPIRY_DATE("AI"),
+    /**
+     * ID : AJ
+     */
+    EVTC_NUMBER("AJ"),
+    /**
+     * ID : AK
+     */
+    VTC_BADGE_NUMBER("AK"),
+    /**
+     * ID : AL
+     */
+    VTC_CARD_NUMBER("AL"),
+    /**
+     * ID : AM
+     */
+    UPGRADE_REASON("AM"),
+    /**
+     * ID : AN
+     */
+    MILEAGE("AN"),
+    /**
+     * ID : AO
+     */
+    DICEM_IDENTIFICATION_NUMBER("AO"),
+    /**
+     * ID : AP
+     */
+    MACHINE_TYPE("AP"),
+    /**
+     * ID : AQ
+     */
+    SERIAL_NUMBER("AQ"),
+    /**
+     * ID : AR
+     */
+    MODEL("AR"),
+    /**
+     * ID : AS
+     */
+    MAIN_COLOR("AS"),
+    /**
+     * ID : AT
+     */
+    OWNER_TYPE("AT"),
+    /**
+     * ID : AU
+     */
+    OWNER_ADDRESS_LINE_2("AU"),
+    /**
+     * ID : AV
+     */
+    OWNER_ADDRESS_LINE_3("AV"),
+    /**
+     * ID : AW
+     */
+    OWNER_ADDRESS_LINE_4("AW"),
+    /**
+     * ID : AX
+     */
+    OWNER_ADDRESS_LINE_5("AX"),
+    /**
+     * ID : AY
+     */
+    OWNER_POSTAL_OR_CEDEX_CODE("AY"),
+    /**
+     * ID : AZ
+     */
+    OWNER_MUNICIPALITY("AZ"),
     //------------------------------------------------------------------------------------------------------------------
-    // Data for "Justificatif de domicile" documents
-    // Documents 00 - 01 - 02
+    // Data for academic documents
+    // Documents B0 - B1
     //------------------------------------------------------------------------------------------------------------------
     /**
-     * ID : 10
+     * ID : B0
      */
-    BENEFICIARY_ADDRESS_LINE_1(
-            "10",
-            "Ligne 1 de la norme adresse postale du bénéficiaire de la prestation",
-            TEXT,
-            0,
-            38
-    ),
+    STUDENT_FIRSTNAMES("B0"),
     /**
-     * ID : 11
+     * ID : B1
      */
-    BENEFICIARY_QUALITY_AND_OR_TITLE(
-            "11",
-            "Qualité et/ou titre de la personne bénéficiaire de la prestation",
-            TEXT,
-            0,
-            38
-    ),
+    STUDENT_FIRSTNAME("B1"),
     /**
-     * ID : 12
+     * ID : B2
      */
-    BENEFICIARY_FIRSTNAME(
-            "12",
-            "Prénom de la personne bénéficiaire de la prestation",
-            TEXT,
-            0,
-            38
-    ),
+    STUDENT_BIRTH_NAME("B2"),
     /**
-     * ID : 13
+     * ID : B3
      */
-    BENEFICIARY_LASTNAME(
-            "13",
-            "Nom de la personne bénéficiaire de la prestation",
-            TEXT,
-            0,
-            38
-    ),
+    STUDENT_USUAL_NAME("B3"),
     /**
-     * ID : 14
+     * ID : B4
      */
-    INVOICE_RECIPIENT_ADDRESS_LINE_1(
-            "14",
-            "Ligne 1 de la norme adresse postale du destinataire de la facture",
-            TEXT,
-            0,
-            38
-    ),
+    STUDENT_SPOUSE_NAME("B4"),
     /**
-     * ID : 15
+     * ID : B5
      */
-    INVOICE_RECIPIENT_QUALITY_AND_OR_TITLE(
-            "15",
-            "Qualité et/ou titre de la personne destinataire de la facture",
-            TEXT,
-            0,
-            38
-    ),
+    STUDENT_NATIONALITY("B5"),
     /**
-     * ID : 16
+     * ID : B6
      */
-    INVOICE_RECIPIENT_FIRSTNAME(
-            "16",
-            "Prénom de la personne destinataire de la facture",
-            TEXT,
-            0,
-            38
-    ),
+    STUDENT_GENDER("B6"),
     /**
-     * ID : 17
+     * ID : B7
      */
-    INVOICE_RECIPIENT_LASTNAME(
-            "17",
-            "Nom de la personne destinataire de la facture",
-            TEXT,
-            0,
-            38
-    ),
+    STUDENT_BIRTH_DATE("B7"),
     /**
-     * ID : 18
+     * ID : B8
      */
-    INVOICE_NUMBER(
-            "18",
-            "Numéro de la facture",
-            TEXT,
-            0
-    ),
+    STUDENT_BIRTH_PLACE("B8"),
     /**
-     * ID : 19
+     * ID : B9
      */
-    CLIENT_NUMBER(
-            "19",
-            "Numéro de client",
-            TEXT,
-            0
-    ),
+    STUDENT_BIRTH_COUNTRY("B9"),
     /**
-     * ID : 1A
+     * ID : BA
      */
-    CONTRACT_NUMBER(
-            "1A",
-            "Numéro du contrat",
-            TEXT,
-            0
-    ),
+    DIPLOMA_HONOURS("BA"),
     /**
-     * ID : 1B
+     * ID : BB
      */
-    SUBSCRIBER_IDENTIFIER(
-            "1B",
-            "Identifiant du souscripteur du contrat",
-            TEXT,
-            0
-    ),
+    STUDENT_IDENTIFIER("BB"),
     /**
-     * ID : 1C
+     * ID : BC
      */
-    CONTRACT_EFFECTIVE_DATE(
-            "1C",
-            "Date d’effet du contrat",
-            DATE,
-            8,
-            8
-    ),
+    DIPLOMA_NUMBER("BC"),
     /**
-     * ID : 1D
+     * ID : BD
      */
-    INVOICE_AMOUNT_INCLUDING_TAX(
-            "1D",
-            "Montant TTC de la facture",
-            AMOUNT,
-            0,
-            16
-    ),
+    DIPLOMA_EQF_LEVEL("BD"),
     /**
-     * ID : 1E
+     * ID : BE
      */
-    BENEFICIARY_PHONE_NUMBER(
-            "1E",
-            "Numéro de téléphone du bénéficiaire de la prestation",
-            TEXT,
-            0,
-            30
-    ),
+    ECTS_CREDITS("BE"),
     /**
-     * ID : 1F
+     * ID : BF
      */
-    INVOICE_RECIPIENT_PHONE_NUMBER(
-            "1F",
-            "Numéro de téléphone du destinataire de la facture",
-            TEXT,
-            0,
-            30
-    ),
+    ACADEMIC_YEAR("BF"),
     /**
-     * ID : 1G
+     * ID : BG
      */
-    UNMENTIONED_CO_BENEFICIARY_PRESENCE(
-            "1G",
-            "Présence d’un co-bénéficiaire de la prestation non mentionné dans le code",
-            BOOLEAN,
-            0,
-            1
-    ),
+    DIPLOMA_TYPE("BG"),
     /**
-     * ID : 1H
+     * ID : BH
      */
-    UNMENTIONED_CO_INVOICE_RECIPIENT_PRESENCE(
-            "1H",
-            "Présence d’un co-destinataire de la facture non mentionné dans le code",
-            BOOLEAN,
-            0,
-            1
-    ),
+    DIPLOMA_FIELD("BH"),
     /**
-     * ID : 1I
+     * ID : BI
      */
-    CO_BENEFICIARY_RECIPIENT_ADDRESS_LINE_1(
-            "1I",
-            "Ligne 1 de la norme adresse postale du co-bénéficiaire de la prestation",
-            TEXT,
-            0,
-            38
-    ),
+    DIPLOMA_MENTION("BI"),
     /**
-     * ID : 1J
+     * ID : BJ
      */
-    CO_BENEFICIARY_QUALITY_AND_OR_TITLE(
-            "1J",
-            "Qualité et/ou titre du co-bénéficiaire de la prestation",
-            TEXT,
-            0,
-            38
-    ),
+    DIPLOMA_SPECIALITY("BJ"),
     /**
-     * ID : 1K
+     * ID : BK
      */
-    CO_BENEFICIARY_FIRSTNAME(
-            "1K",
-            "Prénom du co-bénéficiaire de la prestation",
-            TEXT,
-            0,
-            38
-    ),
+    CVEC_CERTIFICATE_NUMBER("BK"),
+    //------------------------------------------------------------------------------------------------------------------
+    // Data for electronic transfer certificates
+    // Document A8
+    //------------------------------------------------------------------------------------------------------------------
     /**
-     * ID : 1K
+     * ID : C0
      */
-    CO_BENEFICIARY_LASTNAME(
-            "1L",
-            "Nom du co-bénéficiaire de la prestation",
-            TEXT,
-            0,
-            38
-    ),
+    SELLER_GENDER("C0"),
     /**
-     * ID : 1M
+     * ID : C1
      */
-    CO_INVOICE_RECIPIENT_ADDRESS_LINE_1(
-            "1M",
-            "Ligne 1 de la norme adresse postale du co-destinataire de la facture",
-            TEXT,
-            0,
-            38
-    ),
+    SELLER_BIRTH_NAME("C1"),
     /**
-     * ID : 1N
+     * ID : C2
      */
-    CO_INVOICE_RECIPIENT_QUALITY_AND_OR_TITLE(
-            "1N",
-            "Qualité et/ou titre du co-destinataire de la facture",
-            TEXT,
-            0,
-            38
-    ),
+    SELLER_FIRSTNAME("C2"),
     /**
-     * ID : 1O
+     * ID : C3
      */
-    CO_INVOICE_RECIPIENT_FIRSTNAME(
-            "1O",
-            "Prénom du co-destinataire de la facture",
-            TEXT,
-            0,
-            38
-    ),
+    TRANSFER_DATE_TIME("C3"),
     /**
-     * ID : 1P
+     * ID : C4
      */
-    CO_INVOICE_RECIPIENT_LASTNAME(
-            "1P",
-            "Nom du co-destinataire de la facture",
-            TEXT,
-            0,
-            38
-    ),
+    SELLER_SIGNATURE_DATE("C4"),
     /**
-     * ID : 20
+     * ID : C5
      */
-    BENEFIT_SERVICE_POINT_ADDRESS_LINE_2(
-            "20",
-            "Ligne 2 de la norme adresse postale du point de service des prestations",
-            TEXT,
-            0,
-            38
-    ),
+    BUYER_GENDER("C5"),
     /**
-     * ID : 21
+     * ID : C6
      */
-    BENEFIT_SERVICE_POINT_ADDRESS_LINE_3(
-            "21",
-            "Ligne 3 de la norme adresse postale du point de service des prestations",
-            TEXT,
-            0,
-            38
-    ),
+    BUYER_BIRTH_NAME("C6"),
     /**
-     * ID : 22
+     * ID : C7
      */
-    BENEFIT_SERVICE_POINT_ADDRESS_LINE_4(
-            "22",
-            "Ligne 4 de la norme adresse postale du point de service des prestations",
-            TEXT,
-            0,
-            38
-    ),
+    BUYER_FIRSTNAME("C7"),
     /**
-     * ID : 23
+     * ID : C8
      */
-    BENEFIT_SERVICE_POINT_ADDRESS_LINE_5(
-            "23",
-            "Ligne 5 de la norme adresse postale du point de service des prestations",
-            TEXT,
-            0,
-            38
-    ),
+    BUYER_ADDRESS_LINE_4("C8"),
     /**
-     * ID : 24
+     * ID : C9
      */
-    BENEFIT_SERVICE_POINT_POSTAL_OR_CEDEX_CODE(
-            "24",
-            "Code postal ou code cedex du point de service des prestations",
-            TEXT,
-            5,
-            5
-    ),
+    BUYER_POSTAL_OR_CEDEX_CODE("C9"),
     /**
-     * ID : 25
+     * ID : CA
      */
-    BENEFIT_SERVICE_POINT_LOCALITY_OR_CEDEX_LABEL(
-            "25",
-            "Localité de destination ou libellé cedex du point de service des prestations",
-            TEXT,
-            0,
-            32
-    ),
+    BUYER_MUNICIPALITY("CA"),
     /**
-     * ID : 26
+     * ID : CB
      */
-    BENEFIT_SERVICE_POINT_COUNTRY(
-            "26",
-            "Pays de service des prestations",
-            TEXT,
-            2,
-            2
-    ),
+    REGISTRATION_NUMBER("CB"),
     /**
-     * ID : 27
+     * ID : CC
      */
-    INVOICE_RECIPIENT_ADDRESS_LINE_2(
-            "27",
-            "Ligne 2 de la norme adresse postale du destinataire de la facture",
-            TEXT,
-            0,
-            38
-    ),
+    SIV_REGISTRATION_DATE_TIME("CC"),
+    //------------------------------------------------------------------------------------------------------------------
+    // Data for customs authorizations
+    // Documents C1 - C2 - C3 - C4 - C5 - C6 - C7 - C8
+    //------------------------------------------------------------------------------------------------------------------
     /**
-     * ID : 28
+     * ID : D0
      */
-    INVOICE_RECIPIENT_ADDRESS_LINE_3(
-            "28",
-            "Ligne 3 de la norme adresse postale du destinataire de la facture",
-            TEXT,
-            0,
-            38
-    ),
+    BTI_REFERENCE("D0"),
     /**
-     * ID : 29
+     * ID : D1
      */
-    INVOICE_RECIPIENT_ADDRESS_LINE_4(
-            "29",
-            "Ligne 4 de la norme adresse postale du destinataire de la facture",
-            TEXT,
-            0,
-            38
-    ),
+    HOLDER_NAME("D1"),
     /**
-     * ID : 2A
+     * ID : D2
      */
-    INVOICE_RECIPIENT_ADDRESS_LINE_5(
-            "2A",
-            "Ligne 5 de la norme adresse postale du destinataire de la facture",
-            TEXT,
-            0,
-            38
-    ),
+    EORI("D2"),
     /**
-     * ID : 2B
+     * ID : D3
      */
-    INVOICE_RECIPIENT_POSTAL_OR_CEDEX_CODE(
-            "2B",
-            "Code postal ou code cedex du destinataire de la facture",
-            TEXT,
-            5,
-            5
-    ),
+    BTI_VALIDITY_START_DATE("D3"),
     /**
-     * ID : 2C
+     * ID : D4
      */
-    INVOICE_RECIPIENT_LOCALITY_OR_CEDEX_LABEL(
-            "2C",
-            "Localité de destination ou libellé cedex du destinataire de la facture",
-            TEXT,
-            0,
-            32
-    ),
+    BTI_VALIDITY_END_DATE("D4"),
     /**
-     * ID : 2D
+     * ID : D5
+     */
+    COMMODITY_CODE("D5"),
+    /**
+     * ID : D6
+     */
+    DECISION_NUMBER("D6"),
+    /**
+     * ID : D7
+     */
+    DECISION_DATE("D7"),
+    /**
+     * ID : D8
+     */
+    VALIDITY_DURATION("D8"),
+    /**
+     * ID : D9
+     */
+    LICENSE_VALIDITY_END_DATE("D9"),
+    /**
+     * ID : DA
+     */
+    CUSTOMS_LICENSE_NUMBER("DA"),
+    /**
+     * ID : DB
+     */
+    SENDER_LASTNAME("DB"),
+    /**
+     * ID : DC
+     */
+    SENDER_FIRSTNAME("DC"),
+    /**
+     * ID : DD
+     */
+    SENDER_BIRTH_DATE("DD"),
+    /**
+     * ID : DE
+     */
+    SENDER_COMPANY_NAME("DE"),
+    /**
+     * ID : DF
+     */
+    SENDER_SIREN("DF"),
+    /**
+     * ID : DG
+     */
+    SENDER_SIRET("DG"),
+    /**
+     * ID : DH
+     */
+    SENDER_EORI("DH"),
+    /**
+     * ID : DI
+     */
+    SENDER_TIN("DI"),
+    /**
+     * ID : DJ
+     */
+    EXPORTER_LASTNAME("DJ"),
+    /**
+     * ID : DK
+     */
+    EXPORTER_FIRSTNAME("DK"),
+    /**
+     * ID : DL
+     */
+    EXPORTER_BIRTH_DATE("DL"),
+    /**
+     * ID : DM
+     */
+    EXPORTER_COMPANY_NAME("DM"),
+    /**
+     * ID : DN
+     */
+    EXPORTER_SIREN("DN"),
+    /**
+     * ID : DO
+     */
+    EXPORTER_SIRET("DO"),
+    /**
+     * ID : DP
+     */
+    EXPORTER_EORI("DP"),
+    /**
+     * ID : DQ
+     */
+    CONSIGNEE_LASTNAME("DQ"),
+    /**
+     * ID : DR
+     */
+    CONSIGNEE_FIRSTNAME("DR"),
+    /**
+     * ID : DS
+     */
+    CONSIGNEE_BIRTH_DATE("DS"),
+    /**
+     * ID : DT
+     */
+    CONSIGNEE_COMPANY_NAME("DT"),
+    /**
+     * ID : DU
+     */
+    CONSIGNEE_SIREN("DU"),
+    /**
+     * ID : DV
      */
-    INVOICE_RECIPIENT_COUNTRY(
-            "2D",
-            "Pays du destinataire de la facture",
-            TEXT,
-            2,
-            2
-    );
+    CONSIGNEE_SIRET("DV"),
+    /**
+     * ID : DW
+     */
+    CONSIGNEE_EORI("DW"),
+    /**
+     * ID : DX
+     */
+    CONSIGNEE_TIN("DX"),
+    /**
+     * ID : DY
+     */
+    NUMBER_OF_ITEM_LINES("DY"),
+    /**
+     * ID : DZ
+     */
+    DELIVERY_NOTE_NUMBER("DZ"),
+    /**
+     * ID : H0
+     */
+    SENDER_MUNICIPALITY("H0"),
+    /**
+     * ID : H1
+     */
+    SENDER_COUNTRY("H1"),
+    /**
+     * ID : H2
+     */
+    CONSIGNEE_MUNICIPALITY("H2"),
+    /**
+     * ID : H3
+     */
+    CONSIGNEE_COUNTRY("H3"),
+    /**
+     * ID : H4
+     */
+    DEPARTURE_DATE("H4"),
+    /**
+     * ID : H5
+     */
+    ESTIMATED_ARRIVAL_DATE("H5"),
+    /**
+     * ID : H6
+     */
+    SEAL_NUMBER("H6"),
+    /**
+     * ID : H7
+     */
+    CUSTOMS_CODES("H7"),
+    /**
+     * ID : H8
+     */
+    NUMBER_OF_PACKAGES("H8"),
+    /**
+     * ID : H9
+     */
+    GROSS_WEIGHT("H9"),
+    /**
+     * ID : HA
+     */
+    NET_WEIGHT("HA"),
+    /**
+     * ID : HB
+     */
+    CUSTOMS_VALUE("HB"),
+    /**
+     * ID : HC
+     */
+    DELIVERY_PURPOSE("HC"),
+    /**
+     * ID : HD
+     */
+    SENDER_ADDRESS("HD"),
+    /**
+     * ID : HE
+     */
+    SENDER_POSTAL_CODE_AND_MUNICIPALITY("HE"),
+    /**
+     * ID : HF
+     */
+    CONSIGNEE_ADDRESS("HF"),
+    /**
+     * ID : HG
+     */
+    CONSIGNEE_POSTAL_CODE_AND_MUNICIPALITY("HG"),
+    /**
+     * ID : HH
+     */
+    TRANSPORT_IDENTIFICATION_NUMBER("HH"),
+    //------------------------------------------------------------------------------------------------------------------
+    // Data for virological test results
+    // Document B2
+    //------------------------------------------------------------------------------------------------------------------
+    /**
+     * ID : F0
+     */
+    TESTED_PERSON_FIRSTNAMES("F0"),
+    /**
+     * ID : F1
+     */
+    TESTED_PERSON_BIRTH_NAME("F1"),
+    /**
+     * ID : F2
+     */
+    TESTED_PERSON_BIRTH_DATE("F2"),
+    /**
+     * ID : F3
+     */
+    TESTED_PERSON_GENDER("F3"),
+    /**
+     * ID : F4
+     */
+    ANALYSIS_CODE("F4"),
+    /**
+     * ID : F5
+     */
+    ANALYSIS_RESULT("F5"),
+    /**
+     * ID : F6
+     */
+    SAMPLING_DATE_TIME("F6"),
+    //------------------------------------------------------------------------------------------------------------------
+    // Data for vaccination certificates
+    // Document L1
+    //------------------------------------------------------------------------------------------------------------------
+    /**
+     * ID : L0
+     */
+    PATIENT_BIRTH_NAME("L0"),
+    /**
+     * ID : L1
+     */
+    PATIENT_FIRSTNAMES("L1"),
+    /**
+     * ID : L2
+     */
+    PATIENT_BIRTH_DATE("L2"),
+    /**
+     * ID : L3
+     */
+    TARGETED_DISEASE("L3"),
+    /**
+     * ID : L4
+     */
+    PROPHYLACTIC_AGENT("L4"),
+    /**
+     * ID : L5
+     */
+    VACCINE_NAME("L5"),
+    /**
+     * ID : L6
+     */
+    VACCINE_MANUFACTURER("L6"),
+    /**
+     * ID : L7
+     */
+    LAST_VACCINATION_RANK("L7"),
+    /**
+     * ID : L8
+     */
+    EXPECTED_DOSES("L8"),
+    /**
+     * ID : L9
+     */
+    LAST_VACCINATION_DATE("L9"),
+    /**
+     * ID : LA
+     */
+    VACCINATION_CYCLE_STATE("LA"),
+    //------------------------------------------------------------------------------------------------------------------
+    // Data for asylum documents
+    // Documents 16 - 17
+    //------------------------------------------------------------------------------------------------------------------
+    /**
+     * ID : G0
+     */
+    ASYLUM_PROCEDURE_TYPE("G0"),
+    /**
+     * ID : G1
+     */
+    REGIONAL_ORIENTATION("G1"),
+    /**
+     * ID : G2
+     */
+    USER_NUMBER("G2"),
+    /**
+     * ID : G3
+     */
+    RIGHTS_END_DATE("G3"),
+    /**
+     * ID : G4
+     */
+    ADA_PAID_AMOUNT("G4"),
+    /**
+     * ID : G5
+     */
+    TERRITORIAL_DIRECTORATE_INFORMATION("G5"),
+    //------------------------------------------------------------------------------------------------------------------
+    // Data for driving license documents
+    // Documents AA - AB
+    //------------------------------------------------------------------------------------------------------------------
+    /**
+     * ID : E0
+     */
+    DRIVING_LICENSE_ORDER_TYPE("E0"),
+    /**
+     * ID : E1
+     */
+    DOCUMENT_EDITION_DATE("E1"),
+    /**
+     * ID : E2
+     */
+    SANCTION_END_DATE("E2"),
+    /**
+     * ID : E3
+     */
+    NOTIFICATION_DATE("E3"),
+    /**
+     * ID : E4
+     */
+    DRIVING_LICENSE_STATEMENT_TYPE("E4"),
+    /**
+     * ID : E5
+     */
+    DRIVING_LICENSE_STATUS("E5"),
+    /**
+     * ID : E6
+     */
+    DRIVING_LICENSE_CATEGORIES("E6"),
+    /**
+     * ID : E7
+     */
+    REQUESTER_SIREN("E7"),
+    /**
+     * ID : E8
+     */
+    SNCP_DATA_DATE_TIME("E8");
 
     /**
-     * Map used to find a data type by its ID
+     * Table used to find a data type by its ID, indexed by {@link IdentifierIndex#of(char, char)}
      */
-    private static final Map<String, DataType> BY_ID;
+    private static final DataType[] BY_ID = new DataType[IdentifierIndex.SIZE];
 
     static {
-        BY_ID = stream(DataType.values()).collect(toMap(DataType::getId, identity()));
+        for (final DataType dataType : values()) {
+            BY_ID[IdentifierIndex.of(dataType.getId())] = dataType;
+        }
     }
 
     /**
@@ -592,20 +1495,25 @@ public enum DataType {
     @Getter
     private final boolean hasMaxLength;
 
-    DataType(final String id, final String label, final DataFormat type, final int minLength, final int maxLength) {
+    /**
+     * @param id the ID of the data type, its definition is read from {@link SchemaRegistry#DEFAULT}
+     * @throws IllegalStateException when the data type is not defined by the schema
+     */
+    DataType(final String id) {
+        final SchemaRegistry schema = SchemaRegistry.DEFAULT;
+        final int index = IdentifierIndex.of(id);
+        if (index < 0 || !name().equals(schema.dataName(index))) {
+            throw new IllegalStateException(format("Data %s %s is not defined by the schema", name(), id));
+        }
         this.id = id;
-        this.label = label;
-        this.type = type;
-        this.minLength = minLength;
-        this.maxLength = maxLength;
+        label = schema.dataLabel(index);
+        type = schema.dataFormat(index);
+        minLength = schema.dataMinLength(index);
+        maxLength = schema.dataMaxLength(index);
         fixedLength = minLength == maxLength;
         hasMaxLength = maxLength != -1;
     }
 
-    DataType(final String id, final String label, final DataFormat type, final int minLength) {
-        this(id, label, type, minLength, -1);
-    }
-
     /**
      * Finds a data type by its ID
      *
@@ -613,7 +1521,22 @@ public enum DataType {
      * @return an optional containing the found data type or an empty optional if nothing is found
      */
     static Optional<DataType> findById(final String id) {
-        return ofNullable(BY_ID.get(id));
+        final int index = IdentifierIndex.of(id);
+        return index < 0 ? Optional.empty() : ofNullable(BY_ID[index]);
+    }
+
+    /**
+     * Finds a data type by the two characters of its ID
+     * <p>
+     * Allocation free alternative to {@link DataType#findById(String)}
+     *
+     * @param first  the first character of the ID
+     * @param second the second character of the ID
+     * @return the found data type or null if nothing is found
+     */
+    static DataType findById(final char first, final char second) {
+        final int index = IdentifierIndex.of(first, second);
+        return index < 0 ? null : BY_ID[index];
     }
 
     /**
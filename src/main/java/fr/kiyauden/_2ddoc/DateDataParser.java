@@ -1,49 +1,47 @@
 package fr.kiyauden._2ddoc;
 
-import lombok.Value;
+import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.time.Month;
+import java.time.Year;
 
 import static fr.kiyauden._2ddoc.DataFormat.DATE;
-import static java.lang.Integer.decode;
 import static java.lang.String.format;
 import static java.time.LocalDate.of;
 import static java.time.Month.JANUARY;
-import static java.time.format.DateTimeFormatter.ofPattern;
-import static java.util.Arrays.asList;
-import static java.util.regex.Pattern.compile;
+import static lombok.AccessLevel.PRIVATE;
 
 /**
  * Parser implementation for {@link DataFormat#DATE}
  * <p>
  * The {@link String} input will be parsed to an {@link java.time.LocalDate}
+ * <p>
+ * The dates are decoded by hand from the characters, without regex, formatter or exception, see
+ * {@link DateDataParser#decode(CharSequence, int, int)}
  */
 @Slf4j
 class DateDataParser implements DataParser<LocalDate> {
 
     /**
-     * The regex to determine if the date to parse if a HEX date
+     * Returned by {@link DateDataParser#decode(CharSequence, int, int)} when the input is not a supported date
+     * <p>
+     * Must be compared by reference
      */
-    private static final Pattern HEX_DATE_FORMAT_REGEX = compile("^[a-fA-F\\d]{4}$");
+    static final LocalDate INVALID = LocalDate.MIN;
+
     /**
      * The base date for a HEX date
      * <p>
      * January 1, 2000
      */
     private static final LocalDate BASE_DATE = of(2000, JANUARY, 1);
+
     /**
-     * The list of formatters to parse the other dates
+     * HEX date meaning that there is no date
      */
-    private static final List<DateFormater> FORMATTERS = asList(
-            new DateFormater("yyyyMMdd"),
-            new DateFormater("ddMMyyyy")
-    );
+    private static final int NO_DATE = 0xFFFF;
 
     /**
      * {@inheritDoc}
@@ -51,12 +49,10 @@ class DateDataParser implements DataParser<LocalDate> {
     @Override
     public LocalDate parse(final String dateString) throws ParsingException {
         log.debug("Parsing date \"{}\"", dateString);
-        final Matcher matcher = HEX_DATE_FORMAT_REGEX.matcher(dateString);
-        final LocalDate date;
-        if (matcher.matches()) {
-            date = handleHexFormat(dateString);
-        } else {
-            date = handleOtherFormats(dateString);
+        final LocalDate date = decode(dateString, 0, dateString.length());
+        if (date == INVALID) {
+            log.warn("No formatter could parse date {}", dateString);
+            throw new ParsingException(format("No formatter could parse date \"%s\"", dateString));
         }
 
         log.debug("Date parsed as \"{}\"", date);
@@ -72,65 +68,134 @@ class DateDataParser implements DataParser<LocalDate> {
     }
 
     /**
-     * Handles a HEX date format
+     * Decodes a date from a range of characters
      * <p>
-     * The hexDate corresponds to the number of days to add from the January 1, 2000 {@link DateDataParser#BASE_DATE}
-     * to get the encoded date
+     * Supported formats are :
+     * <ul>
+     *     <li>HEX date of 4 characters, the number of days since January 1, 2000, "FFFF" meaning no date</li>
+     *     <li>yyyyMMdd</li>
+     *     <li>ddMMyyyy, when the input is not a valid yyyyMMdd date</li>
+     * </ul>
+     * Like a {@link java.time.format.ResolverStyle#SMART} formatter, a day of month between the length of the month
+     * and 31 is resolved to the last day of the month
      * <p>
-     * Example : 111E HEX date means 4382 elapsed days since January 1, 2000. The encoded date is December 31, 2011
+     * Nothing is allocated for a HEX date, the instances come from a precomputed table
      *
-     * @param hexDate HEX date string
-     * @return a new {@link LocalDate} instance corresponding to the input date string or null if hexDate is "FFFF"
+     * @param input the input containing the date
+     * @param start the start of the date in the input (inclusive)
+     * @param end   the end of the date in the input (exclusive)
+     * @return the date, null if it is a HEX "FFFF" date, or {@link DateDataParser#INVALID} if the format is not
+     * supported
      */
-    private LocalDate handleHexFormat(final String hexDate) {
-        // FFFF means no date
-        if ("FFFF".equals(hexDate)) {
-            log.trace("hexDate equals FFFF, returning null");
-            return null;
+    static LocalDate decode(final CharSequence input, final int start, final int end) {
+        final int length = end - start;
+        if (length == 4) {
+            final int days = decodeHex(input, start);
+            if (days >= 0) {
+                return days == NO_DATE ? null : HexDates.TABLE[days];
+            }
+        } else if (length == 8) {
+            final LocalDate yearFirst = decodeDate(input, start, start + 4, start + 6);
+            if (yearFirst != INVALID) {
+                return yearFirst;
+            }
+            return decodeDate(input, start + 4, start + 2, start);
         }
-        final Integer numberOfDays = decode("#" + hexDate);
-        return BASE_DATE.plusDays(numberOfDays);
+        return INVALID;
     }
 
     /**
-     * Parses the input date string using the formatters declared in {@link DateDataParser#FORMATTERS}
+     * Decodes a HEX date
      *
-     * @param dateString the date string to parse
-     * @return a new {@link LocalDate} instance corresponding to the input date string
-     * @throws ParsingException if no {@link DateDataParser#FORMATTERS} could parse the input data string
+     * @param input the input containing the date
+     * @param start the start of the 4 characters date in the input
+     * @return the number of days since {@link DateDataParser#BASE_DATE} or -1 if a character is not hexadecimal
      */
-    private LocalDate handleOtherFormats(final String dateString) throws ParsingException {
-        for (final DateFormater formatter : FORMATTERS) {
-            try {
-                final LocalDate parsed = LocalDate.parse(dateString, formatter.getFormatter());
-                log.trace("Formatter \"{}\", successfully parsed data \"{}\"", formatter.getPattern(), dateString);
-                return parsed;
-            } catch (final DateTimeParseException e) {
-                // Ignore and try next formatter
-                log.trace("Formatter \"{}\", could not parse data \"{}\"", formatter.getPattern(), dateString);
+    private static int decodeHex(final CharSequence input, final int start) {
+        int days = 0;
+        for (int i = start; i < start + 4; i++) {
+            final int nibble = hexDigit(input.charAt(i));
+            if (nibble < 0) {
+                return -1;
             }
+            days = days << 4 | nibble;
         }
-        log.warn("No formatter could parse date {}", dateString);
-        throw new ParsingException(format("No formatter could parse date \"%s\"", dateString));
+        return days;
     }
 
     /**
-     * Data class use to get the pattern of a {@link DateTimeFormatter} since it's not accessible
+     * @param c the character
+     * @return the value of the hexadecimal digit or -1 if the character is not one
      */
-    @Value
-    private static class DateFormater {
-        /**
-         * The pattern
-         */
-        String pattern;
+    private static int hexDigit(final char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        return -1;
+    }
+
+    /**
+     * Decodes a date made of digits
+     *
+     * @param input      the input containing the date
+     * @param yearStart  the start of the 4 digits year
+     * @param monthStart the start of the 2 digits month
+     * @param dayStart   the start of the 2 digits day
+     * @return the date or {@link DateDataParser#INVALID} if it is not a valid date
+     */
+    private static LocalDate decodeDate(final CharSequence input, final int yearStart, final int monthStart,
+                                        final int dayStart) {
+        final int year = decodeDigits(input, yearStart, 4);
+        final int month = decodeDigits(input, monthStart, 2);
+        final int day = decodeDigits(input, dayStart, 2);
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return INVALID;
+        }
+        final int monthLength = Month.of(month).length(Year.isLeap(year));
+        return of(year, month, Math.min(day, monthLength));
+    }
+
+    /**
+     * Decodes a positive number made of digits
+     *
+     * @param input  the input containing the number
+     * @param start  the start of the number in the input
+     * @param digits the number of digits
+     * @return the number or -1 if a character is not a digit
+     */
+    private static int decodeDigits(final CharSequence input, final int start, final int digits) {
+        int value = 0;
+        for (int i = start; i < start + digits; i++) {
+            final int digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Holder of the precomputed HEX dates, loaded the first time a HEX date is decoded
+     */
+    @NoArgsConstructor(access = PRIVATE)
+    private static class HexDates {
         /**
-         * The DateTimeFormatter created using the pattern
+         * The dates from 0000 to FFFE, indexed by the number of days since {@link DateDataParser#BASE_DATE}
          */
-        DateTimeFormatter formatter;
+        private static final LocalDate[] TABLE = new LocalDate[NO_DATE];
 
-        DateFormater(final String pattern) {
-            this.pattern = pattern;
-            formatter = ofPattern(pattern);
+        static {
+            final long baseEpochDay = BASE_DATE.toEpochDay();
+            for (int days = 0; days < NO_DATE; days++) {
+                TABLE[days] = LocalDate.ofEpochDay(baseEpochDay + days);
+            }
         }
     }
 
@@ -0,0 +1,165 @@
+package fr.kiyauden._2ddoc;
+
+import lombok.Getter;
+
+import java.util.EnumSet;
+
+/**
+ * Decoding plan of a {@link Document}, compiled once when the class is loaded
+ * <p>
+ * The plan is a flat int array indexed by {@link IdentifierIndex#of(char, char)}, with two ints per identifier : a
+ * descriptor packing the {@link DataType#ordinal()}, the {@link DataFormat#ordinal()} and the flags of the data for
+ * the document, then the max length of its value. Run by {@link DataTokenizer#next()}, a data costs two array reads,
+ * whether it is linked to the document, mandatory, of fixed or variable length and how its value is decoded are
+ * resolved by the compilation, not for each data
+ * <p>
+ * A plan is immutable and thread safe
+ */
+final class DecodingPlan {
+
+    /**
+     * Mask of the {@link DataType#ordinal()} + 1 in a descriptor, a descriptor is 0 when the identifier is not a data
+     * type
+     */
+    private static final int DATA_TYPE_MASK = 0xFFFF;
+    /**
+     * Position of the {@link DataFormat#ordinal()} in a descriptor
+     */
+    private static final int FORMAT_SHIFT = 16;
+    /**
+     * Mask of the {@link DataFormat#ordinal()} in a descriptor, once shifted
+     */
+    private static final int FORMAT_MASK = 0xFF;
+    /**
+     * Flag set when the data is linked to the document
+     */
+    static final int LINKED = 1 << 24;
+    /**
+     * Flag set when the data is mandatory for the document
+     */
+    static final int MANDATORY = 1 << 25;
+    /**
+     * Flag set when the data has a fixed length
+     */
+    static final int FIXED_LENGTH = 1 << 26;
+
+    /**
+     * Max length of a variable length data without max length
+     */
+    private static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private static final DataType[] DATA_TYPES = DataType.values();
+    private static final DataFormat[] FORMATS = DataFormat.values();
+
+    /**
+     * Plan accepting every data type, none being mandatory, used when the document is not known
+     */
+    static final DecodingPlan ANY = compile("ANY", EnumSet.allOf(DataType.class), EnumSet.noneOf(DataType.class));
+
+    /**
+     * The plans of the documents, indexed by {@link Document#ordinal()}
+     */
+    private static final DecodingPlan[] BY_DOCUMENT = new DecodingPlan[Document.values().length];
+
+    static {
+        for (final Document document : Document.values()) {
+            final EnumSet<DataType> linked = EnumSet.noneOf(DataType.class);
+            final EnumSet<DataType> mandatory = EnumSet.noneOf(DataType.class);
+            for (final DataType dataType : DATA_TYPES) {
+                if (document.isLinked(dataType)) {
+                    linked.add(dataType);
+                }
+                if (document.isMandatory(dataType)) {
+                    mandatory.add(dataType);
+                }
+            }
+            BY_DOCUMENT[document.ordinal()] = compile(document.name(), linked, mandatory);
+        }
+    }
+
+    /**
+     * The name of the document, for the error messages
+     */
+    @Getter
+    private final String documentName;
+    /**
+     * The descriptor and the max length of each identifier
+     */
+    private final int[] plan;
+
+    private DecodingPlan(final String documentName, final int[] plan) {
+        this.documentName = documentName;
+        this.plan = plan;
+    }
+
+    /**
+     * @param document the document
+     * @return the plan of the document
+     */
+    static DecodingPlan of(final Document document) {
+        return BY_DOCUMENT[document.ordinal()];
+    }
+
+    /**
+     * Compiles a plan
+     *
+     * @param documentName the name of the document
+     * @param linked       the data types linked to the document, mandatory ones included
+     * @param mandatory    the data types mandatory for the document
+     * @return the plan
+     */
+    static DecodingPlan compile(final String documentName, final EnumSet<DataType> linked,
+                                final EnumSet<DataType> mandatory) {
+        final int[] plan = new int[IdentifierIndex.SIZE * 2];
+        for (final DataType dataType : DATA_TYPES) {
+            int descriptor = dataType.ordinal() + 1 | dataType.getType().ordinal() << FORMAT_SHIFT;
+            if (linked.contains(dataType) || mandatory.contains(dataType)) {
+                descriptor |= LINKED;
+            }
+            if (mandatory.contains(dataType)) {
+                descriptor |= MANDATORY;
+            }
+            if (dataType.isFixedLength()) {
+                descriptor |= FIXED_LENGTH;
+            }
+
+            final int index = IdentifierIndex.of(dataType.getId()) * 2;
+            plan[index] = descriptor;
+            plan[index + 1] = dataType.hasMaxLength() ? dataType.getMaxLength() : UNBOUNDED;
+        }
+        return new DecodingPlan(documentName, plan);
+    }
+
+    /**
+     * @param index the index of an identifier, see {@link IdentifierIndex#of(char, char)}
+     * @return the descriptor of the identifier, 0 if it is not a data type
+     */
+    int descriptor(final int index) {
+        return plan[index * 2];
+    }
+
+    /**
+     * @param index the index of an identifier, see {@link IdentifierIndex#of(char, char)}
+     * @return the max length of the value, {@link Integer#MAX_VALUE} when there is none
+     */
+    int maxLength(final int index) {
+        return plan[index * 2 + 1];
+    }
+
+    /**
+     * @param descriptor a descriptor, not 0
+     * @return the data type of the descriptor
+     */
+    static DataType dataType(final int descriptor) {
+        return DATA_TYPES[(descriptor & DATA_TYPE_MASK) - 1];
+    }
+
+    /**
+     * @param descriptor a descriptor, not 0
+     * @return the format of the descriptor
+     */
+    static DataFormat format(final int descriptor) {
+        return FORMATS[descriptor >>> FORMAT_SHIFT & FORMAT_MASK];
+    }
+
+}
@@ -5,14 +5,16 @@ import fr.kiyauden._2ddoc.Parsed2DDoc.Parsed2DDocBuilder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.security.cert.X509Certificate;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 
 import static fr.kiyauden._2ddoc.Constants.GS;
 import static fr.kiyauden._2ddoc.Constants.US;
 import static fr.kiyauden._2ddoc.DataSource.ANNEX;
 import static fr.kiyauden._2ddoc.DataSource.MESSAGE;
+import static java.util.Collections.emptyList;
 
 /**
  * Implementation of {@link Parser}
@@ -29,14 +31,72 @@ class DefaultParser implements Parser {
      * {@inheritDoc}
      */
     @Override
-    public Parsed2DDoc parse(final String input, final List<X509Certificate> certificates)
+    public Parsed2DDoc parse(final String input, final TrustStore trustStore)
             throws UnsupportedException, ParsingException {
-        final Parsed2DDocBuilder builder = Parsed2DDoc.builder();
+        return parse(input, trustStore, false, ParseOptions.FULL);
+    }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Parsed2DDoc parse(final String input, final TrustStore trustStore,
+                             final ParseOptions options) throws UnsupportedException, ParsingException {
+        return parse(input, trustStore, false, options);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ParseResult tryParse(final String input, final TrustStore trustStore) {
+        return tryParse(input, trustStore, ParseOptions.FULL);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ParseResult tryParse(final String input, final TrustStore trustStore,
+                                final ParseOptions options) {
+        try {
+            return ParseResult.success(decode(input, trustStore, options));
+        } catch (final ParseSignal signal) {
+            log.debug("2D-DOC could not be parsed, {} at position {}", signal.getErrorCode(), signal.getPosition());
+            return ParseResult.failure(signal.getErrorCode(), signal.getPosition());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SignatureStatus verifySignature(final Parsed2DDoc parsed2DDoc,
+                                           final TrustStore trustStore) throws ParsingException {
+        final String input = parsed2DDoc.getRaw();
+        final int signatureStart = signatureStart(input, parsed2DDoc.getHeader().getVersion().getHeaderLength());
+        return verifySignature(input, signatureStart, SeparatorScanner.indexOf(input, GS, signatureStart),
+                               trustStore);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Parsed2DDoc parseLazily(final String input, final TrustStore trustStore)
+            throws UnsupportedException, ParsingException {
+        return parse(input, trustStore, true, ParseOptions.FULL);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void parse(final CharSequence input, final TrustStore trustStore,
+                      final ParseHandler handler) throws UnsupportedException, ParsingException {
         // Header extraction
         final Header header;
         try {
-            // Whole input is passed because the IHeaderService will only take the necessary parts
             header = headerService.parseHeader(input);
         } catch (final NotFoundException e) {
             // If not found, it means that the input is not a 2D-DOC
@@ -45,64 +105,283 @@ class DefaultParser implements Parser {
             throw new ParsingException(e);
         }
 
+        // Rejected before any event, the handler does not see a partial 2D-DOC
         final int headerLength = header.getVersion().getHeaderLength();
-        final int signatureStart = input.lastIndexOf(US) + 1;
+        final int signatureStart = signatureStart(input, headerLength);
+        final int annexStart = SeparatorScanner.indexOf(input, GS, signatureStart);
+        handler.onHeader(header);
+        final Document document = header.getDocumentType();
 
-        final String messageSegment = input.substring(headerLength, signatureStart - 1);
+        // Data extraction, no mandatory data check on annex
+        final List<DataType> missingMandatoryData;
+        try {
+            missingMandatoryData = dataService.extractData(input, headerLength, signatureStart - 1, document,
+                                                           MESSAGE, handler);
+            if (annexStart > -1) {
+                dataService.extractData(input, annexStart + 1, input.length(), document, ANNEX, handler);
+            }
+        } catch (final DataExtractionException e) {
+            throw new ParsingException(e);
+        }
 
-        final List<Data> data;
+        // Signature verification
+        final SignatureStatus signatureStatus;
+        try {
+            final int signatureEnd = annexStart > -1 ? annexStart : input.length();
+            signatureStatus = signatureService.verifySignature(input, signatureStart - 1, signatureStart,
+                                                               signatureEnd, trustStore);
+        } catch (final SignatureVerificationException e) {
+            throw new ParsingException(e);
+        }
+        handler.onSignature(signatureStatus);
 
-        // Data extraction
-        final List<DataType> missingMandatoryDataFromMessage;
+        handler.onEnd(missingMandatoryData, computeValidity(signatureStatus, missingMandatoryData));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void parse(final ByteBuffer input, final TrustStore trustStore,
+                      final ParseHandler handler) throws UnsupportedException, ParsingException {
+        parse(new AsciiCharSequence(input), trustStore, handler);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void parseInto(final ByteBuffer input, final TrustStore trustStore,
+                          final ResultSink sink) throws UnsupportedException, ParsingException {
+        parseInto(sink.asciiView().view(input), trustStore, sink);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void parseInto(final CharSequence input, final TrustStore trustStore,
+                          final ResultSink sink) throws UnsupportedException, ParsingException {
+        sink.reset(input);
+
+        // Header extraction
         try {
-            final ExtractedData extractedDataFromMessage = dataService.extractData(messageSegment,
-                                                                                   header.getDocumentType(),
-                                                                                   MESSAGE);
-            data = new ArrayList<>(extractedDataFromMessage.getData());
-            missingMandatoryDataFromMessage = extractedDataFromMessage.getMissingMandatoryData();
-        } catch (final DataExtractionException e) {
+            headerService.parseHeaderInto(input, sink);
+        } catch (final NotFoundException e) {
+            // If not found, it means that the input is not a 2D-DOC
+            throw new IllegalArgumentException(e);
+        } catch (final HeaderExtractionException e) {
             throw new ParsingException(e);
         }
 
-        // Checks if 2D-DOC has annex
-        final int annexStart = input.indexOf(GS, signatureStart);
-        if (annexStart > -1) {
-            final String annexSegment = input.substring(annexStart + 1);
-            try {
-                final ExtractedData extractedDataFromAnnex = dataService.extractData(annexSegment,
-                                                                                     header.getDocumentType(),
-                                                                                     ANNEX);
-                data.addAll(extractedDataFromAnnex.getData());
-            } catch (final DataExtractionException e) {
-                throw new ParsingException(e);
+        final int headerLength = sink.getVersion().getHeaderLength();
+        final int signatureStart = signatureStart(input, headerLength);
+        final int annexStart = SeparatorScanner.indexOf(input, GS, signatureStart);
+        final Document document = sink.getDocumentType();
+
+        // Data extraction, no mandatory data check on annex
+        final List<DataType> missingMandatoryData;
+        try {
+            missingMandatoryData = dataService.extractDataInto(sink, input, headerLength, signatureStart - 1,
+                                                               document, MESSAGE);
+            if (annexStart > -1) {
+                dataService.extractDataInto(sink, input, annexStart + 1, input.length(), document, ANNEX);
             }
+        } catch (final DataExtractionException e) {
+            throw new ParsingException(e);
         }
 
         // Signature verification
         final SignatureStatus signatureStatus;
         try {
             final int signatureEnd = annexStart > -1 ? annexStart : input.length();
-            signatureStatus = signatureService.verifySignature(input.substring(0, signatureStart - 1),
-                                                               input.substring(signatureStart,
-                                                                               signatureEnd),
-                                                               header.getCertificationAuthorityId(),
-                                                               header.getCertificateId(), certificates);
+            signatureStatus = signatureService.verifySignature(input, signatureStart - 1, signatureStart,
+                                                               signatureEnd, trustStore);
         } catch (final SignatureVerificationException e) {
             throw new ParsingException(e);
         }
 
+        sink.result(missingMandatoryData, signatureStatus);
+    }
+
+    /**
+     * Finds the start of the signature, after the last US
+     *
+     * @param input        the input 2D-DOC
+     * @param headerLength the length of the header
+     * @return the index of the first character of the signature
+     * @throws ParsingException when no US follows the header
+     */
+    private int signatureStart(final CharSequence input, final int headerLength) throws ParsingException {
+        final int signatureStart = SeparatorScanner.lastIndexOf(input, US) + 1;
+        if (signatureStart <= headerLength) {
+            throw new ParsingException(ErrorCode.MISSING_SIGNATURE.getDescription());
+        }
+        return signatureStart;
+    }
+
+    private Parsed2DDoc parse(final String input, final TrustStore trustStore, final boolean lazy,
+                              final ParseOptions options) throws UnsupportedException, ParsingException {
+        final Parsed2DDocBuilder builder = Parsed2DDoc.builder();
+
+        // Header extraction
+        final Header header;
+        try {
+            // Whole input is passed because the IHeaderService will only take the necessary parts
+            header = headerService.parseHeader(input);
+        } catch (final NotFoundException e) {
+            // If not found, it means that the input is not a 2D-DOC
+            throw new IllegalArgumentException(e);
+        } catch (final HeaderExtractionException e) {
+            throw new ParsingException(e);
+        }
+
         builder.header(header);
-        builder.signatureStatus(signatureStatus);
         builder.raw(input);
+        if (options.isHeaderOnly()) {
+            return builder.extractedData(new ExtractedData(emptyList(), emptyList()))
+                    .signatureStatus(SignatureStatus.NOT_VERIFIED)
+                    .valid(false)
+                    .build();
+        }
+
+        final int headerLength = header.getVersion().getHeaderLength();
+        final int signatureStart = signatureStart(input, headerLength);
+        // Checks if 2D-DOC has annex
+        final int annexStart = SeparatorScanner.indexOf(input, GS, signatureStart);
+        final int dataAnnexStart = options.isSkipAnnex() ? -1 : annexStart;
+
+        // Data extraction
+        final ExtractedData extractedData;
+        try {
+            extractedData = lazy
+                    ? indexData(input, header.getDocumentType(), headerLength, signatureStart, dataAnnexStart)
+                    : extractData(input, header.getDocumentType(), headerLength, signatureStart, dataAnnexStart,
+                                  options.getSelectedDataTypes());
+        } catch (final DataExtractionException e) {
+            throw new ParsingException(e);
+        }
+
+        // Signature verification
+        final SignatureStatus signatureStatus = options.isDeferSignature()
+                ? SignatureStatus.NOT_VERIFIED
+                : verifySignature(input, signatureStart, annexStart, trustStore);
+
+        builder.signatureStatus(signatureStatus);
 
         // No mandatory data check on annex
-        builder.extractedData(new ExtractedData(data, missingMandatoryDataFromMessage));
+        builder.extractedData(extractedData);
 
-        builder.valid(computeValidity(signatureStatus, missingMandatoryDataFromMessage));
+        builder.valid(computeValidity(signatureStatus, extractedData.getMissingMandatoryData()));
 
         return builder.build();
     }
 
+    /**
+     * Parses a 2D-DOC, reporting an error with a {@link ParseSignal}
+     */
+    private Parsed2DDoc decode(final String input, final TrustStore trustStore,
+                               final ParseOptions options) throws ParseSignal {
+        final Parsed2DDocBuilder builder = Parsed2DDoc.builder();
+
+        final Header header = headerService.decodeHeader(input);
+        builder.header(header);
+        builder.raw(input);
+        if (options.isHeaderOnly()) {
+            return builder.extractedData(new ExtractedData(emptyList(), emptyList()))
+                    .signatureStatus(SignatureStatus.NOT_VERIFIED)
+                    .valid(false)
+                    .build();
+        }
+
+        final int headerLength = header.getVersion().getHeaderLength();
+        final int signatureStart = SeparatorScanner.lastIndexOf(input, US) + 1;
+        if (signatureStart <= headerLength) {
+            throw ParseSignal.of(ErrorCode.MISSING_SIGNATURE, input.length());
+        }
+        final int annexStart = SeparatorScanner.indexOf(input, GS, signatureStart);
+        final Document document = header.getDocumentType();
+
+        // Data extraction, no mandatory data check on annex
+        final ExtractedData extractedData = dataService.tryExtractData(input, headerLength, signatureStart - 1,
+                                                                       document, MESSAGE, options);
+        final List<Data> data;
+        if (annexStart > -1 && !options.isSkipAnnex()) {
+            data = new ArrayList<>(extractedData.getData());
+            data.addAll(dataService.tryExtractData(input, annexStart + 1, input.length(), document, ANNEX, options)
+                                .getData());
+        } else {
+            data = extractedData.getData();
+        }
+        final List<DataType> missingMandatoryData = extractedData.getMissingMandatoryData();
+        builder.extractedData(new ExtractedData(data, missingMandatoryData));
+
+        // Signature verification
+        final SignatureStatus signatureStatus;
+        if (options.isDeferSignature()) {
+            signatureStatus = SignatureStatus.NOT_VERIFIED;
+        } else {
+            try {
+                final int signatureEnd = annexStart > -1 ? annexStart : input.length();
+                signatureStatus = signatureService.verifySignature(input, signatureStart - 1, signatureStart,
+                                                                   signatureEnd, trustStore);
+            } catch (final SignatureVerificationException e) {
+                throw ParseSignal.of(ErrorCode.SIGNATURE_ERROR, signatureStart);
+            }
+        }
+
+        return builder.signatureStatus(signatureStatus)
+                .valid(computeValidity(signatureStatus, missingMandatoryData))
+                .build();
+    }
+
+    private SignatureStatus verifySignature(final String input, final int signatureStart, final int annexStart,
+                                            final TrustStore trustStore) throws ParsingException {
+        try {
+            // Verified in place, the input is not sliced
+            final int signatureEnd = annexStart > -1 ? annexStart : input.length();
+            return signatureService.verifySignature(input, signatureStart - 1, signatureStart, signatureEnd,
+                                                    trustStore);
+        } catch (final SignatureVerificationException e) {
+            throw new ParsingException(e);
+        }
+    }
+
+    private ExtractedData extractData(final String input, final Document document, final int headerLength,
+                                      final int signatureStart, final int annexStart,
+                                      final EnumSet<DataType> selection) throws DataExtractionException {
+        // The segments are read in place, the input is not sliced
+        final ExtractedData extractedDataFromMessage = dataService.extractSelectedData(input, headerLength,
+                                                                                       signatureStart - 1,
+                                                                                       document,
+                                                                                       MESSAGE,
+                                                                                       selection);
+        final List<Data> data = new ArrayList<>(extractedDataFromMessage.getData());
+
+        if (annexStart > -1) {
+            final ExtractedData extractedDataFromAnnex = dataService.extractSelectedData(input, annexStart + 1,
+                                                                                         input.length(),
+                                                                                         document,
+                                                                                         ANNEX,
+                                                                                         selection);
+            data.addAll(extractedDataFromAnnex.getData());
+        }
+
+        return new ExtractedData(data, extractedDataFromMessage.getMissingMandatoryData());
+    }
+
+    private ExtractedData indexData(final String input, final Document document, final int headerLength,
+                                    final int signatureStart, final int annexStart)
+            throws DataExtractionException {
+        final LazyDataList data = new LazyDataList(input, dataService);
+        final List<DataType> missingMandatoryData = dataService.indexData(data, input, headerLength,
+                                                                          signatureStart - 1, document, MESSAGE);
+        if (annexStart > -1) {
+            dataService.indexData(data, input, annexStart + 1, input.length(), document, ANNEX);
+        }
+        return new ExtractedData(data, missingMandatoryData);
+    }
+
     private boolean computeValidity(final SignatureStatus signatureStatus,
                                     final List<DataType> missingMandatoryDataFromMessage) {
         final boolean signatureValid = signatureStatus.isValid();
@@ -3,64 +3,33 @@ package fr.kiyauden._2ddoc;
 import lombok.Getter;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
-import static fr.kiyauden._2ddoc.DataType.BENEFICIARY_ADDRESS_LINE_1;
-import static fr.kiyauden._2ddoc.DataType.BENEFICIARY_FIRSTNAME;
-import static fr.kiyauden._2ddoc.DataType.BENEFICIARY_LASTNAME;
-import static fr.kiyauden._2ddoc.DataType.BENEFICIARY_PHONE_NUMBER;
-import static fr.kiyauden._2ddoc.DataType.BENEFICIARY_QUALITY_AND_OR_TITLE;
-import static fr.kiyauden._2ddoc.DataType.BENEFIT_SERVICE_POINT_ADDRESS_LINE_2;
-import static fr.kiyauden._2ddoc.DataType.BENEFIT_SERVICE_POINT_ADDRESS_LINE_3;
-import static fr.kiyauden._2ddoc.DataType.BENEFIT_SERVICE_POINT_ADDRESS_LINE_4;
-import static fr.kiyauden._2ddoc.DataType.BENEFIT_SERVICE_POINT_ADDRESS_LINE_5;
-import static fr.kiyauden._2ddoc.DataType.BENEFIT_SERVICE_POINT_COUNTRY;
-import static fr.kiyauden._2ddoc.DataType.BENEFIT_SERVICE_POINT_LOCALITY_OR_CEDEX_LABEL;
-import static fr.kiyauden._2ddoc.DataType.BENEFIT_SERVICE_POINT_POSTAL_OR_CEDEX_CODE;
-import static fr.kiyauden._2ddoc.DataType.CLIENT_NUMBER;
-import static fr.kiyauden._2ddoc.DataType.CONTRACT_EFFECTIVE_DATE;
-import static fr.kiyauden._2ddoc.DataType.CONTRACT_NUMBER;
-import static fr.kiyauden._2ddoc.DataType.CO_BENEFICIARY_FIRSTNAME;
-import static fr.kiyauden._2ddoc.DataType.CO_BENEFICIARY_LASTNAME;
-import static fr.kiyauden._2ddoc.DataType.CO_BENEFICIARY_QUALITY_AND_OR_TITLE;
-import static fr.kiyauden._2ddoc.DataType.CO_BENEFICIARY_RECIPIENT_ADDRESS_LINE_1;
-import static fr.kiyauden._2ddoc.DataType.CO_INVOICE_RECIPIENT_ADDRESS_LINE_1;
-import static fr.kiyauden._2ddoc.DataType.CO_INVOICE_RECIPIENT_FIRSTNAME;
-import static fr.kiyauden._2ddoc.DataType.CO_INVOICE_RECIPIENT_LASTNAME;
-import static fr.kiyauden._2ddoc.DataType.CO_INVOICE_RECIPIENT_QUALITY_AND_OR_TITLE;
-import static fr.kiyauden._2ddoc.DataType.INVOICE_AMOUNT_INCLUDING_TAX;
-import static fr.kiyauden._2ddoc.DataType.INVOICE_NUMBER;
-import static fr.kiyauden._2ddoc.DataType.INVOICE_RECIPIENT_ADDRESS_LINE_1;
-import static fr.kiyauden._2ddoc.DataType.INVOICE_RECIPIENT_ADDRESS_LINE_2;
-import static fr.kiyauden._2ddoc.DataType.INVOICE_RECIPIENT_ADDRESS_LINE_3;
-import static fr.kiyauden._2ddoc.DataType.INVOICE_RECIPIENT_ADDRESS_LINE_4;
-import static fr.kiyauden._2ddoc.DataType.INVOICE_RECIPIENT_ADDRESS_LINE_5;
-import static fr.kiyauden._2ddoc.DataType.INVOICE_RECIPIENT_COUNTRY;
-import static fr.kiyauden._2ddoc.DataType.INVOICE_RECIPIENT_FIRSTNAME;
-import static fr.kiyauden._2ddoc.DataType.INVOICE_RECIPIENT_LASTNAME;
-import static fr.kiyauden._2ddoc.DataType.INVOICE_RECIPIENT_LOCALITY_OR_CEDEX_LABEL;
-import static fr.kiyauden._2ddoc.DataType.INVOICE_RECIPIENT_PHONE_NUMBER;
-import static fr.kiyauden._2ddoc.DataType.INVOICE_RECIPIENT_POSTAL_OR_CEDEX_CODE;
-import static fr.kiyauden._2ddoc.DataType.INVOICE_RECIPIENT_QUALITY_AND_OR_TITLE;
-import static fr.kiyauden._2ddoc.DataType.SUBSCRIBER_IDENTIFIER;
-import static fr.kiyauden._2ddoc.DataType.UNMENTIONED_CO_BENEFICIARY_PRESENCE;
-import static fr.kiyauden._2ddoc.DataType.UNMENTIONED_CO_INVOICE_RECIPIENT_PRESENCE;
-import static java.util.Arrays.asList;
-import static java.util.Arrays.stream;
+import static java.lang.String.format;
 import static java.util.Collections.emptyList;
-import static java.util.Collections.singletonList;
 import static java.util.Collections.unmodifiableList;
 import static java.util.Optional.ofNullable;
-import static java.util.function.Function.identity;
-import static java.util.stream.Collectors.toMap;
 
 /**
  * The 2D-DOC documents types supported by the library
+ * <p>
+ * A view over {@link SchemaRegistry}, the mandatory and optional data of each document type are defined by the
+ * bundled schema
  */
 public enum Document {
 
+    /**
+     * Document 00
+     * <p>
+     * ID : 00
+     * <p>
+     * Type for user : Justificatif de domicile
+     * <p>
+     * Type for emitter : Document émis spécifiquement pour servir de justificatif de domicile
+     */
+    DOC_00("00"),
     /**
      * Document 01
      * <p>
@@ -70,80 +39,484 @@ public enum Document {
      * <p>
      * Type for emitter : Factures de fournisseur d'énergie | Factures de téléphonie | Factures de fournisseur d'accès internet | Factures de fournisseur d'eau
      */
-    DOC_01("01",
-           true,
-           asList(
-                   new DatatypeDefinition(BENEFICIARY_ADDRESS_LINE_1,
-                                          asList(BENEFICIARY_QUALITY_AND_OR_TITLE, BENEFICIARY_FIRSTNAME,
-                                                 BENEFICIARY_LASTNAME)),
-                   new DatatypeDefinition(BENEFICIARY_QUALITY_AND_OR_TITLE,
-                                          singletonList(BENEFICIARY_ADDRESS_LINE_1)),
-                   new DatatypeDefinition(BENEFICIARY_FIRSTNAME, singletonList(BENEFICIARY_ADDRESS_LINE_1)),
-                   new DatatypeDefinition(BENEFICIARY_LASTNAME, singletonList(BENEFICIARY_ADDRESS_LINE_1)),
-                   new DatatypeDefinition(BENEFIT_SERVICE_POINT_ADDRESS_LINE_4),
-                   new DatatypeDefinition(BENEFIT_SERVICE_POINT_POSTAL_OR_CEDEX_CODE),
-                   new DatatypeDefinition(BENEFIT_SERVICE_POINT_COUNTRY)
-           ),
-           asList(INVOICE_RECIPIENT_ADDRESS_LINE_1,
-                  INVOICE_RECIPIENT_QUALITY_AND_OR_TITLE,
-                  INVOICE_RECIPIENT_FIRSTNAME,
-                  INVOICE_RECIPIENT_LASTNAME,
-                  INVOICE_NUMBER,
-                  CLIENT_NUMBER,
-                  CONTRACT_NUMBER,
-                  SUBSCRIBER_IDENTIFIER,
-                  CONTRACT_EFFECTIVE_DATE,
-                  INVOICE_AMOUNT_INCLUDING_TAX,
-                  BENEFICIARY_PHONE_NUMBER,
-                  INVOICE_RECIPIENT_PHONE_NUMBER,
-                  UNMENTIONED_CO_BENEFICIARY_PRESENCE,
-                  UNMENTIONED_CO_INVOICE_RECIPIENT_PRESENCE,
-                  CO_BENEFICIARY_RECIPIENT_ADDRESS_LINE_1,
-                  CO_BENEFICIARY_QUALITY_AND_OR_TITLE,
-                  CO_BENEFICIARY_FIRSTNAME,
-                  CO_BENEFICIARY_LASTNAME,
-                  CO_INVOICE_RECIPIENT_ADDRESS_LINE_1,
-                  CO_INVOICE_RECIPIENT_QUALITY_AND_OR_TITLE,
-                  CO_INVOICE_RECIPIENT_FIRSTNAME,
-                  CO_INVOICE_RECIPIENT_LASTNAME,
-                  BENEFIT_SERVICE_POINT_ADDRESS_LINE_2,
-                  BENEFIT_SERVICE_POINT_ADDRESS_LINE_3,
-                  BENEFIT_SERVICE_POINT_ADDRESS_LINE_5,
-                  BENEFIT_SERVICE_POINT_LOCALITY_OR_CEDEX_LABEL,
-                  INVOICE_RECIPIENT_ADDRESS_LINE_2,
-                  INVOICE_RECIPIENT_ADDRESS_LINE_3,
-                  INVOICE_RECIPIENT_ADDRESS_LINE_4,
-                  INVOICE_RECIPIENT_ADDRESS_LINE_5,
-                  INVOICE_RECIPIENT_POSTAL_OR_CEDEX_CODE,
-                  INVOICE_RECIPIENT_LOCALITY_OR_CEDEX_LABEL,
-                  INVOICE_RECIPIENT_COUNTRY
-           ),
-           "Justificatif de domicile",
-           "Factures de fournisseur d'énergie | Factures de téléphonie | Factures de fournisseur d'accès internet | Factures de fournisseur d'eau"
-    );
-
-    Document(final String id, final boolean emissionDateMandatory, final List<DatatypeDefinition> mandatoryData,
-             final List<DataType> optionalData, final String typeForUser, final String typeForTransmitter) {
+    DOC_01("01"),
+    /**
+     * Document 02
+     * <p>
+     * ID : 02
+     * <p>
+     * Type for user : Justificatif de domicile
+     * <p>
+     * Type for emitter : Avis de taxe d'habitation
+     */
+    DOC_02("02"),
+    /**
+     * Document 03
+     * <p>
+     * ID : 03
+     * <p>
+     * Type for user : Documents bancaires
+     * <p>
+     * Type for emitter : Relevé d'identité bancaire
+     */
+    DOC_03("03"),
+    /**
+     * Document 05
+     * <p>
+     * ID : 05
+     * <p>
+     * Type for user : Documents bancaires
+     * <p>
+     * Type for emitter : Relevé d'Identité SEPAmail
+     */
+    DOC_05("05"),
+    /**
+     * Document 11
+     * <p>
+     * ID : 11
+     * <p>
+     * Type for user : Documents bancaires
+     * <p>
+     * Type for emitter : Relevé de compte
+     */
+    DOC_11("11"),
+    /**
+     * Document 09
+     * <p>
+     * ID : 09
+     * <p>
+     * Type for user : Justificatif fiscal
+     * <p>
+     * Type for emitter : Facture étendue
+     */
+    DOC_09("09"),
+    /**
+     * Document 04
+     * <p>
+     * ID : 04
+     * <p>
+     * Type for user : Justificatif de ressources
+     * <p>
+     * Type for emitter : Avis d'impôt sur les revenus
+     */
+    DOC_04("04"),
+    /**
+     * Document 18
+     * <p>
+     * ID : 18
+     * <p>
+     * Type for user : Justificatif de ressources
+     * <p>
+     * Type for emitter : Avis de Situation Déclarative à l'Impôt sur les Revenus
+     */
+    DOC_18("18"),
+    /**
+     * Document 06
+     * <p>
+     * ID : 06
+     * <p>
+     * Type for user : Justificatif d'emploi
+     * <p>
+     * Type for emitter : Bulletin de salaire
+     */
+    DOC_06("06"),
+    /**
+     * Document 10
+     * <p>
+     * ID : 10
+     * <p>
+     * Type for user : Justificatif d'emploi
+     * <p>
+     * Type for emitter : Contrat de travail
+     */
+    DOC_10("10"),
+    /**
+     * Document 15
+     * <p>
+     * ID : 15
+     * <p>
+     * Type for user : Justificatif d'emploi
+     * <p>
+     * Type for emitter : Attestation de décision favorable d'une demande d'autorisation de travail
+     */
+    DOC_15("15"),
+    /**
+     * Document 07
+     * <p>
+     * ID : 07
+     * <p>
+     * Type for user : Justificatif d'identité
+     * <p>
+     * Type for emitter : Titre d'identité
+     */
+    DOC_07("07"),
+    /**
+     * Document 08
+     * <p>
+     * ID : 08
+     * <p>
+     * Type for user : Justificatif d'identité
+     * <p>
+     * Type for emitter : MRZ
+     */
+    DOC_08("08"),
+    /**
+     * Document 13
+     * <p>
+     * ID : 13
+     * <p>
+     * Type for user : Justificatif d'identité
+     * <p>
+     * Type for emitter : Document étranger
+     */
+    DOC_13("13"),
+    /**
+     * Document A0
+     * <p>
+     * ID : A0
+     * <p>
+     * Type for user : Justificatif de véhicule
+     * <p>
+     * Type for emitter : Certificat de qualité de l'air
+     */
+    DOC_A0("A0"),
+    /**
+     * Document A7
+     * <p>
+     * ID : A7
+     * <p>
+     * Type for user : Justificatif de véhicule
+     * <p>
+     * Type for emitter : Certificat de qualité de l'air (V2)
+     */
+    DOC_A7("A7"),
+    /**
+     * Document 14
+     * <p>
+     * ID : 14
+     * <p>
+     * Type for user : Justificatif de véhicule
+     * <p>
+     * Type for emitter : Attestation DICEM
+     */
+    DOC_14("14"),
+    /**
+     * Document A8
+     * <p>
+     * ID : A8
+     * <p>
+     * Type for user : Certificat d'immatriculation
+     * <p>
+     * Type for emitter : Certificat de cession électronique
+     */
+    DOC_A8("A8"),
+    /**
+     * Document A1
+     * <p>
+     * ID : A1
+     * <p>
+     * Type for user : Justificatif permis de conduire
+     * <p>
+     * Type for emitter : Courrier Permis à Points
+     */
+    DOC_A1("A1"),
+    /**
+     * Document AA
+     * <p>
+     * ID : AA
+     * <p>
+     * Type for user : Justificatif permis de conduire
+     * <p>
+     * Type for emitter : Arrêtés Permis de conduire
+     */
+    DOC_AA("AA"),
+    /**
+     * Document AB
+     * <p>
+     * ID : AB
+     * <p>
+     * Type for user : Justificatif permis de conduire
+     * <p>
+     * Type for emitter : Relevé d'Information Permis de conduire
+     */
+    DOC_AB("AB"),
+    /**
+     * Document B0
+     * <p>
+     * ID : B0
+     * <p>
+     * Type for user : Justificatif académique
+     * <p>
+     * Type for emitter : Diplôme
+     */
+    DOC_B0("B0"),
+    /**
+     * Document B1
+     * <p>
+     * ID : B1
+     * <p>
+     * Type for user : Justificatif académique
+     * <p>
+     * Type for emitter : Attestation de Versement de la Contribution à la Vie Etudiante
+     */
+    DOC_B1("B1"),
+    /**
+     * Document A4
+     * <p>
+     * ID : A4
+     * <p>
+     * Type for user : Justificatif médical
+     * <p>
+     * Type for emitter : Certificat de décès
+     */
+    DOC_A4("A4"),
+    /**
+     * Document A2
+     * <p>
+     * ID : A2
+     * <p>
+     * Type for user : Justificatif de santé
+     * <p>
+     * Type for emitter : Carte Mobilité Inclusion (CMI)
+     */
+    DOC_A2("A2"),
+    /**
+     * Document A3
+     * <p>
+     * ID : A3
+     * <p>
+     * Type for user : Justificatif d'activité
+     * <p>
+     * Type for emitter : Macaron VTC (Véhicule de Transport avec Chauffeur)
+     */
+    DOC_A3("A3"),
+    /**
+     * Document A5
+     * <p>
+     * ID : A5
+     * <p>
+     * Type for user : Justificatif d'activité
+     * <p>
+     * Type for emitter : Carte T3P (Transport Public Particulier de Personnes)
+     */
+    DOC_A5("A5"),
+    /**
+     * Document A6
+     * <p>
+     * ID : A6
+     * <p>
+     * Type for user : Justificatif d'activité
+     * <p>
+     * Type for emitter : Carte Professionnelle Sapeur-Pompier
+     */
+    DOC_A6("A6"),
+    /**
+     * Document A9
+     * <p>
+     * ID : A9
+     * <p>
+     * Type for user : Justificatif d'activité
+     * <p>
+     * Type for emitter : Permis de chasser
+     */
+    DOC_A9("A9"),
+    /**
+     * Document AC
+     * <p>
+     * ID : AC
+     * <p>
+     * Type for user : Justificatif d'activité
+     * <p>
+     * Type for emitter : Licence de conducteur de train
+     */
+    DOC_AC("AC"),
+    /**
+     * Document 12
+     * <p>
+     * ID : 12
+     * <p>
+     * Type for user : Justificatif juridique/judiciaire
+     * <p>
+     * Type for emitter : Acte d'huissier
+     */
+    DOC_12("12"),
+    /**
+     * Document C1
+     * <p>
+     * ID : C1
+     * <p>
+     * Type for user : Autorisations douanières
+     * <p>
+     * Type for emitter : Renseignement Tarifaire Contraignant
+     */
+    DOC_C1("C1"),
+    /**
+     * Document C2
+     * <p>
+     * ID : C2
+     * <p>
+     * Type for user : Autorisations douanières
+     * <p>
+     * Type for emitter : Accord Préalable pour le transfert d'armes
+     */
+    DOC_C2("C2"),
+    /**
+     * Document C3
+     * <p>
+     * ID : C3
+     * <p>
+     * Type for user : Autorisations douanières
+     * <p>
+     * Type for emitter : Permis de transfert d'armes à feu et de munitions
+     */
+    DOC_C3("C3"),
+    /**
+     * Document C4
+     * <p>
+     * ID : C4
+     * <p>
+     * Type for user : Autorisations douanières
+     * <p>
+     * Type for emitter : Autorisation d'importation de matériels de guerre
+     */
+    DOC_C4("C4"),
+    /**
+     * Document C5
+     * <p>
+     * ID : C5
+     * <p>
+     * Type for user : Autorisations douanières
+     * <p>
+     * Type for emitter : Licence d'exportation d'armes à feu
+     */
+    DOC_C5("C5"),
+    /**
+     * Document C6
+     * <p>
+     * ID : C6
+     * <p>
+     * Type for user : Autorisations douanières
+     * <p>
+     * Type for emitter : Agrément de transfert d'armes à feu et de munitions
+     */
+    DOC_C6("C6"),
+    /**
+     * Document C7
+     * <p>
+     * ID : C7
+     * <p>
+     * Type for user : Autorisations douanières
+     * <p>
+     * Type for emitter : Bon de livraison
+     */
+    DOC_C7("C7"),
+    /**
+     * Document C8
+     * <p>
+     * ID : C8
+     * <p>
+     * Type for user : Autorisations douanières
+     * <p>
+     * Type for emitter : Bon de livraison V2
+     */
+    DOC_C8("C8"),
+    /**
+     * Document B2
+     * <p>
+     * ID : B2
+     * <p>
+     * Type for user : Résultats des tests virologiques
+     * <p>
+     * Type for emitter : Test COVID
+     */
+    DOC_B2("B2"),
+    /**
+     * Document L1
+     * <p>
+     * ID : L1
+     * <p>
+     * Type for user : Attestation Vaccinale
+     * <p>
+     * Type for emitter : Attestation Vaccinale
+     */
+    DOC_L1("L1"),
+    /**
+     * Document 16
+     * <p>
+     * ID : 16
+     * <p>
+     * Type for user : Justificatif d'Asile
+     * <p>
+     * Type for emitter : Attestation de Demande d'Asile
+     */
+    DOC_16("16"),
+    /**
+     * Document 17
+     * <p>
+     * ID : 17
+     * <p>
+     * Type for user : Justificatif d'Asile
+     * <p>
+     * Type for emitter : Attestation de fin de droit à l'allocation pour demandeur d'asile (ADA)
+     */
+    DOC_17("17");
+
+    /**
+     * @param id the ID of the document type, its definition is read from {@link SchemaRegistry#DEFAULT}
+     * @throws IllegalStateException when the document type is not defined by the schema
+     */
+    Document(final String id) {
+        final SchemaRegistry schema = SchemaRegistry.DEFAULT;
+        final int index = IdentifierIndex.of(id);
+        if (index < 0 || !name().equals(schema.documentName(index))) {
+            throw new IllegalStateException(format("Document %s %s is not defined by the schema", name(), id));
+        }
         this.id = id;
-        this.emissionDateMandatory = emissionDateMandatory;
-        this.mandatoryData = unmodifiableList(mandatoryData);
+        emissionDateMandatory = schema.isEmissionDateMandatory(index);
+        typeForUser = schema.documentTypeForUser(index);
+        typeForTransmitter = schema.documentTypeForTransmitter(index);
+
+        final List<DatatypeDefinition> allMandatoryData = new ArrayList<>();
+        mandatoryDataTypes = EnumSet.noneOf(DataType.class);
+        for (final int[] definition : schema.documentMandatoryData(index)) {
+            final List<DataType> interchangeableDataTypes = new ArrayList<>(definition.length - 1);
+            for (int i = 1; i < definition.length; i++) {
+                interchangeableDataTypes.add(dataType(schema, definition[i]));
+            }
+            final DataType dataType = dataType(schema, definition[0]);
+            allMandatoryData.add(new DatatypeDefinition(dataType, unmodifiableList(interchangeableDataTypes)));
+            mandatoryDataTypes.add(dataType);
+        }
+        mandatoryData = unmodifiableList(allMandatoryData);
 
-        final ArrayList<DataType> allOptionalDataType = new ArrayList<>();
-        allOptionalDataType.addAll(DataType.getComplementaryDataTypes());
-        allOptionalDataType.addAll(optionalData);
-        this.optionalData = unmodifiableList(allOptionalDataType);
+        final List<DataType> allOptionalDataType = new ArrayList<>(DataType.getComplementaryDataTypes());
+        for (final int optional : schema.documentOptionalData(index)) {
+            allOptionalDataType.add(dataType(schema, optional));
+        }
+        optionalData = unmodifiableList(allOptionalDataType);
+
+        linkedDataTypes = EnumSet.copyOf(mandatoryDataTypes);
+        linkedDataTypes.addAll(allOptionalDataType);
+    }
 
-        this.typeForUser = typeForUser;
-        this.typeForTransmitter = typeForTransmitter;
+    /**
+     * @param schema the schema
+     * @param index  the index of a data type in the schema
+     * @return the data type
+     */
+    private static DataType dataType(final SchemaRegistry schema, final int index) {
+        return DataType.valueOf(schema.dataName(index));
     }
 
     /**
-     * Map used to find a document type by its ID
+     * Table used to find a document type by its ID, indexed by {@link IdentifierIndex#of(char, char)}
      */
-    private static final Map<String, Document> BY_ID;
+    private static final Document[] BY_ID = new Document[IdentifierIndex.SIZE];
 
     static {
-        BY_ID = stream(Document.values()).collect(toMap(Document::getId, identity()));
+        for (final Document document : values()) {
+            BY_ID[IdentifierIndex.of(document.getId())] = document;
+        }
     }
 
     /**
@@ -170,6 +543,14 @@ public enum Document {
      */
     @Getter
     private final List<DataType> optionalData;
+    /**
+     * The data types of {@link Document#mandatoryData}
+     */
+    private final EnumSet<DataType> mandatoryDataTypes;
+    /**
+     * The mandatory and optional data types
+     */
+    private final EnumSet<DataType> linkedDataTypes;
     /**
      * A label indicating what the document is for a user
      */
@@ -188,7 +569,61 @@ public enum Document {
      * @return an optional containing the found document or an empty optional if nothing is found
      */
     public static Optional<Document> findById(final String id) {
-        return ofNullable(BY_ID.get(id));
+        final int index = IdentifierIndex.of(id);
+        return index < 0 ? Optional.empty() : ofNullable(BY_ID[index]);
+    }
+
+    /**
+     * Finds a document type by the two characters of its ID
+     * <p>
+     * Allocation free alternative to {@link Document#findById(String)}
+     *
+     * @param first  the first character of the ID
+     * @param second the second character of the ID
+     * @return the found document or null if nothing is found
+     */
+    static Document findById(final char first, final char second) {
+        final int index = IdentifierIndex.of(first, second);
+        return index < 0 ? null : BY_ID[index];
+    }
+
+    /**
+     * Checks if a data type is mandatory for this document
+     *
+     * @param dataType the data type
+     * @return TRUE if the data type is mandatory, FALSE otherwise
+     */
+    boolean isMandatory(final DataType dataType) {
+        return mandatoryDataTypes.contains(dataType);
+    }
+
+    /**
+     * Checks if a data type is linked to this document, as mandatory or optional data
+     *
+     * @param dataType the data type
+     * @return TRUE if the data type is linked to the document, FALSE otherwise
+     */
+    boolean isLinked(final DataType dataType) {
+        return linkedDataTypes.contains(dataType);
+    }
+
+    /**
+     * @return the number of data types linked to this document, as mandatory or optional data
+     */
+    int getLinkedDataCount() {
+        return linkedDataTypes.size();
+    }
+
+    /**
+     * Checks if all the mandatory data types are present
+     * <p>
+     * A bitmask operation per 64 data types, the sets are backed by arrays of longs
+     *
+     * @param dataTypes the present data types
+     * @return TRUE if every mandatory data type is present, FALSE otherwise
+     */
+    boolean hasAllMandatoryData(final EnumSet<DataType> dataTypes) {
+        return dataTypes.containsAll(mandatoryDataTypes);
     }
 
     /**
@@ -201,14 +636,34 @@ public enum Document {
         @Getter
         private final List<DataType> interchangeableDataType;
 
+        /**
+         * The {@link DatatypeDefinition#interchangeableDataType} as a set, null when there is no interchangeable
+         * data type
+         */
+        private final EnumSet<DataType> interchangeableDataTypes;
+
         public DatatypeDefinition(final DataType dataType, final List<DataType> interchangeableDataType) {
             this.dataType = dataType;
             this.interchangeableDataType = interchangeableDataType;
+            interchangeableDataTypes = interchangeableDataType.isEmpty() ? null : EnumSet.copyOf(
+                    interchangeableDataType);
         }
 
         public DatatypeDefinition(final DataType dataType) {
-            this.dataType = dataType;
-            interchangeableDataType = emptyList();
+            this(dataType, emptyList());
+        }
+
+        /**
+         * Checks if the data is present, itself or replaced by all its interchangeable data types
+         * <p>
+         * A data without interchangeable data types is always considered present
+         *
+         * @param dataTypes the present data types
+         * @return TRUE if the data is present, FALSE otherwise
+         */
+        boolean isPresent(final EnumSet<DataType> dataTypes) {
+            return interchangeableDataTypes == null || dataTypes.contains(dataType)
+                    || dataTypes.containsAll(interchangeableDataTypes);
         }
     }
 
@@ -4,9 +4,11 @@ import com.google.inject.Singleton;
 import fr.kiyauden._2ddoc.Document.DatatypeDefinition;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 
 import static java.lang.String.format;
+import static java.util.Collections.emptyList;
 
 /**
  * Implementation of {@link IDocumentService}
@@ -20,21 +22,16 @@ class DocumentService implements IDocumentService {
     @Override
     public boolean isDataMandatory(final Document documentType, final DataType dataType)
             throws DataExtractionException {
-        final boolean isInMandatoryList = documentType.getMandatoryData().stream()
-                .anyMatch(datatypeDefinition -> datatypeDefinition.getDataType().equals(dataType));
-
-        if (isInMandatoryList) {
+        if (documentType.isMandatory(dataType)) {
             return true;
-        } else {
-            final boolean isInOptionalList = documentType.getOptionalData().contains(dataType);
-            if (!isInOptionalList) {
-                throw new DataExtractionException(
-                        format("Data %s %s is not linked to document %s",
-                               dataType.name(),
-                               dataType.getId(),
-                               documentType.name())
-                );
-            }
+        }
+        if (!documentType.isLinked(dataType)) {
+            throw new DataExtractionException(
+                    format("Data %s %s is not linked to document %s",
+                           dataType.name(),
+                           dataType.getId(),
+                           documentType.name())
+            );
         }
         return false;
     }
@@ -43,21 +40,29 @@ class DocumentService implements IDocumentService {
      * {@inheritDoc}
      */
     @Override
-    public List<DataType> computeMissingData(final Document documentType, final List<DataType> datatypes) {
-        final List<DatatypeDefinition> mandatoryData = documentType.getMandatoryData();
-
-        final List<DataType> missingData = new ArrayList<>();
+    public DecodingPlan getDecodingPlan(final Document documentType) {
+        return DecodingPlan.of(documentType);
+    }
 
-        for (final DatatypeDefinition mandatoryDatum : mandatoryData) {
-            final DataType dataType = mandatoryDatum.getDataType();
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<DataType> computeMissingData(final Document documentType, final EnumSet<DataType> datatypes) {
+        if (documentType.hasAllMandatoryData(datatypes)) {
+            return emptyList();
+        }
 
-            final boolean found = datatypes.stream().anyMatch(dataType1 -> dataType1.equals(dataType));
-            if (!found) {
-                final List<DataType> interchangeableDataType = mandatoryDatum.getInterchangeableDataType();
-                final boolean interchangeable = datatypes.containsAll(interchangeableDataType);
-                if (!interchangeable) {
-                    missingData.add(dataType);
+        // Created with the first missing data, most of the time they are all replaced by interchangeable data
+        List<DataType> missingData = emptyList();
+        final List<DatatypeDefinition> mandatoryData = documentType.getMandatoryData();
+        for (int i = 0; i < mandatoryData.size(); i++) {
+            final DatatypeDefinition mandatoryDatum = mandatoryData.get(i);
+            if (!mandatoryDatum.isPresent(datatypes)) {
+                if (missingData.isEmpty()) {
+                    missingData = new ArrayList<>();
                 }
+                missingData.add(mandatoryDatum.getDataType());
             }
         }
 
@@ -0,0 +1,212 @@
+package fr.kiyauden._2ddoc;
+
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.params.ECDomainParameters;
+import org.bouncycastle.crypto.params.ECPublicKeyParameters;
+import org.bouncycastle.crypto.signers.ECDSASigner;
+import org.bouncycastle.math.ec.ECCurve;
+import org.bouncycastle.math.ec.ECLookupTable;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.FixedPointPreCompInfo;
+import org.bouncycastle.math.ec.FixedPointUtil;
+import org.bouncycastle.math.raw.Nat;
+import org.bouncycastle.util.BigIntegers;
+
+import java.math.BigInteger;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link Verifier} of the SHA-256 ECDSA signatures, with the signature in the IEEE P1363 format
+ * <p>
+ * Made of the Bouncy Castle lightweight classes: the data are hashed by a {@link SHA256Digest} and the hash is
+ * verified by an {@link ECDSASigner}, without going through a provider nor encoding the signature in DER
+ * <p>
+ * With {@link PrecomputedKeys}, the two multiplications of the verification are done with the comb tables of the
+ * generator and of the key, see {@link EcdsaVerifier#verifyPrecomputed(BigInteger, BigInteger)}
+ */
+final class EcdsaVerifier implements Verifier {
+
+    /**
+     * Size of the buffer receiving the bytes of a direct buffer
+     */
+    private static final int COPY_BUFFER_SIZE = 256;
+
+    /**
+     * The digest of the signed bytes
+     */
+    private final SHA256Digest digest = new SHA256Digest();
+    /**
+     * The signer, initialized for the verification with the key
+     */
+    private final ECDSASigner signer = new ECDSASigner();
+    /**
+     * The hash of the signed bytes, reused by each verification
+     */
+    private final byte[] hash = new byte[digest.getDigestSize()];
+    /**
+     * The length in bytes of each half of a signature, the length of the order of the curve
+     */
+    private final int halfLength;
+    /**
+     * The public key of the certificate
+     */
+    private final ECPublicKeyParameters key;
+    /**
+     * The comb tables of the keys, null when the signer verifies the signatures
+     */
+    private final PrecomputedKeys precomputedKeys;
+    /**
+     * The comb table of the generator of the curve, null when the signer verifies the signatures
+     */
+    private final FixedPointPreCompInfo generatorTable;
+    /**
+     * The entry of the comb table of the key, null until the first verification or when the budget holds no table
+     */
+    private PrecomputedKeys.Entry keyEntry;
+    /**
+     * The buffer receiving the bytes of a direct buffer, null until one is given
+     */
+    private byte[] copyBuffer;
+
+    /**
+     * @param key the public key of the certificate
+     */
+    EcdsaVerifier(final ECPublicKeyParameters key) {
+        this(key, null);
+    }
+
+    /**
+     * @param key             the public key of the certificate
+     * @param precomputedKeys the comb tables of the keys, null to verify with the signer
+     */
+    EcdsaVerifier(final ECPublicKeyParameters key, final PrecomputedKeys precomputedKeys) {
+        signer.init(false, key);
+        halfLength = (key.getParameters().getN().bitLength() + 7) / 8;
+        this.key = key;
+        this.precomputedKeys = precomputedKeys;
+        generatorTable = precomputedKeys == null ? null : FixedPointUtil.precompute(key.getParameters().getG());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void update(final byte[] bytes, final int offset, final int length) {
+        digest.update(bytes, offset, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void update(final ByteBuffer bytes) {
+        if (bytes.hasArray()) {
+            digest.update(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+            // As a Buffer, ByteBuffer.position(int) does not exist before Java 9
+            ((Buffer) bytes).position(bytes.limit());
+            return;
+        }
+        if (copyBuffer == null) {
+            copyBuffer = new byte[COPY_BUFFER_SIZE];
+        }
+        while (bytes.hasRemaining()) {
+            final int length = Math.min(bytes.remaining(), COPY_BUFFER_SIZE);
+            bytes.get(copyBuffer, 0, length);
+            digest.update(copyBuffer, 0, length);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean verify(final byte[] signature, final int offset, final int length) {
+        // Resets the digest
+        digest.doFinal(hash, 0);
+        if (length != 2 * halfLength) {
+            return false;
+        }
+        final BigInteger r = BigIntegers.fromUnsignedByteArray(signature, offset, halfLength);
+        final BigInteger s = BigIntegers.fromUnsignedByteArray(signature, offset + halfLength, halfLength);
+        return precomputedKeys == null ? signer.verifySignature(hash, r, s) : verifyPrecomputed(r, s);
+    }
+
+    /**
+     * Verifies the hash like {@link ECDSASigner#verifySignature(byte[], BigInteger, BigInteger)}, computing
+     * u1.G + u2.Q with the comb tables of the two points instead of interleaving two double-and-add
+     * <p>
+     * The key gets its table from the entry kept by the verifier, {@link PrecomputedKeys} is only asked again when the
+     * entry was evicted. The signer is used when the key has no table
+     *
+     * @param r the first half of the signature
+     * @param s the second half of the signature
+     * @return TRUE if the signature is valid, FALSE otherwise
+     */
+    private boolean verifyPrecomputed(final BigInteger r, final BigInteger s) {
+        FixedPointPreCompInfo keyTable = keyEntry == null ? null : keyEntry.use();
+        if (keyTable == null) {
+            keyEntry = precomputedKeys.get(key);
+            keyTable = keyEntry == null ? null : keyEntry.use();
+        }
+        if (keyTable == null || keyTable.getWidth() != generatorTable.getWidth()) {
+            return signer.verifySignature(hash, r, s);
+        }
+
+        final ECDomainParameters domain = key.getParameters();
+        final BigInteger n = domain.getN();
+        if (r.signum() <= 0 || r.compareTo(n) >= 0 || s.signum() <= 0 || s.compareTo(n) >= 0) {
+            return false;
+        }
+        // The hash has the length of the order of P-256, it is used as is
+        final BigInteger e = new BigInteger(1, hash);
+        final BigInteger c = BigIntegers.modOddInverseVar(n, s);
+        final BigInteger u1 = e.multiply(c).mod(n);
+        final BigInteger u2 = r.multiply(c).mod(n);
+
+        final ECPoint point = sumOfCombs(domain.getCurve(), u1, u2, keyTable).normalize();
+        if (point.isInfinity()) {
+            return false;
+        }
+        return point.getAffineXCoord().toBigInteger().mod(n).equals(r);
+    }
+
+    /**
+     * Computes u1.G + u2.Q with the comb tables of G and Q
+     * <p>
+     * The comb of {@link org.bouncycastle.math.ec.FixedPointCombMultiplier}, with the two scalars walked in the same
+     * loop so the doublings are shared. The points are read from the tables in variable time, unlike the multiplier
+     * made for the secret scalars of a signing: a verification only handles public values
+     *
+     * @param curve    the curve
+     * @param u1       the scalar of the generator
+     * @param u2       the scalar of the key
+     * @param keyTable the comb table of the key, of the width of the table of the generator
+     * @return the sum, not normalized
+     */
+    private ECPoint sumOfCombs(final ECCurve curve, final BigInteger u1, final BigInteger u2,
+                               final FixedPointPreCompInfo keyTable) {
+        final int size = FixedPointUtil.getCombSize(curve);
+        final int width = generatorTable.getWidth();
+        final int columns = (size + width - 1) / width;
+        final int fullComb = columns * width;
+        final int[] k1 = Nat.fromBigInteger(fullComb, u1);
+        final int[] k2 = Nat.fromBigInteger(fullComb, u2);
+        final ECLookupTable generatorPoints = generatorTable.getLookupTable();
+        final ECLookupTable keyPoints = keyTable.getLookupTable();
+
+        ECPoint sum = curve.getInfinity();
+        final int top = fullComb - 1;
+        for (int i = 0; i < columns; i++) {
+            int index1 = 0;
+            int index2 = 0;
+            for (int j = top - i; j >= 0; j -= columns) {
+                index1 = index1 << 1 | k1[j >>> 5] >>> (j & 0x1F) & 1;
+                index2 = index2 << 1 | k2[j >>> 5] >>> (j & 0x1F) & 1;
+            }
+            sum = sum.twicePlus(generatorPoints.lookupVar(index1)).add(keyPoints.lookupVar(index2));
+        }
+        return sum.add(generatorTable.getOffset()).add(keyTable.getOffset());
+    }
+
+}
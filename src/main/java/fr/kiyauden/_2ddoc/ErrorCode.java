@@ -0,0 +1,71 @@
+package fr.kiyauden._2ddoc;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The reason why a 2D-DOC could not be parsed by {@link Parser#tryParse(String, java.util.List, ParseOptions)}
+ */
+@RequiredArgsConstructor
+public enum ErrorCode {
+
+    /**
+     * The input does not start with the identification marker "DC"
+     */
+    NOT_A_2DDOC("Not a 2D-DOC, the input must start with \"DC\""),
+    /**
+     * The input is shorter than the header of its version
+     */
+    TRUNCATED_HEADER("The header is truncated"),
+    /**
+     * The version of the header is not supported
+     */
+    UNSUPPORTED_VERSION("The version is not supported"),
+    /**
+     * The document type of the header is not supported
+     */
+    UNSUPPORTED_DOCUMENT("The document type is not supported"),
+    /**
+     * The perimeter of the header is not supported, only "01" is
+     */
+    UNSUPPORTED_PERIMETER("The perimeter is not supported"),
+    /**
+     * The emission date or the signature date of the header is invalid
+     */
+    INVALID_HEADER_DATE("A date of the header is invalid"),
+    /**
+     * The identifier of a data is incomplete or unknown
+     */
+    MALFORMED_DATA("A data has an incomplete or unknown identifier"),
+    /**
+     * A data is not linked to the document type of the header
+     */
+    DATA_NOT_LINKED("A data is not linked to the document"),
+    /**
+     * A fixed length data is cut by the end of its segment
+     */
+    INCOMPLETE_DATA("A fixed length data is incomplete"),
+    /**
+     * A variable length data is longer than its max length
+     */
+    OVERFLOWING_DATA("A data is longer than its max length"),
+    /**
+     * The value of a data does not match its format
+     */
+    INVALID_VALUE("The value of a data does not match its format"),
+    /**
+     * The input has no signature, no unit separator follows the message
+     */
+    MISSING_SIGNATURE("The signature is missing"),
+    /**
+     * The signature could not be verified, e.g. the certificate is not valid yet
+     */
+    SIGNATURE_ERROR("The signature could not be verified");
+
+    /**
+     * The description of the error
+     */
+    @Getter
+    private final String description;
+
+}
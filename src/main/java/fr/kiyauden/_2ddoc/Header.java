@@ -97,6 +97,34 @@ public class Header {
      */
     String issuingCountry;
 
+    /**
+     * Creates an instance of the {@link Header} class for any version
+     *
+     * @param version                  The version of the header
+     * @param certificationAuthorityId The certification authority ID
+     * @param certificateId            The certificate ID
+     * @param emissionDate             The emission date of the document
+     * @param signatureDate            The creation date of the signature
+     * @param documentType             The document type provided by the 2D-DOC
+     * @param perimeterId              The perimeter ID, null when the version has none
+     * @param issuingCountry           The issuing country of the document, null when the version has none
+     * @return an instance of {@link Header}
+     */
+    static Header of(final Version version, final String certificationAuthorityId, final String certificateId,
+                     final LocalDate emissionDate, final LocalDate signatureDate, final Document documentType,
+                     final String perimeterId, final String issuingCountry) {
+        return Header.builder()
+                .version(version)
+                .certificationAuthorityId(certificationAuthorityId)
+                .certificateId(certificateId)
+                .emissionDate(emissionDate)
+                .signatureDate(signatureDate)
+                .documentType(documentType)
+                .perimeterId(perimeterId)
+                .issuingCountry(issuingCountry)
+                .build();
+    }
+
     /**
      * Creates an instance of the {@link Header} class for a {@link Version#VERSION_02} 2D-DOC
      *
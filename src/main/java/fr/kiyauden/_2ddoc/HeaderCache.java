@@ -0,0 +1,107 @@
+package fr.kiyauden._2ddoc;
+
+import static java.lang.String.format;
+
+/**
+ * Bounded cache of the parsed {@link Header}, keyed by the characters of the header
+ * <p>
+ * The 2D-DOC of a batch are often signed by the same certificate, on the same day, for the same document type, they
+ * then share the same header: it is parsed once and the same immutable instance is returned for the next ones. The
+ * cache is direct mapped, a header has a single slot given by its hash, a new header replaces the previous one of its
+ * slot. A lookup hashes and compares the characters in place, without allocation
+ * <p>
+ * The entries are immutable and their fields final, a thread always sees a complete entry. Concurrent writes to a
+ * slot only lose an entry, the cache needs no lock
+ */
+final class HeaderCache {
+
+    /**
+     * The slots, a power of two
+     */
+    private final Entry[] entries;
+    /**
+     * Mask giving the slot of a hash
+     */
+    private final int mask;
+
+    /**
+     * @param capacity the number of slots, a power of two
+     * @throws IllegalArgumentException when the capacity is not a power of two
+     */
+    HeaderCache(final int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException(format("Capacity must be a power of two, was %d", capacity));
+        }
+        entries = new Entry[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Hashes the characters of a header
+     *
+     * @param input  the 2D-DOC, starting with its header
+     * @param length the length of the header
+     * @return the hash
+     */
+    static int hash(final CharSequence input, final int length) {
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + input.charAt(i);
+        }
+        // The low bits give the slot, the high ones are mixed in
+        return hash ^ hash >>> 16;
+    }
+
+    /**
+     * Gets a cached header
+     *
+     * @param input  the 2D-DOC, starting with its header
+     * @param length the length of the header
+     * @param hash   the hash of the header, see {@link HeaderCache#hash(CharSequence, int)}
+     * @return the header, null if it is not cached
+     */
+    Header get(final CharSequence input, final int length, final int hash) {
+        final Entry entry = entries[hash & mask];
+        if (entry == null || entry.hash != hash || entry.key.length() != length) {
+            return null;
+        }
+        for (int i = 0; i < length; i++) {
+            if (entry.key.charAt(i) != input.charAt(i)) {
+                return null;
+            }
+        }
+        return entry.header;
+    }
+
+    /**
+     * Caches a header, replacing the header of the same slot
+     *
+     * @param input  the 2D-DOC, starting with its header
+     * @param length the length of the header
+     * @param hash   the hash of the header, see {@link HeaderCache#hash(CharSequence, int)}
+     * @param header the parsed header
+     */
+    void put(final CharSequence input, final int length, final int hash, final Header header) {
+        entries[hash & mask] = new Entry(hash, input.subSequence(0, length).toString(), header);
+    }
+
+    /**
+     * A cached header
+     */
+    private static final class Entry {
+
+        private final int hash;
+        /**
+         * The characters of the header
+         */
+        private final String key;
+        private final Header header;
+
+        private Entry(final int hash, final String key, final Header header) {
+            this.hash = hash;
+            this.key = key;
+            this.header = header;
+        }
+    }
+
+}
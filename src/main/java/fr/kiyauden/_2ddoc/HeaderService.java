@@ -6,133 +6,307 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDate;
-import java.util.Optional;
 
 import static fr.kiyauden._2ddoc.DataFormat.DATE;
-import static fr.kiyauden._2ddoc.Header.ofVersion02;
-import static fr.kiyauden._2ddoc.Header.ofVersion03;
-import static fr.kiyauden._2ddoc.Header.ofVersion04;
-import static fr.kiyauden._2ddoc.Version.VERSION_02;
-import static fr.kiyauden._2ddoc.Version.VERSION_03;
-import static fr.kiyauden._2ddoc.Version.VERSION_04;
-import static fr.kiyauden._2ddoc.Version.findByVersionString;
+import static fr.kiyauden._2ddoc.Version.findByVersionChars;
 import static java.lang.String.format;
 
 /**
  * Implementation of {@link IHeaderService}
+ * <p>
+ * The header of each version is a prefix of the {@link Version#VERSION_04} one, its fields are read from a single
+ * table of offsets, see {@link HeaderField}. The parsed headers are kept in a {@link HeaderCache}, a header already
+ * seen costs a hash of its characters and no allocation
+ * <p>
+ * The dates of a header missing from the cache are parsed by the {@link IParserService}, a custom
+ * {@link DataFormat#DATE} parser also applies to the headers. {@link IHeaderService#parseHeaderInto(CharSequence,
+ * ResultSink)} keeps decoding them with {@link DateDataParser#decode(CharSequence, int, int)}
+ * <p>
+ * The errors are reported with a {@link ParseSignal}, only {@link IHeaderService#parseHeader(CharSequence)} and
+ * {@link IHeaderService#parseHeaderInto(CharSequence, ResultSink)} log them and turn them into exceptions
  */
 @Slf4j
 @RequiredArgsConstructor(onConstructor = @__(@Inject))
 @Singleton
 class HeaderService implements IHeaderService {
 
+    /**
+     * Number of headers kept in the cache
+     */
+    private static final int CACHE_CAPACITY = 256;
+
     private final IParserService parserService;
 
+    private final HeaderCache cache = new HeaderCache(CACHE_CAPACITY);
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public Header parseHeader(final String header)
+    public Header parseHeader(final CharSequence header)
             throws UnsupportedException, NotFoundException, HeaderExtractionException {
-        log.debug("Parsing header \"{}\"", header);
+        try {
+            return decodeHeader(header);
+        } catch (final ParseSignal signal) {
+            throw failure(header, signal);
+        }
+    }
 
-        // Parses the identification marker
-        final String idMarker = header.substring(0, 2);
-        log.trace("Identification marker is \"{}\"", idMarker);
-        if (!"DC".equals(idMarker)) {
-            log.warn("Not a 2D-DOC, header must start with \"DC\", was \"{}\"", idMarker);
-            throw new NotFoundException(format("Not a 2D-DOC, header must start with \"DC\", was \"%s\"", idMarker));
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Header decodeHeader(final CharSequence input) throws ParseSignal {
+        final Version version = parseVersion(input);
+        final int length = version.getHeaderLength();
+        final int hash = HeaderCache.hash(input, length);
+
+        Header parsedHeader = cache.get(input, length, hash);
+        if (parsedHeader == null) {
+            parsedHeader = decode(input, version);
+            cache.put(input, length, hash, parsedHeader);
+            log.debug("Header parsed as {}", parsedHeader);
         }
+        return parsedHeader;
+    }
 
-        // Parses the version
-        final String versionString = header.substring(2, 4);
-        log.trace("Version is \"{}\"", versionString);
-        if ("01".equals(versionString)) {
-            log.warn("Version 01 is deprecated by the ANTS and is not supported by this library");
-            throw new UnsupportedVersionException(
-                    "Version 01 is deprecated by the ANTS and is not supported by this library");
-        }
-        final Optional<Version> versionOptional = findByVersionString(versionString);
-        if (!versionOptional.isPresent()) {
-            log.warn("Version \"{}\" is not supported", versionString);
-            throw new UnsupportedVersionException(format("Version \"%s\" is not supported", versionString));
-        }
-
-        // Extracts the certification authority
-        final String certificationAuthority = header.substring(4, 8);
-        log.trace("Certification authority is \"{}\"", certificationAuthority);
-        // Extracts certificate identifier
-        final String certificateIdentifier = header.substring(8, 12);
-        log.trace("Certificate identifier is \"{}\"", certificateIdentifier);
-
-        final LocalDate emissionDate;
-        final LocalDate signatureDate;
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void parseHeaderInto(final CharSequence input, final ResultSink sink)
+            throws UnsupportedException, NotFoundException, HeaderExtractionException {
         try {
-            // Parses the emission date
-            final String emissionDateString = header.substring(12, 16);
-            log.trace("Emission HEX date is \"{}\"", emissionDateString);
-            emissionDate = (LocalDate) parserService.parse(emissionDateString, DATE);
-            log.trace("Parsed emission date is \"{}\"", emissionDate);
-
-            // Parses the signature date
-            final String signatureDateString = header.substring(16, 20);
-            log.trace("Signature HEX date is \"{}\"", signatureDateString);
-            signatureDate = (LocalDate) parserService.parse(signatureDateString, DATE);
-            log.trace("Parsed signature date is \"{}\"", signatureDate);
+            final Version version = parseVersion(input);
+
+            final LocalDate emissionDate = HeaderField.EMISSION_DATE.decodeDate(input);
+            final LocalDate signatureDate = HeaderField.SIGNATURE_DATE.decodeDate(input);
+
+            final Document document = parseDocument(input);
+            if (HeaderField.PERIMETER.isIn(version)) {
+                checkPerimeter(input);
+            }
+
+            sink.header(version, document, emissionDate, signatureDate);
+        } catch (final ParseSignal signal) {
+            throw failure(input, signal);
+        }
+    }
+
+    /**
+     * Decodes the fields of a header
+     *
+     * @param header  the header
+     * @param version the version of the header
+     * @return the header
+     * @throws ParseSignal when a date is invalid, the document type or the perimeter is not supported
+     */
+    private Header decode(final CharSequence header, final Version version) throws ParseSignal {
+        final LocalDate emissionDate = parseDate(header, HeaderField.EMISSION_DATE);
+        final LocalDate signatureDate = parseDate(header, HeaderField.SIGNATURE_DATE);
+
+        final Document document = parseDocument(header);
+        if (HeaderField.PERIMETER.isIn(version)) {
+            checkPerimeter(header);
+        }
+
+        return Header.of(version,
+                         HeaderField.CERTIFICATION_AUTHORITY.read(header, version),
+                         HeaderField.CERTIFICATE.read(header, version),
+                         emissionDate,
+                         signatureDate,
+                         document,
+                         HeaderField.PERIMETER.read(header, version),
+                         HeaderField.ISSUING_COUNTRY.read(header, version));
+    }
+
+    /**
+     * Parses a date of the header with the {@link IParserService}
+     *
+     * @param header the header
+     * @param field  the field of the date
+     * @return the date
+     * @throws ParseSignal when the date is invalid
+     */
+    private LocalDate parseDate(final CharSequence header, final HeaderField field) throws ParseSignal {
+        try {
+            return (LocalDate) parserService.parse(field.read(header), DATE);
         } catch (final ParsingException e) {
-            log.warn("An error occurred while extracting dates the header");
-            throw new HeaderExtractionException("An error occurred while extracting dates the header", e);
+            throw ParseSignal.of(ErrorCode.INVALID_HEADER_DATE, field.start);
         }
+    }
 
-        // Parses the document type
-        final String documentTypeString = header.substring(20, 22);
-        log.trace("Document type is \"{}\"", documentTypeString);
-        final Optional<Document> documentOptional = Document.findById(documentTypeString);
-        if (!documentOptional.isPresent()) {
-            log.warn("Document type \"{}\" is not supported", documentTypeString);
-            throw new UnsupportedDocumentException(format("Document type \"%s\" is not supported", documentTypeString));
+    /**
+     * Parses the identification marker and the version, and checks that the whole header is there
+     *
+     * @param header the header
+     * @return the version
+     * @throws ParseSignal when the header does not start with the identification marker, the version is not
+     *                     supported or the header is truncated
+     */
+    private static Version parseVersion(final CharSequence header) throws ParseSignal {
+        // Parses the identification marker
+        final int length = header.length();
+        if (length < 2 || header.charAt(0) != 'D' || header.charAt(1) != 'C') {
+            throw ParseSignal.of(ErrorCode.NOT_A_2DDOC, 0);
+        }
+        if (length < 4) {
+            throw ParseSignal.of(ErrorCode.TRUNCATED_HEADER, length);
         }
-        final Document document = documentOptional.get();
-        log.trace("Parsed document type is \"{}\"", document);
 
-        Header parsedHeader = null;
-        final Version version = versionOptional.get();
+        // Parses the version
+        final char versionFirst = header.charAt(2);
+        final char versionSecond = header.charAt(3);
+        log.trace("Version is \"{}{}\"", versionFirst, versionSecond);
+        // Version 01 is deprecated, it is not found
+        final Version version = findByVersionChars(versionFirst, versionSecond);
+        if (version == null) {
+            throw ParseSignal.of(ErrorCode.UNSUPPORTED_VERSION, 2);
+        }
+        if (length < version.getHeaderLength()) {
+            throw ParseSignal.of(ErrorCode.TRUNCATED_HEADER, length);
+        }
+        return version;
+    }
 
-        if (VERSION_02.equals(version)) {
-            parsedHeader = ofVersion02(certificationAuthority, certificateIdentifier, emissionDate, signatureDate,
-                                       document);
+    /**
+     * Parses the document type
+     *
+     * @param header the header
+     * @return the document type
+     * @throws ParseSignal when the document type is not supported
+     */
+    private static Document parseDocument(final CharSequence header) throws ParseSignal {
+        final int start = HeaderField.DOCUMENT.start;
+        final Document document = Document.findById(header.charAt(start), header.charAt(start + 1));
+        if (document == null) {
+            throw ParseSignal.of(ErrorCode.UNSUPPORTED_DOCUMENT, start);
         }
+        return document;
+    }
 
-        String perimeterId = null;
+    /**
+     * Checks the perimeter identifier of a {@link Version#VERSION_03} or {@link Version#VERSION_04} header
+     *
+     * @param header the header
+     * @throws ParseSignal when the perimeter is not "01"
+     */
+    private static void checkPerimeter(final CharSequence header) throws ParseSignal {
+        final int start = HeaderField.PERIMETER.start;
+        if (header.charAt(start) != '0' || header.charAt(start + 1) != '1') {
+            throw ParseSignal.of(ErrorCode.UNSUPPORTED_PERIMETER, start);
+        }
+    }
 
-        if (VERSION_03.equals(version) || VERSION_04.equals(version)) {
-            // Extracts the perimeter identifier
-            perimeterId = header.substring(22, 24);
-            log.trace("Version is \"{}\", perimeter identifier is \"{}\"", versionString, perimeterId);
+    /**
+     * Logs the error of a signal and creates its exception
+     *
+     * @param header the header
+     * @param signal the signal
+     * @return the exception of a header that could not be extracted
+     * @throws NotFoundException    when the header does not start with the identification marker
+     * @throws UnsupportedException when the version, the document type or the perimeter is not supported
+     */
+    private static HeaderExtractionException failure(final CharSequence header, final ParseSignal signal)
+            throws NotFoundException, UnsupportedException {
+        final String message;
+        switch (signal.getErrorCode()) {
+            case NOT_A_2DDOC:
+                message = format("Not a 2D-DOC, header must start with \"DC\", was \"%s\"",
+                                 header.subSequence(0, Math.min(2, header.length())));
+                log.warn(message);
+                throw new NotFoundException(message);
+            case UNSUPPORTED_VERSION:
+                final String versionString = header.subSequence(2, 4).toString();
+                message = "01".equals(versionString)
+                        ? "Version 01 is deprecated by the ANTS and is not supported by this library"
+                        : format("Version \"%s\" is not supported", versionString);
+                log.warn(message);
+                throw new UnsupportedVersionException(message);
+            case UNSUPPORTED_DOCUMENT:
+                message = format("Document type \"%s\" is not supported", HeaderField.DOCUMENT.read(header));
+                log.warn(message);
+                throw new UnsupportedDocumentException(message);
+            case UNSUPPORTED_PERIMETER:
+                message = format("Perimeter with id \"%s\" is not supported, only \"01\" is",
+                                 HeaderField.PERIMETER.read(header));
+                log.warn(message);
+                throw new UnsupportedException(message);
+            case INVALID_HEADER_DATE:
+                message = "An error occurred while extracting dates the header";
+                break;
+            default:
+                message = format("The header is truncated, only %d characters found", header.length());
+        }
+        log.warn(message);
+        return new HeaderExtractionException(message);
+    }
 
-            if (!"01".equals(perimeterId)) {
-                log.warn("Perimeter with id \"{}\" is not supported, only \"01\" is", perimeterId);
-                throw new UnsupportedException(
-                        format("Perimeter with id \"%s\" is not supported, only \"01\" is", perimeterId));
-            }
+    /**
+     * The fields of a header after the version, with their offsets
+     * <p>
+     * The offsets are the same in every version, a version only has the fields ending within its header length
+     */
+    private enum HeaderField {
+        CERTIFICATION_AUTHORITY(4, 8),
+        CERTIFICATE(8, 12),
+        EMISSION_DATE(12, 16),
+        SIGNATURE_DATE(16, 20),
+        DOCUMENT(20, 22),
+        PERIMETER(22, 24),
+        ISSUING_COUNTRY(24, 26);
 
-            if (VERSION_03.equals(version)) {
-                parsedHeader = ofVersion03(certificationAuthority, certificateIdentifier, emissionDate, signatureDate,
-                                           document,
-                                           perimeterId);
-            }
+        /**
+         * The start of the field in the header (inclusive)
+         */
+        private final int start;
+        /**
+         * The end of the field in the header (exclusive)
+         */
+        private final int end;
 
+        HeaderField(final int start, final int end) {
+            this.start = start;
+            this.end = end;
         }
-        if (VERSION_04.equals(version)) {
-            // Extracts the issuing country
-            final String issuingCountry = header.substring(24, 26);
-            log.trace("Version is \"04\", issuing country is \"{}\"", issuingCountry);
-            parsedHeader = ofVersion04(certificationAuthority, certificateIdentifier, emissionDate, signatureDate,
-                                       document,
-                                       perimeterId, issuingCountry);
+
+        /**
+         * @param version a version
+         * @return TRUE if the headers of the version have this field, FALSE otherwise
+         */
+        private boolean isIn(final Version version) {
+            return end <= version.getHeaderLength();
         }
 
-        log.debug("Header parsed as {}", parsedHeader);
-        return parsedHeader;
+        /**
+         * @param header the header
+         * @return the value of the field
+         */
+        private String read(final CharSequence header) {
+            return header.subSequence(start, end).toString();
+        }
+
+        /**
+         * @param header  the header
+         * @param version the version of the header
+         * @return the value of the field, null if the version does not have it
+         */
+        private String read(final CharSequence header, final Version version) {
+            return isIn(version) ? read(header) : null;
+        }
+
+        /**
+         * @param header the header
+         * @return the date of the field, see {@link DateDataParser#decode(CharSequence, int, int)}
+         * @throws ParseSignal when the date is invalid
+         */
+        private LocalDate decodeDate(final CharSequence header) throws ParseSignal {
+            final LocalDate date = DateDataParser.decode(header, start, end);
+            if (date == DateDataParser.INVALID) {
+                throw ParseSignal.of(ErrorCode.INVALID_HEADER_DATE, start);
+            }
+            return date;
+        }
     }
+
 }
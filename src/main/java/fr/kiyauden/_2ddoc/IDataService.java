@@ -1,10 +1,139 @@
 package fr.kiyauden._2ddoc;
 
+import java.util.EnumSet;
+import java.util.List;
+
 /**
  * Service whose job is to extract data from the 2D-DOC
  */
 interface IDataService {
 
+    /**
+     * Extracts the data from a segment of the 2D-DOC
+     * <p>
+     * The segment is read in place, it is not copied from the input
+     *
+     * @param input    the input containing the segment
+     * @param start    the start of the segment in the input (inclusive)
+     * @param end      the end of the segment in the input (exclusive)
+     * @param document the document type where the data comes from
+     * @param source   the source of the data, can be {@link DataSource#MESSAGE} or {@link DataSource#ANNEX}
+     * @return the list for data extracted
+     * @throws DataExtractionException when an error occurs while extracting data
+     */
+    default ExtractedData extractData(final CharSequence input, final int start, final int end,
+                                      final Document document, final DataSource source)
+            throws DataExtractionException {
+        return extractSelectedData(input, start, end, document, source, null);
+    }
+
+    /**
+     * Extracts the selected data from a segment of the 2D-DOC
+     * <p>
+     * Every data of the segment is checked and counted for the missing mandatory data, only the value of the selected
+     * ones is decoded and returned
+     *
+     * @param input     the input containing the segment
+     * @param start     the start of the segment in the input (inclusive)
+     * @param end       the end of the segment in the input (exclusive)
+     * @param document  the document type where the data comes from
+     * @param source    the source of the data, can be {@link DataSource#MESSAGE} or {@link DataSource#ANNEX}
+     * @param selection the data types to extract, null to extract them all
+     * @return the list for data extracted
+     * @throws DataExtractionException when an error occurs while extracting data
+     */
+    ExtractedData extractSelectedData(final CharSequence input, final int start, final int end,
+                                      final Document document, final DataSource source,
+                                      final EnumSet<DataType> selection) throws DataExtractionException;
+
+    /**
+     * Extracts the selected data from a segment of the 2D-DOC, reporting an error with a {@link ParseSignal} instead
+     * of an exception
+     * <p>
+     * Same as {@link IDataService#extractSelectedData(CharSequence, int, int, Document, DataSource, EnumSet)}, the
+     * values are decoded by the built-in decoders, so no exception is built for an invalid value, see
+     * {@link ParseOptions#isLenient()} for the data that are skipped
+     *
+     * @param input    the input containing the segment
+     * @param start    the start of the segment in the input (inclusive)
+     * @param end      the end of the segment in the input (exclusive)
+     * @param document the document type where the data comes from
+     * @param source   the source of the data, can be {@link DataSource#MESSAGE} or {@link DataSource#ANNEX}
+     * @param options  the data to extract and the leniency
+     * @return the list for data extracted
+     * @throws ParseSignal when the segment is malformed or a value is invalid
+     */
+    ExtractedData tryExtractData(final CharSequence input, final int start, final int end, final Document document,
+                                 final DataSource source, final ParseOptions options) throws ParseSignal;
+
+    /**
+     * Extracts the data from a segment of the 2D-DOC and passes them to a handler, without collecting them
+     *
+     * @param input    the input containing the segment
+     * @param start    the start of the segment in the input (inclusive)
+     * @param end      the end of the segment in the input (exclusive)
+     * @param document the document type where the data comes from
+     * @param source   the source of the data, can be {@link DataSource#MESSAGE} or {@link DataSource#ANNEX}
+     * @param handler  the handler receiving each data
+     * @return the missing mandatory data, always empty for the {@link DataSource#ANNEX}
+     * @throws DataExtractionException when an error occurs while extracting data
+     */
+    List<DataType> extractData(final CharSequence input, final int start, final int end, final Document document,
+                               final DataSource source, final ParseHandler handler) throws DataExtractionException;
+
+    /**
+     * Records the position of the data of a segment without decoding their values
+     * <p>
+     * The structure of the segment is fully checked, the values are decoded later by
+     * {@link IDataService#decodeData(CharSequence, int, int, DataType, boolean, boolean, DataSource)}
+     *
+     * @param target   the list receiving the data, its input contains the segment
+     * @param input    the input containing the segment
+     * @param start    the start of the segment in the input (inclusive)
+     * @param end      the end of the segment in the input (exclusive)
+     * @param document the document type where the data comes from
+     * @param source   the source of the data, can be {@link DataSource#MESSAGE} or {@link DataSource#ANNEX}
+     * @return the missing mandatory data, always empty for the {@link DataSource#ANNEX}
+     * @throws DataExtractionException when an error occurs while extracting data
+     */
+    List<DataType> indexData(final LazyDataList target, final CharSequence input, final int start, final int end,
+                             final Document document, final DataSource source) throws DataExtractionException;
+
+    /**
+     * Extracts the data from a segment of the 2D-DOC into a sink
+     * <p>
+     * The values are decoded by the built-in decoders, without going through the {@link IParserService}
+     *
+     * @param sink     the sink receiving the data
+     * @param input    the input containing the segment
+     * @param start    the start of the segment in the input (inclusive)
+     * @param end      the end of the segment in the input (exclusive)
+     * @param document the document type where the data comes from
+     * @param source   the source of the data, can be {@link DataSource#MESSAGE} or {@link DataSource#ANNEX}
+     * @return the missing mandatory data, always empty for the {@link DataSource#ANNEX}
+     * @throws DataExtractionException when an error occurs while extracting data
+     */
+    List<DataType> extractDataInto(final ResultSink sink, final CharSequence input, final int start, final int end,
+                                   final Document document, final DataSource source)
+            throws DataExtractionException;
+
+    /**
+     * Decodes a single data
+     *
+     * @param input      the input containing the data
+     * @param valueStart the start of the value in the input (inclusive)
+     * @param valueEnd   the end of the value in the input (exclusive)
+     * @param dataType   the data type
+     * @param truncated  TRUE if the data is truncated, FALSE otherwise
+     * @param mandatory  TRUE if the data is mandatory, FALSE otherwise
+     * @param source     the source of the data
+     * @return the data
+     * @throws DataExtractionException when the value can not be parsed
+     */
+    Data decodeData(final CharSequence input, final int valueStart, final int valueEnd, final DataType dataType,
+                    final boolean truncated, final boolean mandatory, final DataSource source)
+            throws DataExtractionException;
+
     /**
      * Extracts the data from the 2D-DOC
      *
@@ -14,7 +143,9 @@ interface IDataService {
      * @return the list for data extracted
      * @throws DataExtractionException when an error occurs while extracting data
      */
-    ExtractedData extractData(final String data, final Document document, final DataSource source)
-            throws DataExtractionException;
+    default ExtractedData extractData(final String data, final Document document, final DataSource source)
+            throws DataExtractionException {
+        return extractData(data, 0, data.length(), document, source);
+    }
 
 }
@@ -1,5 +1,6 @@
 package fr.kiyauden._2ddoc;
 
+import java.util.EnumSet;
 import java.util.List;
 
 /**
@@ -17,6 +18,26 @@ interface IDocumentService {
      */
     boolean isDataMandatory(final Document documentType, final DataType dataType) throws DataExtractionException;
 
+    /**
+     * Gets the decoding plan of a document
+     * <p>
+     * The plan resolves once for the document whether each data is linked to it and mandatory, see
+     * {@link IDocumentService#isDataMandatory(Document, DataType)}
+     *
+     * @param documentType the document type
+     * @return the decoding plan
+     */
+    DecodingPlan getDecodingPlan(final Document documentType);
+
+    /**
+     * Gets the missing data for a document
+     *
+     * @param documentType the document type
+     * @param datatypes    the extracted data types
+     * @return the list of missing
+     */
+    List<DataType> computeMissingData(final Document documentType, final EnumSet<DataType> datatypes);
+
     /**
      * Gets the missing data for a document
      *
@@ -24,6 +45,10 @@ interface IDocumentService {
      * @param datatypes    the extracted data
      * @return the list of missing
      */
-    List<DataType> computeMissingData(final Document documentType, final List<DataType> datatypes);
+    default List<DataType> computeMissingData(final Document documentType, final List<DataType> datatypes) {
+        final EnumSet<DataType> set = EnumSet.noneOf(DataType.class);
+        set.addAll(datatypes);
+        return computeMissingData(documentType, set);
+    }
 
 }
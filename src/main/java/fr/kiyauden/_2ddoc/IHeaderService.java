@@ -7,14 +7,41 @@ interface IHeaderService {
 
     /**
      * Parses the 2D-DOC header
+     * <p>
+     * The same header always gives the same immutable instance while it is cached
      *
-     * @param header the string representation of the 2D-DOC header
+     * @param header the 2D-DOC, starting with its header
      * @return the parsed header
      * @throws UnsupportedException      when the 2D-DOC version was recognized but not supported
      * @throws NotFoundException         when the header format does not look like a 2D-DOC header
      * @throws HeaderExtractionException when something went wrong while extraction information from the header
      */
-    Header parseHeader(final String header)
+    Header parseHeader(final CharSequence header)
+            throws UnsupportedException, NotFoundException, HeaderExtractionException;
+
+    /**
+     * Parses the 2D-DOC header, reporting an error with a {@link ParseSignal} instead of an exception
+     * <p>
+     * Same as {@link IHeaderService#parseHeader(CharSequence)}, the errors are neither logged nor described
+     *
+     * @param input the 2D-DOC, starting with its header
+     * @return the parsed header
+     * @throws ParseSignal when the header is not a supported 2D-DOC header
+     */
+    Header decodeHeader(final CharSequence input) throws ParseSignal;
+
+    /**
+     * Parses the 2D-DOC header into a sink, without allocation
+     * <p>
+     * The dates are decoded by the built-in decoder, without going through the {@link IParserService}
+     *
+     * @param input the 2D-DOC, starting with its header
+     * @param sink  the sink receiving the header
+     * @throws UnsupportedException      when the 2D-DOC version was recognized but not supported
+     * @throws NotFoundException         when the header format does not look like a 2D-DOC header
+     * @throws HeaderExtractionException when something went wrong while extraction information from the header
+     */
+    void parseHeaderInto(final CharSequence input, final ResultSink sink)
             throws UnsupportedException, NotFoundException, HeaderExtractionException;
 
 }
@@ -9,18 +9,36 @@ import java.util.List;
 interface ISignatureService {
 
     /**
-     * Verify the signature
+     * Verify the signature of a 2D-DOC read in place
+     * <p>
+     * The certificate authority ID and the certificate ID are read from the header, at the start of the input
      *
-     * @param headerAndData          the header and the data, what was signed
-     * @param signature              the signature as extracted from the 2D-DOC
-     * @param certificateAuthorityId the certificate authority ID, extracted from the header
-     * @param certificateId          the certificate ID, extracted from the header
-     * @param certificates           the list for certificates for the signature verification
+     * @param input          the 2D-DOC
+     * @param signedEnd      the end of what was signed, the header and the data (exclusive)
+     * @param signatureStart the start of the signature (inclusive)
+     * @param signatureEnd   the end of the signature (exclusive)
+     * @param trustStore     the certificates for the signature verification
      * @return the status of the signature
      * @throws SignatureVerificationException when the signature could not be verified
      */
-    SignatureStatus verifySignature(String headerAndData, String signature, String certificateAuthorityId,
-                                    String certificateId, List<X509Certificate> certificates)
-            throws SignatureVerificationException;
+    SignatureStatus verifySignature(CharSequence input, int signedEnd, int signatureStart, int signatureEnd,
+                                    TrustStore trustStore) throws SignatureVerificationException;
+
+    /**
+     * Verify the signature of a 2D-DOC read in place with a list of certificates, scanned for the IDs of the header
+     *
+     * @param input          the 2D-DOC
+     * @param signedEnd      the end of what was signed, the header and the data (exclusive)
+     * @param signatureStart the start of the signature (inclusive)
+     * @param signatureEnd   the end of the signature (exclusive)
+     * @param certificates   the list for certificates for the signature verification
+     * @return the status of the signature
+     * @throws SignatureVerificationException when the signature could not be verified
+     */
+    default SignatureStatus verifySignature(final CharSequence input, final int signedEnd, final int signatureStart,
+                                            final int signatureEnd, final List<X509Certificate> certificates)
+            throws SignatureVerificationException {
+        return verifySignature(input, signedEnd, signatureStart, signatureEnd, TrustStore.scanning(certificates));
+    }
 
 }
@@ -0,0 +1,66 @@
+package fr.kiyauden._2ddoc;
+
+import lombok.NoArgsConstructor;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Computes the index of a two characters identifier in a lookup table
+ * <p>
+ * The identifiers of the 2D-DOC (data types, documents, versions) are made of two characters in {@code [0-9A-Z]},
+ * an identifier can so be mapped to a slot of an array of {@link IdentifierIndex#SIZE} elements, without creating a
+ * {@link String} to hash it
+ */
+@NoArgsConstructor(access = PRIVATE)
+class IdentifierIndex {
+
+    /**
+     * Number of characters allowed in an identifier, digits and upper case letters
+     */
+    private static final int ALPHABET_SIZE = 36;
+
+    /**
+     * The size of a lookup table indexed by {@link IdentifierIndex#of(char, char)}
+     */
+    static final int SIZE = ALPHABET_SIZE * ALPHABET_SIZE;
+
+    /**
+     * Returns the index of an identifier
+     *
+     * @param first  the first character of the identifier
+     * @param second the second character of the identifier
+     * @return the index, between 0 and {@link IdentifierIndex#SIZE} (exclusive), or -1 if a character is not allowed
+     */
+    static int of(final char first, final char second) {
+        final int firstIndex = of(first);
+        final int secondIndex = of(second);
+        if (firstIndex < 0 || secondIndex < 0) {
+            return -1;
+        }
+        return firstIndex * ALPHABET_SIZE + secondIndex;
+    }
+
+    /**
+     * Returns the index of an identifier
+     *
+     * @param identifier the identifier
+     * @return the index, between 0 and {@link IdentifierIndex#SIZE} (exclusive), or -1 if the identifier is not valid
+     */
+    static int of(final String identifier) {
+        if (identifier == null || identifier.length() != 2) {
+            return -1;
+        }
+        return of(identifier.charAt(0), identifier.charAt(1));
+    }
+
+    private static int of(final char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+}
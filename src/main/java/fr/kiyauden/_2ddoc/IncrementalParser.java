@@ -0,0 +1,393 @@
+package fr.kiyauden._2ddoc;
+
+import com.google.inject.Inject;
+import lombok.RequiredArgsConstructor;
+
+import java.security.cert.X509Certificate;
+import java.util.EnumSet;
+import java.util.List;
+
+import static fr.kiyauden._2ddoc.Constants.GS;
+import static fr.kiyauden._2ddoc.Constants.RS;
+import static fr.kiyauden._2ddoc.Constants.US;
+import static fr.kiyauden._2ddoc.DataSource.ANNEX;
+import static fr.kiyauden._2ddoc.DataSource.MESSAGE;
+import static lombok.AccessLevel.PACKAGE;
+
+/**
+ * Push parser reading a 2D-DOC delivered in chunks, e.g. by a scanner on a serial link
+ * <p>
+ * The chunks are given to {@link IncrementalParser#feed(CharSequence)} as they arrive, the parser keeps its state
+ * between the calls (header, message, signature, annex) and passes each data to
+ * {@link ParseHandler#onField(DataType, CharSequence, boolean, DataSource)} as soon as its separator is received.
+ * Once the last chunk is fed, {@link IncrementalParser#finish()} ends the last data and verifies the signature
+ * <p>
+ * The events and the checks are the same as {@link Parser#parse(CharSequence, List, ParseHandler)}, except that the
+ * message ends at the first US instead of the last one
+ * <p>
+ * An instance is not thread safe, it can be reused for another 2D-DOC with
+ * {@link IncrementalParser#start(List, ParseHandler)}. After an exception, the 2D-DOC is rejected and the parser must
+ * be started again
+ */
+@RequiredArgsConstructor(access = PACKAGE, onConstructor = @__(@Inject))
+public final class IncrementalParser {
+
+    /**
+     * Length of the identification marker and the version, enough to know the length of the header
+     */
+    private static final int VERSION_END = 4;
+
+    private final IHeaderService headerService;
+    private final IDocumentService documentService;
+    private final ISignatureService signatureService;
+
+    /**
+     * The characters received since the start, the signature is verified on it
+     */
+    private final StringBuilder buffer = new StringBuilder();
+    /**
+     * Tokenizer reading each complete data from the buffer
+     */
+    private final DataTokenizer tokenizer = new DataTokenizer();
+    /**
+     * The view given to the handler for the value of a data
+     */
+    private final CharSequenceView value = new CharSequenceView();
+    /**
+     * The types of the data found in the message, to compute the missing mandatory data
+     */
+    private final EnumSet<DataType> messageDataTypes = EnumSet.noneOf(DataType.class);
+
+    /**
+     * The part of the 2D-DOC being read, null when the parser is not started
+     */
+    private State state;
+    /**
+     * The certificates to use for the signature verification
+     */
+    private TrustStore trustStore;
+    /**
+     * The handler receiving the events
+     */
+    private ParseHandler handler;
+    /**
+     * The document of the header
+     */
+    private Document document;
+    /**
+     * The decoding plan of the document
+     */
+    private DecodingPlan plan;
+    /**
+     * The start of the next data or of the next part to read
+     */
+    private int position;
+    /**
+     * The next character to look at while searching a separator, the characters before it are already checked
+     */
+    private int scanPosition;
+    /**
+     * The start of the signature, right after the US
+     */
+    private int signatureStart;
+    /**
+     * The end of the signature (exclusive), the GS starting the annex or the end of the input
+     */
+    private int signatureEnd;
+
+    /**
+     * Starts the parsing of a new 2D-DOC, the state of the previous one is discarded
+     *
+     * @param certificates the list of certificates to use for the signature verification, scanned at the end
+     * @param handler      the handler receiving the events
+     */
+    public void start(final List<X509Certificate> certificates, final ParseHandler handler) {
+        start(TrustStore.scanning(certificates), handler);
+    }
+
+    /**
+     * Starts the parsing of a new 2D-DOC, the state of the previous one is discarded
+     *
+     * @param trustStore the certificates to use for the signature verification
+     * @param handler    the handler receiving the events
+     */
+    public void start(final TrustStore trustStore, final ParseHandler handler) {
+        this.trustStore = trustStore;
+        this.handler = handler;
+        buffer.setLength(0);
+        messageDataTypes.clear();
+        document = null;
+        plan = null;
+        position = 0;
+        scanPosition = 0;
+        signatureStart = -1;
+        signatureEnd = -1;
+        state = State.HEADER;
+    }
+
+    /**
+     * Reads the next chunk of the 2D-DOC
+     * <p>
+     * The header and each data completed by the chunk are passed to the handler before returning
+     *
+     * @param chunk the next characters of the 2D-DOC
+     * @throws IllegalStateException    when the parser is not started or already finished
+     * @throws IllegalArgumentException when the input is not a 2D-DOC
+     * @throws UnsupportedException     when the 2D-DOC version is not supported or the document is not supported
+     * @throws ParsingException         when any other error happens
+     */
+    public void feed(final CharSequence chunk) throws UnsupportedException, ParsingException {
+        checkReading();
+        buffer.append(chunk);
+        try {
+            advance();
+        } catch (final DataExtractionException e) {
+            throw new ParsingException(e);
+        }
+    }
+
+    /**
+     * Ends the 2D-DOC, the last data is passed to the handler, then the signature is verified
+     *
+     * @throws IllegalStateException    when the parser is not started or already finished
+     * @throws IllegalArgumentException when the input is not a 2D-DOC
+     * @throws UnsupportedException     when the 2D-DOC version is not supported or the document is not supported
+     * @throws ParsingException         when any other error happens
+     */
+    public void finish() throws UnsupportedException, ParsingException {
+        checkReading();
+        if (state == State.HEADER) {
+            throw new IllegalArgumentException("Not a 2D-DOC, the header is incomplete");
+        }
+        if (state == State.MESSAGE) {
+            throw new ParsingException("Malformed 2D-DOC, no signature found");
+        }
+
+        try {
+            if (state == State.SIGNATURE) {
+                signatureEnd = buffer.length();
+            } else {
+                // The last data of the annex has no separator
+                tokenizer.reset(buffer, position, buffer.length(), plan);
+                while (tokenizer.next()) {
+                    emit(ANNEX);
+                }
+            }
+        } catch (final DataExtractionException e) {
+            throw new ParsingException(e);
+        }
+        state = State.FINISHED;
+
+        final SignatureStatus signatureStatus;
+        try {
+            signatureStatus = signatureService.verifySignature(buffer, signatureStart - 1, signatureStart,
+                                                               signatureEnd, trustStore);
+        } catch (final SignatureVerificationException e) {
+            throw new ParsingException(e);
+        }
+        handler.onSignature(signatureStatus);
+
+        final List<DataType> missingMandatoryData = documentService.computeMissingData(document, messageDataTypes);
+        handler.onEnd(missingMandatoryData, signatureStatus.isValid() && missingMandatoryData.isEmpty());
+    }
+
+    /**
+     * Reads the buffer as far as possible
+     *
+     * @throws UnsupportedException    when the 2D-DOC version is not supported or the document is not supported
+     * @throws ParsingException        when the header is malformed
+     * @throws DataExtractionException when a data is malformed
+     */
+    private void advance() throws UnsupportedException, ParsingException, DataExtractionException {
+        boolean progress = true;
+        while (progress) {
+            switch (state) {
+                case HEADER:
+                    progress = readHeader();
+                    break;
+                case MESSAGE:
+                    progress = readData(MESSAGE);
+                    break;
+                case SIGNATURE:
+                    progress = readSignature();
+                    break;
+                case ANNEX:
+                    progress = readData(ANNEX);
+                    break;
+                default:
+                    progress = false;
+            }
+        }
+    }
+
+    /**
+     * Parses the header once it is complete
+     *
+     * @return TRUE if the header is parsed, FALSE if more characters are needed
+     * @throws UnsupportedException when the 2D-DOC version is not supported or the document is not supported
+     * @throws ParsingException     when the header is malformed
+     */
+    private boolean readHeader() throws UnsupportedException, ParsingException {
+        if (buffer.length() < VERSION_END) {
+            return false;
+        }
+        final Version version = Version.findByVersionChars(buffer.charAt(2), buffer.charAt(3));
+        // An unknown marker or version is reported by the header service
+        final int headerLength = version == null ? buffer.length() : version.getHeaderLength();
+        if (buffer.length() < headerLength) {
+            return false;
+        }
+
+        final Header header;
+        try {
+            header = headerService.parseHeader(buffer);
+        } catch (final NotFoundException e) {
+            // If not found, it means that the input is not a 2D-DOC
+            throw new IllegalArgumentException(e);
+        } catch (final HeaderExtractionException e) {
+            throw new ParsingException(e);
+        }
+        handler.onHeader(header);
+
+        document = header.getDocumentType();
+        plan = documentService.getDecodingPlan(document);
+        position = headerLength;
+        scanPosition = headerLength;
+        state = State.MESSAGE;
+        return true;
+    }
+
+    /**
+     * Passes the next data to the handler once its separator is received
+     * <p>
+     * In the message, a US ends the message, and the last variable length data when it directly precedes it
+     *
+     * @param source the source of the data
+     * @return TRUE if a data is read or the message is ended, FALSE if more characters are needed
+     * @throws DataExtractionException when the data is malformed
+     */
+    private boolean readData(final DataSource source) throws DataExtractionException {
+        final int length = buffer.length();
+        if (position >= length) {
+            return false;
+        }
+        if (source == MESSAGE && buffer.charAt(position) == US) {
+            signatureStart = position + 1;
+            position = signatureStart;
+            scanPosition = signatureStart;
+            state = State.SIGNATURE;
+            return true;
+        }
+        if (position + 2 > length) {
+            return false;
+        }
+
+        final DataType dataType = DataType.findById(buffer.charAt(position), buffer.charAt(position + 1));
+        if (dataType == null) {
+            // Reported by the tokenizer
+            readData(position + 2, source);
+            return true;
+        }
+
+        final int valueStart = position + 2;
+        if (dataType.isFixedLength()) {
+            final int valueEnd = valueStart + dataType.getMaxLength();
+            if (length < valueEnd) {
+                return false;
+            }
+            readData(valueEnd, source);
+            return true;
+        }
+
+        // The separator may directly follow the max length
+        final int limit = dataType.hasMaxLength() ? valueStart + dataType.getMaxLength() : Integer.MAX_VALUE;
+        final int scanEnd = Math.min(length, limit == Integer.MAX_VALUE ? limit : limit + 1);
+        for (int i = Math.max(scanPosition, valueStart); i < scanEnd; i++) {
+            final char c = buffer.charAt(i);
+            if (c == GS || c == RS) {
+                readData(i + 1, source);
+                return true;
+            }
+            if (c == US && source == MESSAGE) {
+                readData(i, source);
+                return true;
+            }
+        }
+        if (scanEnd > limit) {
+            // No separator after the max length, reported by the tokenizer
+            readData(scanEnd, source);
+            return true;
+        }
+        scanPosition = scanEnd;
+        return false;
+    }
+
+    /**
+     * Reads a complete data and passes it to the handler
+     *
+     * @param end    the end of the data, including its separator
+     * @param source the source of the data
+     * @throws DataExtractionException when the data is malformed
+     */
+    private void readData(final int end, final DataSource source) throws DataExtractionException {
+        tokenizer.reset(buffer, position, end, plan);
+        tokenizer.next();
+        emit(source);
+        position = end;
+        scanPosition = end;
+    }
+
+    /**
+     * Passes the current data of the tokenizer to the handler
+     *
+     * @param source the source of the data
+     */
+    private void emit(final DataSource source) {
+        final DataType dataType = tokenizer.getDataType();
+        handler.onField(dataType, value.view(buffer, tokenizer.getValueStart(), tokenizer.getValueEnd()),
+                        tokenizer.isTruncated(), source);
+        if (source == MESSAGE) {
+            messageDataTypes.add(dataType);
+        }
+    }
+
+    /**
+     * Finds the GS ending the signature
+     *
+     * @return TRUE if the signature is complete, FALSE if more characters are needed
+     */
+    private boolean readSignature() {
+        for (int i = scanPosition; i < buffer.length(); i++) {
+            if (buffer.charAt(i) == GS) {
+                signatureEnd = i;
+                position = i + 1;
+                scanPosition = position;
+                state = State.ANNEX;
+                return true;
+            }
+        }
+        scanPosition = buffer.length();
+        return false;
+    }
+
+    /**
+     * @throws IllegalStateException when the parser is not started or already finished
+     */
+    private void checkReading() {
+        if (state == null || state == State.FINISHED) {
+            throw new IllegalStateException("The parser must be started before reading a 2D-DOC");
+        }
+    }
+
+    /**
+     * The parts of a 2D-DOC, in their order
+     */
+    private enum State {
+        HEADER,
+        MESSAGE,
+        SIGNATURE,
+        ANNEX,
+        FINISHED
+    }
+
+}
@@ -3,7 +3,7 @@ package fr.kiyauden._2ddoc;
 import lombok.extern.slf4j.Slf4j;
 
 import static fr.kiyauden._2ddoc.DataFormat.INTEGER;
-import static java.lang.Integer.parseInt;
+import static java.lang.String.format;
 
 /**
  * Parser implementation for {@link DataFormat#INTEGER}
@@ -13,16 +13,26 @@ import static java.lang.Integer.parseInt;
 @Slf4j
 class IntegerDataParser implements DataParser<Integer> {
 
+    /**
+     * Returned by {@link IntegerDataParser#decode(CharSequence, int, int)} when the input is not a supported integer
+     */
+    static final long INVALID = Long.MIN_VALUE;
+
     /**
      * {@inheritDoc}
+     *
+     * @throws NumberFormatException when the data is not an integer
      */
     @Override
     public Integer parse(final String data) {
         log.debug("Parsing data value \"{}\"", data);
-        final int parsed = parseInt(data);
+        final long parsed = decode(data, 0, data.length());
+        if (parsed == INVALID) {
+            throw new NumberFormatException(format("Could not parse data \"%s\", unsupported format", data));
+        }
 
         log.debug("Data value parsed as \"{}\"", parsed);
-        return parsed;
+        return (int) parsed;
     }
 
     /**
@@ -33,4 +43,46 @@ class IntegerDataParser implements DataParser<Integer> {
         return INTEGER;
     }
 
+    /**
+     * Decodes an integer from a range of characters
+     * <p>
+     * Accepts the same inputs as {@link Integer#parseInt(String)}, an optional sign followed by digits, the value
+     * must fit in an int
+     *
+     * @param input the input containing the integer
+     * @param start the start of the integer in the input (inclusive)
+     * @param end   the end of the integer in the input (exclusive)
+     * @return the integer or {@link IntegerDataParser#INVALID} if the format is not supported
+     */
+    static long decode(final CharSequence input, final int start, final int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end) {
+            final char sign = input.charAt(i);
+            if (sign == '-' || sign == '+') {
+                negative = sign == '-';
+                i++;
+            }
+        }
+        if (i == end) {
+            return INVALID;
+        }
+
+        long value = 0;
+        while (i < end) {
+            final int digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE + 1L) {
+                return INVALID;
+            }
+            i++;
+        }
+
+        final long signed = negative ? -value : value;
+        return signed > Integer.MAX_VALUE ? INVALID : signed;
+    }
+
 }
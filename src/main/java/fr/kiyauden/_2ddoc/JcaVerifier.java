@@ -0,0 +1,81 @@
+package fr.kiyauden._2ddoc;
+
+import java.nio.ByteBuffer;
+import java.security.InvalidKeyException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+
+/**
+ * {@link Verifier} over a JCA {@link Signature}, initialized once with the key
+ * <p>
+ * A signature goes back to its initialized state after a verification. A signature that can not be decoded is not
+ * valid, the signature is then initialized again in case it was left in the middle of the verification
+ */
+final class JcaVerifier implements Verifier {
+
+    /**
+     * The signature, initialized for the verification
+     */
+    private final Signature signature;
+    /**
+     * The key of the signature
+     */
+    private final PublicKey key;
+
+    /**
+     * @param signature the signature
+     * @param key       the public key of the certificate
+     * @throws InvalidKeyException when the signature refuses the key
+     */
+    JcaVerifier(final Signature signature, final PublicKey key) throws InvalidKeyException {
+        this.signature = signature;
+        this.key = key;
+        signature.initVerify(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void update(final byte[] bytes, final int offset, final int length) {
+        try {
+            signature.update(bytes, offset, length);
+        } catch (final SignatureException e) {
+            // Only thrown when not initialized
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void update(final ByteBuffer bytes) {
+        try {
+            signature.update(bytes);
+        } catch (final SignatureException e) {
+            // Only thrown when not initialized
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean verify(final byte[] signatureBytes, final int offset, final int length) {
+        try {
+            return signature.verify(signatureBytes, offset, length);
+        } catch (final SignatureException e) {
+            try {
+                signature.initVerify(key);
+            } catch (final InvalidKeyException initException) {
+                // Already accepted at the creation
+                throw new IllegalStateException(initException);
+            }
+            return false;
+        }
+    }
+
+}
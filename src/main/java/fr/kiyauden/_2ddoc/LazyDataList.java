@@ -0,0 +1,163 @@
+package fr.kiyauden._2ddoc;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import static fr.kiyauden._2ddoc.DataSource.ANNEX;
+import static fr.kiyauden._2ddoc.DataSource.MESSAGE;
+
+/**
+ * List of the data of a 2D-DOC decoded on demand
+ * <p>
+ * Only the position of each data inside the raw input is recorded while parsing, the {@link Data} and its typed
+ * value are created the first time the element is read, then kept for the next reads
+ * <p>
+ * A decoding error can only surface on read, it is thrown as an {@link UncheckedParsingException}
+ * <p>
+ * The list is read only, it can be read by several threads, a data being at worst decoded twice
+ */
+class LazyDataList extends AbstractList<Data> implements RandomAccess {
+
+    /**
+     * Number of ints recorded for a data in {@link LazyDataList#fields}
+     */
+    private static final int FIELD_SIZE = 3;
+
+    /**
+     * Bits of the data type ordinal in the first int of a data
+     */
+    private static final int ORDINAL_MASK = 0xFFFF;
+    /**
+     * Flag set when the data is truncated
+     */
+    private static final int TRUNCATED = 1 << 16;
+    /**
+     * Flag set when the data is mandatory
+     */
+    private static final int MANDATORY = 1 << 17;
+    /**
+     * Flag set when the data comes from the annex
+     */
+    private static final int FROM_ANNEX = 1 << 18;
+
+    /**
+     * Initial number of data, enough for most of the 2D-DOC
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Cached values of {@link DataType#values()}
+     */
+    private static final DataType[] DATA_TYPES = DataType.values();
+
+    /**
+     * The raw 2D-DOC
+     */
+    private final CharSequence input;
+    /**
+     * The service decoding the data
+     */
+    private final IDataService dataService;
+    /**
+     * For each data, the data type ordinal and its flags, the start and the end of the value in the input
+     */
+    private int[] fields;
+    /**
+     * The decoded data, null until they are read
+     */
+    private Data[] decoded;
+    /**
+     * The number of data
+     */
+    private int size;
+
+    LazyDataList(final CharSequence input, final IDataService dataService) {
+        this.input = input;
+        this.dataService = dataService;
+        fields = new int[INITIAL_CAPACITY * FIELD_SIZE];
+        decoded = new Data[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Records a data
+     *
+     * @param dataType   the data type
+     * @param valueStart the start of the value in the input (inclusive)
+     * @param valueEnd   the end of the value in the input (exclusive)
+     * @param truncated  TRUE if the data is truncated, FALSE otherwise
+     * @param mandatory  TRUE if the data is mandatory, FALSE otherwise
+     * @param source     the source of the data
+     */
+    void record(final DataType dataType, final int valueStart, final int valueEnd, final boolean truncated,
+                final boolean mandatory, final DataSource source) {
+        if (size == decoded.length) {
+            fields = Arrays.copyOf(fields, fields.length * 2);
+            decoded = Arrays.copyOf(decoded, decoded.length * 2);
+        }
+        final int offset = size * FIELD_SIZE;
+        fields[offset] = dataType.ordinal()
+                | (truncated ? TRUNCATED : 0)
+                | (mandatory ? MANDATORY : 0)
+                | (source == ANNEX ? FROM_ANNEX : 0);
+        fields[offset + 1] = valueStart;
+        fields[offset + 2] = valueEnd;
+        size++;
+    }
+
+    /**
+     * Returns the data type of an element, without decoding it
+     *
+     * @param index the index of the element
+     * @return the data type
+     */
+    DataType getDataType(final int index) {
+        checkIndex(index);
+        return DATA_TYPES[fields[index * FIELD_SIZE] & ORDINAL_MASK];
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UncheckedParsingException when the value of the data can not be decoded
+     */
+    @Override
+    public Data get(final int index) {
+        checkIndex(index);
+        Data data = decoded[index];
+        if (data == null) {
+            data = decode(index);
+            decoded[index] = data;
+        }
+        return data;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private Data decode(final int index) {
+        final int offset = index * FIELD_SIZE;
+        final int meta = fields[offset];
+        try {
+            return dataService.decodeData(input, fields[offset + 1], fields[offset + 2],
+                                          DATA_TYPES[meta & ORDINAL_MASK],
+                                          (meta & TRUNCATED) != 0,
+                                          (meta & MANDATORY) != 0,
+                                          (meta & FROM_ANNEX) != 0 ? ANNEX : MESSAGE);
+        } catch (final DataExtractionException e) {
+            throw new UncheckedParsingException(new ParsingException(e));
+        }
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+}
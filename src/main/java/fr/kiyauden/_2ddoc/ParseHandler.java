@@ -0,0 +1,54 @@
+package fr.kiyauden._2ddoc;
+
+import java.util.List;
+
+/**
+ * Receiver of the events of a streaming parsing, see {@link Parser#parse(CharSequence, List, ParseHandler)}
+ * <p>
+ * The events come in the order of the 2D-DOC : the header, the data of the message then of the annex, the signature
+ * and the end. Nothing is collected by the parser, the handler maps the data straight into its own structures
+ * <p>
+ * Only {@link ParseHandler#onField(DataType, CharSequence, boolean, DataSource)} must be implemented
+ */
+public interface ParseHandler {
+
+    /**
+     * Called once the header is parsed
+     *
+     * @param header the header
+     */
+    default void onHeader(final Header header) {
+    }
+
+    /**
+     * Called for each data, in the order of the 2D-DOC
+     * <p>
+     * The value is a view over the input, it is only valid during the call, {@link CharSequence#toString()} must be
+     * used to keep it
+     *
+     * @param dataType  the data type
+     * @param value     the value as present inside the 2D-DOC, empty when only the identifier is present
+     * @param truncated TRUE if the data is truncated, FALSE otherwise
+     * @param source    the source of the data
+     */
+    void onField(final DataType dataType, final CharSequence value, final boolean truncated,
+                 final DataSource source);
+
+    /**
+     * Called once the signature is verified
+     *
+     * @param status the status of the signature
+     */
+    default void onSignature(final SignatureStatus status) {
+    }
+
+    /**
+     * Called at the end of the parsing
+     *
+     * @param missingMandatoryData the mandatory data missing from the message
+     * @param valid                TRUE if the signature is valid and no data is missing, FALSE otherwise
+     */
+    default void onEnd(final List<DataType> missingMandatoryData, final boolean valid) {
+    }
+
+}
@@ -0,0 +1,107 @@
+package fr.kiyauden._2ddoc;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Value;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static lombok.AccessLevel.NONE;
+
+/**
+ * The parts of a 2D-DOC to parse with {@link Parser#parse(String, List, ParseOptions)}
+ * <p>
+ * The work that is not requested is skipped, not done and thrown away: after the header nothing is read, the data
+ * that are not selected are walked over without decoding their value, the annex is not read and the signature is not
+ * verified. The defaults of the builder parse the whole 2D-DOC, like {@link ParseOptions#FULL}
+ */
+@Value
+public class ParseOptions {
+
+    /**
+     * Parses the whole 2D-DOC, like {@link Parser#parse(String, List)}
+     */
+    public static final ParseOptions FULL = builder().build();
+
+    /**
+     * Stops after the header
+     * <p>
+     * TRUE when only the header is parsed, the 2D-DOC then has no data, no missing mandatory data are computed and
+     * the signature is {@link SignatureStatus#NOT_VERIFIED}
+     * <p>
+     * FALSE otherwise
+     */
+    boolean headerOnly;
+
+    /**
+     * The data types whose value is decoded, null when they all are
+     * <p>
+     * The other data are still checked, and counted for the missing mandatory data, but are not in the result
+     */
+    @Getter(NONE)
+    EnumSet<DataType> dataTypes;
+
+    /**
+     * Skips the annex
+     * <p>
+     * TRUE when the data of the annex, not covered by the signature, are not read
+     * <p>
+     * FALSE otherwise
+     */
+    boolean skipAnnex;
+
+    /**
+     * Defers the signature verification
+     * <p>
+     * TRUE when the signature is not verified, its status is then {@link SignatureStatus#NOT_VERIFIED} and the 2D-DOC
+     * is not valid. It can be verified later with {@link Parser#verifySignature(Parsed2DDoc, List)}
+     * <p>
+     * FALSE otherwise
+     */
+    boolean deferSignature;
+
+    /**
+     * Skips the data that can not be identified, only used by {@link Parser#tryParse(String, List, ParseOptions)}
+     * <p>
+     * TRUE when a data with an unknown identifier, or not linked to the document, is skipped up to the next GS or RS
+     * instead of failing the parsing, it is then neither in the result nor counted for the missing mandatory data
+     * <p>
+     * FALSE otherwise
+     */
+    boolean lenient;
+
+    @Builder
+    private ParseOptions(final boolean headerOnly, final Set<DataType> dataTypes, final boolean skipAnnex,
+                         final boolean deferSignature, final boolean lenient) {
+        this.headerOnly = headerOnly;
+        if (dataTypes == null) {
+            this.dataTypes = null;
+        } else {
+            this.dataTypes = EnumSet.noneOf(DataType.class);
+            this.dataTypes.addAll(dataTypes);
+        }
+        this.skipAnnex = skipAnnex;
+        this.deferSignature = deferSignature;
+        this.lenient = lenient;
+    }
+
+    /**
+     * Checks if the value of a data type is decoded
+     *
+     * @param dataType the data type
+     * @return TRUE if the data type is selected, FALSE otherwise
+     */
+    public boolean isSelected(final DataType dataType) {
+        return dataTypes == null || dataTypes.contains(dataType);
+    }
+
+    /**
+     * @return the selected data types, null when they all are, must not be modified
+     */
+    EnumSet<DataType> getSelectedDataTypes() {
+        return dataTypes;
+    }
+
+}
@@ -0,0 +1,57 @@
+package fr.kiyauden._2ddoc;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * The result of {@link Parser#tryParse(String, List, ParseOptions)}, either a parsed 2D-DOC or the reason why it
+ * could not be parsed
+ * <p>
+ * A 2D-DOC that is parsed can still be invalid, see {@link Parsed2DDoc#isValid()}, an error means that the input
+ * could not be read as a 2D-DOC at all
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ParseResult {
+
+    /**
+     * The parsed 2D-DOC, null when it could not be parsed
+     */
+    Parsed2DDoc parsed2DDoc;
+    /**
+     * The reason why the 2D-DOC could not be parsed, null when it was parsed
+     */
+    ErrorCode errorCode;
+    /**
+     * The position of the error in the input, -1 when the 2D-DOC was parsed
+     */
+    int errorPosition;
+
+    /**
+     * @param parsed2DDoc the parsed 2D-DOC
+     * @return the result of a 2D-DOC that was parsed
+     */
+    static ParseResult success(final Parsed2DDoc parsed2DDoc) {
+        return new ParseResult(parsed2DDoc, null, -1);
+    }
+
+    /**
+     * @param errorCode     the reason why the 2D-DOC could not be parsed
+     * @param errorPosition the position of the error in the input
+     * @return the result of a 2D-DOC that could not be parsed
+     */
+    static ParseResult failure(final ErrorCode errorCode, final int errorPosition) {
+        return new ParseResult(null, errorCode, errorPosition);
+    }
+
+    /**
+     * @return TRUE if the 2D-DOC was parsed, FALSE otherwise
+     */
+    public boolean isSuccess() {
+        return errorCode == null;
+    }
+
+}
@@ -0,0 +1,63 @@
+package fr.kiyauden._2ddoc;
+
+import lombok.Getter;
+
+import static java.lang.String.format;
+
+/**
+ * Signal of a parsing error, thrown by the non-throwing parsing path and turned into a {@link ParseResult}
+ * <p>
+ * Building an exception fills its stack trace and formats its message, which costs far more than parsing a valid
+ * 2D-DOC. A signal has no stack trace, no cause and no message: each thread reuses the same instance, only its
+ * {@link ErrorCode} and its position are set before it is thrown, see {@link ParseSignal#of(ErrorCode, int)}
+ * <p>
+ * A signal must be handled by the thread that threw it, before the next parsing error of that thread
+ */
+final class ParseSignal extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The signal of each thread
+     */
+    private static final ThreadLocal<ParseSignal> SIGNAL = ThreadLocal.withInitial(ParseSignal::new);
+
+    /**
+     * The reason of the error
+     */
+    @Getter
+    private ErrorCode errorCode;
+    /**
+     * The position of the error in the input
+     */
+    @Getter
+    private int position;
+
+    private ParseSignal() {
+        // No message, no cause, no suppression and no stack trace
+        super(null, null, false, false);
+    }
+
+    /**
+     * Gets the signal of the current thread, set to an error
+     *
+     * @param errorCode the reason of the error
+     * @param position  the position of the error in the input
+     * @return the signal of the current thread
+     */
+    static ParseSignal of(final ErrorCode errorCode, final int position) {
+        final ParseSignal signal = SIGNAL.get();
+        signal.errorCode = errorCode;
+        signal.position = position;
+        return signal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getMessage() {
+        return format("%s at position %d", errorCode, position);
+    }
+
+}
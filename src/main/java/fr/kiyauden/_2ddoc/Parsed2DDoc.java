@@ -1,19 +1,54 @@
 package fr.kiyauden._2ddoc;
 
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
+import static fr.kiyauden._2ddoc.DataFormat.AMOUNT;
+import static fr.kiyauden._2ddoc.DataFormat.BOOLEAN;
+import static fr.kiyauden._2ddoc.DataFormat.DATE;
+import static fr.kiyauden._2ddoc.DataFormat.INTEGER;
+import static fr.kiyauden._2ddoc.DataFormat.TEXT;
+import static fr.kiyauden._2ddoc.DataFormat.TIME;
+import static fr.kiyauden._2ddoc.DataFormat.URL;
+import static java.lang.String.format;
+import static java.util.Optional.ofNullable;
+import static lombok.AccessLevel.NONE;
 import static lombok.AccessLevel.PACKAGE;
 
 /**
  * Data class representing a 2D-DOC
+ * <p>
+ * The data are indexed by {@link DataType} when the instance is built, a lookup is a binary search among the data
+ * types of the 2D-DOC
+ * <p>
+ * When it comes from {@link Parser#parseLazily(String, List)}, the values of the data are decoded the first time they
+ * are read, an invalid value is then reported by an {@link UncheckedParsingException}
  */
 @Value
-@Builder(access = PACKAGE)
 public class Parsed2DDoc {
 
+    /**
+     * Number of bits of the position of a data in {@link Parsed2DDoc#dataIndex}
+     */
+    private static final int POSITION_BITS = 16;
+    /**
+     * Mask of the position of a data in {@link Parsed2DDoc#dataIndex}
+     */
+    private static final int POSITION_MASK = (1 << POSITION_BITS) - 1;
+    /**
+     * Index of a 2D-DOC without data
+     */
+    private static final int[] NO_DATA = new int[0];
+
     /**
      * The header data for the 2D-DOC
      */
@@ -36,6 +71,57 @@ public class Parsed2DDoc {
      */
     boolean valid;
 
+    /**
+     * The data types of the 2D-DOC and the position of their first data in the extracted data, one int per data type
+     * present: its {@link DataType#ordinal()} in the 16 high bits and the position in the 16 low bits, sorted
+     * <p>
+     * Sized by the data of the 2D-DOC rather than by all the data types, a 2D-DOC holds far less than 65536 data
+     */
+    @Getter(NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    int[] dataIndex;
+
+    @Builder(access = PACKAGE)
+    private Parsed2DDoc(final Header header, final ExtractedData extractedData,
+                        final SignatureStatus signatureStatus, final String raw, final boolean valid) {
+        this.header = header;
+        this.extractedData = extractedData;
+        this.signatureStatus = signatureStatus;
+        this.raw = raw;
+        this.valid = valid;
+
+        dataIndex = index(extractedData == null ? null : extractedData.getData());
+    }
+
+    /**
+     * Indexes the first data of each data type
+     *
+     * @param data the extracted data
+     * @return the index, see {@link Parsed2DDoc#dataIndex}
+     */
+    private static int[] index(final List<Data> data) {
+        if (data == null || data.isEmpty()) {
+            return NO_DATA;
+        }
+        final int[] keys = new int[data.size()];
+        for (int i = 0; i < keys.length; i++) {
+            // The data type of a lazy data is known without decoding it
+            final DataType type = data instanceof LazyDataList ? ((LazyDataList) data).getDataType(i)
+                    : data.get(i).getDataType();
+            keys[i] = type.ordinal() << POSITION_BITS | i;
+        }
+        // By data type then by position, the first key of a data type is its first data
+        Arrays.sort(keys);
+        int size = 0;
+        for (final int key : keys) {
+            if (size == 0 || keys[size - 1] >>> POSITION_BITS != key >>> POSITION_BITS) {
+                keys[size++] = key;
+            }
+        }
+        return size == keys.length ? keys : Arrays.copyOf(keys, size);
+    }
+
     /**
      * Find a data if it exits
      *
@@ -43,10 +129,7 @@ public class Parsed2DDoc {
      * @return an optional containing the data
      */
     public Optional<Data> findData(final DataType type) {
-        return extractedData.getData()
-                .stream()
-                .filter(data -> data.getDataType().equals(type))
-                .findFirst();
+        return ofNullable(data(type));
     }
 
     /**
@@ -56,6 +139,107 @@ public class Parsed2DDoc {
      * @return an optional containing the value object
      */
     public Optional<Object> getValueForData(final DataType type) {
-        return findData(type).flatMap(Data::getValue);
+        final Data data = data(type);
+        return data == null ? Optional.empty() : data.getValue();
+    }
+
+    /**
+     * Gets the value of a {@link DataFormat#DATE} data
+     *
+     * @param type the data type to find
+     * @return the date, null if the data is absent or has no value
+     * @throws IllegalArgumentException if the data type is not a {@link DataFormat#DATE}
+     */
+    public LocalDate getDate(final DataType type) {
+        return (LocalDate) value(type, DATE);
+    }
+
+    /**
+     * Gets the value of a {@link DataFormat#TIME} data
+     *
+     * @param type the data type to find
+     * @return the time, null if the data is absent or has no value
+     * @throws IllegalArgumentException if the data type is not a {@link DataFormat#TIME}
+     */
+    public LocalTime getTime(final DataType type) {
+        return (LocalTime) value(type, TIME);
+    }
+
+    /**
+     * Gets the value of a {@link DataFormat#TEXT} or {@link DataFormat#URL} data
+     *
+     * @param type the data type to find
+     * @return the text, null if the data is absent or has no value
+     * @throws IllegalArgumentException if the data type is not a {@link DataFormat#TEXT} or a {@link DataFormat#URL}
+     */
+    public String getText(final DataType type) {
+        return (String) value(type, type.getType() == URL ? URL : TEXT);
+    }
+
+    /**
+     * Gets the value of a {@link DataFormat#AMOUNT} data
+     *
+     * @param type the data type to find
+     * @return the amount, null if the data is absent or has no value
+     * @throws IllegalArgumentException if the data type is not a {@link DataFormat#AMOUNT}
+     */
+    public Double getAmount(final DataType type) {
+        return (Double) value(type, AMOUNT);
+    }
+
+    /**
+     * Gets the value of a {@link DataFormat#INTEGER} data
+     *
+     * @param type the data type to find
+     * @return the integer, null if the data is absent or has no value
+     * @throws IllegalArgumentException if the data type is not a {@link DataFormat#INTEGER}
+     */
+    public Integer getInteger(final DataType type) {
+        return (Integer) value(type, INTEGER);
+    }
+
+    /**
+     * Gets the value of a {@link DataFormat#BOOLEAN} data
+     *
+     * @param type the data type to find
+     * @return the boolean, null if the data is absent or has no value
+     * @throws IllegalArgumentException if the data type is not a {@link DataFormat#BOOLEAN}
+     */
+    public Boolean getBoolean(final DataType type) {
+        return (Boolean) value(type, BOOLEAN);
+    }
+
+    /**
+     * Gets the raw value of a data after checking its format
+     *
+     * @param type           the data type to find
+     * @param expectedFormat the format expected by the caller
+     * @return the value, null if the data is absent or has no value
+     */
+    private Object value(final DataType type, final DataFormat expectedFormat) {
+        if (type.getType() != expectedFormat) {
+            throw new IllegalArgumentException(
+                    format("Data %s %s is a %s, not a %s", type.name(), type.getId(), type.getType(), expectedFormat)
+            );
+        }
+        final Data data = data(type);
+        return data == null ? null : data.getRawValue();
+    }
+
+    /**
+     * @param type the data type to find
+     * @return the first data of the type, null if it is absent
+     */
+    private Data data(final DataType type) {
+        // The smallest key of the data type, the search stops on it or on the key of the next data type
+        final int lowest = type.ordinal() << POSITION_BITS;
+        int index = Arrays.binarySearch(dataIndex, lowest);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        if (index == dataIndex.length || dataIndex[index] >>> POSITION_BITS != type.ordinal()) {
+            return null;
+        }
+        return extractedData.getData().get(dataIndex[index] & POSITION_MASK);
     }
 }
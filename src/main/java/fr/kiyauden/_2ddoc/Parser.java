@@ -1,23 +1,328 @@
 package fr.kiyauden._2ddoc;
 
+import java.nio.ByteBuffer;
 import java.security.cert.X509Certificate;
 import java.util.List;
 
 /**
  * Interface for a parser
+ * <p>
+ * The overloads taking a list of certificates render and search the distinguished names of the certificates at each
+ * call, {@link TrustStore#of(java.util.Collection)} indexes them once
  */
 public interface Parser {
 
     /**
      * Parses a 2D-DOC
      *
+     * @param input      the input 2D-DOC string representation
+     * @param trustStore the certificates to use for the signature verification
+     * @return an object representation of a 2D-DOC
+     * @throws IllegalArgumentException when the input is not a 2D-DOC
+     * @throws UnsupportedException     when the 2D-DOC version is not supported or the document is not supported
+     * @throws ParsingException         when any other error happens
+     */
+    Parsed2DDoc parse(String input, TrustStore trustStore) throws UnsupportedException, ParsingException;
+
+    /**
+     * Same as {@link Parser#parse(String, TrustStore)}, with a list of certificates
+     *
      * @param input        the input 2D-DOC string representation
      * @param certificates the list of certificates to use for the signature verification
      * @return an object representation of a 2D-DOC
      * @throws IllegalArgumentException when the input is not a 2D-DOC
      * @throws UnsupportedException     when the 2D-DOC version is not supported or the document is not supported
      * @throws ParsingException         when any other error happens
+     * @see TrustStore#of(java.util.Collection)
+     */
+    default Parsed2DDoc parse(final String input, final List<X509Certificate> certificates)
+            throws UnsupportedException, ParsingException {
+        return parse(input, TrustStore.scanning(certificates));
+    }
+
+    /**
+     * Parses the requested parts of a 2D-DOC
+     * <p>
+     * Does the checks of {@link Parser#parse(String, List)} on the parts that are parsed, the others are skipped, see
+     * {@link ParseOptions}
+     *
+     * @param input      the input 2D-DOC string representation
+     * @param trustStore the certificates to use for the signature verification
+     * @param options    the parts to parse
+     * @return an object representation of a 2D-DOC, with the requested parts only
+     * @throws IllegalArgumentException when the input is not a 2D-DOC
+     * @throws UnsupportedException     when the 2D-DOC version is not supported or the document is not supported
+     * @throws ParsingException         when any other error happens
+     */
+    Parsed2DDoc parse(String input, TrustStore trustStore, ParseOptions options)
+            throws UnsupportedException, ParsingException;
+
+    /**
+     * Same as {@link Parser#parse(String, TrustStore, ParseOptions)}, with a list of certificates
+     *
+     * @param input        the input 2D-DOC string representation
+     * @param certificates the list of certificates to use for the signature verification
+     * @param options      the parts to parse
+     * @return an object representation of a 2D-DOC, with the requested parts only
+     * @throws IllegalArgumentException when the input is not a 2D-DOC
+     * @throws UnsupportedException     when the 2D-DOC version is not supported or the document is not supported
+     * @throws ParsingException         when any other error happens
+     * @see TrustStore#of(java.util.Collection)
+     */
+    default Parsed2DDoc parse(final String input, final List<X509Certificate> certificates,
+                              final ParseOptions options) throws UnsupportedException, ParsingException {
+        return parse(input, TrustStore.scanning(certificates), options);
+    }
+
+    /**
+     * Parses a 2D-DOC without throwing an exception when it can not be parsed
+     * <p>
+     * Same as {@link Parser#tryParse(String, List, ParseOptions)} with {@link ParseOptions#FULL}
+     *
+     * @param input      the input 2D-DOC string representation
+     * @param trustStore the certificates to use for the signature verification
+     * @return the parsed 2D-DOC, or the reason why it could not be parsed
+     */
+    ParseResult tryParse(String input, TrustStore trustStore);
+
+    /**
+     * Same as {@link Parser#tryParse(String, TrustStore)}, with a list of certificates
+     *
+     * @param input        the input 2D-DOC string representation
+     * @param certificates the list of certificates to use for the signature verification
+     * @return the parsed 2D-DOC, or the reason why it could not be parsed
+     * @see TrustStore#of(java.util.Collection)
+     */
+    default ParseResult tryParse(final String input, final List<X509Certificate> certificates) {
+        return tryParse(input, TrustStore.scanning(certificates));
+    }
+
+    /**
+     * Parses the requested parts of a 2D-DOC without throwing an exception when it can not be parsed
+     * <p>
+     * Does the checks of {@link Parser#parse(String, List, ParseOptions)}, but an input that is not a supported
+     * 2D-DOC gives a {@link ParseResult} with an {@link ErrorCode} and the position of the error. No exception nor
+     * message is built, rejecting an invalid input costs about as much as parsing a valid one
+     * <p>
+     * Unlike {@link Parser#parse(String, List, ParseOptions)}, the values are decoded by the built-in decoders of the
+     * library, the data parsers bound in the Guice injector are not used. A value rejected by a custom data parser
+     * bound in place of a built-in one can be accepted here
+     * <p>
+     * The error code and its position are logged at debug level, the signature verification logs the same warnings
+     * as {@link Parser#parse(String, List, ParseOptions)}, e.g. when no certificate is found
+     *
+     * @param input      the input 2D-DOC string representation
+     * @param trustStore the certificates to use for the signature verification
+     * @param options    the parts to parse, and if the data that can not be identified are skipped
+     * @return the parsed 2D-DOC, or the reason why it could not be parsed
+     */
+    ParseResult tryParse(String input, TrustStore trustStore, ParseOptions options);
+
+    /**
+     * Same as {@link Parser#tryParse(String, TrustStore, ParseOptions)}, with a list of certificates
+     *
+     * @param input        the input 2D-DOC string representation
+     * @param certificates the list of certificates to use for the signature verification
+     * @param options      the parts to parse, and if the data that can not be identified are skipped
+     * @return the parsed 2D-DOC, or the reason why it could not be parsed
+     * @see TrustStore#of(java.util.Collection)
+     */
+    default ParseResult tryParse(final String input, final List<X509Certificate> certificates,
+                                 final ParseOptions options) {
+        return tryParse(input, TrustStore.scanning(certificates), options);
+    }
+
+    /**
+     * Verifies the signature of a parsed 2D-DOC, e.g. one parsed with {@link ParseOptions#isDeferSignature()}
+     *
+     * @param parsed2DDoc the parsed 2D-DOC
+     * @param trustStore  the certificates to use for the signature verification
+     * @return the status of the signature
+     * @throws ParsingException when the signature can not be verified
+     */
+    SignatureStatus verifySignature(Parsed2DDoc parsed2DDoc, TrustStore trustStore) throws ParsingException;
+
+    /**
+     * Same as {@link Parser#verifySignature(Parsed2DDoc, TrustStore)}, with a list of certificates
+     *
+     * @param parsed2DDoc  the parsed 2D-DOC
+     * @param certificates the list of certificates to use for the signature verification
+     * @return the status of the signature
+     * @throws ParsingException when the signature can not be verified
+     * @see TrustStore#of(java.util.Collection)
+     */
+    default SignatureStatus verifySignature(final Parsed2DDoc parsed2DDoc, final List<X509Certificate> certificates)
+            throws ParsingException {
+        return verifySignature(parsed2DDoc, TrustStore.scanning(certificates));
+    }
+
+    /**
+     * Parses a 2D-DOC, decoding the values of its data only when they are read
+     * <p>
+     * The header, the structure of the data, the missing mandatory data and the signature are checked like
+     * {@link Parser#parse(String, List)} does, but only the position of each data is kept. Its value is decoded and
+     * kept the first time it is read, a consumer reading a few data does not pay for the others
+     *
+     * @param input      the input 2D-DOC string representation
+     * @param trustStore the certificates to use for the signature verification
+     * @return an object representation of a 2D-DOC, reading a data with an invalid value throws an
+     * {@link UncheckedParsingException}
+     * @throws IllegalArgumentException when the input is not a 2D-DOC
+     * @throws UnsupportedException     when the 2D-DOC version is not supported or the document is not supported
+     * @throws ParsingException         when any other error happens
+     */
+    Parsed2DDoc parseLazily(String input, TrustStore trustStore)
+            throws UnsupportedException, ParsingException;
+
+    /**
+     * Same as {@link Parser#parseLazily(String, TrustStore)}, with a list of certificates
+     *
+     * @param input        the input 2D-DOC string representation
+     * @param certificates the list of certificates to use for the signature verification
+     * @return an object representation of a 2D-DOC, reading a data with an invalid value throws an
+     * {@link UncheckedParsingException}
+     * @throws IllegalArgumentException when the input is not a 2D-DOC
+     * @throws UnsupportedException     when the 2D-DOC version is not supported or the document is not supported
+     * @throws ParsingException         when any other error happens
+     * @see TrustStore#of(java.util.Collection)
+     */
+    default Parsed2DDoc parseLazily(final String input, final List<X509Certificate> certificates)
+            throws UnsupportedException, ParsingException {
+        return parseLazily(input, TrustStore.scanning(certificates));
+    }
+
+    /**
+     * Parses a 2D-DOC into a sink owned by the caller
+     * <p>
+     * Does the same checks as {@link Parser#parse(String, List)} but reuses the sink instead of creating a
+     * {@link Parsed2DDoc}, a loop parsing many 2D-DOC with the same sink creates almost no garbage, apart from the
+     * signature verification
+     *
+     * @param input      the input 2D-DOC
+     * @param trustStore the certificates to use for the signature verification
+     * @param sink       the sink receiving the result, reset before parsing
+     * @throws IllegalArgumentException when the input is not a 2D-DOC
+     * @throws UnsupportedException     when the 2D-DOC version is not supported or the document is not supported
+     * @throws ParsingException         when any other error happens
+     */
+    void parseInto(CharSequence input, TrustStore trustStore, ResultSink sink)
+            throws UnsupportedException, ParsingException;
+
+    /**
+     * Same as {@link Parser#parseInto(CharSequence, TrustStore, ResultSink)}, with a list of certificates
+     *
+     * @param input        the input 2D-DOC
+     * @param certificates the list of certificates to use for the signature verification
+     * @param sink         the sink receiving the result, reset before parsing
+     * @throws IllegalArgumentException when the input is not a 2D-DOC
+     * @throws UnsupportedException     when the 2D-DOC version is not supported or the document is not supported
+     * @throws ParsingException         when any other error happens
+     * @see TrustStore#of(java.util.Collection)
+     */
+    default void parseInto(final CharSequence input, final List<X509Certificate> certificates, final ResultSink sink)
+            throws UnsupportedException, ParsingException {
+        parseInto(input, TrustStore.scanning(certificates), sink);
+    }
+
+    /**
+     * Parses a 2D-DOC read as bytes into a sink owned by the caller
+     * <p>
+     * Same as {@link Parser#parseInto(CharSequence, List, ResultSink)}, but the ASCII bytes are tokenized and signed
+     * as they are, without decoding them to characters. A byte array is parsed with {@link ByteBuffer#wrap(byte[])}
+     * <p>
+     * The bytes from the position to the limit of the buffer are parsed, the buffer is not modified. The sink reads
+     * the text values from the buffer, it must not be modified while the sink is used
+     *
+     * @param input      the input 2D-DOC, heap or direct buffer
+     * @param trustStore the certificates to use for the signature verification
+     * @param sink       the sink receiving the result, reset before parsing
+     * @throws IllegalArgumentException when the input is not a 2D-DOC
+     * @throws UnsupportedException     when the 2D-DOC version is not supported or the document is not supported
+     * @throws ParsingException         when any other error happens
+     */
+    void parseInto(ByteBuffer input, TrustStore trustStore, ResultSink sink)
+            throws UnsupportedException, ParsingException;
+
+    /**
+     * Same as {@link Parser#parseInto(ByteBuffer, TrustStore, ResultSink)}, with a list of certificates
+     *
+     * @param input        the input 2D-DOC, heap or direct buffer
+     * @param certificates the list of certificates to use for the signature verification
+     * @param sink         the sink receiving the result, reset before parsing
+     * @throws IllegalArgumentException when the input is not a 2D-DOC
+     * @throws UnsupportedException     when the 2D-DOC version is not supported or the document is not supported
+     * @throws ParsingException         when any other error happens
+     * @see TrustStore#of(java.util.Collection)
+     */
+    default void parseInto(final ByteBuffer input, final List<X509Certificate> certificates, final ResultSink sink)
+            throws UnsupportedException, ParsingException {
+        parseInto(input, TrustStore.scanning(certificates), sink);
+    }
+
+    /**
+     * Parses a 2D-DOC and passes its content to a handler, as it is read
+     * <p>
+     * Does the same checks as {@link Parser#parse(String, List)}, but no list of data is built, each data is given to
+     * {@link ParseHandler#onField(DataType, CharSequence, boolean, DataSource)} with its raw value
+     *
+     * @param input      the input 2D-DOC
+     * @param trustStore the certificates to use for the signature verification
+     * @param handler    the handler receiving the events
+     * @throws IllegalArgumentException when the input is not a 2D-DOC
+     * @throws UnsupportedException     when the 2D-DOC version is not supported or the document is not supported
+     * @throws ParsingException         when any other error happens
+     */
+    void parse(CharSequence input, TrustStore trustStore, ParseHandler handler)
+            throws UnsupportedException, ParsingException;
+
+    /**
+     * Same as {@link Parser#parse(CharSequence, TrustStore, ParseHandler)}, with a list of certificates
+     *
+     * @param input        the input 2D-DOC
+     * @param certificates the list of certificates to use for the signature verification
+     * @param handler      the handler receiving the events
+     * @throws IllegalArgumentException when the input is not a 2D-DOC
+     * @throws UnsupportedException     when the 2D-DOC version is not supported or the document is not supported
+     * @throws ParsingException         when any other error happens
+     * @see TrustStore#of(java.util.Collection)
+     */
+    default void parse(final CharSequence input, final List<X509Certificate> certificates, final ParseHandler handler)
+            throws UnsupportedException, ParsingException {
+        parse(input, TrustStore.scanning(certificates), handler);
+    }
+
+    /**
+     * Parses a 2D-DOC read as bytes and passes its content to a handler, as it is read
+     * <p>
+     * Same as {@link Parser#parse(CharSequence, List, ParseHandler)}, but the ASCII bytes are tokenized and signed as
+     * they are, without decoding them to characters. A byte array is parsed with {@link ByteBuffer#wrap(byte[])}
+     * <p>
+     * The bytes from the position to the limit of the buffer are parsed, the buffer is not modified
+     *
+     * @param input      the input 2D-DOC, heap or direct buffer
+     * @param trustStore the certificates to use for the signature verification
+     * @param handler    the handler receiving the events
+     * @throws IllegalArgumentException when the input is not a 2D-DOC
+     * @throws UnsupportedException     when the 2D-DOC version is not supported or the document is not supported
+     * @throws ParsingException         when any other error happens
+     */
+    void parse(ByteBuffer input, TrustStore trustStore, ParseHandler handler)
+            throws UnsupportedException, ParsingException;
+
+    /**
+     * Same as {@link Parser#parse(ByteBuffer, TrustStore, ParseHandler)}, with a list of certificates
+     *
+     * @param input        the input 2D-DOC, heap or direct buffer
+     * @param certificates the list of certificates to use for the signature verification
+     * @param handler      the handler receiving the events
+     * @throws IllegalArgumentException when the input is not a 2D-DOC
+     * @throws UnsupportedException     when the 2D-DOC version is not supported or the document is not supported
+     * @throws ParsingException         when any other error happens
+     * @see TrustStore#of(java.util.Collection)
      */
-    Parsed2DDoc parse(String input, List<X509Certificate> certificates) throws UnsupportedException, ParsingException;
+    default void parse(final ByteBuffer input, final List<X509Certificate> certificates, final ParseHandler handler)
+            throws UnsupportedException, ParsingException {
+        parse(input, TrustStore.scanning(certificates), handler);
+    }
 
 }
@@ -0,0 +1,169 @@
+package fr.kiyauden._2ddoc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.crypto.params.ECPublicKeyParameters;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.FixedPointPreCompInfo;
+import org.bouncycastle.math.ec.FixedPointUtil;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The comb tables of the public keys that verify the most signatures, see
+ * {@link VerifierEngine#BOUNCY_CASTLE_PRECOMPUTED}
+ * <p>
+ * A comb table holds sums of multiples of the point of a key, the multiplication of the point by a scalar is then
+ * one addition of a table point per column of the comb, 43 for P-256, instead of a double-and-add over all the bits of
+ * the scalar. A table is
+ * built at the first verification of a key and kept while the key is among the most recently used ones, the tables
+ * kept never exceed the memory budget
+ * <p>
+ * A verifier keeps the {@link Entry} of its key and reads the table from it without lock, the lock is only taken when
+ * the verifier has no entry or its entry was evicted. The recently used entries are approximated by the CLOCK
+ * algorithm: a use marks the entry, and the eviction skips and clears the marked entries in the order they were
+ * added, so a use is a read of the entry once it is marked
+ * <p>
+ * The keys are compared by identity, a {@link TrustedCertificate} decodes its key once. Thread safe
+ */
+@Slf4j
+final class PrecomputedKeys {
+
+    /**
+     * Estimated size in bytes of the table of a P-256 key: 64 points of two 32 bytes coordinates, and the objects
+     * holding them
+     */
+    static final int P256_TABLE_SIZE = 64 * 2 * 32 + 256;
+
+    /**
+     * The maximum number of tables
+     */
+    private final int capacity;
+    /**
+     * The entries of the keys
+     */
+    private final Map<ECPublicKeyParameters, Entry> entries = new HashMap<>();
+    /**
+     * The entries in the order they were added, swept by {@link PrecomputedKeys#hand}
+     */
+    private final List<Entry> clock = new ArrayList<>();
+    /**
+     * The position in {@link PrecomputedKeys#clock} of the next entry to consider for eviction
+     */
+    private int hand;
+
+    /**
+     * @param memoryBudget the maximum size in bytes of the tables
+     * @param tableSize    the estimated size in bytes of a table
+     */
+    PrecomputedKeys(final int memoryBudget, final int tableSize) {
+        capacity = memoryBudget / tableSize;
+    }
+
+    /**
+     * Gives the entry of a key, its table is built when the key has none
+     * <p>
+     * Takes the lock, the entry is meant to be kept by the caller and read with {@link Entry#use()} until it is
+     * evicted
+     *
+     * @param key the public key
+     * @return the entry of the key, null when the budget holds no table
+     */
+    Entry get(final ECPublicKeyParameters key) {
+        if (capacity == 0) {
+            return null;
+        }
+        synchronized (entries) {
+            final Entry entry = entries.get(key);
+            if (entry != null) {
+                return entry;
+            }
+        }
+
+        // Built outside of the lock on a copy of the point, the key itself does not keep the table
+        final ECPoint q = key.getQ();
+        final Entry entry = new Entry(key, FixedPointUtil.precompute(
+                q.getCurve().createPoint(q.getAffineXCoord().toBigInteger(), q.getAffineYCoord().toBigInteger())));
+        synchronized (entries) {
+            final Entry built = entries.get(key);
+            if (built != null) {
+                return built;
+            }
+            if (clock.size() < capacity) {
+                clock.add(entry);
+            } else {
+                evictInto(entry);
+            }
+            entries.put(key, entry);
+            log.debug("Comb table built for a key, {} tables kept", entries.size());
+        }
+        return entry;
+    }
+
+    /**
+     * Evicts the first entry not used since the last sweep and replaces it, the lock must be held
+     *
+     * @param entry the entry replacing the evicted one
+     */
+    private void evictInto(final Entry entry) {
+        Entry evicted = clock.get(hand);
+        while (evicted.used) {
+            evicted.used = false;
+            hand = (hand + 1) % capacity;
+            evicted = clock.get(hand);
+        }
+        entries.remove(evicted.key);
+        evicted.table = null;
+        clock.set(hand, entry);
+        hand = (hand + 1) % capacity;
+    }
+
+    /**
+     * @return the number of tables kept
+     */
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * The comb table of a key, while the key is kept
+     */
+    static final class Entry {
+        /**
+         * The key
+         */
+        private final ECPublicKeyParameters key;
+        /**
+         * The table, null once the entry is evicted
+         */
+        private volatile FixedPointPreCompInfo table;
+        /**
+         * Boolean indicating if the table was used since the last sweep of the eviction
+         */
+        private volatile boolean used;
+
+        private Entry(final ECPublicKeyParameters key, final FixedPointPreCompInfo table) {
+            this.key = key;
+            this.table = table;
+        }
+
+        /**
+         * Gives the table and marks the entry as used, without lock
+         *
+         * @return the table, null when the entry was evicted
+         */
+        FixedPointPreCompInfo use() {
+            final FixedPointPreCompInfo kept = table;
+            // Only written when not marked yet, a use of a marked entry is a read
+            if (kept != null && !used) {
+                used = true;
+            }
+            return kept;
+        }
+    }
+
+}
@@ -0,0 +1,550 @@
+package fr.kiyauden._2ddoc;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import static fr.kiyauden._2ddoc.DataFormat.AMOUNT;
+import static fr.kiyauden._2ddoc.DataFormat.BOOLEAN;
+import static fr.kiyauden._2ddoc.DataFormat.DATE;
+import static fr.kiyauden._2ddoc.DataFormat.INTEGER;
+import static fr.kiyauden._2ddoc.DataFormat.TIME;
+import static fr.kiyauden._2ddoc.DataFormat.URL;
+import static fr.kiyauden._2ddoc.DataSource.ANNEX;
+import static fr.kiyauden._2ddoc.DataSource.MESSAGE;
+import static java.lang.String.format;
+import static java.util.Collections.emptyList;
+
+/**
+ * Mutable result of a 2D-DOC parsing, owned and reused by the caller
+ * <p>
+ * Filled by {@link Parser#parseInto(CharSequence, List, ResultSink)} or
+ * {@link Parser#parseInto(java.nio.ByteBuffer, List, ResultSink)}, it replaces the {@link Parsed2DDoc}, its
+ * {@link Header} and its {@link Data} when the same thread parses a large number of 2D-DOC. Each parsing resets it,
+ * the values of the previous 2D-DOC are lost
+ * <p>
+ * The data are stored in slots indexed from 0 to {@link ResultSink#size()} (exclusive), in their order in the
+ * 2D-DOC. The {@link DataFormat#INTEGER}, {@link DataFormat#AMOUNT}, {@link DataFormat#BOOLEAN} and
+ * {@link DataFormat#TIME} values are kept in a primitive slot, the text values as their position in the input. The
+ * slots are sized for the largest {@link Document}, nothing is allocated while parsing once the sink has grown to the
+ * size of the 2D-DOC
+ * <p>
+ * The values are decoded by the built-in decoders, the {@link DataParser} bound in the injector are not used
+ * <p>
+ * An instance is not thread safe
+ */
+public final class ResultSink {
+
+    /**
+     * Flag set when the data is truncated
+     */
+    private static final byte TRUNCATED = 1;
+    /**
+     * Flag set when the data is mandatory
+     */
+    private static final byte MANDATORY = 1 << 1;
+    /**
+     * Flag set when the data comes from the annex
+     */
+    private static final byte FROM_ANNEX = 1 << 2;
+    /**
+     * Flag set when the data has a value
+     */
+    private static final byte HAS_VALUE = 1 << 3;
+
+    /**
+     * Initial number of slots, twice the number of data linked to the largest document, for the message and the annex
+     */
+    private static final int INITIAL_CAPACITY = 2 * Arrays.stream(Document.values())
+            .mapToInt(Document::getLinkedDataCount)
+            .max()
+            .orElse(0);
+
+    /**
+     * Tokenizer reused by each parsing
+     */
+    private final DataTokenizer tokenizer = new DataTokenizer();
+    /**
+     * The data types found in the message, reused by each parsing
+     */
+    private final EnumSet<DataType> messageDataTypes = EnumSet.noneOf(DataType.class);
+    /**
+     * View reused by each parsing of a {@link java.nio.ByteBuffer}
+     */
+    private final AsciiCharSequence asciiView = new AsciiCharSequence();
+    /**
+     * The position + 1 of the first data of each {@link DataType}, indexed by {@link DataType#ordinal()}, 0 when the
+     * data is absent
+     */
+    private final int[] dataIndex = new int[DataType.values().length];
+
+    /**
+     * The parsed 2D-DOC
+     */
+    private CharSequence input;
+    /**
+     * The version of the header
+     */
+    private Version version;
+    /**
+     * The document type provided by the 2D-DOC
+     */
+    private Document documentType;
+    /**
+     * The emission date of the document
+     */
+    private LocalDate emissionDate;
+    /**
+     * The creation date of the signature
+     */
+    private LocalDate signatureDate;
+    /**
+     * The mandatory data missing from the message
+     */
+    private List<DataType> missingMandatoryData = emptyList();
+    /**
+     * The status of the signature
+     */
+    private SignatureStatus signatureStatus;
+    /**
+     * Valid if signature valid and no missing data
+     */
+    private boolean valid;
+
+    /**
+     * The number of data
+     */
+    private int size;
+    /**
+     * The data type of each data
+     */
+    private DataType[] dataTypes = new DataType[INITIAL_CAPACITY];
+    /**
+     * The start of each value in the input (inclusive)
+     */
+    private int[] valueStarts = new int[INITIAL_CAPACITY];
+    /**
+     * The end of each value in the input (exclusive)
+     */
+    private int[] valueEnds = new int[INITIAL_CAPACITY];
+    /**
+     * The flags of each data
+     */
+    private byte[] flags = new byte[INITIAL_CAPACITY];
+    /**
+     * The primitive value of each data, depending on its format : the integer, the amount in cents, 1 / 0 for a
+     * boolean or the second of the day for a time
+     */
+    private long[] primitives = new long[INITIAL_CAPACITY];
+    /**
+     * The {@link LocalDate} value of each {@link DataFormat#DATE} data
+     */
+    private LocalDate[] dates = new LocalDate[INITIAL_CAPACITY];
+
+    //------------------------------------------------------------------------------------------------------------------
+    // Filling, by the parser
+    //------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Clears the sink before parsing a new 2D-DOC
+     *
+     * @param input the 2D-DOC to parse
+     */
+    void reset(final CharSequence input) {
+        for (int i = 0; i < size; i++) {
+            dataIndex[dataTypes[i].ordinal()] = 0;
+            dates[i] = null;
+        }
+        size = 0;
+        messageDataTypes.clear();
+        this.input = input;
+        version = null;
+        documentType = null;
+        emissionDate = null;
+        signatureDate = null;
+        missingMandatoryData = emptyList();
+        signatureStatus = null;
+        valid = false;
+    }
+
+    /**
+     * Sets the header
+     *
+     * @param version       the version of the header
+     * @param documentType  the document type
+     * @param emissionDate  the emission date of the document
+     * @param signatureDate the creation date of the signature
+     */
+    void header(final Version version, final Document documentType, final LocalDate emissionDate,
+                final LocalDate signatureDate) {
+        this.version = version;
+        this.documentType = documentType;
+        this.emissionDate = emissionDate;
+        this.signatureDate = signatureDate;
+    }
+
+    /**
+     * Adds a data, its value is then set with {@link ResultSink#primitive(int, long)} or
+     * {@link ResultSink#date(int, LocalDate)}
+     *
+     * @param dataType   the data type
+     * @param valueStart the start of the value in the input (inclusive)
+     * @param valueEnd   the end of the value in the input (exclusive)
+     * @param truncated  TRUE if the data is truncated, FALSE otherwise
+     * @param mandatory  TRUE if the data is mandatory, FALSE otherwise
+     * @param source     the source of the data
+     * @return the index of the data
+     */
+    int add(final DataType dataType, final int valueStart, final int valueEnd, final boolean truncated,
+            final boolean mandatory, final DataSource source) {
+        if (size == dataTypes.length) {
+            grow();
+        }
+        final int index = size++;
+        dataTypes[index] = dataType;
+        valueStarts[index] = valueStart;
+        valueEnds[index] = valueEnd;
+        flags[index] = (byte) ((truncated ? TRUNCATED : 0)
+                | (mandatory ? MANDATORY : 0)
+                | (source == ANNEX ? FROM_ANNEX : 0)
+                | (valueEnd > valueStart ? HAS_VALUE : 0));
+        primitives[index] = 0;
+        if (dataIndex[dataType.ordinal()] == 0) {
+            dataIndex[dataType.ordinal()] = index + 1;
+        }
+        if (source == MESSAGE) {
+            messageDataTypes.add(dataType);
+        }
+        return index;
+    }
+
+    /**
+     * @param index the index of the data
+     * @param value the primitive value of the data
+     */
+    void primitive(final int index, final long value) {
+        primitives[index] = value;
+    }
+
+    /**
+     * @param index the index of the data
+     * @param value the date value of the data, null for a HEX "FFFF" date
+     */
+    void date(final int index, final LocalDate value) {
+        dates[index] = value;
+        if (value == null) {
+            flags[index] &= ~HAS_VALUE;
+        }
+    }
+
+    /**
+     * Sets the result of the checks
+     *
+     * @param missingMandatoryData the mandatory data missing from the message
+     * @param signatureStatus      the status of the signature
+     */
+    void result(final List<DataType> missingMandatoryData, final SignatureStatus signatureStatus) {
+        this.missingMandatoryData = missingMandatoryData;
+        this.signatureStatus = signatureStatus;
+        valid = signatureStatus.isValid() && missingMandatoryData.isEmpty();
+    }
+
+    /**
+     * @return the tokenizer reused by each parsing
+     */
+    DataTokenizer tokenizer() {
+        return tokenizer;
+    }
+
+    /**
+     * @return the view reused by each parsing of a {@link java.nio.ByteBuffer}
+     */
+    AsciiCharSequence asciiView() {
+        return asciiView;
+    }
+
+    /**
+     * @return the data types found in the message
+     */
+    EnumSet<DataType> messageDataTypes() {
+        return messageDataTypes;
+    }
+
+    private void grow() {
+        final int capacity = Math.max(dataTypes.length * 2, 1);
+        dataTypes = Arrays.copyOf(dataTypes, capacity);
+        valueStarts = Arrays.copyOf(valueStarts, capacity);
+        valueEnds = Arrays.copyOf(valueEnds, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        primitives = Arrays.copyOf(primitives, capacity);
+        dates = Arrays.copyOf(dates, capacity);
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    // Reading, by the caller
+    //------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return the parsed 2D-DOC
+     */
+    public CharSequence getInput() {
+        return input;
+    }
+
+    /**
+     * @return the version of the header
+     */
+    public Version getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the document type provided by the 2D-DOC
+     */
+    public Document getDocumentType() {
+        return documentType;
+    }
+
+    /**
+     * @return the certification authority ID, a new {@link String} on each call
+     */
+    public String getCertificationAuthorityId() {
+        return input.subSequence(4, 8).toString();
+    }
+
+    /**
+     * @return the certificate ID, a new {@link String} on each call
+     */
+    public String getCertificateId() {
+        return input.subSequence(8, 12).toString();
+    }
+
+    /**
+     * @return the emission date of the document, null for a HEX "FFFF" date
+     */
+    public LocalDate getEmissionDate() {
+        return emissionDate;
+    }
+
+    /**
+     * @return the creation date of the signature, null for a HEX "FFFF" date
+     */
+    public LocalDate getSignatureDate() {
+        return signatureDate;
+    }
+
+    /**
+     * @return the mandatory data missing from the message
+     */
+    public List<DataType> getMissingMandatoryData() {
+        return missingMandatoryData;
+    }
+
+    /**
+     * @return the status of the signature
+     */
+    public SignatureStatus getSignatureStatus() {
+        return signatureStatus;
+    }
+
+    /**
+     * @return TRUE if the signature is valid and no data is missing, FALSE otherwise
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * @return the number of data
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the first data of a type
+     *
+     * @param dataType the data type to find
+     * @return the index of the data or -1 if it is absent
+     */
+    public int indexOf(final DataType dataType) {
+        return dataIndex[dataType.ordinal()] - 1;
+    }
+
+    /**
+     * @param index the index of the data
+     * @return the data type of the data
+     */
+    public DataType getDataType(final int index) {
+        checkIndex(index);
+        return dataTypes[index];
+    }
+
+    /**
+     * @param index the index of the data
+     * @return the source of the data
+     */
+    public DataSource getSource(final int index) {
+        checkIndex(index);
+        return (flags[index] & FROM_ANNEX) != 0 ? ANNEX : MESSAGE;
+    }
+
+    /**
+     * @param index the index of the data
+     * @return TRUE if the data is truncated, FALSE otherwise
+     */
+    public boolean isTruncated(final int index) {
+        checkIndex(index);
+        return (flags[index] & TRUNCATED) != 0;
+    }
+
+    /**
+     * @param index the index of the data
+     * @return TRUE if the data is mandatory, FALSE otherwise
+     */
+    public boolean isMandatory(final int index) {
+        checkIndex(index);
+        return (flags[index] & MANDATORY) != 0;
+    }
+
+    /**
+     * @param index the index of the data
+     * @return TRUE if the data has a value, FALSE when only the identifier is present
+     */
+    public boolean hasValue(final int index) {
+        checkIndex(index);
+        return (flags[index] & HAS_VALUE) != 0;
+    }
+
+    /**
+     * @param index the index of the data
+     * @return the start of the value in {@link ResultSink#getInput()} (inclusive)
+     */
+    public int getValueStart(final int index) {
+        checkIndex(index);
+        return valueStarts[index];
+    }
+
+    /**
+     * @param index the index of the data
+     * @return the end of the value in {@link ResultSink#getInput()} (exclusive)
+     */
+    public int getValueEnd(final int index) {
+        checkIndex(index);
+        return valueEnds[index];
+    }
+
+    /**
+     * Returns the text of a data, a new {@link String} on each call
+     * <p>
+     * The value as present inside the 2D-DOC, except for a {@link DataFormat#URL} data which is decoded
+     *
+     * @param index the index of the data
+     * @return the text
+     */
+    public String getText(final int index) {
+        checkIndex(index);
+        if (dataTypes[index].getType() == URL) {
+            final byte[] decoded = Base32Decoder.threadLocalBuffer(valueEnds[index] - valueStarts[index]);
+            final int length = Base32Decoder.decode(input, valueStarts[index], valueEnds[index], decoded, 0);
+            return new String(decoded, 0, length, StandardCharsets.UTF_8);
+        }
+        return input.subSequence(valueStarts[index], valueEnds[index]).toString();
+    }
+
+    /**
+     * @param index the index of a {@link DataFormat#INTEGER} data
+     * @return the value
+     * @throws IllegalStateException if the data has no integer value
+     */
+    public long getLong(final int index) {
+        checkValue(index, INTEGER);
+        return primitives[index];
+    }
+
+    /**
+     * @param index the index of a {@link DataFormat#AMOUNT} data
+     * @return the value in cents
+     * @throws IllegalStateException if the data has no amount value
+     */
+    public long getCents(final int index) {
+        checkValue(index, AMOUNT);
+        return primitives[index];
+    }
+
+    /**
+     * @param index the index of a {@link DataFormat#AMOUNT} data
+     * @return the value
+     * @throws IllegalStateException if the data has no amount value
+     */
+    public double getDouble(final int index) {
+        return AmountDataParser.toDouble(getCents(index));
+    }
+
+    /**
+     * @param index the index of a {@link DataFormat#AMOUNT} data
+     * @return the exact value with a scale of 2
+     * @throws IllegalStateException if the data has no amount value
+     */
+    public BigDecimal getExactAmount(final int index) {
+        return AmountDataParser.toBigDecimal(getCents(index));
+    }
+
+    /**
+     * @param index the index of a {@link DataFormat#BOOLEAN} data
+     * @return the value
+     * @throws IllegalStateException if the data has no boolean value
+     */
+    public boolean getBoolean(final int index) {
+        checkValue(index, BOOLEAN);
+        return primitives[index] == BooleanDataParser.TRUE;
+    }
+
+    /**
+     * @param index the index of a {@link DataFormat#TIME} data
+     * @return the value as a second of the day
+     * @throws IllegalStateException if the data has no time value
+     */
+    public int getSecondOfDay(final int index) {
+        checkValue(index, TIME);
+        return (int) primitives[index];
+    }
+
+    /**
+     * @param index the index of a {@link DataFormat#TIME} data
+     * @return the value
+     * @throws IllegalStateException if the data has no time value
+     */
+    public LocalTime getTime(final int index) {
+        return LocalTime.ofSecondOfDay(getSecondOfDay(index));
+    }
+
+    /**
+     * @param index the index of a {@link DataFormat#DATE} data
+     * @return the value
+     * @throws IllegalStateException if the data has no date value
+     */
+    public LocalDate getDate(final int index) {
+        checkValue(index, DATE);
+        return dates[index];
+    }
+
+    private void checkValue(final int index, final DataFormat format) {
+        checkIndex(index);
+        final DataType dataType = dataTypes[index];
+        if (dataType.getType() != format || (flags[index] & HAS_VALUE) == 0) {
+            throw new IllegalStateException(format("Data %s has no %s value", dataType, format));
+        }
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+}
@@ -0,0 +1,365 @@
+package fr.kiyauden._2ddoc;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Schema of the 2D-DOC, the data types and the document types, loaded from the bundled resource
+ * {@value SchemaRegistry#RESOURCE}
+ * <p>
+ * The definitions are compiled into tables indexed by {@link IdentifierIndex#of(char, char)}: the format, the lengths
+ * and the names of the data types are each in an array of {@link IdentifierIndex#SIZE} elements, the data of a
+ * document are arrays of identifier indexes. {@link DataType} and {@link Document} are views over the registry, a
+ * constant only holds its ID and reads its definition from {@link SchemaRegistry#DEFAULT} when the enum is loaded
+ * <p>
+ * A registry is immutable and thread safe
+ */
+final class SchemaRegistry {
+
+    /**
+     * The bundled resource, relative to this class
+     */
+    static final String RESOURCE = "schema.txt";
+
+    /**
+     * Separator of the fields of a definition
+     */
+    private static final String FIELD_SEPARATOR = "\\|";
+    /**
+     * Separator of the IDs of a list
+     */
+    private static final String ID_SEPARATOR = ",";
+    /**
+     * Value of the format table when the identifier is not a data type
+     */
+    private static final byte NO_FORMAT = -1;
+
+    private static final DataFormat[] FORMATS = DataFormat.values();
+    private static final int[] NO_IDS = new int[0];
+
+    /**
+     * The registry loaded from {@link SchemaRegistry#RESOURCE}
+     */
+    static final SchemaRegistry DEFAULT;
+
+    static {
+        try (final InputStream is = SchemaRegistry.class.getResourceAsStream(RESOURCE)) {
+            if (is == null) {
+                throw new IllegalStateException(format("Schema resource %s not found", RESOURCE));
+            }
+            DEFAULT = load(new InputStreamReader(is, UTF_8));
+        } catch (final IOException e) {
+            throw new IllegalStateException(format("Schema resource %s can not be read", RESOURCE), e);
+        }
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    // Data types, indexed by identifier
+    //------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The {@link DataFormat#ordinal()} of each data type, {@link SchemaRegistry#NO_FORMAT} if there is none
+     */
+    private final byte[] dataFormats = new byte[IdentifierIndex.SIZE];
+    private final int[] dataMinLengths = new int[IdentifierIndex.SIZE];
+    /**
+     * The max length of each data type, -1 when there is none
+     */
+    private final int[] dataMaxLengths = new int[IdentifierIndex.SIZE];
+    private final String[] dataNames = new String[IdentifierIndex.SIZE];
+    private final String[] dataLabels = new String[IdentifierIndex.SIZE];
+
+    //------------------------------------------------------------------------------------------------------------------
+    // Document types, indexed by identifier
+    //------------------------------------------------------------------------------------------------------------------
+
+    private final String[] documentNames = new String[IdentifierIndex.SIZE];
+    private final boolean[] documentEmissionDateMandatory = new boolean[IdentifierIndex.SIZE];
+    private final String[] documentTypesForUser = new String[IdentifierIndex.SIZE];
+    private final String[] documentTypesForTransmitter = new String[IdentifierIndex.SIZE];
+    /**
+     * The mandatory data of each document, one array per data: the index of the data then the indexes of its
+     * interchangeable data
+     */
+    private final int[][][] documentMandatoryData = new int[IdentifierIndex.SIZE][][];
+    /**
+     * The indexes of the optional data of each document
+     */
+    private final int[][] documentOptionalData = new int[IdentifierIndex.SIZE][];
+
+    private SchemaRegistry() {
+        Arrays.fill(dataFormats, NO_FORMAT);
+    }
+
+    /**
+     * Loads a registry
+     *
+     * @param reader the definitions, see {@link SchemaRegistry#RESOURCE} for the format
+     * @return the registry
+     * @throws IOException              when the definitions can not be read
+     * @throws IllegalArgumentException when a definition is malformed
+     */
+    static SchemaRegistry load(final Reader reader) throws IOException {
+        final SchemaRegistry registry = new SchemaRegistry();
+        // The mandatory data of each document, in order, until they are all read
+        final List<List<int[]>> mandatoryData = new ArrayList<>(IdentifierIndex.SIZE);
+        for (int i = 0; i < IdentifierIndex.SIZE; i++) {
+            mandatoryData.add(null);
+        }
+
+        final BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                registry.define(line, mandatoryData);
+            } catch (final IllegalArgumentException e) {
+                throw new IllegalArgumentException(format("Malformed schema line %d : %s", lineNumber,
+                                                          e.getMessage()), e);
+            }
+        }
+
+        for (int i = 0; i < IdentifierIndex.SIZE; i++) {
+            if (mandatoryData.get(i) != null) {
+                registry.documentMandatoryData[i] = mandatoryData.get(i).toArray(new int[0][]);
+            }
+        }
+        return registry;
+    }
+
+    /**
+     * Reads a definition
+     *
+     * @param line          the definition
+     * @param mandatoryData the mandatory data of each document, filled by the "mandatory" definitions
+     * @throws IllegalArgumentException when the definition is malformed
+     */
+    private void define(final String line, final List<List<int[]>> mandatoryData) {
+        final String kind = line.substring(0, Math.max(line.indexOf('|'), 0));
+        switch (kind) {
+            case "data": {
+                final String[] fields = fields(line, 7);
+                final int index = newIdentifier(fields[1], dataNames);
+                dataNames[index] = fields[2];
+                dataFormats[index] = (byte) DataFormat.valueOf(fields[3]).ordinal();
+                dataMinLengths[index] = Integer.parseInt(fields[4]);
+                dataMaxLengths[index] = fields[5].isEmpty() ? -1 : Integer.parseInt(fields[5]);
+                dataLabels[index] = fields[6];
+                break;
+            }
+            case "document": {
+                final String[] fields = fields(line, 6);
+                final int index = newIdentifier(fields[1], documentNames);
+                documentNames[index] = fields[2];
+                documentEmissionDateMandatory[index] = Boolean.parseBoolean(fields[3]);
+                documentTypesForUser[index] = fields[4];
+                documentTypesForTransmitter[index] = fields[5];
+                documentOptionalData[index] = NO_IDS;
+                mandatoryData.set(index, new ArrayList<>());
+                break;
+            }
+            case "mandatory": {
+                final String[] fields = fields(line, 4);
+                final int document = documentIdentifier(fields[1]);
+                final int[] interchangeable = dataIdentifiers(fields[3]);
+                final int[] definition = new int[interchangeable.length + 1];
+                definition[0] = dataIdentifier(fields[2]);
+                System.arraycopy(interchangeable, 0, definition, 1, interchangeable.length);
+                mandatoryData.get(document).add(definition);
+                break;
+            }
+            case "optional": {
+                final String[] fields = fields(line, 3);
+                documentOptionalData[documentIdentifier(fields[1])] = dataIdentifiers(fields[2]);
+                break;
+            }
+            default:
+                throw new IllegalArgumentException(format("Unknown definition '%s'", kind));
+        }
+    }
+
+    private static String[] fields(final String line, final int count) {
+        final String[] fields = line.split(FIELD_SEPARATOR, count);
+        if (fields.length != count) {
+            throw new IllegalArgumentException(format("%d fields expected, %d found", count, fields.length));
+        }
+        return fields;
+    }
+
+    /**
+     * @param id    the ID of a new definition
+     * @param names the names of the definitions of the same kind
+     * @return the index of the ID
+     * @throws IllegalArgumentException when the ID is not valid or already defined
+     */
+    private static int newIdentifier(final String id, final String[] names) {
+        final int index = identifier(id);
+        if (names[index] != null) {
+            throw new IllegalArgumentException(format("ID %s is already defined", id));
+        }
+        return index;
+    }
+
+    private int documentIdentifier(final String id) {
+        final int index = identifier(id);
+        if (documentNames[index] == null) {
+            throw new IllegalArgumentException(format("Document %s is not defined", id));
+        }
+        return index;
+    }
+
+    private int dataIdentifier(final String id) {
+        final int index = identifier(id);
+        if (dataNames[index] == null) {
+            throw new IllegalArgumentException(format("Data %s is not defined", id));
+        }
+        return index;
+    }
+
+    private int[] dataIdentifiers(final String ids) {
+        if (ids.isEmpty()) {
+            return NO_IDS;
+        }
+        final String[] split = ids.split(ID_SEPARATOR);
+        final int[] indexes = new int[split.length];
+        for (int i = 0; i < split.length; i++) {
+            indexes[i] = dataIdentifier(split[i]);
+        }
+        return indexes;
+    }
+
+    private static int identifier(final String id) {
+        final int index = IdentifierIndex.of(id);
+        if (index < 0) {
+            throw new IllegalArgumentException(format("Invalid ID '%s'", id));
+        }
+        return index;
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    // Data types
+    //------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * @param index the index of an identifier, see {@link IdentifierIndex#of(char, char)}
+     * @return TRUE if the identifier is a data type, FALSE otherwise
+     */
+    boolean isData(final int index) {
+        return dataFormats[index] != NO_FORMAT;
+    }
+
+    /**
+     * @param index the index of a data type
+     * @return the name of the {@link DataType} constant
+     */
+    String dataName(final int index) {
+        return dataNames[index];
+    }
+
+    /**
+     * @param index the index of a data type
+     * @return the label of the data type
+     */
+    String dataLabel(final int index) {
+        return dataLabels[index];
+    }
+
+    /**
+     * @param index the index of a data type
+     * @return the format of the data type
+     */
+    DataFormat dataFormat(final int index) {
+        return FORMATS[dataFormats[index]];
+    }
+
+    /**
+     * @param index the index of a data type
+     * @return the min length of the data type
+     */
+    int dataMinLength(final int index) {
+        return dataMinLengths[index];
+    }
+
+    /**
+     * @param index the index of a data type
+     * @return the max length of the data type, -1 if there is none
+     */
+    int dataMaxLength(final int index) {
+        return dataMaxLengths[index];
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    // Document types
+    //------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * @param index the index of an identifier, see {@link IdentifierIndex#of(char, char)}
+     * @return TRUE if the identifier is a document type, FALSE otherwise
+     */
+    boolean isDocument(final int index) {
+        return documentNames[index] != null;
+    }
+
+    /**
+     * @param index the index of a document type
+     * @return the name of the {@link Document} constant
+     */
+    String documentName(final int index) {
+        return documentNames[index];
+    }
+
+    /**
+     * @param index the index of a document type
+     * @return TRUE if the emission date has to be in the header, FALSE otherwise
+     */
+    boolean isEmissionDateMandatory(final int index) {
+        return documentEmissionDateMandatory[index];
+    }
+
+    /**
+     * @param index the index of a document type
+     * @return what the document is for a user
+     */
+    String documentTypeForUser(final int index) {
+        return documentTypesForUser[index];
+    }
+
+    /**
+     * @param index the index of a document type
+     * @return what the document is for the transmitter
+     */
+    String documentTypeForTransmitter(final int index) {
+        return documentTypesForTransmitter[index];
+    }
+
+    /**
+     * @param index the index of a document type
+     * @return the mandatory data of the document, in order, each one being the index of the data then the indexes of
+     * its interchangeable data, must not be modified
+     */
+    int[][] documentMandatoryData(final int index) {
+        return documentMandatoryData[index];
+    }
+
+    /**
+     * @param index the index of a document type
+     * @return the indexes of the optional data of the document, in order, must not be modified
+     */
+    int[] documentOptionalData(final int index) {
+        return documentOptionalData[index];
+    }
+
+}
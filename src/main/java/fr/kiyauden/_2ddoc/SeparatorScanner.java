@@ -0,0 +1,189 @@
+package fr.kiyauden._2ddoc;
+
+import lombok.NoArgsConstructor;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static fr.kiyauden._2ddoc.Constants.GS;
+import static fr.kiyauden._2ddoc.Constants.RS;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Search of the GS, RS and US separators in a 2D-DOC
+ * <p>
+ * The bytes of an {@link AsciiCharSequence} are checked 8 at a time: a word of 8 bytes is read from the buffer and
+ * XORed with the separator repeated in each byte, a byte of the result is zero where the separator is. The zero
+ * bytes are found without branch nor carry between the bytes (SWAR, SIMD within a register), only the words
+ * containing a separator are looked at byte by byte
+ * <p>
+ * A {@link String} is searched with its own {@link String#indexOf(int, int)} and {@link String#lastIndexOf(int)},
+ * intrinsics of the JVM, the other {@link CharSequence} one character at a time
+ */
+@NoArgsConstructor(access = PRIVATE)
+class SeparatorScanner {
+
+    /**
+     * The 7 low bits of each byte of a word
+     */
+    private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+    /**
+     * A 1 in each byte of a word
+     */
+    private static final long ONES = 0x0101010101010101L;
+
+    /**
+     * Finds the end of a variable length data, the first GS or RS of a range
+     *
+     * @param input the input
+     * @param from  the start of the range (inclusive)
+     * @param to    the end of the range (exclusive)
+     * @return the position of the first GS or RS, -1 if there is none
+     */
+    static int indexOfDataEnd(final CharSequence input, final int from, final int to) {
+        if (input instanceof AsciiCharSequence) {
+            final AsciiCharSequence ascii = (AsciiCharSequence) input;
+            final int found = indexOfAny(ascii.buffer(), ascii.start() + from, ascii.start() + to, (byte) GS,
+                                         (byte) RS);
+            return found < 0 ? found : found - ascii.start();
+        }
+        for (int i = from; i < to; i++) {
+            final char c = input.charAt(i);
+            if (c == GS || c == RS) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first occurrence of a separator
+     *
+     * @param input     the input
+     * @param separator the separator
+     * @param from      the start of the search (inclusive)
+     * @return the position of the separator, -1 if there is none
+     */
+    static int indexOf(final CharSequence input, final char separator, final int from) {
+        if (input instanceof String) {
+            return ((String) input).indexOf(separator, from);
+        }
+        if (input instanceof AsciiCharSequence) {
+            final AsciiCharSequence ascii = (AsciiCharSequence) input;
+            final int found = indexOfAny(ascii.buffer(), ascii.start() + Math.max(from, 0),
+                                         ascii.start() + ascii.length(), (byte) separator, (byte) separator);
+            return found < 0 ? found : found - ascii.start();
+        }
+        for (int i = Math.max(from, 0); i < input.length(); i++) {
+            if (input.charAt(i) == separator) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the last occurrence of a separator
+     *
+     * @param input     the input
+     * @param separator the separator
+     * @return the position of the separator, -1 if there is none
+     */
+    static int lastIndexOf(final CharSequence input, final char separator) {
+        if (input instanceof String) {
+            return ((String) input).lastIndexOf(separator);
+        }
+        if (input instanceof AsciiCharSequence) {
+            final AsciiCharSequence ascii = (AsciiCharSequence) input;
+            final int found = lastIndexOf(ascii.buffer(), ascii.start(), ascii.start() + ascii.length(),
+                                          (byte) separator);
+            return found < 0 ? found : found - ascii.start();
+        }
+        for (int i = input.length() - 1; i >= 0; i--) {
+            if (input.charAt(i) == separator) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first of two bytes in a range of a buffer, 8 bytes at a time
+     *
+     * @param buffer the buffer
+     * @param from   the start of the range in the buffer (inclusive)
+     * @param to     the end of the range in the buffer (exclusive)
+     * @param first  a byte to find
+     * @param second another byte to find, the same as first to find only one
+     * @return the index of the first byte found in the buffer, -1 if there is none
+     */
+    static int indexOfAny(final ByteBuffer buffer, final int from, final int to, final byte first,
+                          final byte second) {
+        final long firstPattern = (first & 0xFFL) * ONES;
+        final long secondPattern = (second & 0xFFL) * ONES;
+        final boolean bigEndian = buffer.order() == ByteOrder.BIG_ENDIAN;
+
+        int i = from;
+        for (; i <= to - Long.BYTES; i += Long.BYTES) {
+            final long word = buffer.getLong(i);
+            final long found = zeroBytes(word ^ firstPattern) | zeroBytes(word ^ secondPattern);
+            if (found != 0) {
+                // In a big endian word, the first byte is the highest
+                final int bits = bigEndian ? Long.numberOfLeadingZeros(found) : Long.numberOfTrailingZeros(found);
+                return i + (bits >>> 3);
+            }
+        }
+        for (; i < to; i++) {
+            final byte b = buffer.get(i);
+            if (b == first || b == second) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the last occurrence of a byte in a range of a buffer, 8 bytes at a time
+     *
+     * @param buffer the buffer
+     * @param from   the start of the range in the buffer (inclusive)
+     * @param to     the end of the range in the buffer (exclusive)
+     * @param value  the byte to find
+     * @return the index of the last byte found in the buffer, -1 if there is none
+     */
+    static int lastIndexOf(final ByteBuffer buffer, final int from, final int to, final byte value) {
+        final long pattern = (value & 0xFFL) * ONES;
+        final boolean bigEndian = buffer.order() == ByteOrder.BIG_ENDIAN;
+
+        int i = to;
+        for (; i - Long.BYTES >= from; i -= Long.BYTES) {
+            final long found = zeroBytes(buffer.getLong(i - Long.BYTES) ^ pattern);
+            if (found != 0) {
+                // In a big endian word, the last byte is the lowest
+                final int bits = bigEndian ? Long.numberOfTrailingZeros(found) : Long.numberOfLeadingZeros(found);
+                return i - 1 - (bits >>> 3);
+            }
+        }
+        for (i--; i >= from; i--) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Flags the zero bytes of a word
+     * <p>
+     * Adding 0x7F to the 7 low bits of a byte sets its high bit unless they are all 0, the sum never carries into
+     * the next byte. Combined with the high bit of the byte itself, the high bit is only left unset for a zero byte
+     *
+     * @param word the word
+     * @return a word with the high bit of each zero byte set, and nothing else
+     */
+    static long zeroBytes(final long word) {
+        return ~((word & LOW_BITS) + LOW_BITS | word | LOW_BITS);
+    }
+
+}
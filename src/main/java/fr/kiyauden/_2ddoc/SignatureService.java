@@ -2,27 +2,14 @@ package fr.kiyauden._2ddoc;
 
 import com.google.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.codec.binary.Base32;
-import org.bouncycastle.jcajce.provider.asymmetric.ec.SignatureSpi;
-import org.bouncycastle.jce.provider.BouncyCastleProvider;
 
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
-import java.security.Provider;
-import java.security.Security;
-import java.security.Signature;
-import java.security.SignatureException;
-import java.security.cert.CertificateExpiredException;
+import java.security.GeneralSecurityException;
 import java.security.cert.CertificateNotYetValidException;
-import java.security.cert.X509Certificate;
-import java.util.List;
-import java.util.Optional;
 
 import static fr.kiyauden._2ddoc.SignatureStatus.CERTIFICATE_INVALID;
 import static fr.kiyauden._2ddoc.SignatureStatus.INVALID;
 import static fr.kiyauden._2ddoc.SignatureStatus.NO_CERTIFICATE;
 import static fr.kiyauden._2ddoc.SignatureStatus.VALID;
-import static java.security.Signature.getInstance;
 
 /**
  * Implementation of {@link ISignatureService}
@@ -32,63 +19,117 @@ import static java.security.Signature.getInstance;
 public class SignatureService implements ISignatureService {
 
     /**
-     * Algorithm used to verify the 2D-DOC signature
-     * <p>
-     * Provided by <a href="https://www.bouncycastle.org/">Bouncy Castle</a>
+     * Position of the certification authority ID in the header, the same for every version
      */
-    private static final String SIGNATURE_ALGORITHM = "SHA256withECDSAinP1363Format";
+    private static final int CERTIFICATION_AUTHORITY_ID_START = 4;
+    /**
+     * Position of the certificate ID in the header, the same for every version
+     */
+    private static final int CERTIFICATE_ID_START = 8;
+    /**
+     * End of the certificate ID in the header (exclusive)
+     */
+    private static final int CERTIFICATE_ID_END = 12;
 
-    public SignatureService() {
-        initProviders();
-    }
+    /**
+     * Buffer reused by the verifications of a thread, receiving the signed characters
+     */
+    private static final ThreadLocal<byte[]> SIGNED_BUFFER = ThreadLocal.withInitial(() -> new byte[512]);
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public SignatureStatus verifySignature(final String headerAndData, final String signature,
-                                           final String certificateAuthorityId,
-                                           final String certificateId, final List<X509Certificate> certificates)
+    public SignatureStatus verifySignature(final CharSequence input, final int signedEnd, final int signatureStart,
+                                           final int signatureEnd, final TrustStore trustStore)
             throws SignatureVerificationException {
-
-        // Finds the suitable certificate in the list
-        final Optional<X509Certificate> certificateOptional = certificates.stream()
-                .filter(cer -> cer.getIssuerDN().getName().contains("CN=" + certificateAuthorityId))
-                .filter(cer -> cer.getSubjectDN().getName().contains("CN=" + certificateId))
-                .findFirst();
-
-        if (!certificateOptional.isPresent()) {
-            log.warn("No certificate found for certificate authority \"{}\" and certificate id \"{}\"",
-                     certificateAuthorityId, certificateId);
+        final long now = System.currentTimeMillis();
+        final TrustedCertificate certificate = trustStore.find(input, CERTIFICATION_AUTHORITY_ID_START,
+                                                               input, CERTIFICATE_ID_START, now);
+        if (certificate == null) {
+            if (log.isWarnEnabled()) {
+                log.warn("No certificate found for certificate authority \"{}\" and certificate id \"{}\"",
+                         input.subSequence(CERTIFICATION_AUTHORITY_ID_START, CERTIFICATE_ID_START),
+                         input.subSequence(CERTIFICATE_ID_START, CERTIFICATE_ID_END));
+            }
             return NO_CERTIFICATE;
         }
 
-        final X509Certificate certificate = certificateOptional.get();
+        if (input instanceof AsciiCharSequence) {
+            // Already bytes, given as is to the verifier
+            final AsciiCharSequence ascii = (AsciiCharSequence) input;
+            return verify(certificate, now, s -> ascii.update(s, 0, signedEnd), input, signatureStart,
+                          signatureEnd);
+        }
+
+        // The 2D-DOC is made of ASCII characters, they are copied as is into a reused buffer
+        byte[] signedBytes = SIGNED_BUFFER.get();
+        if (signedBytes.length < signedEnd) {
+            signedBytes = new byte[signedEnd];
+            SIGNED_BUFFER.set(signedBytes);
+        }
+        for (int i = 0; i < signedEnd; i++) {
+            final char c = input.charAt(i);
+            if (c > 0x7F) {
+                // Not ASCII, encoded with the default charset of the platform
+                final byte[] encoded = input.subSequence(0, signedEnd).toString().getBytes();
+                return verify(certificate, now, s -> s.update(encoded, 0, encoded.length), input, signatureStart,
+                              signatureEnd);
+            }
+            signedBytes[i] = (byte) c;
+        }
+        final byte[] copied = signedBytes;
+        return verify(certificate, now, s -> s.update(copied, 0, signedEnd), input, signatureStart, signatureEnd);
+    }
 
+    /**
+     * Checks the validity of the certificate and verifies the signature
+     *
+     * @param certificate    the certificate
+     * @param now            the time of the verification, in epoch milliseconds
+     * @param signedData     the signed data
+     * @param signature      the input containing the Base32 signature
+     * @param signatureStart the start of the signature (inclusive)
+     * @param signatureEnd   the end of the signature (exclusive)
+     * @return the status of the signature
+     * @throws SignatureVerificationException when the signature could not be verified
+     */
+    private SignatureStatus verify(final TrustedCertificate certificate, final long now,
+                                   final SignedData signedData, final CharSequence signature,
+                                   final int signatureStart, final int signatureEnd)
+            throws SignatureVerificationException {
         // Check if the certificate is still valid
         try {
-            certificate.checkValidity();
-        } catch (final CertificateExpiredException e) {
-            log.warn("A suitable certificate was found but is not valid anymore");
-            return CERTIFICATE_INVALID;
+            if (certificate.isExpiredAt(now)) {
+                log.warn("A suitable certificate was found but is not valid anymore");
+                return CERTIFICATE_INVALID;
+            }
         } catch (final CertificateNotYetValidException e) {
             throw new SignatureVerificationException(e);
         }
 
         // The signature is encoded in base 32, it needs to be decoded
-        final Base32 base32 = new Base32();
-        final byte[] signatureBytes = base32.decode(signature.getBytes());
+        final byte[] signatureBytes = Base32Decoder.threadLocalBuffer(signatureEnd - signatureStart);
+        final int signatureLength = Base32Decoder.decode(signature, signatureStart, signatureEnd, signatureBytes, 0);
+        if (signatureLength == Base32Decoder.INVALID) {
+            log.warn("The signature is not encoded in base 32");
+            return INVALID;
+        }
 
-        // Actual signature verification
+        // Actual signature verification, by the verifier of the certificate
+        final Verifier verifier;
+        try {
+            verifier = certificate.verifier();
+        } catch (final GeneralSecurityException e) {
+            throw new SignatureVerificationException(e);
+        }
         final boolean valid;
         try {
-            final Signature signatureVerification = getInstance(SIGNATURE_ALGORITHM);
-
-            signatureVerification.initVerify(certificate);
-            signatureVerification.update(headerAndData.getBytes());
-
-            valid = signatureVerification.verify(signatureBytes);
-        } catch (final NoSuchAlgorithmException | InvalidKeyException | SignatureException e) {
+            signedData.update(verifier);
+            valid = verifier.verify(signatureBytes, 0, signatureLength);
+        } catch (final RuntimeException e) {
+            // The verifier may be left in the middle of a verification
+            certificate.discardVerifier();
             throw new SignatureVerificationException(e);
         }
 
@@ -96,25 +137,14 @@ public class SignatureService implements ISignatureService {
     }
 
     /**
-     * Inits the provider
-     * <p>
-     * See <a href="https://github.com/bcgit/bc-java/issues/751">https://github.com/bcgit/bc-java/issues/751</a>
+     * Source of the signed data, gives the bytes to the verifier from where they are
      */
-    private void initProviders() {
-        Security.insertProviderAt(new BouncyCastleProvider(), 1);
-        Security.insertProviderAt(new BcP1363Provider(), 1);
-    }
-
-    /**
-     * Custom provider to use {@link SignatureService#SIGNATURE_ALGORITHM} algorithm
-     * <p>
-     * See <a href="https://github.com/bcgit/bc-java/issues/751">https://github.com/bcgit/bc-java/issues/751</a>
-     */
-    private static class BcP1363Provider extends Provider {
-        public BcP1363Provider() {
-            super("BcP1363", 1.0d, "Bouncy Castle - P1363 Bridge");
-            put("Signature.SHA256withECDSAinP1363Format", SignatureSpi.ecCVCDSA256.class.getName());
-        }
+    @FunctionalInterface
+    private interface SignedData {
+        /**
+         * @param verifier the verifier receiving the signed bytes
+         */
+        void update(Verifier verifier);
     }
 
 }
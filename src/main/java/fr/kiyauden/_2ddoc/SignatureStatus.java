@@ -24,7 +24,11 @@ public enum SignatureStatus {
     /**
      * A suitable certificate was found, but is not valid anymore
      */
-    CERTIFICATE_INVALID(false);
+    CERTIFICATE_INVALID(false),
+    /**
+     * The signature has not been verified, see {@link ParseOptions#isDeferSignature()}
+     */
+    NOT_VERIFIED(false);
 
     /**
      * The validity for the signature
@@ -29,4 +29,24 @@ class TextDataParser implements DataParser<String> {
         return TEXT;
     }
 
+    /**
+     * Decodes a text from a range of characters
+     * <p>
+     * A text can not be invalid, the range is only copied when it is not the whole input {@link String}
+     *
+     * @param input the input containing the text
+     * @param start the start of the text in the input (inclusive)
+     * @param end   the end of the text in the input (exclusive)
+     * @return the text
+     */
+    static String decode(final CharSequence input, final int start, final int end) {
+        if (start == end) {
+            return "";
+        }
+        if (start == 0 && end == input.length() && input instanceof String) {
+            return (String) input;
+        }
+        return input.subSequence(start, end).toString();
+    }
+
 }
@@ -1,29 +1,30 @@
 package fr.kiyauden._2ddoc;
 
-import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
-import java.time.LocalDate;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 
 import static fr.kiyauden._2ddoc.DataFormat.TIME;
 import static java.lang.String.format;
-import static java.time.format.DateTimeFormatter.ofPattern;
 
 /**
- * Parser implementation for {@link DataFormat#DATE}
+ * Parser implementation for {@link DataFormat#TIME}
  * <p>
- * The {@link String} input will be parsed to an {@link LocalDate}
+ * The {@link String} input will be parsed to an {@link LocalTime}
  */
 @Slf4j
 class TimeDataParser implements DataParser<LocalTime> {
+
     /**
-     * The formatter to parse the time
+     * Returned by {@link TimeDataParser#decodeSecondOfDay(CharSequence, int, int)} when the input is not a supported
+     * time
      */
-    private static final TimeFormater FORMATTER = new TimeFormater("HHmmss");
+    static final int INVALID = -1;
 
+    /**
+     * The length of a HHmmss time
+     */
+    private static final int LENGTH = 6;
 
     /**
      * {@inheritDoc}
@@ -31,16 +32,12 @@ class TimeDataParser implements DataParser<LocalTime> {
     @Override
     public LocalTime parse(final String timeString) throws ParsingException {
         log.debug("Parsing time \"{}\"", timeString);
-        try {
-            final LocalTime parsed = LocalTime.parse(timeString, FORMATTER.getFormatter());
-            log.trace("Formatter \"{}\", successfully parsed data \"{}\"", FORMATTER.getPattern(), timeString);
-            return parsed;
-        } catch (final DateTimeParseException e) {
-            // Ignore and try next formatter
-            log.trace("Formatter \"{}\", could not parse data \"{}\"", FORMATTER.getPattern(), timeString);
-            throw new ParsingException(
-                    format("Formatter \"%s\", could not parse data \"%s\"", FORMATTER.getPattern(), timeString));
+        final int secondOfDay = decodeSecondOfDay(timeString, 0, timeString.length());
+        if (secondOfDay == INVALID) {
+            log.trace("Formatter \"HHmmss\", could not parse data \"{}\"", timeString);
+            throw new ParsingException(format("Formatter \"HHmmss\", could not parse data \"%s\"", timeString));
         }
+        return LocalTime.ofSecondOfDay(secondOfDay);
     }
 
     /**
@@ -51,21 +48,48 @@ class TimeDataParser implements DataParser<LocalTime> {
         return TIME;
     }
 
-    @Value
-    private static class TimeFormater {
-        /**
-         * The pattern
-         */
-        String pattern;
-        /**
-         * The DateTimeFormatter created using the pattern
-         */
-        DateTimeFormatter formatter;
+    /**
+     * Decodes a HHmmss time from a range of characters
+     * <p>
+     * Like a {@link java.time.format.ResolverStyle#SMART} formatter, "240000" is resolved to midnight
+     *
+     * @param input the input containing the time
+     * @param start the start of the time in the input (inclusive)
+     * @param end   the end of the time in the input (exclusive)
+     * @return the second of the day, between 0 and 86399, or {@link TimeDataParser#INVALID} if the format is not
+     * supported
+     */
+    static int decodeSecondOfDay(final CharSequence input, final int start, final int end) {
+        if (end - start != LENGTH) {
+            return INVALID;
+        }
+        final int hours = decodeTwoDigits(input, start);
+        final int minutes = decodeTwoDigits(input, start + 2);
+        final int seconds = decodeTwoDigits(input, start + 4);
+        if (hours < 0 || minutes < 0 || minutes > 59 || seconds < 0 || seconds > 59) {
+            return INVALID;
+        }
+        if (hours == 24 && minutes == 0 && seconds == 0) {
+            return 0;
+        }
+        if (hours > 23) {
+            return INVALID;
+        }
+        return hours * 3600 + minutes * 60 + seconds;
+    }
 
-        TimeFormater(final String pattern) {
-            this.pattern = pattern;
-            formatter = ofPattern(pattern);
+    /**
+     * @param input the input containing the number
+     * @param start the start of the two digits
+     * @return the number or -1 if a character is not a digit
+     */
+    private static int decodeTwoDigits(final CharSequence input, final int start) {
+        final int tens = input.charAt(start) - '0';
+        final int units = input.charAt(start + 1) - '0';
+        if (tens < 0 || tens > 9 || units < 0 || units > 9) {
+            return -1;
         }
+        return tens * 10 + units;
     }
 
 }
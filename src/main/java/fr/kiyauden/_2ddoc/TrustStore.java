@@ -0,0 +1,318 @@
+package fr.kiyauden._2ddoc;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.naming.InvalidNameException;
+import javax.naming.ldap.LdapName;
+import javax.naming.ldap.Rdn;
+import javax.security.auth.x500.X500Principal;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.lang.String.format;
+
+/**
+ * The certificates trusted to verify the signature of the 2D-DOC, indexed by certification authority ID and
+ * certificate ID
+ * <p>
+ * A 2D-DOC gives in its header the ID of the certification authority and the ID of the certificate that signed it, they
+ * are the common names (CN) of the issuer and of the subject of the certificate. The names of each certificate are
+ * parsed once, when the store is built with {@link TrustStore#of(Collection)}, a lookup is then a binary search on the
+ * eight characters of the two IDs, without allocation
+ * <p>
+ * Several certificates can share the same IDs, e.g. during a rollover: the one valid at the time of the verification
+ * is used, the most recent one first
+ * <p>
+ * The signatures are verified by the {@link VerifierEngine} of the store,
+ * {@link VerifierEngine#BOUNCY_CASTLE_LIGHTWEIGHT} unless another one is given to
+ * {@link TrustStore#of(Collection, VerifierEngine)}
+ * <p>
+ * A store is immutable and thread safe, it is built once and shared by all the verifications
+ */
+@Slf4j
+public final class TrustStore {
+
+    /**
+     * Length of the certification authority ID and of the certificate ID in a header
+     */
+    private static final int ID_LENGTH = 4;
+
+    /**
+     * Key of IDs that no certificate can have
+     */
+    private static final long NO_KEY = -1;
+
+    /**
+     * Type of the common name attribute
+     */
+    private static final String COMMON_NAME_TYPE = "CN";
+
+    /**
+     * Prefix of the common name in a distinguished name, see {@link TrustStore#scanning(List)}
+     */
+    private static final String COMMON_NAME = "CN=";
+
+    /**
+     * Engine verifying the signatures when none is given
+     */
+    private static final VerifierEngine DEFAULT_ENGINE = VerifierEngine.BOUNCY_CASTLE_LIGHTWEIGHT;
+
+    /**
+     * Store without any certificate
+     */
+    private static final TrustStore EMPTY = new TrustStore(new long[0], new TrustedCertificate[0][], null,
+                                                           DEFAULT_ENGINE);
+
+    /**
+     * The keys of the IDs, sorted, see {@link TrustStore#key(CharSequence, int, CharSequence, int)}
+     */
+    private final long[] keys;
+    /**
+     * The certificates of each key, the most recent first
+     */
+    private final TrustedCertificate[][] certificates;
+    /**
+     * The scanned certificates, null when the store is indexed
+     */
+    private final List<X509Certificate> scanned;
+    /**
+     * The engine verifying the signatures
+     */
+    private final VerifierEngine engine;
+
+    private TrustStore(final long[] keys, final TrustedCertificate[][] certificates,
+                       final List<X509Certificate> scanned, final VerifierEngine engine) {
+        this.keys = keys;
+        this.certificates = certificates;
+        this.scanned = scanned;
+        this.engine = engine;
+    }
+
+    /**
+     * Builds a store from certificates
+     * <p>
+     * A certificate is indexed by each common name of its issuer and each common name of its subject that can be an ID
+     * of a header, four ASCII characters. A certificate without such names can not match any 2D-DOC, it is ignored
+     *
+     * @param certificates the certificates
+     * @return the store, verifying the signatures with {@link VerifierEngine#BOUNCY_CASTLE_LIGHTWEIGHT}
+     */
+    public static TrustStore of(final Collection<X509Certificate> certificates) {
+        return of(certificates, DEFAULT_ENGINE);
+    }
+
+    /**
+     * Builds a store from certificates, see {@link TrustStore#of(Collection)}
+     *
+     * @param certificates the certificates
+     * @param engine       the engine verifying the signatures
+     * @return the store
+     * @throws IllegalArgumentException when the engine is not available in this JVM, e.g.
+     *                                  {@link VerifierEngine#SUN_EC} before Java 9
+     */
+    public static TrustStore of(final Collection<X509Certificate> certificates, final VerifierEngine engine) {
+        if (!engine.isAvailable()) {
+            throw new IllegalArgumentException(format("Verifier engine %s is not available in this JVM", engine));
+        }
+        final Map<Long, List<TrustedCertificate>> byKey = new TreeMap<>();
+        for (final X509Certificate certificate : certificates) {
+            final TrustedCertificate trusted = TrustedCertificate.of(certificate, engine);
+            final List<String> authorityIds = commonNames(certificate.getIssuerX500Principal());
+            final List<String> certificateIds = commonNames(certificate.getSubjectX500Principal());
+            boolean indexed = false;
+            for (final String authorityId : authorityIds) {
+                for (final String certificateId : certificateIds) {
+                    final long key = key(authorityId, 0, certificateId, 0);
+                    if (key != NO_KEY) {
+                        byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(trusted);
+                        indexed = true;
+                    }
+                }
+            }
+            if (!indexed) {
+                log.warn("Certificate {} has no common names usable as IDs, it is ignored",
+                         certificate.getSubjectX500Principal());
+            }
+        }
+
+        final long[] keys = new long[byKey.size()];
+        final TrustedCertificate[][] trusted = new TrustedCertificate[byKey.size()][];
+        int i = 0;
+        for (final Map.Entry<Long, List<TrustedCertificate>> entry : byKey.entrySet()) {
+            final List<TrustedCertificate> sameIds = entry.getValue();
+            sameIds.sort(Comparator.comparingLong(TrustedCertificate::getNotBefore).reversed());
+            keys[i] = entry.getKey();
+            trusted[i] = sameIds.toArray(new TrustedCertificate[0]);
+            i++;
+        }
+        log.debug("Trust store built with {} certificates for {} IDs", certificates.size(), keys.length);
+        return new TrustStore(keys, trusted, null, engine);
+    }
+
+    /**
+     * Creates a store scanning a list of certificates at each lookup
+     * <p>
+     * The distinguished names of the certificates are rendered at each lookup and searched for "CN=" followed by the
+     * ID, the first matching certificate is used, its validity is checked by {@link X509Certificate#checkValidity()}.
+     * Used by the methods taking a {@link List} of certificates, the list can change between two calls. The signatures
+     * are verified with {@link VerifierEngine#BOUNCY_CASTLE_LIGHTWEIGHT}
+     *
+     * @param certificates the certificates
+     * @return the store
+     */
+    static TrustStore scanning(final List<X509Certificate> certificates) {
+        return certificates.isEmpty() ? EMPTY : new TrustStore(null, null, certificates, DEFAULT_ENGINE);
+    }
+
+    /**
+     * Finds the certificate of a certification authority ID and a certificate ID
+     *
+     * @param authorityId        the input containing the certification authority ID
+     * @param authorityIdStart   the start of the certification authority ID
+     * @param certificateId      the input containing the certificate ID
+     * @param certificateIdStart the start of the certificate ID
+     * @param now                the time of the verification, in epoch milliseconds
+     * @return the certificate valid at that time, the most recent one when none is, null if there is none
+     */
+    TrustedCertificate find(final CharSequence authorityId, final int authorityIdStart,
+                            final CharSequence certificateId, final int certificateIdStart, final long now) {
+        if (scanned != null) {
+            final X509Certificate certificate = scan(scanned, authorityId, authorityIdStart, certificateId,
+                                                     certificateIdStart);
+            return certificate == null ? null : TrustedCertificate.unwindowed(certificate, engine);
+        }
+
+        final long key = key(authorityId, authorityIdStart, certificateId, certificateIdStart);
+        final int index = key == NO_KEY ? -1 : Arrays.binarySearch(keys, key);
+        if (index < 0) {
+            return null;
+        }
+        final TrustedCertificate[] sameIds = certificates[index];
+        for (final TrustedCertificate trusted : sameIds) {
+            if (trusted.isValidAt(now)) {
+                return trusted;
+            }
+        }
+        return sameIds[0];
+    }
+
+    /**
+     * Packs a certification authority ID and a certificate ID in a long, one byte per character
+     *
+     * @param authorityId        the input containing the certification authority ID
+     * @param authorityIdStart   the start of the certification authority ID
+     * @param certificateId      the input containing the certificate ID
+     * @param certificateIdStart the start of the certificate ID
+     * @return the key, {@link TrustStore#NO_KEY} when an ID is too short or not ASCII
+     */
+    private static long key(final CharSequence authorityId, final int authorityIdStart,
+                            final CharSequence certificateId, final int certificateIdStart) {
+        if (authorityId.length() - authorityIdStart < ID_LENGTH
+                || certificateId.length() - certificateIdStart < ID_LENGTH) {
+            return NO_KEY;
+        }
+        long key = 0;
+        for (int i = 0; i < ID_LENGTH; i++) {
+            final char c = authorityId.charAt(authorityIdStart + i);
+            if (c > 0x7F) {
+                return NO_KEY;
+            }
+            key = key << 8 | c;
+        }
+        for (int i = 0; i < ID_LENGTH; i++) {
+            final char c = certificateId.charAt(certificateIdStart + i);
+            if (c > 0x7F) {
+                return NO_KEY;
+            }
+            key = key << 8 | c;
+        }
+        return key;
+    }
+
+    /**
+     * Parses the common names of a distinguished name that can be an ID
+     *
+     * @param principal the distinguished name
+     * @return the common names of {@link TrustStore#ID_LENGTH} characters
+     */
+    private static List<String> commonNames(final X500Principal principal) {
+        final List<String> commonNames = new ArrayList<>();
+        try {
+            for (final Rdn rdn : new LdapName(principal.getName()).getRdns()) {
+                if (COMMON_NAME_TYPE.equalsIgnoreCase(rdn.getType())) {
+                    final String value = rdn.getValue().toString();
+                    if (value.length() == ID_LENGTH) {
+                        commonNames.add(value);
+                    }
+                }
+            }
+        } catch (final InvalidNameException e) {
+            throw new IllegalArgumentException(format("Invalid distinguished name %s", principal), e);
+        }
+        return commonNames;
+    }
+
+    /**
+     * Finds the first certificate of a certification authority ID and a certificate ID in a list
+     *
+     * @param certificates       the certificates
+     * @param authorityId        the input containing the certification authority ID
+     * @param authorityIdStart   the start of the certification authority ID
+     * @param certificateId      the input containing the certificate ID
+     * @param certificateIdStart the start of the certificate ID
+     * @return the first matching certificate or null if there is none
+     */
+    private static X509Certificate scan(final List<X509Certificate> certificates, final CharSequence authorityId,
+                                        final int authorityIdStart, final CharSequence certificateId,
+                                        final int certificateIdStart) {
+        for (final X509Certificate certificate : certificates) {
+            if (containsCommonName(certificate.getIssuerDN().getName(), authorityId, authorityIdStart,
+                                   Math.min(authorityIdStart + ID_LENGTH, authorityId.length()))
+                    && containsCommonName(certificate.getSubjectDN().getName(), certificateId, certificateIdStart,
+                                          Math.min(certificateIdStart + ID_LENGTH, certificateId.length()))) {
+                return certificate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if a distinguished name contains "CN=" followed by a value, without concatenating them
+     *
+     * @param name  the distinguished name
+     * @param input the input containing the value
+     * @param start the start of the value (inclusive)
+     * @param end   the end of the value (exclusive)
+     * @return TRUE if the name contains the value, FALSE otherwise
+     */
+    private static boolean containsCommonName(final String name, final CharSequence input, final int start,
+                                              final int end) {
+        final int length = end - start;
+        int from = name.indexOf(COMMON_NAME);
+        while (from >= 0) {
+            final int valueStart = from + COMMON_NAME.length();
+            if (valueStart + length <= name.length() && regionMatches(name, valueStart, input, start, length)) {
+                return true;
+            }
+            from = name.indexOf(COMMON_NAME, from + 1);
+        }
+        return false;
+    }
+
+    private static boolean regionMatches(final String name, final int nameStart, final CharSequence input,
+                                         final int start, final int length) {
+        for (int i = 0; i < length; i++) {
+            if (name.charAt(nameStart + i) != input.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
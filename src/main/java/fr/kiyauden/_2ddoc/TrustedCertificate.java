@@ -0,0 +1,182 @@
+package fr.kiyauden._2ddoc;
+
+import lombok.Getter;
+
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.cert.CertificateExpiredException;
+import java.security.cert.CertificateNotYetValidException;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+import java.util.Set;
+
+import static java.lang.String.format;
+
+/**
+ * A certificate of a {@link TrustStore}, with its validity window read once
+ * <p>
+ * {@link X509Certificate#checkValidity()} creates a {@link Date} and compares it to the dates of the certificate at
+ * each call, the window is here kept as two longs and compared to the time of the verification
+ * <p>
+ * The public key is decoded by the {@link VerifierEngine} at the first verification, and each thread keeps a
+ * {@link Verifier} initialized with it: after the first verification of a thread, verifying a 2D-DOC is only an update
+ * and a verify
+ */
+final class TrustedCertificate {
+
+    /**
+     * OID of the key usage extension
+     */
+    private static final String KEY_USAGE_OID = "2.5.29.15";
+
+    /**
+     * The certificate
+     */
+    @Getter
+    private final X509Certificate certificate;
+    /**
+     * Boolean indicating if the validity window is read from the certificate
+     * <p>
+     * TRUE when it is kept in {@link TrustedCertificate#notBefore} and {@link TrustedCertificate#notAfter}, FALSE
+     * when {@link X509Certificate#checkValidity()} is called at each check
+     */
+    private final boolean windowed;
+    /**
+     * Start of the validity of the certificate, in epoch milliseconds (inclusive)
+     */
+    @Getter
+    private final long notBefore;
+    /**
+     * End of the validity of the certificate, in epoch milliseconds (inclusive)
+     */
+    private final long notAfter;
+    /**
+     * The engine verifying the signatures
+     */
+    private final VerifierEngine engine;
+    /**
+     * The factory of the verifiers of the public key, null until the first verification
+     */
+    private volatile VerifierEngine.VerifierFactory verifierFactory;
+    /**
+     * The verifiers of the threads, initialized with the public key, null for an unwindowed certificate
+     */
+    private final ThreadLocal<Verifier> verifiers;
+
+    private TrustedCertificate(final X509Certificate certificate, final VerifierEngine engine,
+                               final boolean windowed, final long notBefore, final long notAfter) {
+        this.certificate = certificate;
+        this.engine = engine;
+        this.windowed = windowed;
+        this.notBefore = notBefore;
+        this.notAfter = notAfter;
+        verifiers = windowed ? new ThreadLocal<>() : null;
+    }
+
+    /**
+     * @param certificate the certificate
+     * @param engine      the engine verifying the signatures
+     * @return the certificate, with its validity window read once
+     */
+    static TrustedCertificate of(final X509Certificate certificate, final VerifierEngine engine) {
+        return new TrustedCertificate(certificate, engine, true, certificate.getNotBefore().getTime(),
+                                      certificate.getNotAfter().getTime());
+    }
+
+    /**
+     * The certificate is looked up again at each verification, its verifiers are not kept
+     *
+     * @param certificate the certificate
+     * @param engine      the engine verifying the signatures
+     * @return the certificate, its validity is checked by {@link X509Certificate#checkValidity()}
+     */
+    static TrustedCertificate unwindowed(final X509Certificate certificate, final VerifierEngine engine) {
+        return new TrustedCertificate(certificate, engine, false, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param now the time, in epoch milliseconds
+     * @return TRUE if the certificate is valid at that time, FALSE otherwise or when its window is not read
+     */
+    boolean isValidAt(final long now) {
+        return windowed && notBefore <= now && now <= notAfter;
+    }
+
+    /**
+     * Checks if the certificate is expired
+     *
+     * @param now the time, in epoch milliseconds
+     * @return TRUE if the certificate is expired at that time, FALSE if it is valid
+     * @throws CertificateNotYetValidException when the certificate is not valid yet at that time
+     */
+    boolean isExpiredAt(final long now) throws CertificateNotYetValidException {
+        if (!windowed) {
+            try {
+                certificate.checkValidity();
+                return false;
+            } catch (final CertificateExpiredException e) {
+                return true;
+            }
+        }
+        if (now < notBefore) {
+            throw new CertificateNotYetValidException(format("Certificate not valid before %s", new Date(notBefore)));
+        }
+        return now > notAfter;
+    }
+
+    /**
+     * Gives the verifier of the thread, initialized with the public key of the certificate
+     * <p>
+     * A verifier is reset after a verification, it is given as is to the next one. It must be discarded with
+     * {@link TrustedCertificate#discardVerifier()} when the verification failed
+     *
+     * @return the initialized verifier
+     * @throws GeneralSecurityException when the engine is not available, or the key of the certificate can not
+     *                                  verify a signature
+     */
+    Verifier verifier() throws GeneralSecurityException {
+        if (verifiers == null) {
+            return getVerifierFactory().newVerifier();
+        }
+
+        Verifier verifier = verifiers.get();
+        if (verifier == null) {
+            verifier = getVerifierFactory().newVerifier();
+            verifiers.set(verifier);
+        }
+        return verifier;
+    }
+
+    /**
+     * Discards the verifier of the thread, a new one is initialized at the next verification
+     */
+    void discardVerifier() {
+        if (verifiers != null) {
+            verifiers.remove();
+        }
+    }
+
+    /**
+     * Decodes the public key once, with the checks done by
+     * {@link java.security.Signature#initVerify(java.security.cert.Certificate)}
+     *
+     * @return the factory of the verifiers of the public key
+     * @throws InvalidKeyException when the key of the certificate can not verify a signature
+     */
+    private VerifierEngine.VerifierFactory getVerifierFactory() throws InvalidKeyException {
+        VerifierEngine.VerifierFactory factory = verifierFactory;
+        if (factory == null) {
+            final Set<String> criticalExtensions = certificate.getCriticalExtensionOIDs();
+            final boolean[] keyUsage = certificate.getKeyUsage();
+            if (criticalExtensions != null && criticalExtensions.contains(KEY_USAGE_OID) && keyUsage != null
+                    && !keyUsage[0]) {
+                throw new InvalidKeyException("Wrong key usage");
+            }
+
+            factory = engine.factory(certificate.getPublicKey());
+            verifierFactory = factory;
+        }
+        return factory;
+    }
+
+}
@@ -1,9 +1,9 @@
 package fr.kiyauden._2ddoc;
 
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.codec.binary.Base32;
 
 import static fr.kiyauden._2ddoc.DataFormat.URL;
+import static java.lang.String.format;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
@@ -16,15 +16,21 @@ class URLDataParser implements DataParser<String> {
 
     /**
      * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException when the data is not encoded in base 32
      */
     @Override
     public String parse(final String data) {
         log.debug("Parsing data value \"{}\"", data);
 
-        final Base32 base32 = new Base32();
-        final byte[] decoded = base32.decode(data);
+        final byte[] decoded = Base32Decoder.threadLocalBuffer(data.length());
+        final int length = Base32Decoder.decode(data, 0, data.length(), decoded, 0);
+        if (length == Base32Decoder.INVALID) {
+            log.warn("Could not parse data \"{}\", not encoded in base 32", data);
+            throw new IllegalArgumentException(format("Could not parse data \"%s\", not encoded in base 32", data));
+        }
 
-        final String parsed = new String(decoded, UTF_8);
+        final String parsed = new String(decoded, 0, length, UTF_8);
         log.debug("Data value parsed as \"{}\"", parsed);
         return parsed;
     }
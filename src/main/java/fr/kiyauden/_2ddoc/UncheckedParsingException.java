@@ -0,0 +1,21 @@
+package fr.kiyauden._2ddoc;
+
+/**
+ * Unchecked wrapper of a {@link ParsingException}
+ * <p>
+ * Thrown when a data of a lazily parsed 2D-DOC can not be decoded on read, see
+ * {@link Parser#parseLazily(String, java.util.List)}
+ */
+public class UncheckedParsingException extends RuntimeException {
+    UncheckedParsingException(final ParsingException cause) {
+        super(cause);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized ParsingException getCause() {
+        return (ParsingException) super.getCause();
+    }
+}
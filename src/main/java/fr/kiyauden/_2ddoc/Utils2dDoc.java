@@ -15,4 +15,8 @@ public class Utils2dDoc {
         return INJECTOR.getInstance(Parser.class);
     }
 
+    public static IncrementalParser newIncrementalParser() {
+        return INJECTOR.getInstance(IncrementalParser.class);
+    }
+
 }
@@ -0,0 +1,39 @@
+package fr.kiyauden._2ddoc;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Verifies the signatures made with the key of a certificate
+ * <p>
+ * The signed bytes are given with the update methods, then {@link Verifier#verify(byte[], int, int)} checks the
+ * signature and resets the verifier for the next one. An instance is not thread safe
+ */
+interface Verifier {
+
+    /**
+     * Adds signed bytes
+     *
+     * @param bytes  the array of the bytes
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     */
+    void update(byte[] bytes, int offset, int length);
+
+    /**
+     * Adds the remaining bytes of a buffer, the buffer is moved to its limit
+     *
+     * @param bytes the buffer of the bytes
+     */
+    void update(ByteBuffer bytes);
+
+    /**
+     * Verifies the signature of the added bytes, and resets the verifier
+     *
+     * @param signature the array of the signature, the r and s halves of the same length one after the other
+     * @param offset    the index of the first byte of the signature
+     * @param length    the number of bytes of the signature
+     * @return TRUE if the signature is valid, FALSE otherwise, or when it does not have the length of the key
+     */
+    boolean verify(byte[] signature, int offset, int length);
+
+}
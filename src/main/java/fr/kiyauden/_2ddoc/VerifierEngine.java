@@ -0,0 +1,256 @@
+package fr.kiyauden._2ddoc;
+
+import org.bouncycastle.crypto.params.AsymmetricKeyParameter;
+import org.bouncycastle.crypto.params.ECDomainParameters;
+import org.bouncycastle.crypto.params.ECPublicKeyParameters;
+import org.bouncycastle.jcajce.provider.asymmetric.util.ECUtil;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.math.ec.ECCurve;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.custom.sec.SecP256R1Curve;
+import org.bouncycastle.util.encoders.Hex;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.Provider;
+import java.security.PublicKey;
+import java.security.Security;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECFieldFp;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.EllipticCurve;
+
+/**
+ * The implementations of the verification of the SHA-256 ECDSA signatures of the 2D-DOC, chosen when building a
+ * {@link TrustStore} with {@link TrustStore#of(java.util.Collection, VerifierEngine)}
+ * <p>
+ * None of them installs a provider in the {@link java.security.Security} list of the JVM
+ */
+public enum VerifierEngine {
+
+    /**
+     * The "SHA256withECDSAinP1363Format" signature of the SunEC provider of the JDK, from Java 9
+     * <p>
+     * Does not load Bouncy Castle to verify the signatures. Not available before Java 9, a {@link TrustStore} can not
+     * be built with it
+     */
+    SUN_EC {
+        @Override
+        boolean isAvailable() {
+            return SunEcHolder.PROVIDER != null;
+        }
+
+        @Override
+        VerifierFactory factory(final PublicKey key) throws InvalidKeyException {
+            checkEC(key);
+            return () -> new JcaVerifier(Signature.getInstance(P1363_ALGORITHM, SunEcHolder.PROVIDER), key);
+        }
+    },
+    /**
+     * The "SHA256withPLAIN-ECDSA" signature of a Bouncy Castle provider kept by the library
+     */
+    BOUNCY_CASTLE_JCA {
+        @Override
+        VerifierFactory factory(final PublicKey key) throws InvalidKeyException {
+            checkEC(key);
+            return () -> new JcaVerifier(Signature.getInstance(PLAIN_ALGORITHM, BouncyCastleHolder.PROVIDER), key);
+        }
+    },
+    /**
+     * The lightweight classes of Bouncy Castle, see {@link EcdsaVerifier}
+     * <p>
+     * The default one, the fastest to verify a signature once initialized without keeping more than the key
+     */
+    BOUNCY_CASTLE_LIGHTWEIGHT {
+        @Override
+        VerifierFactory factory(final PublicKey key) throws InvalidKeyException {
+            final ECPublicKeyParameters parameters = decode(key);
+            return () -> new EcdsaVerifier(parameters);
+        }
+    },
+    /**
+     * {@link VerifierEngine#BOUNCY_CASTLE_LIGHTWEIGHT}, with comb tables for the P-256 keys
+     * <p>
+     * The tables of the most recently used keys are kept within a memory budget of
+     * {@link VerifierEngine#PRECOMPUTED_MEMORY_BUDGET} bytes, shared by all the stores of this engine. It makes the
+     * verifications faster when most of the 2D-DOC are signed by a few certificates
+     */
+    BOUNCY_CASTLE_PRECOMPUTED {
+        @Override
+        VerifierFactory factory(final PublicKey key) throws InvalidKeyException {
+            final ECPublicKeyParameters parameters = decode(key);
+            if (parameters.getParameters() != P256Holder.DOMAIN) {
+                return () -> new EcdsaVerifier(parameters);
+            }
+            return () -> new EcdsaVerifier(parameters, PrecomputedHolder.KEYS);
+        }
+    };
+
+    /**
+     * Maximum size in bytes of the comb tables of {@link VerifierEngine#BOUNCY_CASTLE_PRECOMPUTED}, 256 P-256 keys
+     */
+    static final int PRECOMPUTED_MEMORY_BUDGET = 256 * PrecomputedKeys.P256_TABLE_SIZE;
+
+    /**
+     * Name of the signature in the P1363 format in the JDK
+     */
+    private static final String P1363_ALGORITHM = "SHA256withECDSAinP1363Format";
+    /**
+     * Name of the signature in the P1363 format in Bouncy Castle
+     */
+    private static final String PLAIN_ALGORITHM = "SHA256withPLAIN-ECDSA";
+    /**
+     * Name of the EC provider of the JDK
+     */
+    private static final String SUN_EC_PROVIDER = "SunEC";
+
+    /**
+     * Checks if the engine can verify the signatures in this JVM, its algorithm is resolved once
+     *
+     * @return TRUE if the engine is available, FALSE otherwise
+     */
+    boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * Prepares the creation of the verifiers of a key, the key is decoded once for all of them
+     *
+     * @param key the public key of a certificate
+     * @return the factory of the verifiers of the key
+     * @throws InvalidKeyException when the key is not an EC one
+     */
+    abstract VerifierFactory factory(PublicKey key) throws InvalidKeyException;
+
+    /**
+     * Decodes a key for the Bouncy Castle lightweight classes
+     * <p>
+     * A P-256 key, the curve of the 2D-DOC, is decoded on the optimized curve of Bouncy Castle without looking up the
+     * curve among all the known ones
+     *
+     * @param key the public key of a certificate
+     * @return the decoded key, on {@link P256Holder#DOMAIN} for a P-256 key
+     * @throws InvalidKeyException when the key is not an EC one
+     */
+    private static ECPublicKeyParameters decode(final PublicKey key) throws InvalidKeyException {
+        checkEC(key);
+        final ECPublicKey ecKey = (ECPublicKey) key;
+        if (P256Holder.isP256(ecKey.getParams())) {
+            final ECPoint point = P256Holder.DOMAIN.getCurve().validatePoint(ecKey.getW().getAffineX(),
+                                                                              ecKey.getW().getAffineY());
+            return new ECPublicKeyParameters(point, P256Holder.DOMAIN);
+        }
+
+        final AsymmetricKeyParameter decoded = ECUtil.generatePublicKeyParameter(key);
+        if (!(decoded instanceof ECPublicKeyParameters)) {
+            throw new InvalidKeyException("Not an EC public key");
+        }
+        return (ECPublicKeyParameters) decoded;
+    }
+
+    /**
+     * Finds a signature algorithm in a provider
+     *
+     * @param provider  the provider, null when it is not installed
+     * @param algorithm the name of the signature algorithm
+     * @return the provider, or null when it is null or does not have the algorithm
+     */
+    static Provider withSignature(final Provider provider, final String algorithm) {
+        return provider != null && provider.getService("Signature", algorithm) != null ? provider : null;
+    }
+
+    /**
+     * @param key the public key of a certificate
+     * @throws InvalidKeyException when the key is not an EC one
+     */
+    private static void checkEC(final PublicKey key) throws InvalidKeyException {
+        if (!(key instanceof ECPublicKey)) {
+            throw new InvalidKeyException("Not an EC public key");
+        }
+    }
+
+    /**
+     * Creates the verifiers of a key
+     */
+    @FunctionalInterface
+    interface VerifierFactory {
+        /**
+         * @return a new verifier, initialized with the key
+         * @throws GeneralSecurityException when the engine is not available or the key is refused
+         */
+        Verifier newVerifier() throws GeneralSecurityException;
+    }
+
+    /**
+     * Holder of the P-256 curve of Bouncy Castle, created at the first P-256 key of
+     * {@link VerifierEngine#BOUNCY_CASTLE_LIGHTWEIGHT}
+     */
+    private static final class P256Holder {
+        /**
+         * The curve, with its optimized arithmetic
+         * <p>
+         * Created directly, {@link org.bouncycastle.crypto.ec.CustomNamedCurves} creates the tables of all the curves
+         * it knows the first time it is used
+         */
+        private static final ECCurve CURVE = new SecP256R1Curve();
+        /**
+         * The domain of the keys
+         */
+        private static final ECDomainParameters DOMAIN = new ECDomainParameters(
+                CURVE, CURVE.decodePoint(Hex.decode("04"
+                        + "6B17D1F2E12C4247F8BCE6E563A440F277037D812DEB33A0F4A13945D898C296"
+                        + "4FE342E2FE1A7F9B8EE7EB4A7C0F9E162BCE33576B315ECECBB6406837BF51F5")),
+                CURVE.getOrder(), CURVE.getCofactor());
+
+        /**
+         * @param spec the parameters of a JCA key
+         * @return TRUE if they are the ones of the P-256 curve, FALSE otherwise
+         */
+        private static boolean isP256(final ECParameterSpec spec) {
+            final EllipticCurve curve = spec.getCurve();
+            return curve.getField() instanceof ECFieldFp
+                    && ((ECFieldFp) curve.getField()).getP().equals(CURVE.getField().getCharacteristic())
+                    && curve.getA().equals(CURVE.getA().toBigInteger())
+                    && curve.getB().equals(CURVE.getB().toBigInteger())
+                    && spec.getOrder().equals(DOMAIN.getN())
+                    && BigInteger.valueOf(spec.getCofactor()).equals(DOMAIN.getH())
+                    && spec.getGenerator().getAffineX().equals(DOMAIN.getG().getAffineXCoord().toBigInteger())
+                    && spec.getGenerator().getAffineY().equals(DOMAIN.getG().getAffineYCoord().toBigInteger());
+        }
+    }
+
+    /**
+     * Holder of the comb tables of {@link VerifierEngine#BOUNCY_CASTLE_PRECOMPUTED}
+     */
+    private static final class PrecomputedHolder {
+        /**
+         * The tables of the P-256 keys
+         */
+        private static final PrecomputedKeys KEYS = new PrecomputedKeys(PRECOMPUTED_MEMORY_BUDGET,
+                                                                        PrecomputedKeys.P256_TABLE_SIZE);
+    }
+
+    /**
+     * Holder of the SunEC provider, resolved at the first use of {@link VerifierEngine#SUN_EC}
+     */
+    private static final class SunEcHolder {
+        /**
+         * The provider, null when it has no {@link VerifierEngine#P1363_ALGORITHM} signature, before Java 9
+         */
+        private static final Provider PROVIDER = withSignature(Security.getProvider(SUN_EC_PROVIDER),
+                                                               P1363_ALGORITHM);
+    }
+
+    /**
+     * Holder of the Bouncy Castle provider, created at the first use of {@link VerifierEngine#BOUNCY_CASTLE_JCA}
+     */
+    private static final class BouncyCastleHolder {
+        /**
+         * The provider, given to {@link Signature#getInstance(String, Provider)} without being installed
+         */
+        private static final Provider PROVIDER = new BouncyCastleProvider();
+    }
+
+}
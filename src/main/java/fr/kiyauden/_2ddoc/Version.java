@@ -2,13 +2,9 @@ package fr.kiyauden._2ddoc;
 
 import lombok.Getter;
 
-import java.util.Map;
 import java.util.Optional;
 
-import static java.util.Arrays.stream;
 import static java.util.Optional.ofNullable;
-import static java.util.function.Function.identity;
-import static java.util.stream.Collectors.toMap;
 import static lombok.AccessLevel.PRIVATE;
 
 /**
@@ -32,12 +28,14 @@ public enum Version {
     private final int headerLength;
 
     /**
-     * Map used to find a version by its ID
+     * Table used to find a version by its ID, indexed by {@link IdentifierIndex#of(char, char)}
      */
-    private static final Map<String, Version> BY_VERSION;
+    private static final Version[] BY_VERSION = new Version[IdentifierIndex.SIZE];
 
     static {
-        BY_VERSION = stream(Version.values()).collect(toMap(Version::getVersionString, identity()));
+        for (final Version version : values()) {
+            BY_VERSION[IdentifierIndex.of(version.getVersionString())] = version;
+        }
     }
 
     Version(final String versionString, final int headerLength) {
@@ -52,7 +50,22 @@ public enum Version {
      * @return an optional containing the found version or an empty optional if nothing is found
      */
     static Optional<Version> findByVersionString(final String version) {
-        return ofNullable(BY_VERSION.get(version));
+        final int index = IdentifierIndex.of(version);
+        return index < 0 ? Optional.empty() : ofNullable(BY_VERSION[index]);
+    }
+
+    /**
+     * Finds a version by the two characters of its version string
+     * <p>
+     * Allocation free alternative to {@link Version#findByVersionString(String)}
+     *
+     * @param first  the first character of the version string
+     * @param second the second character of the version string
+     * @return the found version or null if nothing is found
+     */
+    static Version findByVersionChars(final char first, final char second) {
+        final int index = IdentifierIndex.of(first, second);
+        return index < 0 ? null : BY_VERSION[index];
     }
 
 }
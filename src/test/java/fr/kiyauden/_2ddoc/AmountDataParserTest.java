@@ -3,6 +3,16 @@ package fr.kiyauden._2ddoc;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static fr.kiyauden._2ddoc.DataFormat.AMOUNT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -38,4 +48,61 @@ class AmountDataParserTest {
         );
     }
 
+    @Test
+    void parse_whenFormatIsNotFrench_shouldThrowException() {
+        assertThrows(ParsingException.class, () -> parser.parse("9.99"));
+        assertThrows(ParsingException.class, () -> parser.parse("9,999"));
+        assertThrows(ParsingException.class, () -> parser.parse(",99"));
+        assertThrows(ParsingException.class, () -> parser.parse(""));
+    }
+
+    @Test
+    void decodeCents_shouldDecodeTheAmountInsideTheInput() {
+        final String input = "1D15798,54\u001D";
+        assertEquals(1579854L, AmountDataParser.decodeCents(input, 2, 10));
+        assertEquals(900L, AmountDataParser.decodeCents("9", 0, 1));
+        assertEquals(-310L, AmountDataParser.decodeCents("-3,1", 0, 4));
+        assertEquals(AmountDataParser.INVALID, AmountDataParser.decodeCents("--3", 0, 3));
+    }
+
+    @Test
+    void toBigDecimal_shouldBeExact() {
+        assertEquals(new BigDecimal("15798.54"), AmountDataParser.toBigDecimal(1579854L));
+        assertEquals(new BigDecimal("-0.10"), AmountDataParser.toBigDecimal(-10L));
+    }
+
+    @Test
+    void parse_whenUsedConcurrently_shouldParseEveryAmount() throws InterruptedException, ExecutionException {
+        final int threads = 8;
+        final int iterations = 5_000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            final List<Future<Integer>> failures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final long seed = t;
+                failures.add(executor.submit(() -> {
+                    start.await();
+                    final Random random = new Random(seed);
+                    int failed = 0;
+                    for (int i = 0; i < iterations; i++) {
+                        final long cents = random.nextInt(100_000_000) - 50_000_000;
+                        final String amount = String.format("%s%d,%02d", cents < 0 ? "-" : "", Math.abs(cents) / 100,
+                                                            Math.abs(cents) % 100);
+                        if (parser.parse(amount) != cents / 100d) {
+                            failed++;
+                        }
+                    }
+                    return failed;
+                }));
+            }
+            start.countDown();
+            for (final Future<Integer> failure : failures) {
+                assertEquals(0, failure.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
 }
@@ -0,0 +1,109 @@
+package fr.kiyauden._2ddoc;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class AsciiCharSequenceTest {
+
+    @Test
+    void view_withHeapBuffer_shouldReadFromPositionToLimit() {
+        final ByteBuffer buffer = ByteBuffer.wrap("xxDC04FR00yy".getBytes(US_ASCII));
+        buffer.position(2);
+        buffer.limit(10);
+
+        final AsciiCharSequence ascii = new AsciiCharSequence(buffer);
+
+        assertEquals(8, ascii.length());
+        assertEquals('D', ascii.charAt(0));
+        assertEquals('0', ascii.charAt(7));
+        assertEquals("04FR", ascii.subSequence(2, 6));
+        assertEquals("DC04FR00", ascii.toString());
+        // The buffer is not modified
+        assertEquals(2, buffer.position());
+    }
+
+    @Test
+    void view_withSlicedBuffer_shouldUseTheArrayOffset() {
+        final ByteBuffer buffer = ByteBuffer.wrap("xxDC04FR00".getBytes(US_ASCII));
+        buffer.position(2);
+
+        final AsciiCharSequence ascii = new AsciiCharSequence(buffer.slice());
+
+        assertEquals("DC04FR00", ascii.toString());
+    }
+
+    @Test
+    void view_withDirectBuffer_shouldReadTheBytes() {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(12);
+        buffer.put("xxDC04FR00yy".getBytes(US_ASCII));
+        buffer.position(2);
+        buffer.limit(10);
+
+        final AsciiCharSequence ascii = new AsciiCharSequence(buffer);
+
+        assertEquals('D', ascii.charAt(0));
+        assertEquals("04FR", ascii.subSequence(2, 6));
+        assertEquals("DC04FR00", ascii.toString());
+    }
+
+    @Test
+    void charAt_whenByteIsNotAscii_shouldReadTheLatin1Character() {
+        final AsciiCharSequence ascii = new AsciiCharSequence(ByteBuffer.wrap(new byte[]{(byte) 0xE9}));
+
+        assertEquals('é', ascii.charAt(0));
+    }
+
+    @Test
+    void charAt_whenOutOfTheView_shouldThrowException() {
+        final ByteBuffer buffer = ByteBuffer.wrap("DC04".getBytes(US_ASCII));
+        buffer.limit(2);
+        final AsciiCharSequence ascii = new AsciiCharSequence(buffer);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> ascii.charAt(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> ascii.subSequence(1, 3));
+    }
+
+    @Test
+    void update_withHeapBuffer_shouldGiveTheArrayRange() {
+        final byte[] bytes = "xxDC04FR00".getBytes(US_ASCII);
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.position(2);
+        final Verifier verifier = mock(Verifier.class);
+
+        new AsciiCharSequence(buffer).update(verifier, 1, 5);
+
+        verify(verifier).update(bytes, 3, 4);
+    }
+
+    @Test
+    void update_withDirectBuffer_shouldGiveTheBufferRange() {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(10);
+        buffer.put("xxDC04FR00".getBytes(US_ASCII));
+        buffer.position(2);
+        final Verifier verifier = mock(Verifier.class);
+        final StringBuilder updated = new StringBuilder();
+        doAnswer(invocation -> {
+            final ByteBuffer region = invocation.getArgument(0);
+            while (region.hasRemaining()) {
+                updated.append((char) region.get());
+            }
+            return null;
+        }).when(verifier).update(any(ByteBuffer.class));
+
+        new AsciiCharSequence(buffer).update(verifier, 1, 5);
+
+        assertEquals("C04F", updated.toString());
+        assertEquals(2, buffer.position());
+        assertEquals(10, buffer.limit());
+    }
+
+}
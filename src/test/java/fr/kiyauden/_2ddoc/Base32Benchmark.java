@@ -0,0 +1,54 @@
+package fr.kiyauden._2ddoc;
+
+import org.apache.commons.codec.binary.Base32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the decoding of a 2D-DOC signature, {@link Base32Decoder} against commons-codec {@link Base32}
+ * <p>
+ * Run with the main method from the IDE, or with {@code -prof gc} added to the options to see the allocation rate
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class Base32Benchmark {
+
+    /**
+     * Signature of a 2D-DOC, 64 bytes once decoded
+     */
+    private static final String SIGNATURE = "GJOZJCU2HBPFIQEJ2IHWPQOQTGURB6LCELPXCH3LVS574NM27UTYRHUIMZWEDFJQVVKIAGWIIF72IV6YFNZTUGYTBXSQO2LOOV6BEMY";
+
+    @Benchmark
+    public byte[] commonsCodec() {
+        return new Base32().decode(SIGNATURE.getBytes());
+    }
+
+    @Benchmark
+    public void base32Decoder(final Blackhole blackhole) {
+        final byte[] buffer = Base32Decoder.threadLocalBuffer(SIGNATURE.length());
+        blackhole.consume(Base32Decoder.decode(SIGNATURE, 0, SIGNATURE.length(), buffer, 0));
+        blackhole.consume(buffer);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(Base32Benchmark.class.getSimpleName()).build()).run();
+    }
+
+}
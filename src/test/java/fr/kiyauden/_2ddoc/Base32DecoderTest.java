@@ -0,0 +1,68 @@
+package fr.kiyauden._2ddoc;
+
+import org.apache.commons.codec.binary.Base32;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class Base32DecoderTest {
+
+    @Test
+    void decode_shouldDecodeLikeCommonsCodec() {
+        final Base32 base32 = new Base32();
+        final Random random = new Random(0);
+        for (int length = 0; length < 100; length++) {
+            final byte[] data = new byte[length];
+            random.nextBytes(data);
+            // Without padding, like in a 2D-DOC
+            final String encoded = base32.encodeAsString(data).replace("=", "");
+
+            final byte[] out = new byte[Base32Decoder.maxDecodedLength(encoded.length())];
+            final int decodedLength = Base32Decoder.decode(encoded, 0, encoded.length(), out, 0);
+
+            assertEquals(length, decodedLength);
+            assertArrayEquals(base32.decode(encoded), Arrays.copyOf(out, decodedLength));
+        }
+    }
+
+    @Test
+    void decode_shouldDecodeTheRangeInsideTheInput() {
+        final String input = "27NB2WS43TNFSXELLKOVZXI2LDMUXGM4RPGE4DSNRVGQ3TQNJTIFBA\u001D";
+        final byte[] out = new byte[64];
+
+        final int length = Base32Decoder.decode(input, 2, input.length() - 1, out, 10);
+
+        assertEquals("huissier-justice.fr/1896547853AB", new String(out, 10, length, UTF_8));
+    }
+
+    @Test
+    void decode_shouldStopAtPadding() {
+        final byte[] out = new byte[8];
+        assertEquals(1, Base32Decoder.decode("ME======", 0, 8, out, 0));
+        assertEquals('a', out[0]);
+    }
+
+    @Test
+    void decode_whenCharacterIsNotInAlphabet_shouldReturnInvalid() {
+        final byte[] out = new byte[8];
+        assertEquals(Base32Decoder.INVALID, Base32Decoder.decode("ME1A", 0, 4, out, 0));
+        assertEquals(Base32Decoder.INVALID, Base32Decoder.decode("MEéA", 0, 4, out, 0));
+    }
+
+    @Test
+    void threadLocalBuffer_shouldBeReusedAndGrow() {
+        final byte[] buffer = Base32Decoder.threadLocalBuffer(10);
+        assertSame(buffer, Base32Decoder.threadLocalBuffer(16));
+
+        final byte[] bigger = Base32Decoder.threadLocalBuffer(10_000);
+        assertEquals(Base32Decoder.maxDecodedLength(10_000), bigger.length);
+        assertSame(bigger, Base32Decoder.threadLocalBuffer(10));
+    }
+
+}
@@ -36,4 +36,12 @@ class BooleanDataParserTest {
         );
     }
 
+    @Test
+    void decode_shouldDecodeTheBooleanInsideTheInput() {
+        assertEquals(BooleanDataParser.TRUE, BooleanDataParser.decode("2E1\u001D", 2, 3));
+        assertEquals(BooleanDataParser.FALSE, BooleanDataParser.decode("0", 0, 1));
+        assertEquals(BooleanDataParser.INVALID, BooleanDataParser.decode("10", 0, 2));
+        assertEquals(BooleanDataParser.INVALID, BooleanDataParser.decode("", 0, 0));
+    }
+
 }
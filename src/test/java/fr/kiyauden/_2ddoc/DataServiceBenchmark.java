@@ -0,0 +1,84 @@
+package fr.kiyauden._2ddoc;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+import static fr.kiyauden._2ddoc.DataSource.ANNEX;
+import static fr.kiyauden._2ddoc.DataSource.MESSAGE;
+import static fr.kiyauden._2ddoc.Document.DOC_01;
+import static java.util.Arrays.asList;
+
+/**
+ * Benchmark of the data extraction, in documents per second
+ * <p>
+ * Run with the main method from the IDE, or with {@code -prof gc} added to the options to see the allocation rate
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class DataServiceBenchmark {
+
+    /**
+     * Message segment of a 2D-DOC 01 with the most common data
+     */
+    private static final String MESSAGE_SEGMENT = "26FR247500010MME/NATACHA/SPECIMEN\u001D221 RUE DE LA RUE\u001D1812345678910112\u001D02FACTURE FNB\u001D03GP\u001D1D9,99\u001D19575645792\u001D07195113";
+
+    /**
+     * Annex segment made of long text data
+     */
+    private static final String ANNEX_SEGMENT = "01DOCUMENT UNIQUE IDENTIFIER 0123456789 ABCDEFGHIJKLMNOPQRSTUVWXYZ\u001D04ISSUING APPLICATION WITH A VERY LONG NAME FOR THE PURPOSE OF THE BENCHMARK\u001D05VERSION 1.2.3.4.5.6.7.8.9\u001D02FACTURE FNB\u001D03GP";
+
+    private DataService service;
+
+    @Setup
+    public void setup() {
+        final ParserService parserService = new ParserService(new HashSet<>(asList(
+                new AmountDataParser(), new BooleanDataParser(), new DateDataParser(), new IntegerDataParser(),
+                new TextDataParser(), new URLDataParser(), new TimeDataParser())));
+        service = new DataService(parserService, new DocumentService());
+    }
+
+    @Benchmark
+    public ExtractedData extractMessage() throws DataExtractionException {
+        return service.extractData(MESSAGE_SEGMENT, DOC_01, MESSAGE);
+    }
+
+    @Benchmark
+    public ExtractedData extractAnnex() throws DataExtractionException {
+        return service.extractData(ANNEX_SEGMENT, DOC_01, ANNEX);
+    }
+
+    @Benchmark
+    public LazyDataList indexMessage() throws DataExtractionException {
+        final LazyDataList data = new LazyDataList(MESSAGE_SEGMENT, service);
+        service.indexData(data, MESSAGE_SEGMENT, 0, MESSAGE_SEGMENT.length(), DOC_01, MESSAGE);
+        return data;
+    }
+
+    @Benchmark
+    public Data indexMessageAndReadOne() throws DataExtractionException {
+        return indexMessage().get(0);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DataServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
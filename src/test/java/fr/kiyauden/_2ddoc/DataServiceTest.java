@@ -6,7 +6,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 
 import static fr.kiyauden._2ddoc.DataSource.MESSAGE;
@@ -22,13 +24,19 @@ import static fr.kiyauden._2ddoc.DataType.INVOICE_AMOUNT_INCLUDING_TAX;
 import static fr.kiyauden._2ddoc.DataType.INVOICE_NUMBER;
 import static fr.kiyauden._2ddoc.Document.DOC_01;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -49,7 +57,9 @@ class DataServiceTest {
         // Mocks the parser, so it returns the data read from the 2D-Doc as string,
         // since it not the job of this test to check if the parsing is correct
         when(parserService.parse(anyString(), any(DataFormat.class))).thenAnswer(i -> i.getArguments()[0]);
-        when(documentService.isDataMandatory(eq(DOC_01), any())).thenReturn(false);
+        // Every data is linked, none is mandatory
+        when(documentService.getDecodingPlan(DOC_01)).thenReturn(
+                DecodingPlan.compile(DOC_01.name(), EnumSet.allOf(DataType.class), EnumSet.noneOf(DataType.class)));
     }
 
     @Test
@@ -103,10 +113,29 @@ class DataServiceTest {
         }
     }
 
+    @Test
+    void extractSelectedData_shouldOnlyDecodeTheSelectedData() throws DataExtractionException, ParsingException {
+        final String dataFrom2dDoc = "26FR247500010MME/NATACHA/SPECIMEN\u001D221 RUE DE LA RUE";
+
+        final ExtractedData data = service.extractSelectedData(dataFrom2dDoc, 0, dataFrom2dDoc.length(), DOC_01,
+                                                               MESSAGE, EnumSet.of(BENEFICIARY_ADDRESS_LINE_1));
+
+        assertEquals(singletonList(buildExpectedDataFromMessageSegment(BENEFICIARY_ADDRESS_LINE_1, false,
+                                                                       "MME/NATACHA/SPECIMEN")), data.getData());
+        // The data not selected are not decoded, but are counted for the missing mandatory data
+        verify(parserService, times(1)).parse(anyString(), any(DataFormat.class));
+        verify(documentService).computeMissingData(DOC_01, EnumSet.of(BENEFIT_SERVICE_POINT_COUNTRY,
+                                                                      BENEFIT_SERVICE_POINT_POSTAL_OR_CEDEX_CODE,
+                                                                      BENEFICIARY_ADDRESS_LINE_1,
+                                                                      BENEFIT_SERVICE_POINT_ADDRESS_LINE_4));
+    }
+
     @Test
     void extractData_whenDataIsMandatory_shouldMarkAsMandatory() throws DataExtractionException {
         // Sets BENEFIT_SERVICE_POINT_COUNTRY as mandatory
-        when(documentService.isDataMandatory(DOC_01, BENEFIT_SERVICE_POINT_COUNTRY)).thenReturn(true);
+        when(documentService.getDecodingPlan(DOC_01)).thenReturn(
+                DecodingPlan.compile(DOC_01.name(), EnumSet.allOf(DataType.class),
+                                     EnumSet.of(BENEFIT_SERVICE_POINT_COUNTRY)));
 
         final String dataFrom2dDoc = "26FR247500010MME/NATACHA/SPECIMEN\u001D221 RUE DE LA RUE\u001D1812345678910112\u001D02FACTURE FNB\u001D03GP\u001D1D9,99\u001D19575645792\u001D07195113";
         final List<Data> expectedData = asList(
@@ -232,7 +261,6 @@ class DataServiceTest {
     void extractData_whenDataFromMessageSegment_andUnknownIdentifier_shouldThrowException() {
         // Resets the mocks because it is not used here and mockito is not happy :)
         reset(parserService);
-        reset(documentService);
 
         // Data EE does not exists
         final String dataFrom2dDoc = "EEFR247500010MME/NATACHA/SPECIMEN\u001D";
@@ -292,6 +320,100 @@ class DataServiceTest {
         assertThat(data.getData(), containsInAnyOrder(expectedData.toArray()));
     }
 
+    @Test
+    void indexData_shouldRecordTheDataAndDecodeThemOnRead() throws DataExtractionException {
+        final String dataFrom2dDoc = "26FR247500010MME/NATACHA/SPEC\u001E02FACTURE FNB";
+        final LazyDataList data = new LazyDataList(dataFrom2dDoc, service);
+
+        service.indexData(data, dataFrom2dDoc, 0, dataFrom2dDoc.length(), DOC_01, MESSAGE);
+
+        assertThat(data, contains(
+                buildExpectedDataFromMessageSegment(BENEFIT_SERVICE_POINT_COUNTRY, false, "FR"),
+                buildExpectedDataFromMessageSegment(BENEFIT_SERVICE_POINT_POSTAL_OR_CEDEX_CODE, false, "75000"),
+                buildExpectedDataFromMessageSegment(BENEFICIARY_ADDRESS_LINE_1, true, "MME/NATACHA/SPEC"),
+                buildExpectedDataFromMessageSegment(DOCUMENT_CATEGORY, false, "FACTURE FNB")
+        ));
+    }
+
+    @Test
+    void extractDataInto_shouldDecodeTheValuesIntoTheSink() throws DataExtractionException {
+        // Only the document service is used
+        reset(parserService);
+        final String dataFrom2dDoc = "26FR247500010MME/NATACHA/SPEC\u001E1D9,99\u001D07195113";
+        final ResultSink sink = new ResultSink();
+        sink.reset(dataFrom2dDoc);
+
+        service.extractDataInto(sink, dataFrom2dDoc, 0, dataFrom2dDoc.length(), DOC_01, MESSAGE);
+
+        assertEquals(5, sink.size());
+        assertEquals("FR", sink.getText(sink.indexOf(BENEFIT_SERVICE_POINT_COUNTRY)));
+        final int beneficiary = sink.indexOf(BENEFICIARY_ADDRESS_LINE_1);
+        assertEquals("MME/NATACHA/SPEC", sink.getText(beneficiary));
+        assertTrue(sink.isTruncated(beneficiary));
+        assertEquals(999, sink.getCents(sink.indexOf(INVOICE_AMOUNT_INCLUDING_TAX)));
+        assertEquals(19 * 3600 + 51 * 60 + 13, sink.getSecondOfDay(sink.indexOf(DOCUMENT_ASSOCIATION_TIME_WITH_2DDOC)));
+        assertEquals(-1, sink.indexOf(CLIENT_NUMBER));
+    }
+
+    @Test
+    void extractDataInto_whenValueIsInvalid_shouldThrowException() {
+        reset(parserService);
+        final String dataFrom2dDoc = "1D9.99";
+        final ResultSink sink = new ResultSink();
+        sink.reset(dataFrom2dDoc);
+
+        assertThrows(DataExtractionException.class,
+                     () -> service.extractDataInto(sink, dataFrom2dDoc, 0, dataFrom2dDoc.length(), DOC_01,
+                                                   MESSAGE));
+    }
+
+    @Test
+    void tryExtractData_shouldDecodeDataWithoutTheParserService() throws ParseSignal {
+        reset(parserService);
+        final String dataFrom2dDoc = "26FR1D9,99\u001D";
+
+        final ExtractedData extractedData = service.tryExtractData(dataFrom2dDoc, 0, dataFrom2dDoc.length(), DOC_01,
+                                                                   MESSAGE, ParseOptions.FULL);
+
+        assertEquals(asList(buildExpectedDataFromMessageSegment(BENEFIT_SERVICE_POINT_COUNTRY, false, "FR"),
+                            Data.builder()
+                                    .dataType(INVOICE_AMOUNT_INCLUDING_TAX)
+                                    .source(MESSAGE)
+                                    .value(9.99d)
+                                    .stringValue("9,99")
+                                    .build()),
+                     extractedData.getData());
+        verifyNoInteractions(parserService);
+    }
+
+    @Test
+    void tryExtractData_whenValueIsInvalid_shouldThrowSignal() {
+        reset(parserService);
+        final String dataFrom2dDoc = "26FR1D9.99";
+
+        final ParseSignal signal = assertThrows(ParseSignal.class,
+                                                () -> service.tryExtractData(dataFrom2dDoc, 0,
+                                                                             dataFrom2dDoc.length(), DOC_01,
+                                                                             MESSAGE, ParseOptions.FULL));
+        assertEquals(ErrorCode.INVALID_VALUE, signal.getErrorCode());
+        assertEquals(6, signal.getPosition());
+    }
+
+    @Test
+    void extractData_withHandler_shouldPassEachDataToTheHandler() throws DataExtractionException {
+        reset(parserService);
+        final String dataFrom2dDoc = "26FR10MME/NATACHA/SPEC\u001E02FACTURE FNB";
+        final List<String> events = new ArrayList<>();
+
+        service.extractData(dataFrom2dDoc, 0, dataFrom2dDoc.length(), DOC_01, MESSAGE,
+                            (dataType, value, truncated, source) -> events.add(
+                                    dataType.name() + "=" + value + (truncated ? " truncated" : "") + " " + source));
+
+        assertEquals(asList("BENEFIT_SERVICE_POINT_COUNTRY=FR MESSAGE",
+                            "BENEFICIARY_ADDRESS_LINE_1=MME/NATACHA/SPEC truncated MESSAGE",
+                            "DOCUMENT_CATEGORY=FACTURE FNB MESSAGE"), events);
+    }
+
     //------------------------------------------------------------------------------------------------------------------
     // TEST TOOLS
     //------------------------------------------------------------------------------------------------------------------
@@ -305,6 +427,7 @@ class DataServiceTest {
                 .truncated(truncated)
                 .source(MESSAGE)
                 .value(value)
+                .stringValue(value == null ? "" : value.toString())
                 .build();
     }
 
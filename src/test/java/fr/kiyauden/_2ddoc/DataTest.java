@@ -0,0 +1,140 @@
+package fr.kiyauden._2ddoc;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static com.github.npathai.hamcrestopt.OptionalMatchers.isEmpty;
+import static com.github.npathai.hamcrestopt.OptionalMatchers.isPresentAndIs;
+import static fr.kiyauden._2ddoc.DataType.DOCUMENT_ASSOCIATION_DATE_WITH_2DDOC;
+import static fr.kiyauden._2ddoc.DataType.DOCUMENT_NUMBER_OF_PAGES;
+import static fr.kiyauden._2ddoc.DataType.INVOICE_AMOUNT_INCLUDING_TAX;
+import static fr.kiyauden._2ddoc.DataType.UNMENTIONED_CO_BENEFICIARY_PRESENCE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataTest {
+
+    @Test
+    void getLong_withIntegerValue_shouldReturnIt() {
+        final Data data = data(DOCUMENT_NUMBER_OF_PAGES, 12);
+
+        assertEquals(12, data.getLong());
+        assertThat(data.getValue(), isPresentAndIs(12));
+    }
+
+    @Test
+    void getDouble_withAmountValue_shouldReturnIt() {
+        final Data data = data(INVOICE_AMOUNT_INCLUDING_TAX, 9.99);
+
+        assertEquals(9.99, data.getDouble());
+        assertThat(data.getValue(), isPresentAndIs(9.99));
+    }
+
+    @Test
+    void getBoolean_withBooleanValue_shouldReturnIt() {
+        final Data data = data(UNMENTIONED_CO_BENEFICIARY_PRESENCE, true);
+
+        assertTrue(data.getBoolean());
+        assertThat(data.getValue(), isPresentAndIs(true));
+    }
+
+    @Test
+    void getValue_withReferenceValue_shouldReturnIt() {
+        final LocalDate date = LocalDate.of(2023, 5, 30);
+        final Data data = data(DOCUMENT_ASSOCIATION_DATE_WITH_2DDOC, date);
+
+        assertTrue(data.hasValue());
+        assertThat(data.getValue(), isPresentAndIs(date));
+        assertThrows(IllegalStateException.class, data::getLong);
+    }
+
+    @Test
+    void hasValue_withoutValue_shouldReturnFalse() {
+        final Data data = data(DOCUMENT_NUMBER_OF_PAGES, null);
+
+        assertFalse(data.hasValue());
+        assertThat(data.getValue(), isEmpty());
+        assertThrows(IllegalStateException.class, data::getLong);
+    }
+
+    @Test
+    void equals_shouldCompareTheValues() {
+        assertEquals(data(INVOICE_AMOUNT_INCLUDING_TAX, 9.99), data(INVOICE_AMOUNT_INCLUDING_TAX, 9.99));
+    }
+
+    @Test
+    void getStringValue_shouldReturnTheTextOfTheData() {
+        final Object[][] cases = {
+                {DOCUMENT_NUMBER_OF_PAGES, 12, "0012"},
+                {DOCUMENT_NUMBER_OF_PAGES, 12, "012"},
+                {DOCUMENT_NUMBER_OF_PAGES, 12, "+0012"},
+                {DOCUMENT_NUMBER_OF_PAGES, -12, "-0012"},
+                {INVOICE_AMOUNT_INCLUDING_TAX, 123.45, "123,45"},
+                {INVOICE_AMOUNT_INCLUDING_TAX, 0.05, "0,05"},
+                {INVOICE_AMOUNT_INCLUDING_TAX, -3.1, "-3,1"},
+                {INVOICE_AMOUNT_INCLUDING_TAX, 12.0, "12"},
+                {INVOICE_AMOUNT_INCLUDING_TAX, 12.0, "12,00"},
+                {INVOICE_AMOUNT_INCLUDING_TAX, 12.0, "012"},
+                {UNMENTIONED_CO_BENEFICIARY_PRESENCE, true, "1"},
+                {UNMENTIONED_CO_BENEFICIARY_PRESENCE, false, "0"},
+        };
+        for (final Object[] c : cases) {
+            final Data data = data((DataType) c[0], c[1], (String) c[2]);
+
+            assertEquals(c[2], data.getStringValue());
+            assertEquals(data((DataType) c[0], c[1], (String) c[2]), data);
+        }
+    }
+
+    @Test
+    void getStringValue_shouldRenderTheTextOnce() {
+        final Data data = data(INVOICE_AMOUNT_INCLUDING_TAX, 123.45, "123,45");
+
+        final String text = data.getStringValue();
+
+        assertEquals("123,45", text);
+        assertSame(text, data.getStringValue());
+        assertEquals(data(INVOICE_AMOUNT_INCLUDING_TAX, 123.45, "123,45"), data);
+        assertEquals(data(INVOICE_AMOUNT_INCLUDING_TAX, 123.45, "123,45").hashCode(), data.hashCode());
+        assertThat(data.getExactAmount(), isPresentAndIs(new BigDecimal("123.45")));
+    }
+
+    @Test
+    void getValue_withoutValue_shouldShareTheEmptyOptional() {
+        assertSame(data(DOCUMENT_NUMBER_OF_PAGES, null).getValue(), data(INVOICE_AMOUNT_INCLUDING_TAX, null).getValue());
+        assertNull(data(DOCUMENT_NUMBER_OF_PAGES, null).getRawValue());
+    }
+
+    @Test
+    void getExactAmount_shouldReturnTheAmountOfTheText() {
+        assertThat(data(INVOICE_AMOUNT_INCLUDING_TAX, 123.45, "123,45").getExactAmount(),
+                   isPresentAndIs(new BigDecimal("123.45")));
+        assertThat(data(INVOICE_AMOUNT_INCLUDING_TAX, 3.1, "3,1").getExactAmount(),
+                   isPresentAndIs(new BigDecimal("3.10")));
+        assertThat(data(DOCUMENT_NUMBER_OF_PAGES, 12, "0012").getExactAmount(), isEmpty());
+    }
+
+    private static Data data(final DataType type, final Object value, final String stringValue) {
+        return Data.builder()
+                .dataType(type)
+                .value(value)
+                .stringValue(stringValue)
+                .build();
+    }
+
+    private static Data data(final DataType type, final Object value) {
+        return Data.builder()
+                .dataType(type)
+                .value(value)
+                .stringValue(value == null ? "" : value.toString())
+                .build();
+    }
+
+}
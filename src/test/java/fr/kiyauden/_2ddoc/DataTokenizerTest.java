@@ -0,0 +1,116 @@
+package fr.kiyauden._2ddoc;
+
+import org.junit.jupiter.api.Test;
+
+import static fr.kiyauden._2ddoc.DataType.BENEFICIARY_ADDRESS_LINE_1;
+import static fr.kiyauden._2ddoc.DataType.BENEFIT_SERVICE_POINT_COUNTRY;
+import static fr.kiyauden._2ddoc.DataType.DOCUMENT_CATEGORY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataTokenizerTest {
+
+    @Test
+    void next_shouldReturnBoundsInsideTheInput() throws DataExtractionException {
+        // The segment is surrounded by other characters, the bounds are relative to the whole input
+        final String input = "HEADER26FR10MME/NATACHA/SPEC\u001E02FACTURE\u001DSIGNATURE";
+        final int end = input.indexOf("SIGNATURE");
+        final DataTokenizer tokenizer = new DataTokenizer(input, 6, end);
+
+        assertTrue(tokenizer.next());
+        assertEquals(BENEFIT_SERVICE_POINT_COUNTRY, tokenizer.getDataType());
+        assertEquals(8, tokenizer.getValueStart());
+        assertEquals(10, tokenizer.getValueEnd());
+        assertFalse(tokenizer.isTruncated());
+        assertEquals("FR", tokenizer.value());
+
+        assertTrue(tokenizer.next());
+        assertEquals(BENEFICIARY_ADDRESS_LINE_1, tokenizer.getDataType());
+        assertTrue(tokenizer.isTruncated());
+        assertEquals("MME/NATACHA/SPEC", tokenizer.value());
+
+        assertTrue(tokenizer.next());
+        assertEquals(DOCUMENT_CATEGORY, tokenizer.getDataType());
+        assertFalse(tokenizer.isTruncated());
+        assertEquals("FACTURE", tokenizer.value());
+
+        assertFalse(tokenizer.next());
+    }
+
+    @Test
+    void next_whenDataHasNoValue_shouldBeEmpty() throws DataExtractionException {
+        final DataTokenizer tokenizer = new DataTokenizer("22", 0, 2);
+
+        assertTrue(tokenizer.next());
+        assertTrue(tokenizer.isEmpty());
+        assertFalse(tokenizer.next());
+    }
+
+    @Test
+    void next_whenFixedLengthDataIsIncomplete_shouldThrowException() {
+        final DataTokenizer tokenizer = new DataTokenizer("2475", 0, 4);
+
+        assertThrows(DataExtractionException.class, tokenizer::next);
+    }
+
+    @Test
+    void next_whenLastDataExceedsMaxLength_shouldThrowException() {
+        // Data 26 is fixed, data 22 has a max length of 38, here is 39 without GS
+        final String input = "221 RUE DE LA RUEEEEEEEEEEEEEEEEEEEEEEEEE";
+        final DataTokenizer tokenizer = new DataTokenizer(input, 0, input.length());
+
+        assertThrows(DataExtractionException.class, tokenizer::next);
+    }
+
+    @Test
+    void reset_shouldWalkTheNewSegment() throws DataExtractionException {
+        final DataTokenizer tokenizer = new DataTokenizer("26FR", 0, 4);
+        assertTrue(tokenizer.next());
+
+        tokenizer.reset("02FACTURE", 0, 9);
+        assertTrue(tokenizer.next());
+        assertEquals(DOCUMENT_CATEGORY, tokenizer.getDataType());
+        assertEquals("FACTURE", tokenizer.value());
+    }
+
+    @Test
+    void advance_whenIdentifierIsUnknown_shouldThrowSignalWithItsPosition() {
+        final String input = "26FRZZUNKNOWN\u001D02FACTURE";
+        final DataTokenizer tokenizer = new DataTokenizer(input, 0, input.length());
+
+        final ParseSignal signal = assertThrows(ParseSignal.class, () -> {
+            while (tokenizer.advance()) {
+                // Walks until the unknown identifier
+            }
+        });
+        assertEquals(ErrorCode.MALFORMED_DATA, signal.getErrorCode());
+        assertEquals(4, signal.getPosition());
+    }
+
+    @Test
+    void advance_whenLenient_shouldSkipUnknownIdentifiers() throws ParseSignal {
+        final String input = "26FRZZUNKNOWN\u001D02FACTURE";
+        final DataTokenizer tokenizer = new DataTokenizer(input, 0, input.length()).lenient(true);
+
+        assertTrue(tokenizer.advance());
+        assertEquals(BENEFIT_SERVICE_POINT_COUNTRY, tokenizer.getDataType());
+        assertTrue(tokenizer.advance());
+        assertEquals(DOCUMENT_CATEGORY, tokenizer.getDataType());
+        assertEquals("FACTURE", tokenizer.value());
+        assertFalse(tokenizer.advance());
+        assertEquals(1, tokenizer.getSkipped());
+    }
+
+    @Test
+    void advance_whenLenientAndUnknownIdentifierIsLast_shouldReachTheEnd() throws ParseSignal {
+        final String input = "26FRZZUNKNOWN";
+        final DataTokenizer tokenizer = new DataTokenizer(input, 0, input.length()).lenient(true);
+
+        assertTrue(tokenizer.advance());
+        assertFalse(tokenizer.advance());
+        assertEquals(1, tokenizer.getSkipped());
+    }
+
+}
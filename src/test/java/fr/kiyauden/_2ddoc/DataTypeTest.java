@@ -22,6 +22,7 @@ import static fr.kiyauden._2ddoc.DataType.DOCUMENT_SUB_CATEGORY;
 import static fr.kiyauden._2ddoc.DataType.DOCUMENT_UNIQUE_ID;
 import static fr.kiyauden._2ddoc.DataType.DOCUMENT_URL;
 import static fr.kiyauden._2ddoc.DataType.EDITOR_OF_2DDOC;
+import static fr.kiyauden._2ddoc.DataType.INTEGRATOR_OF_2DDOC;
 import static fr.kiyauden._2ddoc.DataType.INVOICE_NUMBER;
 import static fr.kiyauden._2ddoc.DataType.INVOICE_RECIPIENT_COUNTRY;
 import static fr.kiyauden._2ddoc.DataType.ISSUING_APPLICATION;
@@ -31,6 +32,7 @@ import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DataTypeTest {
@@ -74,6 +76,22 @@ class DataTypeTest {
         assertThat(dataType, isEmpty());
     }
 
+    @Test
+    void findById_withChars_shouldReturnTheSameDataTypesAsWithString() {
+        for (final DataType dataType : DataType.values()) {
+            final String id = dataType.getId();
+            assertEquals(dataType, DataType.findById(id.charAt(0), id.charAt(1)));
+        }
+    }
+
+    @Test
+    void findById_withChars_whenDataWithIdDoesNotExists_shouldReturnNull() {
+        assertNull(DataType.findById('E', 'E'));
+        // Lower case and separators are not identifiers
+        assertNull(DataType.findById('2', 'd'));
+        assertNull(DataType.findById('\u001D', '1'));
+    }
+
     @Test
     void getComplementaryDataTypes_ShouldReturnAll() {
         final List<DataType> expectedDataTypes = asList(
@@ -87,6 +105,7 @@ class DataTypeTest {
                 DOCUMENT_EXPIRY_DATE,
                 DOCUMENT_NUMBER_OF_PAGES,
                 EDITOR_OF_2DDOC,
+                INTEGRATOR_OF_2DDOC,
                 DOCUMENT_URL
         );
 
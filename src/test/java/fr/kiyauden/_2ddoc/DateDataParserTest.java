@@ -8,9 +8,13 @@ import java.time.LocalDate;
 import static fr.kiyauden._2ddoc.DataFormat.DATE;
 import static java.time.LocalDate.of;
 import static java.time.Month.DECEMBER;
+import static java.time.Month.FEBRUARY;
 import static java.time.Month.JANUARY;
+import static java.time.Month.JULY;
+import static java.time.Month.OCTOBER;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class DateDataParserTest {
@@ -59,4 +63,41 @@ class DateDataParserTest {
         );
     }
 
+    @Test
+    void parse_forMessageDate_whenDayExceedsMonthLength_shouldResolveToLastDayOfMonth() throws ParsingException {
+        // Same behaviour as the SMART DateTimeFormatter
+        assertEquals(of(2023, FEBRUARY, 28), parser.parse("20230231"));
+        assertEquals(of(2024, FEBRUARY, 29), parser.parse("30022024"));
+    }
+
+    @Test
+    void parse_forMessageDate_whenDateIsInvalid_shouldThrowException() {
+        assertThrows(ParsingException.class, () -> parser.parse("20230232"));
+        assertThrows(ParsingException.class, () -> parser.parse("20231301"));
+        assertThrows(ParsingException.class, () -> parser.parse("00000101"));
+        assertThrows(ParsingException.class, () -> parser.parse("111G"));
+    }
+
+    @Test
+    void decode_forHeaderDate_shouldMatchTheNumberOfDaysSinceBaseDate() {
+        final LocalDate baseDate = of(2000, JANUARY, 1);
+        for (int days = 0; days < 0xFFFF; days++) {
+            final String hexDate = String.format("%04X", days);
+            assertEquals(baseDate.plusDays(days), DateDataParser.decode(hexDate, 0, 4));
+        }
+    }
+
+    @Test
+    void decode_shouldReadTheDateInsideTheInput() {
+        final String input = "DC03FR000001123F16360101";
+        assertEquals(of(2012, OCTOBER, 15), DateDataParser.decode(input, 12, 16));
+        assertEquals(of(2015, JULY, 27), DateDataParser.decode(input, 16, 20));
+    }
+
+    @Test
+    void decode_whenFormatIsUnsupported_shouldReturnInvalid() {
+        assertSame(DateDataParser.INVALID, DateDataParser.decode("2023-01-29", 0, 10));
+        assertSame(DateDataParser.INVALID, DateDataParser.decode("", 0, 0));
+    }
+
 }
@@ -0,0 +1,57 @@
+package fr.kiyauden._2ddoc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static fr.kiyauden._2ddoc.DataType.BENEFIT_SERVICE_POINT_COUNTRY;
+import static fr.kiyauden._2ddoc.DataType.BENEFIT_SERVICE_POINT_POSTAL_OR_CEDEX_CODE;
+import static fr.kiyauden._2ddoc.DataType.DOCUMENT_CATEGORY;
+import static fr.kiyauden._2ddoc.DecodingPlan.FIXED_LENGTH;
+import static fr.kiyauden._2ddoc.DecodingPlan.LINKED;
+import static fr.kiyauden._2ddoc.DecodingPlan.MANDATORY;
+import static fr.kiyauden._2ddoc.Document.DOC_01;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DecodingPlanTest {
+
+    @Test
+    void of_shouldAgreeWithTheDocument() {
+        final DecodingPlan plan = DecodingPlan.of(DOC_01);
+
+        for (final DataType dataType : DataType.values()) {
+            final int descriptor = plan.descriptor(IdentifierIndex.of(dataType.getId()));
+            assertEquals(dataType, DecodingPlan.dataType(descriptor));
+            assertEquals(dataType.getType(), DecodingPlan.format(descriptor));
+            assertEquals(DOC_01.isLinked(dataType), (descriptor & LINKED) != 0, dataType.name());
+            assertEquals(DOC_01.isMandatory(dataType), (descriptor & MANDATORY) != 0, dataType.name());
+            assertEquals(dataType.isFixedLength(), (descriptor & FIXED_LENGTH) != 0, dataType.name());
+        }
+        assertEquals(DOC_01.name(), plan.getDocumentName());
+    }
+
+    @Test
+    void maxLength_shouldBeTheMaxLengthOfTheDataType() {
+        final DecodingPlan plan = DecodingPlan.of(DOC_01);
+
+        assertEquals(5, plan.maxLength(IdentifierIndex.of(BENEFIT_SERVICE_POINT_POSTAL_OR_CEDEX_CODE.getId())));
+    }
+
+    @Test
+    void descriptor_whenIdentifierIsNotADataType_shouldReturnZero() {
+        assertEquals(0, DecodingPlan.ANY.descriptor(IdentifierIndex.of('Z', 'Z')));
+    }
+
+    @Test
+    void compile_shouldLinkTheMandatoryData() {
+        final DecodingPlan plan = DecodingPlan.compile("TEST", EnumSet.noneOf(DataType.class),
+                                                       EnumSet.of(BENEFIT_SERVICE_POINT_COUNTRY));
+
+        final int country = plan.descriptor(IdentifierIndex.of(BENEFIT_SERVICE_POINT_COUNTRY.getId()));
+        assertTrue((country & LINKED) != 0);
+        assertTrue((country & MANDATORY) != 0);
+        assertEquals(0, plan.descriptor(IdentifierIndex.of(DOCUMENT_CATEGORY.getId())) & LINKED);
+    }
+
+}
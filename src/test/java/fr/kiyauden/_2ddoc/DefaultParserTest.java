@@ -8,25 +8,44 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.EnumSet;
 
 import static fr.kiyauden._2ddoc.DataSource.ANNEX;
 import static fr.kiyauden._2ddoc.DataSource.MESSAGE;
+import static fr.kiyauden._2ddoc.DataType.BENEFIT_SERVICE_POINT_COUNTRY;
 import static fr.kiyauden._2ddoc.Document.DOC_01;
 import static fr.kiyauden._2ddoc.Header.ofVersion04;
+import static fr.kiyauden._2ddoc.SignatureStatus.NOT_VERIFIED;
 import static fr.kiyauden._2ddoc.SignatureStatus.VALID;
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class DefaultParserTest {
 
+    /**
+     * Trust store given to the parser, passed as is to the signature service
+     */
+    private static final TrustStore TRUST_STORE = TrustStore.of(emptyList());
+
     private final LocalDate date = LocalDate.of(2023, Month.FEBRUARY, 5);
 
     @Mock
@@ -84,7 +103,7 @@ class DefaultParserTest {
                                           DOC_01, "01", "FR");
         when(headerService.parseHeader(input)).thenReturn(header);
 
-        when(dataService.extractData(anyString(), eq(DOC_01), any())).thenThrow(DataExtractionException.class);
+        when(dataService.extractSelectedData(eq(input), anyInt(), anyInt(), eq(DOC_01), any(), isNull())).thenThrow(DataExtractionException.class);
 
         assertThrows(ParsingException.class,
                      () -> parser.parse(input, emptyList())
@@ -102,11 +121,11 @@ class DefaultParserTest {
                                           DOC_01, "01", "FR");
         when(headerService.parseHeader(input)).thenReturn(header);
 
-        when(dataService.extractData(anyString(), eq(DOC_01), any())).thenReturn(
+        when(dataService.extractSelectedData(eq(input), anyInt(), anyInt(), eq(DOC_01), any(), isNull())).thenReturn(
                 new ExtractedData(emptyList(), emptyList()));
 
-        when(signatureService.verifySignature(any(), any(), any(), any(), any())).thenThrow(
-                SignatureVerificationException.class);
+        when(signatureService.verifySignature(any(CharSequence.class), anyInt(), anyInt(), anyInt(),
+                                              any(TrustStore.class))).thenThrow(SignatureVerificationException.class);
 
         assertThrows(ParsingException.class,
                      () -> parser.parse(input, emptyList())
@@ -127,19 +146,234 @@ class DefaultParserTest {
         final Header header = ofVersion04("FR0A", "AXT4", date, date,
                                           DOC_01, "01", "FR");
         when(headerService.parseHeader(input)).thenReturn(header);
-        when(dataService.extractData(anyString(), eq(DOC_01), any())).thenReturn(
+        when(dataService.extractSelectedData(eq(input), anyInt(), anyInt(), eq(DOC_01), any(), isNull())).thenReturn(
                 new ExtractedData(emptyList(), emptyList()));
-        when(signatureService.verifySignature(any(), any(), any(), any(), any())).thenReturn(VALID);
+        when(signatureService.verifySignature(any(CharSequence.class), anyInt(), anyInt(), anyInt(),
+                                              any(TrustStore.class))).thenReturn(VALID);
 
-        final Parsed2DDoc parsed2DDoc = parser.parse(input, emptyList());
+        final Parsed2DDoc parsed2DDoc = parser.parse(input, TRUST_STORE);
 
         verify(headerService, times(1)).parseHeader(input);
-        verify(dataService, times(1)).extractData(message, DOC_01, MESSAGE);
-        verify(dataService, times(1)).extractData(annex, DOC_01, ANNEX);
-        verify(signatureService, times(1)).verifySignature(headerString + message, signature,
-                                                           header.getCertificationAuthorityId(),
-                                                           header.getCertificateId(), emptyList());
+        final int messageStart = headerString.length();
+        final int annexStart = input.length() - annex.length();
+        verify(dataService, times(1)).extractSelectedData(input, messageStart, messageStart + message.length(),
+                                                          DOC_01, MESSAGE, null);
+        verify(dataService, times(1)).extractSelectedData(input, annexStart, input.length(), DOC_01, ANNEX, null);
+        // Verified in place, without slicing the input
+        final int signatureStart = messageStart + message.length() + 1;
+        verify(signatureService, times(1)).verifySignature(input, signatureStart - 1, signatureStart,
+                                                           signatureStart + signature.length(), TRUST_STORE);
+
+        assertTrue(parsed2DDoc.isValid());
+    }
+
+    @Test
+    void parseInto_shouldParseInPlace()
+            throws UnsupportedException, HeaderExtractionException, NotFoundException, DataExtractionException,
+            SignatureVerificationException, ParsingException {
+
+        final String headerString = "DC04FR0AXT4A0E840E8A0101FR";
+        final String message = "26FR";
+        final String signature = "GJOZJCU2HBPFIQEJ";
+        final String input = headerString + message + "\u001F" + signature + "\u001D02FACTURE";
+        final ResultSink sink = new ResultSink();
+
+        doAnswer(i -> {
+            sink.header(Version.VERSION_04, DOC_01, date, date);
+            return null;
+        }).when(headerService).parseHeaderInto(input, sink);
+        when(dataService.extractDataInto(eq(sink), eq(input), anyInt(), anyInt(), eq(DOC_01), any()))
+                .thenReturn(emptyList());
+        when(signatureService.verifySignature(any(CharSequence.class), anyInt(), anyInt(), anyInt(), any(TrustStore.class)))
+                .thenReturn(VALID);
+
+        parser.parseInto(input, TRUST_STORE, sink);
+
+        final int messageStart = headerString.length();
+        final int signatureStart = messageStart + message.length() + 1;
+        final int annexStart = signatureStart + signature.length();
+        verify(dataService, times(1)).extractDataInto(sink, input, messageStart, messageStart + message.length(),
+                                                      DOC_01, MESSAGE);
+        verify(dataService, times(1)).extractDataInto(sink, input, annexStart + 1, input.length(), DOC_01, ANNEX);
+        verify(signatureService, times(1)).verifySignature(input, signatureStart - 1, signatureStart, annexStart,
+                                                           TRUST_STORE);
+        assertTrue(sink.isValid());
+    }
+
+    @Test
+    void parseInto_whenSignatureIsMissing_shouldThrowException()
+            throws UnsupportedException, HeaderExtractionException, NotFoundException {
+        final String input = "DC04FR0AXT4A0E840E8A0101FR26FR";
+        final ResultSink sink = new ResultSink();
+        doAnswer(i -> {
+            sink.header(Version.VERSION_04, DOC_01, date, date);
+            return null;
+        }).when(headerService).parseHeaderInto(input, sink);
+
+        assertThrows(ParsingException.class, () -> parser.parseInto(input, TRUST_STORE, sink));
+        verifyNoInteractions(dataService, signatureService);
+    }
+
+    @Test
+    void parse_whenSignatureIsMissing_shouldThrowException()
+            throws UnsupportedException, HeaderExtractionException, NotFoundException {
+        final String input = "DC04FR0AXT4A0E840E8A0101FR26FR";
+        when(headerService.parseHeader(input)).thenReturn(ofVersion04("FR0A", "AXT4", date, date, DOC_01, "01",
+                                                                      "FR"));
+
+        assertThrows(ParsingException.class, () -> parser.parse(input, TRUST_STORE));
+        assertThrows(ParsingException.class, () -> parser.parse(input, TRUST_STORE, ParseOptions.FULL));
+        assertThrows(ParsingException.class, () -> parser.parseLazily(input, TRUST_STORE));
+        verifyNoInteractions(dataService, signatureService);
+    }
+
+    @Test
+    void verifySignature_whenSignatureIsMissing_shouldThrowException() {
+        final Parsed2DDoc parsed2DDoc = Parsed2DDoc.builder()
+                .header(ofVersion04("FR0A", "AXT4", date, date, DOC_01, "01", "FR"))
+                .raw("DC04FR0AXT4A0E840E8A0101FR26FR")
+                .signatureStatus(NOT_VERIFIED)
+                .build();
+
+        assertThrows(ParsingException.class, () -> parser.verifySignature(parsed2DDoc, TRUST_STORE));
+        verifyNoInteractions(signatureService);
+    }
+
+    @Test
+    void parse_withHandler_whenSignatureIsMissing_shouldThrowException()
+            throws UnsupportedException, HeaderExtractionException, NotFoundException {
+        final String input = "DC04FR0AXT4A0E840E8A0101FR26FR";
+        final ParseHandler handler = mock(ParseHandler.class);
+        when(headerService.parseHeader(input)).thenReturn(ofVersion04("FR0A", "AXT4", date, date, DOC_01, "01",
+                                                                      "FR"));
+
+        assertThrows(ParsingException.class, () -> parser.parse(input, TRUST_STORE, handler));
+        verifyNoInteractions(handler, dataService, signatureService);
+    }
+
+    @Test
+    void parse_withHeaderOnly_shouldOnlyParseTheHeader()
+            throws UnsupportedException, HeaderExtractionException, NotFoundException, ParsingException {
+        final String input = "DC04FR0AXT4A0E840E8A0101FR26FR\u001FSIGNATURE";
+        final Header header = ofVersion04("FR0A", "AXT4", date, date, DOC_01, "01", "FR");
+        when(headerService.parseHeader(input)).thenReturn(header);
+
+        final Parsed2DDoc parsed2DDoc = parser.parse(input, emptyList(),
+                                                     ParseOptions.builder().headerOnly(true).build());
+
+        assertEquals(header, parsed2DDoc.getHeader());
+        assertEquals(NOT_VERIFIED, parsed2DDoc.getSignatureStatus());
+        assertTrue(parsed2DDoc.getExtractedData().getData().isEmpty());
+        assertFalse(parsed2DDoc.isValid());
+        verifyNoInteractions(dataService, signatureService);
+    }
+
+    @Test
+    void parse_withSelectedDataSkippedAnnexAndDeferredSignature_shouldSkipThem()
+            throws UnsupportedException, HeaderExtractionException, NotFoundException, DataExtractionException,
+            ParsingException {
+        final String headerString = "DC04FR0AXT4A0E840E8A0101FR";
+        final String message = "26FR2475000";
+        final String input = headerString + message + "\u001FSIGNATURE\u001D02FACTURE";
+        final Header header = ofVersion04("FR0A", "AXT4", date, date, DOC_01, "01", "FR");
+        final EnumSet<DataType> selection = EnumSet.of(BENEFIT_SERVICE_POINT_COUNTRY);
+        when(headerService.parseHeader(input)).thenReturn(header);
+        when(dataService.extractSelectedData(input, headerString.length(), headerString.length() + message.length(),
+                                             DOC_01, MESSAGE, selection))
+                .thenReturn(new ExtractedData(emptyList(), emptyList()));
+
+        final Parsed2DDoc parsed2DDoc = parser.parse(input, emptyList(), ParseOptions.builder()
+                .dataTypes(selection)
+                .skipAnnex(true)
+                .deferSignature(true)
+                .build());
+
+        assertEquals(NOT_VERIFIED, parsed2DDoc.getSignatureStatus());
+        assertFalse(parsed2DDoc.isValid());
+        verify(dataService, never()).extractSelectedData(any(), anyInt(), anyInt(), any(), eq(ANNEX), any());
+        verifyNoInteractions(signatureService);
+    }
+
+    @Test
+    void verifySignature_shouldVerifyTheSignatureOfTheParsed2DDoc()
+            throws SignatureVerificationException, ParsingException {
+        final String signedData = "DC04FR0AXT4A0E840E8A0101FR26FR";
+        final String input = signedData + "\u001FSIGNATURE\u001D02FACTURE";
+        final Header header = ofVersion04("FR0A", "AXT4", date, date, DOC_01, "01", "FR");
+        final Parsed2DDoc parsed2DDoc = Parsed2DDoc.builder()
+                .header(header)
+                .raw(input)
+                .signatureStatus(NOT_VERIFIED)
+                .build();
+        when(signatureService.verifySignature(input, signedData.length(), signedData.length() + 1,
+                                              input.indexOf('\u001D'), TRUST_STORE)).thenReturn(VALID);
+
+        assertEquals(VALID, parser.verifySignature(parsed2DDoc, TRUST_STORE));
+    }
 
+    @Test
+    void tryParse_whenHeaderIsInvalid_shouldReturnTheError() throws ParseSignal {
+        when(headerService.decodeHeader("Something")).thenThrow(ParseSignal.of(ErrorCode.NOT_A_2DDOC, 0));
+
+        final ParseResult result = parser.tryParse("Something", emptyList());
+
+        assertFalse(result.isSuccess());
+        assertNull(result.getParsed2DDoc());
+        assertEquals(ErrorCode.NOT_A_2DDOC, result.getErrorCode());
+        assertEquals(0, result.getErrorPosition());
+        verifyNoInteractions(dataService, signatureService);
+    }
+
+    @Test
+    void tryParse_whenDataIsInvalid_shouldReturnTheError() throws ParseSignal {
+        final String input = "DC04FR0AXT4A0E840E8A0101FR26FR\u001FSIGNATURE";
+        when(headerService.decodeHeader(input)).thenReturn(ofVersion04("FR0A", "AXT4", date, date, DOC_01, "01",
+                                                                       "FR"));
+        when(dataService.tryExtractData(input, 26, 30, DOC_01, MESSAGE, ParseOptions.FULL))
+                .thenThrow(ParseSignal.of(ErrorCode.INVALID_VALUE, 28));
+
+        final ParseResult result = parser.tryParse(input, emptyList());
+
+        assertEquals(ErrorCode.INVALID_VALUE, result.getErrorCode());
+        assertEquals(28, result.getErrorPosition());
+        verifyNoInteractions(signatureService);
+    }
+
+    @Test
+    void tryParse_whenSignatureIsMissing_shouldReturnTheError() throws ParseSignal {
+        final String input = "DC04FR0AXT4A0E840E8A0101FR26FR";
+        when(headerService.decodeHeader(input)).thenReturn(ofVersion04("FR0A", "AXT4", date, date, DOC_01, "01",
+                                                                       "FR"));
+
+        final ParseResult result = parser.tryParse(input, emptyList());
+
+        assertEquals(ErrorCode.MISSING_SIGNATURE, result.getErrorCode());
+        assertEquals(input.length(), result.getErrorPosition());
+        verifyNoInteractions(dataService, signatureService);
+    }
+
+    @Test
+    void tryParse_shouldReturnTheParsed2DDoc() throws ParseSignal, SignatureVerificationException {
+        final String input = "DC04FR0AXT4A0E840E8A0101FR26FR\u001FSIGNATURE\u001D26FR";
+        final Header header = ofVersion04("FR0A", "AXT4", date, date, DOC_01, "01", "FR");
+        when(headerService.decodeHeader(input)).thenReturn(header);
+        final Data message = Data.builder().dataType(BENEFIT_SERVICE_POINT_COUNTRY).source(MESSAGE).build();
+        final Data annex = Data.builder().dataType(BENEFIT_SERVICE_POINT_COUNTRY).source(ANNEX).build();
+        when(dataService.tryExtractData(input, 26, 30, DOC_01, MESSAGE, ParseOptions.FULL))
+                .thenReturn(new ExtractedData(singletonList(message), emptyList()));
+        when(dataService.tryExtractData(input, 41, 45, DOC_01, ANNEX, ParseOptions.FULL))
+                .thenReturn(new ExtractedData(singletonList(annex), emptyList()));
+        when(signatureService.verifySignature(input, 30, 31, 40, TRUST_STORE)).thenReturn(VALID);
+
+        final ParseResult result = parser.tryParse(input, TRUST_STORE);
+
+        assertTrue(result.isSuccess());
+        assertNull(result.getErrorCode());
+        assertEquals(-1, result.getErrorPosition());
+        final Parsed2DDoc parsed2DDoc = result.getParsed2DDoc();
+        assertSame(header, parsed2DDoc.getHeader());
+        assertEquals(asList(message, annex), parsed2DDoc.getExtractedData().getData());
+        assertEquals(VALID, parsed2DDoc.getSignatureStatus());
         assertTrue(parsed2DDoc.isValid());
     }
 
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 
 import static fr.kiyauden._2ddoc.DataType.BENEFICIARY_ADDRESS_LINE_1;
@@ -13,13 +14,21 @@ import static fr.kiyauden._2ddoc.DataType.BENEFICIARY_QUALITY_AND_OR_TITLE;
 import static fr.kiyauden._2ddoc.DataType.BENEFIT_SERVICE_POINT_ADDRESS_LINE_4;
 import static fr.kiyauden._2ddoc.DataType.BENEFIT_SERVICE_POINT_COUNTRY;
 import static fr.kiyauden._2ddoc.DataType.BENEFIT_SERVICE_POINT_POSTAL_OR_CEDEX_CODE;
+import static fr.kiyauden._2ddoc.DataType.COMPANY_NAME;
+import static fr.kiyauden._2ddoc.DataType.EMPLOYER_FIRSTNAME;
+import static fr.kiyauden._2ddoc.DataType.EMPLOYER_LASTNAME;
+import static fr.kiyauden._2ddoc.DataType.EMPLOYER_SIRET;
+import static fr.kiyauden._2ddoc.DataType.IBAN;
 import static fr.kiyauden._2ddoc.DataType.INVOICE_RECIPIENT_ADDRESS_LINE_1;
 import static fr.kiyauden._2ddoc.Document.DOC_01;
+import static fr.kiyauden._2ddoc.Document.DOC_15;
 import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DocumentServiceTest {
@@ -43,8 +52,7 @@ class DocumentServiceTest {
 
     @Test
     void isDataMandatory_whenDataIsNotLinkedToDocument_shouldThrowException() {
-        // TODO : add this test when other documents will be added
-        assertTrue(true);
+        assertThrows(DataExtractionException.class, () -> service.isDataMandatory(DOC_01, IBAN));
     }
 
     @Test
@@ -118,4 +126,45 @@ class DocumentServiceTest {
 
         assertThat(dataTypes, containsInAnyOrder(expectedData.toArray()));
     }
+
+    @Test
+    void computeMissingData_whenDataWithoutInterchangeableDataIsMissing_shouldNotReturnIt() {
+        // Only BENEFICIARY_ADDRESS_LINE_1 has interchangeable data, the others are never reported missing
+        final List<DataType> baseData = asList(BENEFICIARY_ADDRESS_LINE_1);
+
+        final List<DataType> dataTypes = service.computeMissingData(DOC_01, baseData);
+
+        assertThat(dataTypes, empty());
+    }
+
+    @Test
+    void computeMissingData_withEnumSet_shouldReturnMissingData() {
+        final EnumSet<DataType> baseData = EnumSet.of(BENEFIT_SERVICE_POINT_ADDRESS_LINE_4,
+                                                      BENEFIT_SERVICE_POINT_POSTAL_OR_CEDEX_CODE,
+                                                      BENEFIT_SERVICE_POINT_COUNTRY,
+                                                      BENEFICIARY_QUALITY_AND_OR_TITLE);
+
+        final List<DataType> dataTypes = service.computeMissingData(DOC_01, baseData);
+
+        assertThat(dataTypes, containsInAnyOrder(BENEFICIARY_ADDRESS_LINE_1,
+                                                 BENEFICIARY_FIRSTNAME,
+                                                 BENEFICIARY_LASTNAME));
+    }
+
+    @Test
+    void computeMissingData_whenGroupIsReplacedByTheOtherGroup_shouldNotReturnIt() {
+        // The employer is a company (SIRET and name) or a private person (last name and first name)
+        final EnumSet<DataType> baseData = EnumSet.of(EMPLOYER_LASTNAME, EMPLOYER_FIRSTNAME);
+
+        assertThat(service.computeMissingData(DOC_15, baseData), empty());
+    }
+
+    @Test
+    void computeMissingData_whenGroupIsIncomplete_shouldReturnMissingData() {
+        final EnumSet<DataType> baseData = EnumSet.of(EMPLOYER_LASTNAME);
+
+        final List<DataType> dataTypes = service.computeMissingData(DOC_15, baseData);
+
+        assertThat(dataTypes, containsInAnyOrder(EMPLOYER_SIRET, COMPANY_NAME, EMPLOYER_FIRSTNAME));
+    }
 }
@@ -8,6 +8,10 @@ import static com.github.npathai.hamcrestopt.OptionalMatchers.isEmpty;
 import static com.github.npathai.hamcrestopt.OptionalMatchers.isPresentAndIs;
 import static fr.kiyauden._2ddoc.Document.DOC_01;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DocumentTest {
 
@@ -23,4 +27,22 @@ class DocumentTest {
         assertThat(document, isEmpty());
     }
 
+    @Test
+    void findById_withChars_shouldReturnIt() {
+        assertEquals(DOC_01, Document.findById('0', '1'));
+        assertNull(Document.findById('E', 'E'));
+    }
+
+
+    @Test
+    void isMandatory_shouldOnlyMatchMandatoryData() {
+        assertTrue(DOC_01.isMandatory(DataType.BENEFICIARY_ADDRESS_LINE_1));
+        assertFalse(DOC_01.isMandatory(DataType.INVOICE_RECIPIENT_ADDRESS_LINE_1));
+    }
+
+    @Test
+    void isLinked_shouldMatchMandatoryAndOptionalData() {
+        assertTrue(DOC_01.isLinked(DataType.BENEFICIARY_ADDRESS_LINE_1));
+        assertTrue(DOC_01.isLinked(DataType.INVOICE_RECIPIENT_ADDRESS_LINE_1));
+    }
 }
@@ -0,0 +1,155 @@
+package fr.kiyauden._2ddoc;
+
+import org.bouncycastle.crypto.params.ECPublicKeyParameters;
+import org.bouncycastle.jcajce.provider.asymmetric.util.ECUtil;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.Arrays;
+import java.util.Random;
+
+import static java.util.Arrays.copyOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EcdsaVerifierTest {
+
+    @Test
+    void verify_shouldVerifyTheSignaturesOfTheProvider() throws GeneralSecurityException {
+        final KeyPair keyPair = TrustedCertificateTest.keyPair();
+        final EcdsaVerifier verifier = new EcdsaVerifier(key(keyPair));
+        final Random random = new Random(0);
+        for (int length = 0; length < 200; length += 7) {
+            final byte[] data = new byte[length];
+            random.nextBytes(data);
+            final byte[] signature = TrustedCertificateTest.sign(keyPair, data);
+
+            verifier.update(data, 0, length);
+            assertTrue(verifier.verify(signature, 0, signature.length));
+
+            // A byte of the signature changed
+            signature[length % signature.length] ^= 1;
+            verifier.update(data, 0, length);
+            assertFalse(verifier.verify(signature, 0, signature.length));
+        }
+    }
+
+    @Test
+    void verify_shouldReadTheSignatureFromItsOffset() throws GeneralSecurityException {
+        final KeyPair keyPair = TrustedCertificateTest.keyPair();
+        final EcdsaVerifier verifier = new EcdsaVerifier(key(keyPair));
+        final byte[] data = "DC04FR000001198519D31201FRdata".getBytes();
+        final byte[] signature = TrustedCertificateTest.sign(keyPair, data);
+        final byte[] shifted = new byte[signature.length + 3];
+        System.arraycopy(signature, 0, shifted, 3, signature.length);
+
+        verifier.update(data, 0, data.length);
+        assertTrue(verifier.verify(shifted, 3, signature.length));
+    }
+
+    @Test
+    void verify_withADirectBuffer_shouldCopyItsBytes() throws GeneralSecurityException {
+        final KeyPair keyPair = TrustedCertificateTest.keyPair();
+        final EcdsaVerifier verifier = new EcdsaVerifier(key(keyPair));
+        // More than the copy buffer
+        final byte[] data = new byte[1000];
+        new Random(0).nextBytes(data);
+        final byte[] signature = TrustedCertificateTest.sign(keyPair, data);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+        buffer.put(data).flip();
+
+        verifier.update(buffer);
+        assertFalse(buffer.hasRemaining());
+        assertTrue(verifier.verify(signature, 0, signature.length));
+    }
+
+    @Test
+    void verify_whenTheSignatureHasNotTheLengthOfTheKey_shouldReturnFalseAndReset() throws GeneralSecurityException {
+        final KeyPair keyPair = TrustedCertificateTest.keyPair();
+        final EcdsaVerifier verifier = new EcdsaVerifier(key(keyPair));
+        final byte[] data = "DC04FR000001198519D31201FRdata".getBytes();
+        final byte[] signature = TrustedCertificateTest.sign(keyPair, data);
+
+        verifier.update(data, 0, data.length);
+        assertFalse(verifier.verify(copyOf(signature, signature.length - 1), 0, signature.length - 1));
+        verifier.update(data, 0, data.length);
+        assertTrue(verifier.verify(signature, 0, signature.length));
+    }
+
+    @Test
+    void verify_withPrecomputedKeys_shouldVerifyLikeTheSigner() throws GeneralSecurityException {
+        final KeyPair keyPair = TrustedCertificateTest.keyPair();
+        final ECPublicKeyParameters key = key(keyPair);
+        final EcdsaVerifier signer = new EcdsaVerifier(key);
+        final EcdsaVerifier precomputed = new EcdsaVerifier(key, new PrecomputedKeys(
+                PrecomputedKeys.P256_TABLE_SIZE, PrecomputedKeys.P256_TABLE_SIZE));
+        // No table, the signer is used
+        final EcdsaVerifier noTable = new EcdsaVerifier(key, new PrecomputedKeys(0, PrecomputedKeys.P256_TABLE_SIZE));
+        final Random random = new Random(0);
+        for (int i = 0; i < 50; i++) {
+            final byte[] data = new byte[i];
+            random.nextBytes(data);
+            final byte[] signature = TrustedCertificateTest.sign(keyPair, data);
+            if (i % 2 == 1) {
+                signature[i % signature.length] ^= 1;
+            }
+
+            for (final EcdsaVerifier verifier : new EcdsaVerifier[]{signer, precomputed, noTable}) {
+                verifier.update(data, 0, data.length);
+                assertEquals(i % 2 == 0, verifier.verify(signature, 0, signature.length));
+            }
+        }
+    }
+
+    @Test
+    void verify_withPrecomputedKeys_whenTheHalvesAreOutOfRange_shouldReturnFalse() throws GeneralSecurityException {
+        final KeyPair keyPair = TrustedCertificateTest.keyPair();
+        final ECPublicKeyParameters key = key(keyPair);
+        final EcdsaVerifier verifier = new EcdsaVerifier(key, new PrecomputedKeys(
+                PrecomputedKeys.P256_TABLE_SIZE, PrecomputedKeys.P256_TABLE_SIZE));
+        final byte[] data = "DC04FR000001198519D31201FRdata".getBytes();
+        final byte[] signature = TrustedCertificateTest.sign(keyPair, data);
+
+        // r = 0
+        final byte[] zero = signature.clone();
+        Arrays.fill(zero, 0, 32, (byte) 0);
+        verifier.update(data, 0, data.length);
+        assertFalse(verifier.verify(zero, 0, zero.length));
+
+        // s above the order
+        final byte[] above = signature.clone();
+        Arrays.fill(above, 32, 64, (byte) 0xFF);
+        verifier.update(data, 0, data.length);
+        assertFalse(verifier.verify(above, 0, above.length));
+    }
+
+    @Test
+    void verify_withPrecomputedKeys_whenTheTableIsEvicted_shouldGetItAgain() throws GeneralSecurityException {
+        final PrecomputedKeys precomputedKeys = new PrecomputedKeys(PrecomputedKeys.P256_TABLE_SIZE,
+                                                                    PrecomputedKeys.P256_TABLE_SIZE);
+        final KeyPair keyPair1 = TrustedCertificateTest.keyPair();
+        final KeyPair keyPair2 = TrustedCertificateTest.keyPair();
+        final EcdsaVerifier verifier1 = new EcdsaVerifier(key(keyPair1), precomputedKeys);
+        final EcdsaVerifier verifier2 = new EcdsaVerifier(key(keyPair2), precomputedKeys);
+        final byte[] data = "DC04FR000001198519D31201FRdata".getBytes();
+        final byte[] signature1 = TrustedCertificateTest.sign(keyPair1, data);
+        final byte[] signature2 = TrustedCertificateTest.sign(keyPair2, data);
+
+        // A single table is kept, each verification evicts the table of the other key
+        for (int i = 0; i < 3; i++) {
+            verifier1.update(data, 0, data.length);
+            assertTrue(verifier1.verify(signature1, 0, signature1.length));
+            verifier2.update(data, 0, data.length);
+            assertTrue(verifier2.verify(signature2, 0, signature2.length));
+            assertEquals(1, precomputedKeys.size());
+        }
+    }
+
+    private static ECPublicKeyParameters key(final KeyPair keyPair) throws GeneralSecurityException {
+        return (ECPublicKeyParameters) ECUtil.generatePublicKeyParameter(keyPair.getPublic());
+    }
+
+}
@@ -4,23 +4,30 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 
+import static fr.kiyauden._2ddoc.DataSource.ANNEX;
 import static fr.kiyauden._2ddoc.DataSource.MESSAGE;
 import static fr.kiyauden._2ddoc.DataType.BENEFICIARY_ADDRESS_LINE_1;
 import static fr.kiyauden._2ddoc.DataType.BENEFIT_SERVICE_POINT_ADDRESS_LINE_4;
 import static fr.kiyauden._2ddoc.DataType.BENEFIT_SERVICE_POINT_COUNTRY;
 import static fr.kiyauden._2ddoc.DataType.BENEFIT_SERVICE_POINT_POSTAL_OR_CEDEX_CODE;
 import static fr.kiyauden._2ddoc.Document.DOC_01;
+import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class EndToEndTest {
 
@@ -86,6 +93,154 @@ class EndToEndTest {
         // TODO: 12/06/2023 Trouver comment tester la validité avec le certificat qui est expiré
     }
 
+    @Test
+    void endToEndTest_forDocument01_lazily() throws UnsupportedException, ParsingException {
+        final Parser parser = Utils2dDoc.newParser();
+        final String input = load2ddoc("01");
+
+        final Parsed2DDoc eager = parser.parse(input, singletonList(fr00Certificate));
+        final Parsed2DDoc lazy = parser.parseLazily(input, singletonList(fr00Certificate));
+
+        assertEquals(eager.getText(BENEFICIARY_ADDRESS_LINE_1), lazy.getText(BENEFICIARY_ADDRESS_LINE_1));
+        assertEquals(eager.isValid(), lazy.isValid());
+        assertEquals(eager.getExtractedData().getMissingMandatoryData(),
+                     lazy.getExtractedData().getMissingMandatoryData());
+        assertEquals(eager, lazy);
+    }
+
+    @Test
+    void endToEndTest_forDocument01_intoSink() throws UnsupportedException, ParsingException {
+        final Parser parser = Utils2dDoc.newParser();
+        final String input = load2ddoc("01");
+        final Parsed2DDoc parsed = parser.parse(input, singletonList(fr00Certificate));
+
+        final ResultSink sink = new ResultSink();
+        // Twice, the sink must be reset between the parsings
+        parser.parseInto(input, singletonList(fr00Certificate), sink);
+        parser.parseInto(input, singletonList(fr00Certificate), sink);
+
+        assertEquals(parsed.getHeader().getVersion(), sink.getVersion());
+        assertEquals(parsed.getHeader().getCertificationAuthorityId(), sink.getCertificationAuthorityId());
+        assertEquals(parsed.getHeader().getEmissionDate(), sink.getEmissionDate());
+        assertEquals(parsed.getSignatureStatus(), sink.getSignatureStatus());
+        assertEquals(parsed.isValid(), sink.isValid());
+        assertEquals(parsed.getExtractedData().getData().size(), sink.size());
+        for (int i = 0; i < sink.size(); i++) {
+            final Data data = parsed.getExtractedData().getData().get(i);
+            assertEquals(data.getDataType(), sink.getDataType(i));
+            assertEquals(data.getStringValue(), sink.getText(i));
+            assertEquals(data.isMandatory(), sink.isMandatory(i));
+        }
+    }
+
+    @Test
+    void endToEndTest_forDocument01_intoSink_fromDirectBuffer() throws UnsupportedException, ParsingException {
+        final Parser parser = Utils2dDoc.newParser();
+        final String input = load2ddoc("01");
+        final ResultSink expected = new ResultSink();
+        parser.parseInto(input, singletonList(fr00Certificate), expected);
+
+        final byte[] bytes = input.getBytes(US_ASCII);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.flip();
+        final ResultSink sink = new ResultSink();
+        parser.parseInto(buffer, singletonList(fr00Certificate), sink);
+
+        assertEquals(expected.getVersion(), sink.getVersion());
+        assertEquals(expected.getCertificateId(), sink.getCertificateId());
+        assertEquals(expected.getSignatureDate(), sink.getSignatureDate());
+        assertEquals(expected.getSignatureStatus(), sink.getSignatureStatus());
+        assertEquals(expected.isValid(), sink.isValid());
+        assertEquals(expected.size(), sink.size());
+        for (int i = 0; i < sink.size(); i++) {
+            assertEquals(expected.getDataType(i), sink.getDataType(i));
+            assertEquals(expected.getText(i), sink.getText(i));
+        }
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    void endToEndTest_forDocument01_withHandler_fromBytes() throws UnsupportedException, ParsingException {
+        final Parser parser = Utils2dDoc.newParser();
+        final String input = load2ddoc("01");
+        final Parsed2DDoc parsed = parser.parse(input, singletonList(fr00Certificate));
+
+        final List<String> values = new ArrayList<>();
+        parser.parse(ByteBuffer.wrap(input.getBytes(US_ASCII)), singletonList(fr00Certificate),
+                     (dataType, value, truncated, source) -> values.add(value.toString()));
+
+        assertEquals(parsed.getExtractedData().getData().stream().map(Data::getStringValue).collect(toList()),
+                     values);
+    }
+
+    @Test
+    void endToEndTest_forDocument01_withHandler() throws UnsupportedException, ParsingException {
+        final Parser parser = Utils2dDoc.newParser();
+        final String input = load2ddoc("01");
+        final Parsed2DDoc parsed = parser.parse(input, singletonList(fr00Certificate));
+
+        final List<String> values = new ArrayList<>();
+        final List<Object> events = new ArrayList<>();
+        parser.parse(input, singletonList(fr00Certificate), new ParseHandler() {
+            @Override
+            public void onHeader(final Header header) {
+                events.add(header);
+            }
+
+            @Override
+            public void onField(final DataType dataType, final CharSequence value, final boolean truncated,
+                                final DataSource source) {
+                values.add(value.toString());
+            }
+
+            @Override
+            public void onSignature(final SignatureStatus status) {
+                events.add(status);
+            }
+
+            @Override
+            public void onEnd(final List<DataType> missingMandatoryData, final boolean valid) {
+                events.add(valid);
+            }
+        });
+
+        assertEquals(asList(parsed.getHeader(), parsed.getSignatureStatus(), parsed.isValid()), events);
+        assertEquals(parsed.getExtractedData().getData().stream().map(Data::getStringValue).collect(toList()),
+                     values);
+    }
+
+    @Test
+    void endToEndTest_forDocument01_tryParse() throws UnsupportedException, ParsingException {
+        final Parser parser = Utils2dDoc.newParser();
+        final String input = load2ddoc("01");
+
+        final ParseResult result = parser.tryParse(input, singletonList(fr00Certificate));
+
+        assertTrue(result.isSuccess());
+        assertEquals(parser.parse(input, singletonList(fr00Certificate)), result.getParsed2DDoc());
+    }
+
+    @Test
+    void endToEndTest_forDocument01_tryParse_withUnknownIdentifierInAnnex() {
+        final Parser parser = Utils2dDoc.newParser();
+        final String input = load2ddoc("01") + "\u001DZZUNKNOWN\u001D26FR";
+
+        final ParseResult strict = parser.tryParse(input, singletonList(fr00Certificate));
+        assertFalse(strict.isSuccess());
+        assertEquals(ErrorCode.MALFORMED_DATA, strict.getErrorCode());
+        assertEquals(input.indexOf("ZZ"), strict.getErrorPosition());
+
+        final ParseResult lenient = parser.tryParse(input, singletonList(fr00Certificate),
+                                                    ParseOptions.builder().lenient(true).build());
+        assertTrue(lenient.isSuccess());
+        // The annex is not signed, the signature is the same as without it
+        assertEquals(parser.tryParse(load2ddoc("01"), singletonList(fr00Certificate)).getParsed2DDoc()
+                             .getSignatureStatus(), lenient.getParsed2DDoc().getSignatureStatus());
+        assertEquals(ANNEX, lenient.getParsed2DDoc().getExtractedData().getData().get(4).getSource());
+        assertEquals("FR", lenient.getParsed2DDoc().getExtractedData().getData().get(4).getStringValue());
+    }
+
     private String load2ddoc(final String name) {
         return new Scanner(EndToEndTest.class.getClassLoader().getResourceAsStream("e2e/2ddoc/" + name + ".2ddoc"),
                            "UTF-8").useDelimiter("\\A")
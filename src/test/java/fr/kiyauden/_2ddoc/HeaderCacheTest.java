@@ -0,0 +1,50 @@
+package fr.kiyauden._2ddoc;
+
+import org.junit.jupiter.api.Test;
+
+import static fr.kiyauden._2ddoc.Document.DOC_01;
+import static fr.kiyauden._2ddoc.Version.VERSION_02;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HeaderCacheTest {
+
+    private static final String HEADER = "DC02FR0AXT4A0E840E8A01";
+    private static final Header PARSED = Header.of(VERSION_02, "FR0A", "XT4A", null, null, DOC_01, null, null);
+
+    @Test
+    void get_whenHeaderIsCached_shouldReturnIt() {
+        final HeaderCache cache = new HeaderCache(16);
+        cache.put(HEADER, 22, HeaderCache.hash(HEADER, 22), PARSED);
+
+        // Only the characters of the header are compared
+        final String input = HEADER + "26FR";
+        assertSame(PARSED, cache.get(input, 22, HeaderCache.hash(input, 22)));
+    }
+
+    @Test
+    void get_whenHeaderIsNotCached_shouldReturnNull() {
+        final HeaderCache cache = new HeaderCache(16);
+        cache.put(HEADER, 22, HeaderCache.hash(HEADER, 22), PARSED);
+
+        final String other = "DC02FR0AXT4A0E840E8B01";
+        assertNull(cache.get(other, 22, HeaderCache.hash(other, 22)));
+    }
+
+    @Test
+    void get_whenSlotIsShared_shouldCompareTheCharacters() {
+        // A single slot, every header shares it
+        final HeaderCache cache = new HeaderCache(1);
+        cache.put(HEADER, 22, 0, PARSED);
+
+        assertNull(cache.get("DC02FR0AXT4A0E840E8B01", 22, 0));
+        assertSame(PARSED, cache.get(HEADER, 22, 0));
+    }
+
+    @Test
+    void new_whenCapacityIsNotAPowerOfTwo_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new HeaderCache(100));
+    }
+
+}
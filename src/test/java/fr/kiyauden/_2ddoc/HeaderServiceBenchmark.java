@@ -0,0 +1,72 @@
+package fr.kiyauden._2ddoc;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+import static java.util.Collections.singleton;
+
+/**
+ * Benchmark of {@link HeaderService#parseHeader(CharSequence)}, for a batch of 2D-DOC sharing the same header and for
+ * a batch where every header is different
+ * <p>
+ * Run with the main method from the IDE, or with {@code -prof gc} added to the options to see the allocation rate
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class HeaderServiceBenchmark {
+
+    /**
+     * Number of distinct headers, more than the cache holds
+     */
+    private static final int DISTINCT_HEADERS = 4096;
+
+    private HeaderService headerService;
+    private String sameHeader;
+    private String[] distinctHeaders;
+    private int next;
+
+    @Setup
+    public void setup() {
+        headerService = new HeaderService(new ParserService(singleton(new DateDataParser())));
+        sameHeader = "DC04FR0AXT4A0E840E8A0101FR";
+        distinctHeaders = new String[DISTINCT_HEADERS];
+        for (int i = 0; i < DISTINCT_HEADERS; i++) {
+            // A different signature date for each header
+            distinctHeaders[i] = format("DC04FR0AXT4A0E84%04X0101FR", i);
+        }
+    }
+
+    @Benchmark
+    public Header sameHeader() throws UnsupportedException, NotFoundException, HeaderExtractionException {
+        return headerService.parseHeader(sameHeader);
+    }
+
+    @Benchmark
+    public Header distinctHeaders() throws UnsupportedException, NotFoundException, HeaderExtractionException {
+        next = next + 1 & DISTINCT_HEADERS - 1;
+        return headerService.parseHeader(distinctHeaders[next]);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(HeaderServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -15,15 +15,26 @@ import static fr.kiyauden._2ddoc.Header.ofVersion04;
 import static java.time.LocalDate.of;
 import static java.time.Month.JANUARY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class HeaderServiceTest {
 
     private static final LocalDate DATE = of(2023, JANUARY, 30);
+    /**
+     * HEX date 0E84, decoded without the parser service by {@link IHeaderService#parseHeaderInto}
+     */
+    private static final LocalDate EMISSION_DATE = of(2000, JANUARY, 1).plusDays(0x0E84);
+    /**
+     * HEX date 0E8A, decoded without the parser service by {@link IHeaderService#parseHeaderInto}
+     */
+    private static final LocalDate SIGNATURE_DATE = of(2000, JANUARY, 1).plusDays(0x0E8A);
 
     @Mock
     private IParserService parserServiceMock;
@@ -146,4 +157,104 @@ class HeaderServiceTest {
         assertThrows(HeaderExtractionException.class, () -> headerService.parseHeader(headerString));
     }
 
+    @Test
+    void parseHeader_shouldParseTheDatesWithTheParserService() throws ParsingException, UnsupportedException,
+            NotFoundException, HeaderExtractionException {
+        // A custom DATE parser also applies to the headers
+        when(parserServiceMock.parse(anyString(), eq(DataFormat.DATE))).thenReturn(DATE);
+
+        final Header header = headerService.parseHeader("DC04FR0AXT4A0E840E8A0101FR");
+
+        assertEquals(DATE, header.getEmissionDate());
+        assertEquals(DATE, header.getSignatureDate());
+        verify(parserServiceMock).parse("0E84", DataFormat.DATE);
+        verify(parserServiceMock).parse("0E8A", DataFormat.DATE);
+    }
+
+    @Test
+    void parseHeader_whenHeaderIsRepeated_shouldReturnTheSameInstance()
+            throws UnsupportedException, ParsingException, NotFoundException, HeaderExtractionException {
+        when(parserServiceMock.parse(anyString(), eq(DataFormat.DATE))).thenReturn(DATE);
+
+        final Header header = headerService.parseHeader("DC04FR0AXT4A0E840E8A0101FR" + "26FR");
+
+        assertSame(header, headerService.parseHeader(new StringBuilder("DC04FR0AXT4A0E840E8A0101FR" + "2475000")));
+        assertNotSame(header, headerService.parseHeader("DC04FR0AXT4A0E840E8B0101FR"));
+    }
+
+    @Test
+    void parseHeader_whenHeaderIsInvalid_shouldNotCacheIt() {
+        final String headerString = "DC04FR0AXT4A0E840E8A01FFFR";
+
+        assertThrows(UnsupportedException.class, () -> headerService.parseHeader(headerString));
+        assertThrows(UnsupportedException.class, () -> headerService.parseHeader(headerString));
+    }
+
+    @Test
+    void parseHeaderInto_shouldFillTheSink() throws UnsupportedException, NotFoundException,
+            HeaderExtractionException {
+        final ResultSink sink = new ResultSink();
+        sink.reset("DC04FR0AXT4A0E840E8A0101FR");
+
+        headerService.parseHeaderInto(sink.getInput(), sink);
+
+        assertEquals(Version.VERSION_04, sink.getVersion());
+        assertEquals(DOC_01, sink.getDocumentType());
+        assertEquals("FR0A", sink.getCertificationAuthorityId());
+        assertEquals("XT4A", sink.getCertificateId());
+        assertEquals(EMISSION_DATE, sink.getEmissionDate());
+        assertEquals(SIGNATURE_DATE, sink.getSignatureDate());
+    }
+
+    @Test
+    void parseHeaderInto_whenPerimeterIDIsUnknown_shouldThrowException() {
+        assertThrows(UnsupportedException.class,
+                     () -> headerService.parseHeaderInto("DC04FR0AXT4A0E840E8A0102FR", new ResultSink()));
+    }
+
+    @Test
+    void parseHeaderInto_whenDatesAreInvalid_shouldThrowException() {
+        assertThrows(HeaderExtractionException.class,
+                     () -> headerService.parseHeaderInto("DC04FR0AXT4AZZZZ0E8A0101FR", new ResultSink()));
+    }
+
+    @Test
+    void parseHeaderInto_whenNotA2DDoc_shouldThrowException() {
+        assertThrows(NotFoundException.class,
+                     () -> headerService.parseHeaderInto("XX04FR0AXT4A0E840E8A0101FR", new ResultSink()));
+    }
+
+    @Test
+    void decodeHeader_shouldParseLikeParseHeader() throws ParseSignal, UnsupportedException, ParsingException,
+            NotFoundException, HeaderExtractionException {
+        when(parserServiceMock.parse(anyString(), eq(DataFormat.DATE))).thenReturn(DATE);
+        final String headerString = "DC04FR0AXT4A0E840E8A0101FR";
+
+        assertSame(headerService.parseHeader(headerString), headerService.decodeHeader(headerString));
+    }
+
+    @Test
+    void decodeHeader_whenInvalid_shouldThrowSignalWithTheErrorAndItsPosition() throws ParsingException {
+        when(parserServiceMock.parse("ZZZZ", DataFormat.DATE)).thenThrow(ParsingException.class);
+        assertSignal(ErrorCode.NOT_A_2DDOC, 0, "XX04FR0AXT4A0E840E8A0101FR");
+        assertSignal(ErrorCode.NOT_A_2DDOC, 0, "D");
+        assertSignal(ErrorCode.TRUNCATED_HEADER, 3, "DC0");
+        assertSignal(ErrorCode.UNSUPPORTED_VERSION, 2, "DC01FR0AXT4A0E840E8A0101FR");
+        assertSignal(ErrorCode.TRUNCATED_HEADER, 20, "DC04FR0AXT4A0E840E8A");
+        assertSignal(ErrorCode.INVALID_HEADER_DATE, 12, "DC04FR0AXT4AZZZZ0E8A0101FR");
+        assertSignal(ErrorCode.UNSUPPORTED_DOCUMENT, 20, "DC04FR0AXT4A0E840E8AFF01FR");
+        assertSignal(ErrorCode.UNSUPPORTED_PERIMETER, 22, "DC04FR0AXT4A0E840E8A01FFFR");
+    }
+
+    @Test
+    void parseHeader_whenHeaderIsTruncated_shouldThrowException() {
+        assertThrows(HeaderExtractionException.class, () -> headerService.parseHeader("DC04FR0AXT4A0E840E8A"));
+    }
+
+    private void assertSignal(final ErrorCode errorCode, final int position, final String headerString) {
+        final ParseSignal signal = assertThrows(ParseSignal.class, () -> headerService.decodeHeader(headerString));
+        assertEquals(errorCode, signal.getErrorCode());
+        assertEquals(position, signal.getPosition());
+    }
+
 }
@@ -0,0 +1,184 @@
+package fr.kiyauden._2ddoc;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+import static fr.kiyauden._2ddoc.Constants.GS;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IncrementalParserTest {
+
+    private static X509Certificate fr00Certificate;
+
+    @BeforeAll
+    static void beforeAll() throws CertificateException {
+        final InputStream is = IncrementalParserTest.class.getClassLoader().getResourceAsStream("e2e/FR00.pem");
+        final CertificateFactory cf = CertificateFactory.getInstance("X.509");
+        fr00Certificate = (X509Certificate) cf.generateCertificate(is);
+    }
+
+    @Test
+    void feed_withChunksOfAnySize_shouldGiveTheEventsOfTheStreamingParse()
+            throws UnsupportedException, ParsingException {
+        final String input = load2ddoc("01");
+        final RecordingHandler expected = new RecordingHandler();
+        Utils2dDoc.newParser().parse(input, singletonList(fr00Certificate), expected);
+
+        final IncrementalParser parser = Utils2dDoc.newIncrementalParser();
+        for (final int chunkSize : new int[]{1, 2, 3, 7, 26, input.length()}) {
+            final RecordingHandler handler = new RecordingHandler();
+            parser.start(singletonList(fr00Certificate), handler);
+            for (int i = 0; i < input.length(); i += chunkSize) {
+                parser.feed(input.subSequence(i, Math.min(input.length(), i + chunkSize)));
+            }
+            parser.finish();
+
+            assertEquals(expected.events, handler.events, "Chunks of " + chunkSize);
+        }
+    }
+
+    @Test
+    void feed_shouldPassEachDataOnceItsSeparatorIsReceived() throws UnsupportedException, ParsingException {
+        final String input = load2ddoc("01");
+        final RecordingHandler handler = new RecordingHandler();
+        final IncrementalParser parser = Utils2dDoc.newIncrementalParser();
+        parser.start(singletonList(fr00Certificate), handler);
+
+        // Header and the fixed length data 26 and 24
+        parser.feed(input.substring(0, 35));
+        assertEquals(asList("header", "BENEFIT_SERVICE_POINT_COUNTRY=FR",
+                            "BENEFIT_SERVICE_POINT_POSTAL_OR_CEDEX_CODE=75000"), handler.names());
+
+        // Variable length data 10, waits for its GS
+        parser.feed(input.substring(35, 57));
+        assertEquals(3, handler.events.size());
+        parser.feed(input.substring(57, 58));
+        assertEquals("BENEFICIARY_ADDRESS_LINE_1=MME/SPECIMEN/NATACHA", handler.names().get(3));
+    }
+
+    @Test
+    void feed_withAnnex_shouldPassTheDataOfTheAnnex() throws UnsupportedException, ParsingException {
+        final String input = load2ddoc("01") + GS + "26FR10ANNEX";
+        final RecordingHandler expected = new RecordingHandler();
+        Utils2dDoc.newParser().parse(input, singletonList(fr00Certificate), expected);
+
+        final RecordingHandler handler = new RecordingHandler();
+        final IncrementalParser parser = Utils2dDoc.newIncrementalParser();
+        parser.start(singletonList(fr00Certificate), handler);
+        for (int i = 0; i < input.length(); i++) {
+            parser.feed(input.subSequence(i, i + 1));
+        }
+        // The last data of the annex has no separator
+        assertEquals(expected.events.size() - 4, handler.events.size());
+        parser.finish();
+
+        assertEquals(expected.events, handler.events);
+        final List<String> names = handler.names();
+        assertEquals("BENEFICIARY_ADDRESS_LINE_1=ANNEX", names.get(names.size() - 1));
+    }
+
+    @Test
+    void feed_whenInputIsNotA2DDoc_shouldThrowException() {
+        final IncrementalParser parser = Utils2dDoc.newIncrementalParser();
+        parser.start(emptyList(), new RecordingHandler());
+
+        assertThrows(IllegalArgumentException.class, () -> parser.feed("Something"));
+    }
+
+    @Test
+    void feed_whenDataIsMalformed_shouldThrowException() throws UnsupportedException, ParsingException {
+        final IncrementalParser parser = Utils2dDoc.newIncrementalParser();
+        parser.start(emptyList(), new RecordingHandler());
+        parser.feed(load2ddoc("01").substring(0, 24));
+
+        assertThrows(ParsingException.class, () -> parser.feed("!!"));
+    }
+
+    @Test
+    void feed_whenNotStarted_shouldThrowException() {
+        final IncrementalParser parser = Utils2dDoc.newIncrementalParser();
+
+        assertThrows(IllegalStateException.class, () -> parser.feed("DC03"));
+    }
+
+    @Test
+    void finish_whenHeaderIsIncomplete_shouldThrowException() throws UnsupportedException, ParsingException {
+        final IncrementalParser parser = Utils2dDoc.newIncrementalParser();
+        parser.start(emptyList(), new RecordingHandler());
+        parser.feed("DC03FR00");
+
+        assertThrows(IllegalArgumentException.class, parser::finish);
+    }
+
+    @Test
+    void finish_whenSignatureIsMissing_shouldThrowException() throws UnsupportedException, ParsingException {
+        final IncrementalParser parser = Utils2dDoc.newIncrementalParser();
+        parser.start(emptyList(), new RecordingHandler());
+        parser.feed(load2ddoc("01").substring(0, 35));
+
+        assertThrows(ParsingException.class, parser::finish);
+    }
+
+    private String load2ddoc(final String name) {
+        return new Scanner(IncrementalParserTest.class.getClassLoader()
+                                   .getResourceAsStream("e2e/2ddoc/" + name + ".2ddoc"), "UTF-8")
+                .useDelimiter("\\A")
+                .next();
+    }
+
+    /**
+     * Handler recording the events, the values are copied
+     */
+    private static class RecordingHandler implements ParseHandler {
+
+        private final List<Object> events = new ArrayList<>();
+
+        @Override
+        public void onHeader(final Header header) {
+            events.add(header);
+        }
+
+        @Override
+        public void onField(final DataType dataType, final CharSequence value, final boolean truncated,
+                            final DataSource source) {
+            events.add(asList(dataType, value.toString(), truncated, source));
+        }
+
+        @Override
+        public void onSignature(final SignatureStatus status) {
+            events.add(status);
+        }
+
+        @Override
+        public void onEnd(final List<DataType> missingMandatoryData, final boolean valid) {
+            events.add(missingMandatoryData);
+            events.add(valid);
+        }
+
+        private List<String> names() {
+            final List<String> names = new ArrayList<>();
+            for (final Object event : events) {
+                if (event instanceof Header) {
+                    names.add("header");
+                } else if (event instanceof List && ((List<?>) event).size() == 4) {
+                    final List<?> field = (List<?>) event;
+                    names.add(((DataType) field.get(0)).name() + "=" + field.get(1));
+                }
+            }
+            return names;
+        }
+    }
+
+}
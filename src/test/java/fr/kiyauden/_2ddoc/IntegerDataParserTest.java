@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 
 import static fr.kiyauden._2ddoc.DataFormat.INTEGER;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class IntegerDataParserTest {
 
@@ -27,4 +28,19 @@ class IntegerDataParserTest {
         assertEquals(-1, parser.parse("-1"));
     }
 
+    @Test
+    void parse_whenFormatIsUnsupported_shouldThrowException() {
+        assertThrows(NumberFormatException.class, () -> parser.parse("1A"));
+        assertThrows(NumberFormatException.class, () -> parser.parse("-"));
+        assertThrows(NumberFormatException.class, () -> parser.parse("2147483648"));
+    }
+
+    @Test
+    void decode_shouldDecodeTheIntegerInsideTheInput() {
+        assertEquals(12L, IntegerDataParser.decode("0900121D", 4, 6));
+        assertEquals(Integer.MIN_VALUE, IntegerDataParser.decode("-2147483648", 0, 11));
+        assertEquals(Integer.MAX_VALUE, IntegerDataParser.decode("+2147483647", 0, 11));
+        assertEquals(IntegerDataParser.INVALID, IntegerDataParser.decode("", 0, 0));
+    }
+
 }
@@ -0,0 +1,81 @@
+package fr.kiyauden._2ddoc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static fr.kiyauden._2ddoc.DataSource.ANNEX;
+import static fr.kiyauden._2ddoc.DataSource.MESSAGE;
+import static fr.kiyauden._2ddoc.DataType.BENEFIT_SERVICE_POINT_COUNTRY;
+import static fr.kiyauden._2ddoc.DataType.DOCUMENT_CATEGORY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LazyDataListTest {
+
+    private static final String INPUT = "26FR02FACTURE";
+
+    @Mock
+    private IDataService dataService;
+
+    private LazyDataList list;
+
+    @BeforeEach
+    void beforeEach() {
+        list = new LazyDataList(INPUT, dataService);
+        list.record(BENEFIT_SERVICE_POINT_COUNTRY, 2, 4, false, true, MESSAGE);
+        list.record(DOCUMENT_CATEGORY, 6, 13, true, false, ANNEX);
+    }
+
+    @Test
+    void getDataType_shouldNotDecodeTheData() throws DataExtractionException {
+        assertEquals(2, list.size());
+        assertEquals(BENEFIT_SERVICE_POINT_COUNTRY, list.getDataType(0));
+        assertEquals(DOCUMENT_CATEGORY, list.getDataType(1));
+
+        verify(dataService, never()).decodeData(any(), anyInt(), anyInt(), any(), anyBoolean(), anyBoolean(), any());
+    }
+
+    @Test
+    void get_shouldDecodeTheDataOnce() throws DataExtractionException {
+        final Data data = Data.builder().dataType(DOCUMENT_CATEGORY).value("FACTURE").stringValue("FACTURE").build();
+        when(dataService.decodeData(INPUT, 6, 13, DOCUMENT_CATEGORY, true, false, ANNEX)).thenReturn(data);
+
+        assertSame(data, list.get(1));
+        assertSame(data, list.get(1));
+
+        verify(dataService, times(1)).decodeData(any(), anyInt(), anyInt(), any(), anyBoolean(), anyBoolean(),
+                                                 any());
+    }
+
+    @Test
+    void get_whenDecodingFails_shouldThrowUncheckedException() throws DataExtractionException {
+        when(dataService.decodeData(INPUT, 2, 4, BENEFIT_SERVICE_POINT_COUNTRY, false, true, MESSAGE))
+                .thenThrow(DataExtractionException.class);
+
+        assertThrows(UncheckedParsingException.class, () -> list.get(0));
+    }
+
+    @Test
+    void record_shouldGrowTheList() {
+        for (int i = 0; i < 40; i++) {
+            list.record(DOCUMENT_CATEGORY, 6, 13, false, false, MESSAGE);
+        }
+
+        assertEquals(42, list.size());
+        assertEquals(DOCUMENT_CATEGORY, list.getDataType(41));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.getDataType(42));
+    }
+
+}
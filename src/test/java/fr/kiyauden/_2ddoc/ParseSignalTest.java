@@ -0,0 +1,45 @@
+package fr.kiyauden._2ddoc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ParseSignalTest {
+
+    @Test
+    void of_shouldReuseTheSignalOfTheThread() {
+        final ParseSignal first = ParseSignal.of(ErrorCode.MALFORMED_DATA, 42);
+        assertEquals(ErrorCode.MALFORMED_DATA, first.getErrorCode());
+        assertEquals(42, first.getPosition());
+
+        final ParseSignal second = ParseSignal.of(ErrorCode.INVALID_VALUE, 7);
+        assertSame(first, second);
+        assertEquals(ErrorCode.INVALID_VALUE, second.getErrorCode());
+        assertEquals(7, second.getPosition());
+    }
+
+    @Test
+    void of_fromAnotherThread_shouldGiveAnotherSignal() throws InterruptedException, ExecutionException {
+        final ParseSignal signal = ParseSignal.of(ErrorCode.MALFORMED_DATA, 42);
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertNotSame(signal, executor.submit(() -> ParseSignal.of(ErrorCode.INVALID_VALUE, 7)).get());
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(ErrorCode.MALFORMED_DATA, signal.getErrorCode());
+    }
+
+    @Test
+    void of_shouldHaveNoStackTrace() {
+        assertEquals(0, ParseSignal.of(ErrorCode.MALFORMED_DATA, 42).getStackTrace().length);
+    }
+
+}
@@ -0,0 +1,106 @@
+package fr.kiyauden._2ddoc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.EnumSet;
+
+import static com.github.npathai.hamcrestopt.OptionalMatchers.isEmpty;
+import static com.github.npathai.hamcrestopt.OptionalMatchers.isPresentAndIs;
+import static fr.kiyauden._2ddoc.DataSource.ANNEX;
+import static fr.kiyauden._2ddoc.DataSource.MESSAGE;
+import static fr.kiyauden._2ddoc.DataType.BENEFICIARY_ADDRESS_LINE_1;
+import static fr.kiyauden._2ddoc.DataType.DOCUMENT_ASSOCIATION_DATE_WITH_2DDOC;
+import static fr.kiyauden._2ddoc.DataType.DOCUMENT_ASSOCIATION_TIME_WITH_2DDOC;
+import static fr.kiyauden._2ddoc.DataType.DOCUMENT_CATEGORY;
+import static fr.kiyauden._2ddoc.DataType.DOCUMENT_NUMBER_OF_PAGES;
+import static fr.kiyauden._2ddoc.DataType.INVOICE_AMOUNT_INCLUDING_TAX;
+import static fr.kiyauden._2ddoc.DataType.UNMENTIONED_CO_BENEFICIARY_PRESENCE;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Parsed2DDocTest {
+
+    private Parsed2DDoc doc;
+
+    @BeforeEach
+    void beforeEach() {
+        doc = Parsed2DDoc.builder()
+                .extractedData(new ExtractedData(asList(
+                        data(DOCUMENT_CATEGORY, "FACTURE", MESSAGE),
+                        data(DOCUMENT_ASSOCIATION_DATE_WITH_2DDOC, LocalDate.of(2023, 5, 30), MESSAGE),
+                        data(DOCUMENT_ASSOCIATION_TIME_WITH_2DDOC, LocalTime.of(12, 30), MESSAGE),
+                        data(INVOICE_AMOUNT_INCLUDING_TAX, 3.12, MESSAGE),
+                        data(DOCUMENT_NUMBER_OF_PAGES, 2, MESSAGE),
+                        data(UNMENTIONED_CO_BENEFICIARY_PRESENCE, true, MESSAGE),
+                        data(BENEFICIARY_ADDRESS_LINE_1, null, MESSAGE),
+                        data(DOCUMENT_CATEGORY, "AUTRE", ANNEX)
+                ), emptyList()))
+                .build();
+    }
+
+    @Test
+    void findData_shouldReturnTheFirstData() {
+        assertEquals(MESSAGE, doc.findData(DOCUMENT_CATEGORY).get().getSource());
+        assertThat(doc.getValueForData(DOCUMENT_CATEGORY), isPresentAndIs("FACTURE"));
+    }
+
+    @Test
+    void findData_whenDataIsAbsent_shouldReturnEmptyOptional() {
+        assertThat(doc.findData(DataType.CLIENT_NUMBER), isEmpty());
+        assertThat(doc.getValueForData(BENEFICIARY_ADDRESS_LINE_1), isEmpty());
+    }
+
+    @Test
+    void findData_shouldOnlyFindTheDataTypesOfThe2DDoc() {
+        final EnumSet<DataType> present = EnumSet.noneOf(DataType.class);
+        doc.getExtractedData().getData().forEach(data -> present.add(data.getDataType()));
+
+        for (final DataType type : DataType.values()) {
+            assertEquals(present.contains(type), doc.findData(type).isPresent(), type.name());
+        }
+        // Without data
+        final Parsed2DDoc empty = Parsed2DDoc.builder().extractedData(new ExtractedData(emptyList(), emptyList()))
+                .build();
+        assertThat(empty.findData(DOCUMENT_CATEGORY), isEmpty());
+    }
+
+    @Test
+    void typedAccessors_shouldReturnTheValues() {
+        assertEquals("FACTURE", doc.getText(DOCUMENT_CATEGORY));
+        assertEquals(LocalDate.of(2023, 5, 30), doc.getDate(DOCUMENT_ASSOCIATION_DATE_WITH_2DDOC));
+        assertEquals(LocalTime.of(12, 30), doc.getTime(DOCUMENT_ASSOCIATION_TIME_WITH_2DDOC));
+        assertEquals(3.12, doc.getAmount(INVOICE_AMOUNT_INCLUDING_TAX));
+        assertEquals(2, doc.getInteger(DOCUMENT_NUMBER_OF_PAGES));
+        assertEquals(true, doc.getBoolean(UNMENTIONED_CO_BENEFICIARY_PRESENCE));
+    }
+
+    @Test
+    void typedAccessors_whenDataIsAbsentOrEmpty_shouldReturnNull() {
+        assertNull(doc.getText(DataType.CLIENT_NUMBER));
+        assertNull(doc.getText(BENEFICIARY_ADDRESS_LINE_1));
+        assertNull(doc.getDate(DataType.DOCUMENT_EXPIRY_DATE));
+    }
+
+    @Test
+    void typedAccessors_whenFormatDoesNotMatch_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> doc.getDate(DOCUMENT_CATEGORY));
+        assertThrows(IllegalArgumentException.class, () -> doc.getText(INVOICE_AMOUNT_INCLUDING_TAX));
+    }
+
+    private static Data data(final DataType type, final Object value, final DataSource source) {
+        return Data.builder()
+                .dataType(type)
+                .value(value)
+                .stringValue(value == null ? "" : value.toString())
+                .source(source)
+                .build();
+    }
+
+}
@@ -0,0 +1,139 @@
+package fr.kiyauden._2ddoc;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.security.cert.X509Certificate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.Collections.emptyList;
+
+/**
+ * Benchmark of the parsing of a whole 2D-DOC, in documents per second
+ * <p>
+ * No certificate is given, the signature verification stops at the certificate lookup, only the parsing is measured
+ * <p>
+ * Run with the main method from the IDE, or with {@code -prof gc} added to the options to see the allocation rate
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class ParserBenchmark {
+
+    private static final List<X509Certificate> NO_CERTIFICATE = emptyList();
+    private static final ParseOptions HEADER_ONLY = ParseOptions.builder().headerOnly(true).build();
+    /**
+     * The address of the beneficiary, without the annex nor the signature
+     */
+    private static final ParseOptions SELECTED_DATA = ParseOptions.builder()
+            .dataTypes(EnumSet.of(DataType.BENEFICIARY_ADDRESS_LINE_1, DataType.BENEFIT_SERVICE_POINT_ADDRESS_LINE_4))
+            .skipAnnex(true)
+            .deferSignature(true)
+            .build();
+
+    private Parser parser;
+    private String input;
+    /**
+     * The same 2D-DOC with an unknown identifier, ZZ instead of 22
+     */
+    private String invalidInput;
+    private ByteBuffer heapBuffer;
+    private ByteBuffer directBuffer;
+    private ResultSink sink;
+
+    @Setup
+    public void setup() {
+        parser = Utils2dDoc.newParser();
+        input = new Scanner(ParserBenchmark.class.getClassLoader().getResourceAsStream("e2e/2ddoc/01.2ddoc"),
+                            "UTF-8").useDelimiter("\\A").next();
+        invalidInput = input.replace("\u001D22", "\u001DZZ");
+        final byte[] bytes = input.getBytes(US_ASCII);
+        heapBuffer = ByteBuffer.wrap(bytes);
+        directBuffer = ByteBuffer.allocateDirect(bytes.length);
+        directBuffer.put(bytes);
+        directBuffer.flip();
+        sink = new ResultSink();
+    }
+
+    @Benchmark
+    public Parsed2DDoc parse() throws UnsupportedException, ParsingException {
+        return parser.parse(input, NO_CERTIFICATE);
+    }
+
+    @Benchmark
+    public Parsed2DDoc parseHeaderOnly() throws UnsupportedException, ParsingException {
+        return parser.parse(input, NO_CERTIFICATE, HEADER_ONLY);
+    }
+
+    @Benchmark
+    public Parsed2DDoc parseSelectedData() throws UnsupportedException, ParsingException {
+        return parser.parse(input, NO_CERTIFICATE, SELECTED_DATA);
+    }
+
+    @Benchmark
+    public Object parseInvalid() throws UnsupportedException {
+        try {
+            return parser.parse(invalidInput, NO_CERTIFICATE);
+        } catch (final ParsingException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public ParseResult tryParse() {
+        return parser.tryParse(input, NO_CERTIFICATE);
+    }
+
+    @Benchmark
+    public ParseResult tryParseInvalid() {
+        return parser.tryParse(invalidInput, NO_CERTIFICATE);
+    }
+
+    @Benchmark
+    public ResultSink parseInto() throws UnsupportedException, ParsingException {
+        parser.parseInto(input, NO_CERTIFICATE, sink);
+        return sink;
+    }
+
+    @Benchmark
+    public ResultSink parseIntoFromHeapBuffer() throws UnsupportedException, ParsingException {
+        parser.parseInto(heapBuffer, NO_CERTIFICATE, sink);
+        return sink;
+    }
+
+    @Benchmark
+    public ResultSink parseIntoFromDirectBuffer() throws UnsupportedException, ParsingException {
+        parser.parseInto(directBuffer, NO_CERTIFICATE, sink);
+        return sink;
+    }
+
+    @Benchmark
+    public void parseWithHandler(final Blackhole blackhole) throws UnsupportedException, ParsingException {
+        parser.parse(input, NO_CERTIFICATE, (dataType, value, truncated, source) -> blackhole.consume(value));
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ParserBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
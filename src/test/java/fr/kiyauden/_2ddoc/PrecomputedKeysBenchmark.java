@@ -0,0 +1,115 @@
+package fr.kiyauden._2ddoc;
+
+import org.bouncycastle.crypto.params.ECPublicKeyParameters;
+import org.bouncycastle.jcajce.provider.asymmetric.util.ECUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the verifications with {@link PrecomputedKeys} shared by several threads, each thread verifying with
+ * its own verifiers like the ones kept by {@link TrustedCertificate}
+ * <p>
+ * {@code keys} is the number of keys verified in turn by each thread, {@code singleThread} and {@code allThreads}
+ * compare the throughput of one thread and of one thread per core, a lock taken at each verification would keep the
+ * second one from scaling
+ * <p>
+ * Run with the main method from the IDE
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class PrecomputedKeysBenchmark {
+
+    private static final byte[] DATA = "DC04FR000001198519D31201FRdata".getBytes();
+
+    /**
+     * The keys, their signatures and the tables shared by all the threads
+     */
+    @State(Scope.Benchmark)
+    public static class Shared {
+
+        @Param({"1", "8"})
+        private int keys;
+
+        private ECPublicKeyParameters[] publicKeys;
+        private byte[][] signatures;
+        private PrecomputedKeys precomputedKeys;
+
+        @Setup
+        public void setup() throws GeneralSecurityException {
+            publicKeys = new ECPublicKeyParameters[keys];
+            signatures = new byte[keys][];
+            for (int i = 0; i < keys; i++) {
+                final KeyPair keyPair = TrustedCertificateTest.keyPair();
+                publicKeys[i] = (ECPublicKeyParameters) ECUtil.generatePublicKeyParameter(keyPair.getPublic());
+                signatures[i] = TrustedCertificateTest.sign(keyPair, DATA);
+            }
+            precomputedKeys = new PrecomputedKeys(VerifierEngine.PRECOMPUTED_MEMORY_BUDGET,
+                                                  PrecomputedKeys.P256_TABLE_SIZE);
+        }
+
+    }
+
+    /**
+     * The verifiers of a thread, one per key
+     */
+    @State(Scope.Thread)
+    public static class PerThread {
+
+        private EcdsaVerifier[] verifiers;
+        private int next;
+
+        @Setup
+        public void setup(final Shared shared) {
+            verifiers = new EcdsaVerifier[shared.keys];
+            for (int i = 0; i < shared.keys; i++) {
+                verifiers[i] = new EcdsaVerifier(shared.publicKeys[i], shared.precomputedKeys);
+            }
+        }
+
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean singleThread(final Shared shared, final PerThread perThread) {
+        return verify(shared, perThread);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean allThreads(final Shared shared, final PerThread perThread) {
+        return verify(shared, perThread);
+    }
+
+    private static boolean verify(final Shared shared, final PerThread perThread) {
+        final int index = perThread.next;
+        perThread.next = (index + 1) % shared.keys;
+        final EcdsaVerifier verifier = perThread.verifiers[index];
+        verifier.update(DATA, 0, DATA.length);
+        return verifier.verify(shared.signatures[index], 0, shared.signatures[index].length);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PrecomputedKeysBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,83 @@
+package fr.kiyauden._2ddoc;
+
+import org.bouncycastle.crypto.params.ECPublicKeyParameters;
+import org.bouncycastle.jcajce.provider.asymmetric.util.ECUtil;
+import org.bouncycastle.math.ec.FixedPointPreCompInfo;
+import org.bouncycastle.math.ec.FixedPointUtil;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PrecomputedKeysTest {
+
+    private static final int TABLE_SIZE = PrecomputedKeys.P256_TABLE_SIZE;
+
+    @Test
+    void get_shouldKeepTheTableOfTheKey() throws GeneralSecurityException {
+        final PrecomputedKeys precomputedKeys = new PrecomputedKeys(4 * TABLE_SIZE, TABLE_SIZE);
+        final ECPublicKeyParameters key = key();
+
+        final PrecomputedKeys.Entry entry = precomputedKeys.get(key);
+        final FixedPointPreCompInfo table = entry.use();
+        assertNotNull(table);
+        assertNotNull(table.getLookupTable());
+        assertSame(entry, precomputedKeys.get(key));
+        assertSame(table, entry.use());
+        // Not kept by the key itself
+        assertNull(key.getQ().getCurve().getPreCompInfo(key.getQ(), FixedPointUtil.PRECOMP_NAME));
+    }
+
+    @Test
+    void get_shouldKeepTheTablesWithinTheBudget() throws GeneralSecurityException {
+        final PrecomputedKeys precomputedKeys = new PrecomputedKeys(2 * TABLE_SIZE + TABLE_SIZE / 2, TABLE_SIZE);
+        final ECPublicKeyParameters key1 = key();
+        final ECPublicKeyParameters key2 = key();
+        final ECPublicKeyParameters key3 = key();
+
+        final PrecomputedKeys.Entry entry1 = precomputedKeys.get(key1);
+        final PrecomputedKeys.Entry entry2 = precomputedKeys.get(key2);
+        // The first key is used again, the second one is evicted
+        final FixedPointPreCompInfo table1 = entry1.use();
+        precomputedKeys.get(key3);
+
+        assertEquals(2, precomputedKeys.size());
+        assertNull(entry2.use());
+        assertSame(entry1, precomputedKeys.get(key1));
+        assertSame(table1, entry1.use());
+        assertEquals(2, precomputedKeys.size());
+    }
+
+    @Test
+    void get_whenAllTheEntriesAreUsed_shouldEvictTheOldestOne() throws GeneralSecurityException {
+        final PrecomputedKeys precomputedKeys = new PrecomputedKeys(2 * TABLE_SIZE, TABLE_SIZE);
+        final PrecomputedKeys.Entry entry1 = precomputedKeys.get(key());
+        final PrecomputedKeys.Entry entry2 = precomputedKeys.get(key());
+        entry2.use();
+        entry1.use();
+
+        final PrecomputedKeys.Entry entry3 = precomputedKeys.get(key());
+
+        assertNull(entry1.use());
+        assertNotNull(entry2.use());
+        assertNotNull(entry3.use());
+        assertEquals(2, precomputedKeys.size());
+    }
+
+    @Test
+    void get_whenTheBudgetHoldsNoTable_shouldReturnNull() throws GeneralSecurityException {
+        final PrecomputedKeys precomputedKeys = new PrecomputedKeys(TABLE_SIZE - 1, TABLE_SIZE);
+
+        assertNull(precomputedKeys.get(key()));
+        assertEquals(0, precomputedKeys.size());
+    }
+
+    private static ECPublicKeyParameters key() throws GeneralSecurityException {
+        return (ECPublicKeyParameters) ECUtil.generatePublicKeyParameter(TrustedCertificateTest.keyPair().getPublic());
+    }
+
+}
@@ -0,0 +1,139 @@
+package fr.kiyauden._2ddoc;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static fr.kiyauden._2ddoc.DataFormat.AMOUNT;
+import static fr.kiyauden._2ddoc.DataFormat.BOOLEAN;
+import static fr.kiyauden._2ddoc.DataFormat.TEXT;
+import static fr.kiyauden._2ddoc.DataType.BENEFICIARY_ADDRESS_LINE_1;
+import static fr.kiyauden._2ddoc.DataType.BENEFICIARY_FIRSTNAME;
+import static fr.kiyauden._2ddoc.Document.DOC_01;
+import static fr.kiyauden._2ddoc.Document.DOC_03;
+import static fr.kiyauden._2ddoc.Document.DOC_A4;
+import static fr.kiyauden._2ddoc.Document.DOC_L1;
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchemaRegistryTest {
+
+    @Test
+    void default_shouldDefineEveryDataTypeAndDocument() {
+        final SchemaRegistry schema = SchemaRegistry.DEFAULT;
+
+        for (final DataType dataType : DataType.values()) {
+            final int index = IdentifierIndex.of(dataType.getId());
+            assertTrue(schema.isData(index), dataType.name());
+            assertEquals(dataType.name(), schema.dataName(index));
+        }
+        for (final Document document : Document.values()) {
+            assertTrue(schema.isDocument(IdentifierIndex.of(document.getId())), document.name());
+        }
+    }
+
+    @Test
+    void default_shouldGiveTheDefinitionsOfTheEnums() {
+        assertEquals("Ligne 1 de la norme adresse postale du bénéficiaire de la prestation",
+                     BENEFICIARY_ADDRESS_LINE_1.getLabel());
+        assertEquals(TEXT, BENEFICIARY_ADDRESS_LINE_1.getType());
+        assertEquals(38, BENEFICIARY_ADDRESS_LINE_1.getMaxLength());
+        assertEquals(-1, DataType.INVOICE_NUMBER.getMaxLength());
+        assertTrue(DataType.BENEFIT_SERVICE_POINT_COUNTRY.isFixedLength());
+
+        assertTrue(DOC_01.isEmissionDateMandatory());
+        assertEquals(7, DOC_01.getMandatoryData().size());
+        assertEquals(BENEFICIARY_ADDRESS_LINE_1, DOC_01.getMandatoryData().get(0).getDataType());
+        assertEquals(asList(DataType.BENEFICIARY_QUALITY_AND_OR_TITLE, BENEFICIARY_FIRSTNAME,
+                            DataType.BENEFICIARY_LASTNAME),
+                     DOC_01.getMandatoryData().get(0).getInterchangeableDataType());
+        // The complementary data and the optional data of the document
+        assertEquals(DataType.getComplementaryDataTypes().size() + 33, DOC_01.getOptionalData().size());
+        assertEquals("Factures de fournisseur d'énergie | Factures de téléphonie | Factures de fournisseur "
+                             + "d'accès internet | Factures de fournisseur d'eau", DOC_01.getTypeForTransmitter());
+    }
+
+    @Test
+    void default_shouldDefineTheDocumentsOfTheSpecification() {
+        assertEquals(44, Document.values().length);
+        assertEquals(337, DataType.values().length);
+
+        assertFalse(DOC_03.isEmissionDateMandatory());
+        assertEquals("Relevé d'identité bancaire", DOC_03.getTypeForTransmitter());
+        assertEquals(AMOUNT, DataType.PERIOD_START_BALANCE.getType());
+        assertEquals(BOOLEAN, DataType.FORENSIC_OBSTACLE.getType());
+        // The death and its record are interchangeable
+        assertEquals(DataType.DEATH_DATE_TIME, DOC_A4.getMandatoryData().get(0).getDataType());
+        assertEquals(asList(DataType.DEATH_RECORD_DATE_TIME),
+                     DOC_A4.getMandatoryData().get(0).getInterchangeableDataType());
+        assertEquals(Document.findById("L1").orElse(null), DOC_L1);
+    }
+
+    @Test
+    void load_shouldCompileTheDefinitions() throws IOException {
+        final SchemaRegistry schema = load("# A comment",
+                                           "",
+                                           "data|10|LINE_1|TEXT|0|38|Ligne 1",
+                                           "data|12|FIRSTNAME|TEXT|0||Prénom",
+                                           "data|26|COUNTRY|TEXT|2|2|Pays",
+                                           "document|01|DOC|false|User|Transmitter A | Transmitter B",
+                                           "mandatory|01|10|12",
+                                           "mandatory|01|26|",
+                                           "optional|01|12");
+
+        final int line1 = IdentifierIndex.of("10");
+        assertTrue(schema.isData(line1));
+        assertEquals("LINE_1", schema.dataName(line1));
+        assertEquals(TEXT, schema.dataFormat(line1));
+        assertEquals(38, schema.dataMaxLength(line1));
+        assertEquals(-1, schema.dataMaxLength(IdentifierIndex.of("12")));
+        assertEquals(2, schema.dataMinLength(IdentifierIndex.of("26")));
+        assertFalse(schema.isData(IdentifierIndex.of("11")));
+
+        final int document = IdentifierIndex.of("01");
+        assertEquals("DOC", schema.documentName(document));
+        assertFalse(schema.isEmissionDateMandatory(document));
+        assertEquals("Transmitter A | Transmitter B", schema.documentTypeForTransmitter(document));
+        assertEquals(2, schema.documentMandatoryData(document).length);
+        assertArrayEquals(new int[]{line1, IdentifierIndex.of("12")}, schema.documentMandatoryData(document)[0]);
+        assertArrayEquals(new int[]{IdentifierIndex.of("26")}, schema.documentMandatoryData(document)[1]);
+        assertArrayEquals(new int[]{IdentifierIndex.of("12")}, schema.documentOptionalData(document));
+    }
+
+    @Test
+    void load_whenDefinitionIsUnknown_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> load("something|01"));
+    }
+
+    @Test
+    void load_whenFieldsAreMissing_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> load("data|10|LINE_1|TEXT"));
+    }
+
+    @Test
+    void load_whenIdIsDefinedTwice_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> load("data|10|LINE_1|TEXT|0|38|Ligne 1",
+                                                                "data|10|LINE_2|TEXT|0|38|Ligne 2"));
+    }
+
+    @Test
+    void load_whenFormatIsUnknown_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> load("data|10|LINE_1|BINARY|0|38|Ligne 1"));
+    }
+
+    @Test
+    void load_whenDataIsNotDefined_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> load("document|01|DOC|false|User|Transmitter",
+                                                                "mandatory|01|10|"));
+    }
+
+    private SchemaRegistry load(final String... lines) throws IOException {
+        return SchemaRegistry.load(new StringReader(String.join("\n", lines)));
+    }
+
+}
@@ -0,0 +1,139 @@
+package fr.kiyauden._2ddoc;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static fr.kiyauden._2ddoc.Constants.GS;
+import static fr.kiyauden._2ddoc.Constants.RS;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Benchmark of the search of the separators in a text heavy annex of about 4 KB, {@link SeparatorScanner} against
+ * a search one character at a time
+ * <p>
+ * The annex is made of data of a given length, each followed by a GS. Each method walks the whole annex from
+ * separator to separator, like the {@link DataTokenizer} does
+ * <p>
+ * Run with the main method from the IDE, or with {@code -prof gc} added to the options to see the allocation rate
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class SeparatorScannerBenchmark {
+
+    /**
+     * Approximate size of the annex
+     */
+    private static final int ANNEX_SIZE = 4096;
+
+    /**
+     * The length of each data of the annex, identifier included
+     */
+    @Param({"40", "500"})
+    private int dataLength;
+
+    private String string;
+    private AsciiCharSequence heapBuffer;
+    private AsciiCharSequence directBuffer;
+
+    @Setup
+    public void setup() {
+        final StringBuilder annex = new StringBuilder();
+        while (annex.length() < ANNEX_SIZE) {
+            for (int i = 0; i < dataLength; i++) {
+                annex.append((char) ('A' + i % 26));
+            }
+            annex.append(GS);
+        }
+        string = annex.toString();
+
+        final byte[] bytes = string.getBytes(US_ASCII);
+        heapBuffer = new AsciiCharSequence(ByteBuffer.wrap(bytes));
+        final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes);
+        direct.flip();
+        directBuffer = new AsciiCharSequence(direct);
+    }
+
+    @Benchmark
+    public int stringCharByChar() {
+        return walkCharByChar(string);
+    }
+
+    @Benchmark
+    public int stringScanner() {
+        return walkWithScanner(string);
+    }
+
+    @Benchmark
+    public int heapBufferCharByChar() {
+        return walkCharByChar(heapBuffer);
+    }
+
+    @Benchmark
+    public int heapBufferScanner() {
+        return walkWithScanner(heapBuffer);
+    }
+
+    @Benchmark
+    public int directBufferCharByChar() {
+        return walkCharByChar(directBuffer);
+    }
+
+    @Benchmark
+    public int directBufferScanner() {
+        return walkWithScanner(directBuffer);
+    }
+
+    /**
+     * @param input the annex
+     * @return the number of separators
+     */
+    private static int walkWithScanner(final CharSequence input) {
+        int count = 0;
+        int position = SeparatorScanner.indexOfDataEnd(input, 0, input.length());
+        while (position >= 0) {
+            count++;
+            position = SeparatorScanner.indexOfDataEnd(input, position + 1, input.length());
+        }
+        return count;
+    }
+
+    /**
+     * @param input the annex
+     * @return the number of separators
+     */
+    private static int walkCharByChar(final CharSequence input) {
+        int count = 0;
+        for (int i = 0; i < input.length(); i++) {
+            final char c = input.charAt(i);
+            if (c == GS || c == RS) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SeparatorScannerBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,122 @@
+package fr.kiyauden._2ddoc;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static fr.kiyauden._2ddoc.Constants.GS;
+import static fr.kiyauden._2ddoc.Constants.RS;
+import static fr.kiyauden._2ddoc.Constants.US;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SeparatorScannerTest {
+
+    @Test
+    void zeroBytes_shouldFlagOnlyTheZeroBytes() {
+        assertEquals(0x8000000000000080L, SeparatorScanner.zeroBytes(0x00FFFFFF01807F00L));
+        assertEquals(0L, SeparatorScanner.zeroBytes(0x0101010101010101L));
+        assertEquals(0x8080808080808080L, SeparatorScanner.zeroBytes(0L));
+    }
+
+    @Test
+    void indexOfDataEnd_shouldFindTheFirstSeparatorAtAnyPosition() {
+        // Every position of the separator and of the range, around the 8 bytes words
+        for (int length = 0; length < 40; length++) {
+            for (int position = 0; position < length; position++) {
+                for (final char separator : new char[]{GS, RS}) {
+                    final char[] chars = new char[length];
+                    Arrays.fill(chars, 'A');
+                    chars[position] = separator;
+                    // A byte above 0x7F must not be mistaken for a separator
+                    if (position > 0) {
+                        chars[position - 1] = (char) (0x80 | separator);
+                    }
+                    final String input = new String(chars);
+
+                    for (int from = 0; from <= length; from++) {
+                        final int expected = position >= from ? position : -1;
+                        for (final CharSequence view : views(input)) {
+                            assertEquals(expected, SeparatorScanner.indexOfDataEnd(view, from, length),
+                                         view.getClass().getSimpleName() + " " + length + " " + position + " " + from);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void indexOfDataEnd_shouldStopAtTheEndOfTheRange() {
+        final String input = "ABCDEFGHIJKL\u001DMNOP";
+
+        for (final CharSequence view : views(input)) {
+            assertEquals(-1, SeparatorScanner.indexOfDataEnd(view, 0, 12));
+            assertEquals(12, SeparatorScanner.indexOfDataEnd(view, 0, 13));
+        }
+    }
+
+    @Test
+    void indexOf_andLastIndexOf_shouldFindTheSeparatorAtAnyPosition() {
+        for (int length = 1; length < 40; length++) {
+            for (int first = 0; first < length; first++) {
+                for (int last = first; last < length; last++) {
+                    final char[] chars = new char[length];
+                    Arrays.fill(chars, 'A');
+                    chars[first] = US;
+                    chars[last] = US;
+                    final String input = new String(chars);
+
+                    for (final CharSequence view : views(input)) {
+                        final String message = view.getClass().getSimpleName() + " " + first + " " + last;
+                        assertEquals(first, SeparatorScanner.indexOf(view, US, 0), message);
+                        assertEquals(last, SeparatorScanner.indexOf(view, US, last), message);
+                        assertEquals(-1, SeparatorScanner.indexOf(view, US, last + 1), message);
+                        assertEquals(last, SeparatorScanner.lastIndexOf(view, US), message);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void lastIndexOf_whenThereIsNoSeparator_shouldReturnMinusOne() {
+        for (final CharSequence view : views("DC04FR0000011E8B1E8B0401FR")) {
+            assertEquals(-1, SeparatorScanner.lastIndexOf(view, US));
+            assertEquals(-1, SeparatorScanner.indexOf(view, GS, 0));
+        }
+    }
+
+    /**
+     * @param input the input
+     * @return the input as a String, a StringBuilder, and over big endian, little endian and direct buffers, not
+     * starting at the beginning of the buffer
+     */
+    private static CharSequence[] views(final String input) {
+        final byte[] bytes = ("xyz" + input + "xyz").getBytes(ISO_8859_1);
+
+        final ByteBuffer bigEndian = ByteBuffer.wrap(bytes);
+        bigEndian.position(3);
+        bigEndian.limit(3 + input.length());
+
+        final ByteBuffer littleEndian = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        littleEndian.position(3);
+        littleEndian.limit(3 + input.length());
+
+        final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes);
+        direct.position(3);
+        direct.limit(3 + input.length());
+
+        return new CharSequence[]{
+                input,
+                new StringBuilder(input),
+                new AsciiCharSequence(bigEndian),
+                new AsciiCharSequence(littleEndian),
+                new AsciiCharSequence(direct)
+        };
+    }
+
+}
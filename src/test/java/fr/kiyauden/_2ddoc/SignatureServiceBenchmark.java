@@ -0,0 +1,74 @@
+package fr.kiyauden._2ddoc;
+
+import org.apache.commons.codec.binary.Base32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.Collections.singletonList;
+
+/**
+ * Benchmark of {@link SignatureService#verifySignature(CharSequence, int, int, int, TrustStore)}, with the verifier
+ * kept by the certificate of a {@link TrustStore} and with a new one initialized at each call for a list
+ * <p>
+ * Run with the main method from the IDE, or with {@code -prof gc} added to the options to see the allocation rate
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class SignatureServiceBenchmark {
+
+    private SignatureService signatureService;
+    private TrustStore trustStore;
+    private TrustStore list;
+    private String input;
+    private int signedEnd;
+
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        signatureService = new SignatureService();
+        final KeyPair keyPair = TrustedCertificateTest.keyPair();
+        final X509Certificate certificate = TrustedCertificateTest.certificate(keyPair, "CN=FR00", "CN=0001");
+        trustStore = TrustStore.of(singletonList(certificate));
+        list = TrustStore.scanning(singletonList(certificate));
+
+        final String signed = "DC04FR000001198519D31201FR10DUPONT\u001D20JEAN\u001D";
+        input = signed + "\u001F" + new Base32().encodeAsString(TrustedCertificateTest.sign(
+                keyPair, signed.getBytes(US_ASCII))).replace("=", "");
+        signedEnd = signed.length();
+    }
+
+    @Benchmark
+    public SignatureStatus trustStore() throws SignatureVerificationException {
+        return signatureService.verifySignature(input, signedEnd, signedEnd + 1, input.length(), trustStore);
+    }
+
+    @Benchmark
+    public SignatureStatus list() throws SignatureVerificationException {
+        return signatureService.verifySignature(input, signedEnd, signedEnd + 1, input.length(), list);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SignatureServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
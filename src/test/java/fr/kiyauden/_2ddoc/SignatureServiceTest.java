@@ -1,35 +1,34 @@
 package fr.kiyauden._2ddoc;
 
+import org.apache.commons.codec.binary.Base32;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.security.InvalidKeyException;
-import java.security.Signature;
-import java.security.SignatureException;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
 import java.security.cert.CertificateExpiredException;
 import java.security.cert.CertificateNotYetValidException;
 import java.security.cert.X509Certificate;
+import java.util.List;
 
 import static fr.kiyauden._2ddoc.SignatureStatus.CERTIFICATE_INVALID;
 import static fr.kiyauden._2ddoc.SignatureStatus.INVALID;
 import static fr.kiyauden._2ddoc.SignatureStatus.NO_CERTIFICATE;
 import static fr.kiyauden._2ddoc.SignatureStatus.VALID;
+import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Answers.RETURNS_DEEP_STUBS;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -40,80 +39,96 @@ class SignatureServiceTest {
     private X509Certificate certificate1;
     @Mock(answer = RETURNS_DEEP_STUBS)
     private X509Certificate certificate2;
-    @Mock
-    private Signature signatureMock;
 
     private ISignatureService signatureService;
+    private KeyPair keyPair;
 
     @BeforeEach
-    void beforeEach() {
+    void beforeEach() throws GeneralSecurityException {
         signatureService = new SignatureService();
+        keyPair = TrustedCertificateTest.keyPair();
     }
 
     @Test
     void verifySignature_whenCertificateFoundAndStillValid_shouldReturnVALID()
-            throws SignatureVerificationException, SignatureException, InvalidKeyException {
+            throws SignatureVerificationException, GeneralSecurityException {
 
         when(certificate1.getIssuerDN().getName())
                 .thenReturn("CN=FR00,OU=0002 00000000000000,O=AC DE TEST,C=FR");
         when(certificate1.getSubjectDN().getName())
                 .thenReturn("CN=0001,OU=0002 00000000000000,O=CERTIFICAT DE TEST,C=FR");
+        when(certificate1.getPublicKey()).thenReturn(keyPair.getPublic());
 
         when(certificate2.getIssuerDN().getName())
                 .thenReturn("CN=FR29,OU=0002 00000000000000,O=AC DE TEST,C=FR");
 
         final String header = "DC04FR000001198519D31201FR"; // Should use certificate 1
         final String data = "data";
-        final String signature = "signature";
-
-        final SignatureStatus signatureStatus;
-        try (final MockedStatic<Signature> signatureMockedStatic = mockStatic(Signature.class)) {
-            signatureMockedStatic.when(() -> Signature.getInstance(anyString())).thenReturn(signatureMock);
-            when(signatureMock.verify(any())).thenReturn(true);
+        final String signature = sign(header + data);
 
-            signatureStatus = signatureService.verifySignature(header + data, signature,
-                                                               "FR00", "0001",
-                                                               asList(certificate2, certificate1));
-
-            // Checks that the correct certificate is used
-            verify(signatureMock, times(1)).initVerify(certificate1);
-            verify(signatureMock, never()).initVerify(certificate2);
-        }
+        final SignatureStatus signatureStatus = verifyInPlace(header + data, signature,
+                                                              asList(certificate2, certificate1));
 
+        // Checks that the correct certificate is used
+        verify(certificate2, never()).getPublicKey();
         assertEquals(VALID, signatureStatus);
         assertTrue(signatureStatus.isValid());
     }
 
     @Test
     void verifySignature_whenCertificateFoundAndStillValid_butSignatureInvalid_shouldReturnInvalid()
-            throws SignatureVerificationException, SignatureException {
+            throws SignatureVerificationException, GeneralSecurityException {
 
         when(certificate1.getIssuerDN().getName())
                 .thenReturn("CN=FR00,OU=0002 00000000000000,O=AC DE TEST,C=FR");
         when(certificate1.getSubjectDN().getName())
                 .thenReturn("CN=0001,OU=0002 00000000000000,O=CERTIFICAT DE TEST,C=FR");
+        when(certificate1.getPublicKey()).thenReturn(keyPair.getPublic());
 
         when(certificate2.getIssuerDN().getName())
                 .thenReturn("CN=FR29,OU=0002 00000000000000,O=AC DE TEST,C=FR");
 
         final String header = "DC04FR000001198519D31201FR"; // Should use certificate 1
         final String data = "data";
-        final String signature = "invalid signature";
+        // The signature of other data
+        final String signature = sign(header + "atad");
 
-        final SignatureStatus signatureStatus;
-        try (final MockedStatic<Signature> signatureMockedStatic = mockStatic(Signature.class)) {
-            signatureMockedStatic.when(() -> Signature.getInstance(anyString())).thenReturn(signatureMock);
-            when(signatureMock.verify(any())).thenReturn(false);
-
-            signatureStatus = signatureService.verifySignature(header + data, signature,
-                                                               "FR00", "0001",
-                                                               asList(certificate2, certificate1));
-        }
+        final SignatureStatus signatureStatus = verifyInPlace(header + data, signature,
+                                                              asList(certificate2, certificate1));
 
         assertEquals(INVALID, signatureStatus);
         assertFalse(signatureStatus.isValid());
     }
 
+    @Test
+    void verifySignature_whenSignatureHasNotTheLengthOfTheKey_shouldReturnInvalid()
+            throws SignatureVerificationException {
+
+        when(certificate1.getIssuerDN().getName())
+                .thenReturn("CN=FR00,OU=0002 00000000000000,O=AC DE TEST,C=FR");
+        when(certificate1.getSubjectDN().getName())
+                .thenReturn("CN=0001,OU=0002 00000000000000,O=CERTIFICAT DE TEST,C=FR");
+        when(certificate1.getPublicKey()).thenReturn(keyPair.getPublic());
+
+        final SignatureStatus signatureStatus =
+                verifyInPlace("DC04FR000001198519D31201FRdata", "INVALIDSIGNATURE", asList(certificate1));
+
+        assertEquals(INVALID, signatureStatus);
+    }
+
+    @Test
+    void verifySignature_whenSignatureIsNotBase32_shouldReturnInvalid() throws SignatureVerificationException {
+        when(certificate1.getIssuerDN().getName())
+                .thenReturn("CN=FR00,OU=0002 00000000000000,O=AC DE TEST,C=FR");
+        when(certificate1.getSubjectDN().getName())
+                .thenReturn("CN=0001,OU=0002 00000000000000,O=CERTIFICAT DE TEST,C=FR");
+
+        final SignatureStatus signatureStatus =
+                verifyInPlace("DC04FR000001198519D31201FRdata", "invalid signature", asList(certificate1));
+
+        assertEquals(INVALID, signatureStatus);
+    }
+
     @Test
     void verifySignature_whenCertificateFoundButNotValidAnymore_shouldReturnInvalid()
             throws SignatureVerificationException, CertificateNotYetValidException,
@@ -135,9 +150,7 @@ class SignatureServiceTest {
         doThrow(new CertificateExpiredException()).when(certificate1).checkValidity();
 
         final SignatureStatus signatureStatus =
-                signatureService.verifySignature(header + data, signature,
-                                                 "FR00", "0001",
-                                                 asList(certificate2, certificate1));
+                verifyInPlace(header + data, signature, asList(certificate2, certificate1));
 
         assertEquals(CERTIFICATE_INVALID, signatureStatus);
         assertFalse(signatureStatus.isValid());
@@ -150,11 +163,113 @@ class SignatureServiceTest {
         final String signature = "signature";
 
         final SignatureStatus signatureStatus =
-                signatureService.verifySignature(header + data, signature,
-                                                 "FR0A", "AXT4",
-                                                 emptyList());
+                verifyInPlace(header + data, signature, emptyList());
         assertEquals(NO_CERTIFICATE, signatureStatus);
         assertFalse(signatureStatus.isValid());
     }
 
+    @Test
+    void verifySignature_inPlace_shouldReadTheIdsFromTheHeaderAndSignTheRange()
+            throws SignatureVerificationException, GeneralSecurityException {
+
+        when(certificate1.getIssuerDN().getName())
+                .thenReturn("CN=FR00,OU=0002 00000000000000,O=AC DE TEST,C=FR");
+        when(certificate1.getSubjectDN().getName())
+                .thenReturn("CN=0001,OU=0002 00000000000000,O=CERTIFICAT DE TEST,C=FR");
+        when(certificate1.getPublicKey()).thenReturn(keyPair.getPublic());
+
+        when(certificate2.getIssuerDN().getName())
+                .thenReturn("CN=FR29,OU=0002 00000000000000,O=AC DE TEST,C=FR");
+
+        final String signed = "DC04FR000001198519D31201FRdata"; // Should use certificate 1
+        final String signature = sign(signed);
+        final String input = signed + "\u001F" + signature + "\u001D01ANNEX";
+        final int signatureStart = signed.length() + 1;
+
+        final SignatureStatus signatureStatus =
+                signatureService.verifySignature(input, signed.length(), signatureStart,
+                                                 signatureStart + signature.length(),
+                                                 asList(certificate2, certificate1));
+
+        assertEquals(VALID, signatureStatus);
+    }
+
+    @Test
+    void verifySignature_inPlace_withBytes_shouldSignTheBytesOfTheBuffer()
+            throws SignatureVerificationException, GeneralSecurityException {
+
+        when(certificate1.getIssuerDN().getName())
+                .thenReturn("CN=FR00,OU=0002 00000000000000,O=AC DE TEST,C=FR");
+        when(certificate1.getSubjectDN().getName())
+                .thenReturn("CN=0001,OU=0002 00000000000000,O=CERTIFICAT DE TEST,C=FR");
+        when(certificate1.getPublicKey()).thenReturn(keyPair.getPublic());
+
+        final String signed = "DC04FR000001198519D31201FRdata";
+        final byte[] bytes = (signed + "\u001F" + sign(signed)).getBytes(US_ASCII);
+        final int signatureStart = signed.length() + 1;
+
+        // From the array of a heap buffer, and from a direct buffer
+        final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        for (final ByteBuffer buffer : asList(ByteBuffer.wrap(bytes), direct)) {
+            final AsciiCharSequence input = new AsciiCharSequence(buffer);
+            assertEquals(VALID, signatureService.verifySignature(input, signed.length(), signatureStart,
+                                                                 input.length(), asList(certificate1)));
+        }
+    }
+
+    @Test
+    void verifySignature_inPlace_whenNoCertificateIsFound_shouldReturnNO_CERTIFICATE()
+            throws SignatureVerificationException {
+        when(certificate1.getIssuerDN().getName())
+                .thenReturn("CN=FR00,OU=0002 00000000000000,O=AC DE TEST,C=FR");
+        when(certificate1.getSubjectDN().getName())
+                .thenReturn("CN=0002,OU=0002 00000000000000,O=CERTIFICAT DE TEST,C=FR");
+
+        final String input = "DC04FR000001198519D31201FRdata\u001Fsignature";
+
+        assertEquals(NO_CERTIFICATE, signatureService.verifySignature(input, 30, 31, input.length(),
+                                                                      asList(certificate1)));
+    }
+
+    @Test
+    void verifySignature_withTrustStore_shouldReuseTheVerifierOfTheCertificate()
+            throws GeneralSecurityException, SignatureVerificationException {
+        final TrustStore trustStore = TrustStore.of(singletonList(
+                TrustedCertificateTest.certificate(keyPair, "CN=FR00", "CN=0001")));
+        final String signed = "DC04FR000001198519D31201FRdata";
+        final String input = signed + "\u001F" + sign(signed);
+        final String tampered = input.replace("data", "dada");
+
+        assertEquals(VALID, signatureService.verifySignature(input, 30, 31, input.length(), trustStore));
+        assertEquals(INVALID, signatureService.verifySignature(tampered, 30, 31, tampered.length(), trustStore));
+        assertEquals(VALID, signatureService.verifySignature(input, 30, 31, input.length(), trustStore));
+    }
+
+    /**
+     * Verifies the signature of a 2D-DOC made of the signed characters and the signature
+     *
+     * @param signed       the signed characters, starting with the header
+     * @param signature    the signature
+     * @param certificates the certificates
+     * @return the status of the signature
+     */
+    private SignatureStatus verifyInPlace(final String signed, final String signature,
+                                          final List<X509Certificate> certificates)
+            throws SignatureVerificationException {
+        final String input = signed + "\u001F" + signature;
+        return signatureService.verifySignature(input, signed.length(), signed.length() + 1, input.length(),
+                                                certificates);
+    }
+
+    /**
+     * @param signed the signed characters
+     * @return the Base32 signature of the characters, made with the key pair of the test
+     * @throws GeneralSecurityException when the characters could not be signed
+     */
+    private String sign(final String signed) throws GeneralSecurityException {
+        return new Base32().encodeAsString(TrustedCertificateTest.sign(keyPair, signed.getBytes(US_ASCII)))
+                .replace("=", "");
+    }
+
 }
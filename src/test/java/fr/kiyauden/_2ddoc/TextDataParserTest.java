@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 
 import static fr.kiyauden._2ddoc.DataFormat.TEXT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class TextDataParserTest {
 
@@ -25,4 +26,12 @@ class TextDataParserTest {
         assertEquals("     DATA  ", parser.parse("     DATA  "));
     }
 
+    @Test
+    void decode_shouldReturnTheTextInsideTheInput() {
+        final String input = "02FACTURE FNB\u001D";
+        assertEquals("FACTURE FNB", TextDataParser.decode(input, 2, 13));
+        assertEquals("", TextDataParser.decode(input, 2, 2));
+        assertSame(input, TextDataParser.decode(input, 0, input.length()));
+    }
+
 }
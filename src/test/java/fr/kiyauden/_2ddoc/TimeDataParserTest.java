@@ -0,0 +1,49 @@
+package fr.kiyauden._2ddoc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+
+import static fr.kiyauden._2ddoc.DataFormat.TIME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TimeDataParserTest {
+
+    private TimeDataParser parser;
+
+    @BeforeEach
+    void beforeEach() {
+        parser = new TimeDataParser();
+    }
+
+    @Test
+    void getHandledFormat_shouldReturnTIME() {
+        assertEquals(TIME, parser.getHandledFormat());
+    }
+
+    @Test
+    void parse_shouldParseTime() throws ParsingException {
+        assertEquals(LocalTime.of(19, 51, 13), parser.parse("195113"));
+        assertEquals(LocalTime.MIDNIGHT, parser.parse("000000"));
+        assertEquals(LocalTime.of(23, 59, 59), parser.parse("235959"));
+        // Same behaviour as the SMART DateTimeFormatter
+        assertEquals(LocalTime.MIDNIGHT, parser.parse("240000"));
+    }
+
+    @Test
+    void parse_whenFormatIsUnsupported_shouldThrowException() {
+        assertThrows(ParsingException.class, () -> parser.parse("19:51:13"));
+        assertThrows(ParsingException.class, () -> parser.parse("235960"));
+        assertThrows(ParsingException.class, () -> parser.parse("240001"));
+        assertThrows(ParsingException.class, () -> parser.parse("19511"));
+    }
+
+    @Test
+    void decodeSecondOfDay_shouldDecodeTheTimeInsideTheInput() {
+        assertEquals(19 * 3600 + 51 * 60 + 13, TimeDataParser.decodeSecondOfDay("07195113\u001D", 2, 8));
+        assertEquals(TimeDataParser.INVALID, TimeDataParser.decodeSecondOfDay("07A95113", 2, 8));
+    }
+
+}
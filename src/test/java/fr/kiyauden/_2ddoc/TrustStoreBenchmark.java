@@ -0,0 +1,94 @@
+package fr.kiyauden._2ddoc;
+
+import org.bouncycastle.x509.X509V1CertificateGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.security.auth.x500.X500Principal;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+
+/**
+ * Benchmark of {@link TrustStore#find(CharSequence, int, CharSequence, int, long)}, with a certificate set the size of
+ * the ANTS one, for the indexed store and for the scan of the list done before it
+ * <p>
+ * Run with the main method from the IDE, or with {@code -prof gc} added to the options to see the allocation rate
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class TrustStoreBenchmark {
+
+    /**
+     * Number of certificates, the last one is searched
+     */
+    private static final int CERTIFICATES = 300;
+
+    private TrustStore indexed;
+    private TrustStore scanning;
+    private String header;
+    private long now;
+
+    @Setup
+    @SuppressWarnings("deprecation")
+    public void setup() throws GeneralSecurityException {
+        final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+        keyPairGenerator.initialize(256);
+        final KeyPair keyPair = keyPairGenerator.generateKeyPair();
+        now = System.currentTimeMillis();
+
+        final List<X509Certificate> certificates = new ArrayList<>(CERTIFICATES);
+        for (int i = 0; i < CERTIFICATES; i++) {
+            final X509V1CertificateGenerator generator = new X509V1CertificateGenerator();
+            generator.setSerialNumber(BigInteger.valueOf(i + 1));
+            generator.setIssuerDN(new X500Principal(format("CN=FR%02X,O=AC DE TEST,C=FR", i / 16)));
+            generator.setSubjectDN(new X500Principal(format("CN=%04X,O=CERTIFICAT DE TEST,C=FR", i)));
+            generator.setNotBefore(new Date(now - TimeUnit.DAYS.toMillis(1)));
+            generator.setNotAfter(new Date(now + TimeUnit.DAYS.toMillis(365)));
+            generator.setPublicKey(keyPair.getPublic());
+            generator.setSignatureAlgorithm("SHA256withECDSA");
+            certificates.add(generator.generate(keyPair.getPrivate()));
+        }
+        indexed = TrustStore.of(certificates);
+        scanning = TrustStore.scanning(certificates);
+        header = format("DC04FR%02X%04X0E840E8A0101FR", (CERTIFICATES - 1) / 16, CERTIFICATES - 1);
+    }
+
+    @Benchmark
+    public TrustedCertificate indexed() {
+        return indexed.find(header, 4, header, 8, now);
+    }
+
+    @Benchmark
+    public TrustedCertificate scanning() {
+        return scanning.find(header, 4, header, 8, now);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TrustStoreBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,123 @@
+package fr.kiyauden._2ddoc;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledOnJre;
+
+import javax.security.auth.x500.X500Principal;
+import java.io.InputStream;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.condition.JRE.JAVA_8;
+import static org.junit.jupiter.api.condition.JRE.JAVA_9;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TrustStoreTest {
+
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    void find_shouldFindTheCertificateByItsIds() {
+        final X509Certificate fr00 = certificate("CN=FR00,OU=0002 00000000000000,O=AC DE TEST,C=FR",
+                                                 "CN=0001,OU=0002 00000000000000,O=CERTIFICAT DE TEST,C=FR",
+                                                 NOW - DAY, NOW + DAY);
+        final X509Certificate fr29 = certificate("CN=FR29,O=AC DE TEST,C=FR", "CN=0001,C=FR", NOW - DAY, NOW + DAY);
+        final TrustStore trustStore = TrustStore.of(asList(fr29, fr00));
+
+        assertSame(fr00, trustStore.find("FR00", 0, "0001", 0, NOW).getCertificate());
+        assertSame(fr29, trustStore.find("FR29", 0, "0001", 0, NOW).getCertificate());
+        assertNull(trustStore.find("FR00", 0, "0002", 0, NOW));
+        assertNull(trustStore.find("FR0A", 0, "0001", 0, NOW));
+    }
+
+    @Test
+    void find_shouldReadTheIdsInPlace() {
+        final X509Certificate certificate = certificate("CN=FR00", "CN=0001", NOW - DAY, NOW + DAY);
+        final TrustStore trustStore = TrustStore.of(singletonList(certificate));
+
+        final String input = "DC04FR000001198519D31201FR";
+        assertSame(certificate, trustStore.find(input, 4, input, 8, NOW).getCertificate());
+    }
+
+    @Test
+    void find_shouldOnlyMatchWholeCommonNames() {
+        final TrustStore trustStore = TrustStore.of(singletonList(certificate("CN=FR000", "CN=0001", NOW - DAY,
+                                                                              NOW + DAY)));
+
+        assertNull(trustStore.find("FR00", 0, "0001", 0, NOW));
+    }
+
+    @Test
+    void find_whenCertificatesShareTheIds_shouldUseTheOneValidAtThatTime() {
+        final X509Certificate previous = certificate("CN=FR00", "CN=0001", NOW - 10 * DAY, NOW);
+        final X509Certificate next = certificate("CN=FR00", "CN=0001", NOW - DAY, NOW + 10 * DAY);
+        final TrustStore trustStore = TrustStore.of(asList(previous, next));
+
+        // Both are valid, the most recent one first
+        assertSame(next, trustStore.find("FR00", 0, "0001", 0, NOW).getCertificate());
+        // Only the previous one is valid
+        assertSame(previous, trustStore.find("FR00", 0, "0001", 0, NOW - 5 * DAY).getCertificate());
+        // None is valid, the most recent one is given
+        assertSame(next, trustStore.find("FR00", 0, "0001", 0, NOW + 20 * DAY).getCertificate());
+    }
+
+    @Test
+    void find_whenScanning_shouldFindTheFirstCertificateContainingTheIds() {
+        final X509Certificate certificate = mock(X509Certificate.class, RETURNS_DEEP_STUBS);
+        when(certificate.getIssuerDN().getName()).thenReturn("CN=FR00,O=AC DE TEST,C=FR");
+        when(certificate.getSubjectDN().getName()).thenReturn("CN=0001,O=CERTIFICAT DE TEST,C=FR");
+        final TrustStore trustStore = TrustStore.scanning(singletonList(certificate));
+
+        assertSame(certificate, trustStore.find("FR00", 0, "0001", 0, NOW).getCertificate());
+        assertNull(trustStore.find("FR00", 0, "0002", 0, NOW));
+    }
+
+    @Test
+    void of_withARealCertificate_shouldIndexItsCommonNames() throws CertificateException {
+        final InputStream is = TrustStoreTest.class.getClassLoader().getResourceAsStream("e2e/FR00.pem");
+        final X509Certificate certificate = (X509Certificate) CertificateFactory.getInstance("X.509")
+                .generateCertificate(is);
+        final TrustStore trustStore = TrustStore.of(singletonList(certificate));
+
+        assertSame(certificate, trustStore.find("FR00", 0, "0001", 0, NOW).getCertificate());
+    }
+
+    @Test
+    @EnabledOnJre(JAVA_8)
+    void of_whenTheEngineIsNotAvailable_shouldThrowException() {
+        // No SHA256withECDSAinP1363Format signature in the SunEC provider of Java 8
+        final IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class, () -> TrustStore.of(emptyList(), VerifierEngine.SUN_EC));
+        assertEquals("Verifier engine SUN_EC is not available in this JVM", exception.getMessage());
+    }
+
+    @Test
+    @EnabledForJreRange(min = JAVA_9)
+    void of_whenTheEngineIsAvailable_shouldBuildTheStore() {
+        assertNull(TrustStore.of(emptyList(), VerifierEngine.SUN_EC).find("FR00", 0, "0001", 0, NOW));
+    }
+
+    static X509Certificate certificate(final String issuer, final String subject, final long notBefore,
+                                       final long notAfter) {
+        final X509Certificate certificate = mock(X509Certificate.class);
+        when(certificate.getIssuerX500Principal()).thenReturn(new X500Principal(issuer));
+        when(certificate.getSubjectX500Principal()).thenReturn(new X500Principal(subject));
+        when(certificate.getNotBefore()).thenReturn(new Date(notBefore));
+        when(certificate.getNotAfter()).thenReturn(new Date(notAfter));
+        return certificate;
+    }
+
+}
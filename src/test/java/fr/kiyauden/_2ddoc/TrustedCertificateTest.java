@@ -0,0 +1,170 @@
+package fr.kiyauden._2ddoc;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.x509.X509V1CertificateGenerator;
+import org.junit.jupiter.api.Test;
+
+import javax.security.auth.x500.X500Principal;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Provider;
+import java.security.Signature;
+import java.security.cert.CertificateExpiredException;
+import java.security.cert.CertificateNotYetValidException;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static fr.kiyauden._2ddoc.VerifierEngine.BOUNCY_CASTLE_LIGHTWEIGHT;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TrustedCertificateTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+    private static final Provider PROVIDER = new BouncyCastleProvider();
+
+    @Test
+    void isExpiredAt_shouldCompareTheTimeToTheValidityWindow() throws CertificateNotYetValidException {
+        final TrustedCertificate certificate = TrustedCertificate.of(
+                TrustStoreTest.certificate("CN=FR00", "CN=0001", NOW - 1, NOW + 1), BOUNCY_CASTLE_LIGHTWEIGHT);
+
+        assertFalse(certificate.isExpiredAt(NOW));
+        assertFalse(certificate.isExpiredAt(NOW + 1));
+        assertTrue(certificate.isExpiredAt(NOW + 2));
+        assertThrows(CertificateNotYetValidException.class, () -> certificate.isExpiredAt(NOW - 2));
+        assertTrue(certificate.isValidAt(NOW));
+        assertFalse(certificate.isValidAt(NOW + 2));
+    }
+
+    @Test
+    void isExpiredAt_whenUnwindowed_shouldAskTheCertificate() throws CertificateNotYetValidException,
+            CertificateExpiredException {
+        final X509Certificate x509Certificate = mock(X509Certificate.class);
+        final TrustedCertificate certificate = TrustedCertificate.unwindowed(x509Certificate,
+                                                                             BOUNCY_CASTLE_LIGHTWEIGHT);
+        assertFalse(certificate.isExpiredAt(NOW));
+
+        doThrow(new CertificateExpiredException()).when(x509Certificate).checkValidity();
+        assertTrue(certificate.isExpiredAt(NOW));
+        assertFalse(certificate.isValidAt(NOW));
+    }
+
+    @Test
+    void verifier_shouldBeKeptByEachThread() throws GeneralSecurityException, ExecutionException,
+            InterruptedException {
+        final TrustedCertificate certificate = TrustedCertificate.of(certificate(keyPair(), "CN=FR00", "CN=0001"),
+                                                                     BOUNCY_CASTLE_LIGHTWEIGHT);
+
+        final Verifier verifier = certificate.verifier();
+        assertSame(verifier, certificate.verifier());
+        final Verifier otherThread = CompletableFuture.supplyAsync(() -> {
+            try {
+                return certificate.verifier();
+            } catch (final GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }).get();
+        assertNotSame(verifier, otherThread);
+
+        certificate.discardVerifier();
+        assertNotSame(verifier, certificate.verifier());
+    }
+
+    @Test
+    void verifier_shouldVerifyAfterEachVerification() throws GeneralSecurityException {
+        final KeyPair keyPair = keyPair();
+        final TrustedCertificate certificate = TrustedCertificate.of(certificate(keyPair, "CN=FR00", "CN=0001"),
+                                                                     BOUNCY_CASTLE_LIGHTWEIGHT);
+        final byte[] data = "DC04FR000001198519D31201FRdata".getBytes();
+        final byte[] signature = sign(keyPair, data);
+
+        for (int i = 0; i < 3; i++) {
+            final Verifier verifier = certificate.verifier();
+            verifier.update(data, 0, data.length);
+            assertTrue(verifier.verify(signature, 0, signature.length));
+            // Not the signed data
+            verifier.update(data, 1, data.length - 1);
+            assertFalse(verifier.verify(signature, 0, signature.length));
+        }
+    }
+
+    @Test
+    void verifier_whenUnwindowed_shouldInitializeANewVerifier() throws GeneralSecurityException {
+        final TrustedCertificate certificate = TrustedCertificate.unwindowed(
+                certificate(keyPair(), "CN=FR00", "CN=0001"), BOUNCY_CASTLE_LIGHTWEIGHT);
+
+        assertNotSame(certificate.verifier(), certificate.verifier());
+    }
+
+    @Test
+    void verifier_whenTheKeyIsNotEC_shouldThrowException() throws GeneralSecurityException {
+        final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(1024);
+        final KeyPair keyPair = keyPairGenerator.generateKeyPair();
+        final X509Certificate x509Certificate = mock(X509Certificate.class);
+        when(x509Certificate.getPublicKey()).thenReturn(keyPair.getPublic());
+
+        final TrustedCertificate certificate = TrustedCertificate.unwindowed(x509Certificate,
+                                                                             BOUNCY_CASTLE_LIGHTWEIGHT);
+
+        assertThrows(InvalidKeyException.class, certificate::verifier);
+    }
+
+    /**
+     * @return a new P-256 key pair
+     * @throws GeneralSecurityException when EC is not provided
+     */
+    static KeyPair keyPair() throws GeneralSecurityException {
+        final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+        keyPairGenerator.initialize(256);
+        return keyPairGenerator.generateKeyPair();
+    }
+
+    /**
+     * @param keyPair the key pair signing the data
+     * @param data    the data
+     * @return the SHA-256 ECDSA signature of the data, in the IEEE P1363 format of the 2D-DOC
+     * @throws GeneralSecurityException when the data could not be signed
+     */
+    static byte[] sign(final KeyPair keyPair, final byte[] data) throws GeneralSecurityException {
+        final Signature signer = Signature.getInstance("SHA256withPLAIN-ECDSA", PROVIDER);
+        signer.initSign(keyPair.getPrivate());
+        signer.update(data);
+        return signer.sign();
+    }
+
+    /**
+     * @param keyPair the key pair of the certificate, it signs itself
+     * @param issuer  the distinguished name of the issuer
+     * @param subject the distinguished name of the subject
+     * @return a certificate valid from yesterday for a year
+     * @throws GeneralSecurityException when the certificate could not be signed
+     */
+    @SuppressWarnings("deprecation")
+    static X509Certificate certificate(final KeyPair keyPair, final String issuer, final String subject)
+            throws GeneralSecurityException {
+        final long now = System.currentTimeMillis();
+        final X509V1CertificateGenerator generator = new X509V1CertificateGenerator();
+        generator.setSerialNumber(BigInteger.ONE);
+        generator.setIssuerDN(new X500Principal(issuer));
+        generator.setSubjectDN(new X500Principal(subject));
+        generator.setNotBefore(new Date(now - TimeUnit.DAYS.toMillis(1)));
+        generator.setNotAfter(new Date(now + TimeUnit.DAYS.toMillis(365)));
+        generator.setPublicKey(keyPair.getPublic());
+        generator.setSignatureAlgorithm("SHA256withECDSA");
+        return generator.generate(keyPair.getPrivate());
+    }
+
+}
@@ -0,0 +1,75 @@
+package fr.kiyauden._2ddoc;
+
+import org.bouncycastle.crypto.params.ECPublicKeyParameters;
+import org.bouncycastle.jcajce.provider.asymmetric.util.ECUtil;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.Signature;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Benchmark of the verification of a 2D-DOC signature, by the {@link EcdsaVerifier} and by the Bouncy Castle
+ * {@link Signature} of the P1363 format used before it, both initialized once
+ * <p>
+ * Run with the main method from the IDE, or with {@code -prof gc} added to the options to see the allocation rate
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class VerifierBenchmark {
+
+    private EcdsaVerifier ecdsaVerifier;
+    private Signature jcaSignature;
+    private byte[] signed;
+    private byte[] signature;
+
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        final KeyPair keyPair = TrustedCertificateTest.keyPair();
+        signed = "DC04FR000001198519D31201FR10DUPONT\u001D20JEAN\u001D".getBytes(US_ASCII);
+        signature = TrustedCertificateTest.sign(keyPair, signed);
+
+        ecdsaVerifier = new EcdsaVerifier((ECPublicKeyParameters) ECUtil.generatePublicKeyParameter(
+                keyPair.getPublic()));
+        // The same implementation as the "SHA256withECDSAinP1363Format" bridge provider
+        jcaSignature = Signature.getInstance("SHA256withPLAIN-ECDSA", new BouncyCastleProvider());
+        jcaSignature.initVerify(keyPair.getPublic());
+    }
+
+    @Benchmark
+    public boolean ecdsaVerifier() {
+        ecdsaVerifier.update(signed, 0, signed.length);
+        return ecdsaVerifier.verify(signature, 0, signature.length);
+    }
+
+    @Benchmark
+    public boolean jcaSignature() throws GeneralSecurityException {
+        jcaSignature.update(signed, 0, signed.length);
+        return jcaSignature.verify(signature, 0, signature.length);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(VerifierBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
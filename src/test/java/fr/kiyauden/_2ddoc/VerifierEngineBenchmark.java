@@ -0,0 +1,106 @@
+package fr.kiyauden._2ddoc;
+
+import org.apache.commons.codec.binary.Base32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Benchmark of each {@link VerifierEngine}, verifying the signature of a 2D-DOC
+ * <p>
+ * {@code coldStart} is the first verification of a fresh JVM, loading the classes of the engine and initializing its
+ * verifier, {@code steadyState} is a verification with an initialized verifier
+ * <p>
+ * Run with the main method from the IDE, or with {@code -prof gc} added to the options to see the allocation rate
+ */
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class VerifierEngineBenchmark {
+
+    /**
+     * The 2D-DOC and its certificate, read without any engine
+     */
+    @State(Scope.Thread)
+    public static class Input {
+
+        @Param({"SUN_EC", "BOUNCY_CASTLE_JCA", "BOUNCY_CASTLE_LIGHTWEIGHT", "BOUNCY_CASTLE_PRECOMPUTED"})
+        private VerifierEngine engine;
+
+        private PublicKey key;
+        private byte[] signed;
+        private byte[] signature;
+
+        @Setup
+        public void setup() throws GeneralSecurityException {
+            final X509Certificate certificate = (X509Certificate) CertificateFactory.getInstance("X.509")
+                    .generateCertificate(getClass().getClassLoader().getResourceAsStream("e2e/FR00.pem"));
+            key = certificate.getPublicKey();
+            final String input = new Scanner(getClass().getClassLoader().getResourceAsStream("e2e/2ddoc/01.2ddoc"),
+                                             "UTF-8").useDelimiter("\\A").next().trim();
+            final int signatureStart = input.indexOf(Constants.US);
+            signed = input.substring(0, signatureStart).getBytes(US_ASCII);
+            signature = new Base32().decode(input.substring(signatureStart + 1));
+        }
+
+    }
+
+    /**
+     * A verifier of the engine, initialized once
+     */
+    @State(Scope.Thread)
+    public static class Initialized {
+
+        private Verifier verifier;
+
+        @Setup
+        public void setup(final Input input) throws GeneralSecurityException {
+            verifier = input.engine.factory(input.key).newVerifier();
+        }
+
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(value = 10, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+    public boolean coldStart(final Input input) throws GeneralSecurityException {
+        final Verifier verifier = input.engine.factory(input.key).newVerifier();
+        verifier.update(input.signed, 0, input.signed.length);
+        return verifier.verify(input.signature, 0, input.signature.length);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public boolean steadyState(final Input input, final Initialized initialized) {
+        initialized.verifier.update(input.signed, 0, input.signed.length);
+        return initialized.verifier.verify(input.signature, 0, input.signature.length);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(VerifierEngineBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
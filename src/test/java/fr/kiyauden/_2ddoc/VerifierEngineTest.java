@@ -0,0 +1,109 @@
+package fr.kiyauden._2ddoc;
+
+import org.apache.commons.codec.binary.Base32;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Provider;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.Arrays.copyOf;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VerifierEngineTest {
+
+    private static X509Certificate fr00Certificate;
+    private static byte[] signed;
+    private static byte[] signature;
+
+    @BeforeAll
+    static void beforeAll() throws GeneralSecurityException {
+        final InputStream is = VerifierEngineTest.class.getClassLoader().getResourceAsStream("e2e/FR00.pem");
+        fr00Certificate = (X509Certificate) CertificateFactory.getInstance("X.509").generateCertificate(is);
+
+        // The 2D-DOC signed by the FR00 certificate, without annex
+        final String input = new Scanner(VerifierEngineTest.class.getClassLoader()
+                                                 .getResourceAsStream("e2e/2ddoc/01.2ddoc"), "UTF-8")
+                .useDelimiter("\\A").next().trim();
+        final int signatureStart = input.indexOf(Constants.US);
+        signed = input.substring(0, signatureStart).getBytes(US_ASCII);
+        signature = new Base32().decode(input.substring(signatureStart + 1));
+    }
+
+    @Test
+    void factory_shouldVerifyTheSignatureOfA2DDocWithEachEngine() throws GeneralSecurityException {
+        for (final VerifierEngine engine : availableEngines()) {
+            final Verifier verifier = engine.factory(fr00Certificate.getPublicKey()).newVerifier();
+
+            verifier.update(signed, 0, signed.length);
+            assertTrue(verifier.verify(signature, 0, signature.length), engine.name());
+            // Reset after the verification
+            verifier.update(signed, 1, signed.length - 1);
+            assertFalse(verifier.verify(signature, 0, signature.length), engine.name());
+            verifier.update(signed, 0, signed.length);
+            assertTrue(verifier.verify(signature, 0, signature.length), engine.name());
+        }
+    }
+
+    @Test
+    void factory_whenTheSignatureHasNotTheLengthOfTheKey_shouldNotBeValid() throws GeneralSecurityException {
+        for (final VerifierEngine engine : availableEngines()) {
+            final Verifier verifier = engine.factory(fr00Certificate.getPublicKey()).newVerifier();
+
+            verifier.update(signed, 0, signed.length);
+            assertFalse(verifier.verify(copyOf(signature, signature.length - 2), 0, signature.length - 2),
+                        engine.name());
+            verifier.update(signed, 0, signed.length);
+            assertTrue(verifier.verify(signature, 0, signature.length), engine.name());
+        }
+    }
+
+    @Test
+    void factory_whenTheKeyIsNotEC_shouldThrowException() throws GeneralSecurityException {
+        final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(1024);
+        final KeyPair keyPair = keyPairGenerator.generateKeyPair();
+
+        for (final VerifierEngine engine : availableEngines()) {
+            assertThrows(InvalidKeyException.class, () -> engine.factory(keyPair.getPublic()), engine.name());
+        }
+    }
+
+    @Test
+    void withSignature_shouldReturnTheProviderOnlyWhenItHasTheAlgorithm() {
+        final Provider provider = new BouncyCastleProvider();
+
+        assertSame(provider, VerifierEngine.withSignature(provider, "SHA256withPLAIN-ECDSA"));
+        assertNull(VerifierEngine.withSignature(provider, "SHA256withUnknown"));
+        assertNull(VerifierEngine.withSignature(null, "SHA256withPLAIN-ECDSA"));
+    }
+
+    /**
+     * @return the engines available in this JVM, {@link VerifierEngine#SUN_EC} is not before Java 9
+     */
+    private static List<VerifierEngine> availableEngines() {
+        final List<VerifierEngine> engines = new ArrayList<>();
+        for (final VerifierEngine engine : VerifierEngine.values()) {
+            if (engine.isAvailable()) {
+                engines.add(engine);
+            }
+        }
+        return engines;
+    }
+
+}